@@ -65,6 +65,14 @@ public enum ServiceName {
         };
     }
 
+    /**
+     * Get the default batch rollback endpoint URL for this service, which takes an array of
+     * rollback requests and answers one response per request.
+     */
+    public String getDefaultRollbackBatchUrl() {
+        return getDefaultRollbackUrl() + "/batch";
+    }
+
     /**
      * Check if this is a downstream service (not the orchestrator).
      */
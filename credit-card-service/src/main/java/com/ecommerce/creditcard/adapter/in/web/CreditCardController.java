@@ -8,12 +8,15 @@ import com.ecommerce.creditcard.application.port.in.ProcessPaymentUseCase;
 import com.ecommerce.creditcard.application.port.in.RollbackPaymentUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * REST controller for credit card payment operations.
  */
@@ -24,11 +27,14 @@ public class CreditCardController {
 
     private final ProcessPaymentUseCase processPaymentUseCase;
     private final RollbackPaymentUseCase rollbackPaymentUseCase;
+    private final int maxBatchSize;
 
     public CreditCardController(ProcessPaymentUseCase processPaymentUseCase,
-                                 RollbackPaymentUseCase rollbackPaymentUseCase) {
+                                 RollbackPaymentUseCase rollbackPaymentUseCase,
+                                @Value("${rollback.max-batch-size:50}") int maxBatchSize) {
         this.processPaymentUseCase = processPaymentUseCase;
         this.rollbackPaymentUseCase = rollbackPaymentUseCase;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @PostMapping("/notify")
@@ -44,4 +50,17 @@ public class CreditCardController {
         RollbackResponse response = rollbackPaymentUseCase.rollbackPayment(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/rollback/batch")
+    @Operation(summary = "Rollback payments", description = "Rollback/refund a batch of credit card payments, one result per request (idempotent)")
+    public ResponseEntity<List<RollbackResponse>> rollbackBatch(@RequestBody List<RollbackRequest> requests) {
+        // One request is processed synchronously; bound it like the orchestrator's saga.rollback.batch-size
+        if (requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<RollbackResponse> responses = requests.stream()
+                .map(rollbackPaymentUseCase::rollbackPayment)
+                .toList();
+        return ResponseEntity.ok(responses);
+    }
 }
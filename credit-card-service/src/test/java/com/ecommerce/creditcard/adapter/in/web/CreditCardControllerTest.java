@@ -19,8 +19,10 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -131,4 +133,47 @@ class CreditCardControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("Cannot refund payment"));
     }
+
+    @Test
+    @DisplayName("POST /api/v1/credit-card/rollback/batch - should return one result per request")
+    void rollbackBatch_shouldReturnResultPerRequest() throws Exception {
+        // Given
+        UUID firstTxId = UUID.randomUUID();
+        UUID secondTxId = UUID.randomUUID();
+        List<RollbackRequest> requests = List.of(
+                RollbackRequest.of(firstTxId, UUID.randomUUID(), "Rollback payment"),
+                RollbackRequest.of(secondTxId, UUID.randomUUID(), "Rollback payment"));
+
+        when(rollbackPaymentUseCase.rollbackPayment(any(RollbackRequest.class))).thenReturn(
+                RollbackResponse.success(firstTxId, "Payment refunded successfully"),
+                RollbackResponse.failure(secondTxId, "Cannot refund payment"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/credit-card/rollback/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].txId").value(firstTxId.toString()))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[1].txId").value(secondTxId.toString()))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].message").value("Cannot refund payment"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/credit-card/rollback/batch - should reject a batch over the maximum size")
+    void rollbackBatch_shouldRejectOversizedBatch() throws Exception {
+        // Given - one more than the default maximum of 50
+        List<RollbackRequest> requests = IntStream.range(0, 51)
+                .mapToObj(i -> RollbackRequest.of(UUID.randomUUID(), UUID.randomUUID(), "Rollback"))
+                .toList();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/credit-card/rollback/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(rollbackPaymentUseCase);
+    }
 }
@@ -8,12 +8,15 @@ import com.ecommerce.inventory.application.port.in.ReserveInventoryUseCase;
 import com.ecommerce.inventory.application.port.in.RollbackReservationUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * REST controller for inventory operations.
  */
@@ -24,11 +27,14 @@ public class InventoryController {
 
     private final ReserveInventoryUseCase reserveInventoryUseCase;
     private final RollbackReservationUseCase rollbackReservationUseCase;
+    private final int maxBatchSize;
 
     public InventoryController(ReserveInventoryUseCase reserveInventoryUseCase,
-                               RollbackReservationUseCase rollbackReservationUseCase) {
+                               RollbackReservationUseCase rollbackReservationUseCase,
+                               @Value("${rollback.max-batch-size:50}") int maxBatchSize) {
         this.reserveInventoryUseCase = reserveInventoryUseCase;
         this.rollbackReservationUseCase = rollbackReservationUseCase;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @PostMapping("/notify")
@@ -44,4 +50,17 @@ public class InventoryController {
         RollbackResponse response = rollbackReservationUseCase.releaseInventory(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/rollback/batch")
+    @Operation(summary = "Release inventory in batch", description = "Release reserved inventory for a batch of transactions, one result per request (idempotent)")
+    public ResponseEntity<List<RollbackResponse>> rollbackBatch(@RequestBody List<RollbackRequest> requests) {
+        // One request is processed synchronously; bound it like the orchestrator's saga.rollback.batch-size
+        if (requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<RollbackResponse> responses = requests.stream()
+                .map(rollbackReservationUseCase::releaseInventory)
+                .toList();
+        return ResponseEntity.ok(responses);
+    }
 }
@@ -18,8 +18,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -128,4 +130,47 @@ class InventoryControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("Cannot release reservation"));
     }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/rollback/batch - should return one result per request")
+    void rollbackBatch_shouldReturnResultPerRequest() throws Exception {
+        // Given
+        UUID firstTxId = UUID.randomUUID();
+        UUID secondTxId = UUID.randomUUID();
+        List<RollbackRequest> requests = List.of(
+                RollbackRequest.of(firstTxId, UUID.randomUUID(), "Release inventory"),
+                RollbackRequest.of(secondTxId, UUID.randomUUID(), "Release inventory"));
+
+        when(rollbackReservationUseCase.releaseInventory(any(RollbackRequest.class))).thenReturn(
+                RollbackResponse.success(firstTxId, "Inventory released successfully"),
+                RollbackResponse.failure(secondTxId, "Cannot release inventory"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/rollback/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].txId").value(firstTxId.toString()))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[1].txId").value(secondTxId.toString()))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].message").value("Cannot release inventory"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/rollback/batch - should reject a batch over the maximum size")
+    void rollbackBatch_shouldRejectOversizedBatch() throws Exception {
+        // Given - one more than the default maximum of 50
+        List<RollbackRequest> requests = IntStream.range(0, 51)
+                .mapToObj(i -> RollbackRequest.of(UUID.randomUUID(), UUID.randomUUID(), "Rollback"))
+                .toList();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/inventory/rollback/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(rollbackReservationUseCase);
+    }
 }
@@ -8,12 +8,15 @@ import com.ecommerce.logistics.application.port.in.RollbackShipmentUseCase;
 import com.ecommerce.logistics.application.port.in.ScheduleShipmentUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * REST controller for logistics operations.
  */
@@ -24,11 +27,14 @@ public class LogisticsController {
 
     private final ScheduleShipmentUseCase scheduleShipmentUseCase;
     private final RollbackShipmentUseCase rollbackShipmentUseCase;
+    private final int maxBatchSize;
 
     public LogisticsController(ScheduleShipmentUseCase scheduleShipmentUseCase,
-                               RollbackShipmentUseCase rollbackShipmentUseCase) {
+                               RollbackShipmentUseCase rollbackShipmentUseCase,
+                               @Value("${rollback.max-batch-size:50}") int maxBatchSize) {
         this.scheduleShipmentUseCase = scheduleShipmentUseCase;
         this.rollbackShipmentUseCase = rollbackShipmentUseCase;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @PostMapping("/notify")
@@ -44,4 +50,17 @@ public class LogisticsController {
         RollbackResponse response = rollbackShipmentUseCase.cancelShipment(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/rollback/batch")
+    @Operation(summary = "Cancel shipments", description = "Cancel a batch of scheduled shipments, one result per request (idempotent)")
+    public ResponseEntity<List<RollbackResponse>> rollbackBatch(@RequestBody List<RollbackRequest> requests) {
+        // One request is processed synchronously; bound it like the orchestrator's saga.rollback.batch-size
+        if (requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<RollbackResponse> responses = requests.stream()
+                .map(rollbackShipmentUseCase::cancelShipment)
+                .toList();
+        return ResponseEntity.ok(responses);
+    }
 }
@@ -29,7 +29,54 @@ dependencies {
     // Micrometer for metrics
     implementation("io.micrometer:micrometer-registry-prometheus")
 
+    // In-memory cache of hot transaction states
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
     // Testing
     testImplementation("org.apache.camel:camel-test-spring-junit5:4.3.0")
     testImplementation("org.awaitility:awaitility:4.2.0")
 }
+
+// Benchmarks are JUnit classes tagged "benchmark"; they run only via the benchmark task.
+// The query-plan suite (tag "queryplan") generates a large dataset and runs in its own task under check.
+tasks.named<Test>("test") {
+    useJUnitPlatform {
+        excludeTags("benchmark", "queryplan")
+    }
+}
+
+tasks.register<Test>("benchmark") {
+    description = "Runs the benchmark-tagged tests."
+    group = "verification"
+    val testSourceSet = the<SourceSetContainer>()["test"]
+    testClassesDirs = testSourceSet.output.classesDirs
+    classpath = testSourceSet.runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    maxHeapSize = "2g"
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+tasks.register<Test>("queryPlan") {
+    description = "Runs the query-plan regression suite against a generated H2 dataset."
+    group = "verification"
+    val testSourceSet = the<SourceSetContainer>()["test"]
+    testClassesDirs = testSourceSet.output.classesDirs
+    classpath = testSourceSet.runtimeClasspath
+    useJUnitPlatform {
+        includeTags("queryplan")
+    }
+    maxHeapSize = "2g"
+    shouldRunAfter("test")
+    // Forward -Pqueryplan.transactions / -Pqueryplan.latency-factor to the suite
+    listOf("queryplan.transactions", "queryplan.latency-factor").forEach { name ->
+        providers.gradleProperty(name).orNull?.let { systemProperty(name, it) }
+    }
+}
+
+tasks.named("check") {
+    dependsOn("queryPlan")
+}
@@ -3,17 +3,26 @@ package com.ecommerce.order;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+
 /**
  * Order Service - Saga Orchestrator.
  * <p>
  * This service coordinates the distributed transaction flow for order processing,
  * calling downstream services (payment, inventory, logistics) and managing
  * compensation (rollback) on failures.
+ * <p>
+ * With {@code --export} it starts under the {@code export} profile instead, which leaves out the
+ * web server, the Camel routes and every poller and scheduler (see {@code SagaExportCommand}).
  */
 @SpringBootApplication
 public class OrderServiceApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(OrderServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(OrderServiceApplication.class);
+        if (Arrays.asList(args).contains("--export")) {
+            application.setAdditionalProfiles("export");
+        }
+        application.run(args);
     }
 }
@@ -0,0 +1,135 @@
+package com.ecommerce.order.adapter.in.cli;
+
+import com.ecommerce.order.adapter.in.export.SagaExportFormat;
+import com.ecommerce.order.adapter.in.export.SagaExportWriter;
+import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Command-line mode of the saga export: with {@code --export} the application writes every
+ * transaction started in [{@code --from}, {@code --to}) of the database at
+ * {@code --spring.datasource.url} to a file and exits, instead of serving.
+ * <pre>
+ * java -jar order-service.jar --export --spring.datasource.url=jdbc:h2:tcp://db-host:9092/orderdb \
+ *      --from=2024-01-01T00:00:00Z --to=2024-01-02T00:00:00Z --format=csv --gzip --output=saga-20240101.csv.gz
+ * </pre>
+ * {@code --format} is ndjson (default) or csv; {@code --output} defaults to
+ * {@code saga-export.<format>[.gz]} in the working directory. Exits with 0 on success, 2 on
+ * invalid arguments and 1 if the export failed; a failed export leaves no file behind.
+ * <p>
+ * {@code --export} starts the application under the {@code export} profile, without the web
+ * server, Camel routes, pollers and schedulers, so exporting from a database shared with running
+ * nodes neither dispatches outbox events nor makes compensation calls. The export refuses to run
+ * outside that profile and against an in-memory database, which would only ever be empty.
+ */
+@Component
+@Order(0)
+public class SagaExportCommand implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SagaExportCommand.class);
+
+    private final TransactionQueryUseCase transactionQueryUseCase;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext context;
+    private final Environment environment;
+
+    public SagaExportCommand(TransactionQueryUseCase transactionQueryUseCase, ObjectMapper objectMapper,
+                             ConfigurableApplicationContext context, Environment environment) {
+        this.transactionQueryUseCase = transactionQueryUseCase;
+        this.objectMapper = objectMapper;
+        this.context = context;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("export")) {
+            return;
+        }
+        int exitCode = export(args);
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    int export(ApplicationArguments args) {
+        if (!environment.acceptsProfiles(Profiles.of("export"))) {
+            log.error("Export requires the export profile; start through OrderServiceApplication "
+                    + "or add --spring.profiles.active=export");
+            return 2;
+        }
+        String url = environment.getProperty("spring.datasource.url", "");
+        if (url.startsWith("jdbc:h2:mem:")) {
+            log.error("Export needs the database to export from; set --spring.datasource.url (now {})", url);
+            return 2;
+        }
+        Instant from;
+        Instant to;
+        SagaExportFormat format;
+        try {
+            from = Instant.parse(requiredOption(args, "from"));
+            to = Instant.parse(requiredOption(args, "to"));
+            format = SagaExportFormat.of(option(args, "format", "ndjson"));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            log.error("Invalid export arguments: {}", e.getMessage());
+            return 2;
+        }
+        if (!from.isBefore(to)) {
+            log.error("Invalid export range: [{}, {})", from, to);
+            return 2;
+        }
+        boolean gzip = args.containsOption("gzip") && !"false".equals(option(args, "gzip", "true"));
+        Path output = Path.of(option(args, "output", "saga-export." + format.getExtension() + (gzip ? ".gz" : "")));
+
+        long started = System.currentTimeMillis();
+        try (OutputStream out = Files.newOutputStream(output)) {
+            SagaExportWriter writer = new SagaExportWriter(out, format, gzip, objectMapper);
+            transactionQueryUseCase.exportTransactions(from, to, writer);
+            writer.finish();
+            log.info("Exported {} transactions started in [{}, {}) to {} in {} ms",
+                    writer.getWritten(), from, to, output.toAbsolutePath(), System.currentTimeMillis() - started);
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            log.error("Export to {} failed: {}", output, e.getMessage(), e);
+            deleteQuietly(output);
+            return 1;
+        }
+    }
+
+    private static String requiredOption(ApplicationArguments args, String name) {
+        String value = option(args, name, null);
+        if (value == null) {
+            throw new IllegalArgumentException("--" + name + " is required");
+        }
+        return value;
+    }
+
+    private static String option(ApplicationArguments args, String name, String defaultValue) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? defaultValue : values.get(0);
+    }
+
+    private static void deleteQuietly(Path output) {
+        try {
+            Files.deleteIfExists(output);
+        } catch (IOException e) {
+            log.warn("Could not delete incomplete export {}", output, e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.order.adapter.in.export;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Output formats of the saga export.
+ */
+public enum SagaExportFormat {
+
+    /**
+     * One JSON document per transaction and line, with every service nested.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+
+    /**
+     * One row per transaction with a header; per-service status and retries in flat columns.
+     */
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    SagaExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parse a format name case-insensitively, e.g. {@code csv}.
+     *
+     * @throws IllegalArgumentException if the name is not a known format
+     */
+    public static SagaExportFormat of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,137 @@
+package com.ecommerce.order.adapter.in.export;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.order.adapter.in.web.dto.SagaExportRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes exported transactions straight to an output stream as they are handed over, one line
+ * each, optionally gzip-compressed. Only a write buffer is held, so memory stays flat however
+ * many transactions are exported. Shared by the export endpoint and the command-line export.
+ * <p>
+ * Write failures surface as {@link UncheckedIOException} so the writer can be used as a sink.
+ * Call {@link #finish()} once done; it completes the gzip trailer and flushes, but leaves the
+ * underlying stream open.
+ */
+public final class SagaExportWriter implements Consumer<SagaExportRecord> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Services with their own CSV columns; the orchestrator marker has no state of its own. */
+    private static final List<ServiceName> CSV_SERVICES = Arrays.stream(ServiceName.values())
+            .filter(service -> service != ServiceName.SAGA)
+            .toList();
+
+    private final SagaExportFormat format;
+    private final ObjectWriter jsonWriter;
+    private final OutputStream out;
+    private final GZIPOutputStream gzip;
+    private long written;
+
+    public SagaExportWriter(OutputStream target, SagaExportFormat format, boolean compress,
+                            ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.jsonWriter = objectMapper.writer();
+        this.gzip = compress ? new GZIPOutputStream(target, BUFFER_SIZE) : null;
+        this.out = new BufferedOutputStream(compress ? gzip : target, BUFFER_SIZE);
+        if (format == SagaExportFormat.CSV) {
+            writeLine(csvHeader());
+        }
+    }
+
+    @Override
+    public void accept(SagaExportRecord record) {
+        try {
+            if (format == SagaExportFormat.NDJSON) {
+                out.write(jsonWriter.writeValueAsBytes(record));
+                out.write('\n');
+            } else {
+                writeLine(csvRow(record));
+            }
+            written++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flush everything written so far and complete the gzip stream, if any.
+     */
+    public void finish() throws IOException {
+        out.flush();
+        if (gzip != null) {
+            gzip.finish();
+        }
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    private void writeLine(String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+    }
+
+    private static String csvHeader() {
+        StringBuilder header = new StringBuilder("tx_id,order_id,overall_status,started_at,updated_at");
+        for (ServiceName service : CSV_SERVICES) {
+            String prefix = service.name().toLowerCase(Locale.ROOT);
+            header.append(',').append(prefix).append("_status")
+                    .append(',').append(prefix).append("_retries");
+        }
+        return header.append(",error_message").toString();
+    }
+
+    private static String csvRow(SagaExportRecord record) {
+        Map<ServiceName, SagaExportRecord.Service> byService = new EnumMap<>(ServiceName.class);
+        StringBuilder errors = new StringBuilder();
+        for (SagaExportRecord.Service service : record.services()) {
+            ServiceName name = ServiceName.valueOf(service.serviceName());
+            byService.put(name, service);
+            if (service.errorMessage() != null) {
+                if (!errors.isEmpty()) {
+                    errors.append("; ");
+                }
+                errors.append(name).append(": ").append(service.errorMessage());
+            }
+        }
+
+        StringBuilder row = new StringBuilder(160)
+                .append(record.txId()).append(',')
+                .append(record.orderId()).append(',')
+                .append(record.overallStatus()).append(',')
+                .append(record.startedAt()).append(',')
+                .append(record.updatedAt() != null ? record.updatedAt() : "");
+        for (ServiceName name : CSV_SERVICES) {
+            SagaExportRecord.Service service = byService.get(name);
+            row.append(',').append(service != null ? service.status() : "")
+                    .append(',').append(service != null ? String.valueOf(service.retryCount()) : "");
+        }
+        return row.append(',').append(escape(errors.toString())).toString();
+    }
+
+    /**
+     * Quote a field per RFC 4180 when it holds a separator, quote or line break.
+     */
+    static String escape(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+}
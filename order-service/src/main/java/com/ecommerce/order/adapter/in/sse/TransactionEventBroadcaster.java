@@ -0,0 +1,351 @@
+package com.ecommerce.order.adapter.in.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events fan-out of saga status changes, fed from the same notifications as the
+ * WebSocket channel.
+ * <p>
+ * Each subscribed transaction gets a stream with its own sequence; event ids are
+ * {@code <stream>-<sequence>}, so a reconnecting client's Last-Event-ID resumes from the
+ * recent frames kept per stream. When those frames are gone (or the stream was dropped or the
+ * service restarted) the client starts over from a snapshot of the current status.
+ * <p>
+ * A frame is encoded to bytes once and the same bytes are written to every subscriber.
+ * Each subscriber has its own outbound queue of at most {@code subscriberQueueSize} frames,
+ * drained in publish order by a small dispatch pool, never on the saga thread that published.
+ * A blocking write to one slow client therefore holds up only that client's queue. A client
+ * that falls a full queue behind is disconnected and resumes with its Last-Event-ID, instead of
+ * frames piling up in memory for it. Only transactions someone subscribed to are tracked; idle streams are dropped beyond
+ * {@code maxStreams}.
+ */
+@Component
+public class TransactionEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionEventBroadcaster.class);
+
+    private final ObjectMapper objectMapper;
+    private final int replaySize;
+    private final long timeoutMillis;
+    private final int subscriberQueueSize;
+    private final LongFunction<ResponseBodyEmitter> emitters;
+    private final Map<String, Stream> streams;
+    private final AtomicLong streamIds = new AtomicLong(System.currentTimeMillis());
+    private final ExecutorService dispatcher;
+
+    @Autowired
+    public TransactionEventBroadcaster(ObjectMapper objectMapper,
+                                       @Value("${saga.events.replay-size:64}") int replaySize,
+                                       @Value("${saga.events.max-streams:10000}") int maxStreams,
+                                       @Value("${saga.events.timeout:10m}") Duration timeout,
+                                       @Value("${saga.events.subscriber-queue-size:256}") int subscriberQueueSize,
+                                       @Value("${saga.events.dispatch-threads:4}") int dispatchThreads) {
+        this(objectMapper, replaySize, maxStreams, timeout, subscriberQueueSize, dispatchThreads,
+                ResponseBodyEmitter::new);
+    }
+
+    TransactionEventBroadcaster(ObjectMapper objectMapper, int replaySize, int maxStreams, Duration timeout,
+                                int subscriberQueueSize, int dispatchThreads,
+                                LongFunction<ResponseBodyEmitter> emitters) {
+        this.objectMapper = objectMapper;
+        this.replaySize = replaySize;
+        this.timeoutMillis = timeout.toMillis();
+        // A new subscriber's snapshot and replay must fit
+        this.subscriberQueueSize = Math.max(subscriberQueueSize, replaySize + 1);
+        this.emitters = emitters;
+        this.streams = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Stream> eldest) {
+                return size() > maxStreams && eldest.getValue().isIdle();
+            }
+        });
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "tx-event-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Send a status message to the subscribers of a transaction.
+     * Transactions nobody has subscribed to are skipped without serializing anything.
+     */
+    public void publish(String txId, Object message) {
+        Stream stream = streams.get(txId);
+        if (stream == null) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            log.warn("txId={} - Could not serialize event: {}", txId, e.getMessage());
+            return;
+        }
+        synchronized (stream) {
+            Frame frame = stream.append("status", json);
+            // Queued under the stream lock, so every subscriber gets frames in sequence order
+            for (Subscriber subscriber : List.copyOf(stream.subscribers)) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    /**
+     * Open an event stream for a transaction. Resumes after {@code lastEventId} while its frames
+     * are still buffered; otherwise the stream starts with a snapshot event of the current status.
+     *
+     * @param snapshot reads the current status, only called when the stream cannot resume
+     * @return the emitter, empty if a snapshot was needed and the transaction does not exist
+     */
+    public Optional<ResponseBodyEmitter> subscribe(String txId, String lastEventId, Supplier<Optional<?>> snapshot) {
+        Stream stream = streams.computeIfAbsent(txId, key -> new Stream(streamIds.incrementAndGet(), replaySize));
+
+        long from;
+        synchronized (stream) {
+            from = stream.resumePoint(lastEventId);
+        }
+        Frame snapshotFrame = null;
+        if (from < 0) {
+            // Position taken before the read: frames after it are replayed, at worst repeating the snapshot
+            synchronized (stream) {
+                from = stream.sequence;
+            }
+            Optional<?> current = snapshot.get();
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            snapshotFrame = new Frame(stream.id, from, "snapshot", toJson(current.get()));
+        }
+
+        ResponseBodyEmitter emitter = emitters.apply(timeoutMillis);
+        Subscriber subscriber = new Subscriber(stream, emitter);
+        // Ending on timeout lets EventSource reconnect and resume instead of seeing an error
+        emitter.onTimeout(emitter::complete);
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        synchronized (stream) {
+            if (snapshotFrame != null) {
+                subscriber.offer(snapshotFrame);
+            }
+            stream.framesAfter(from).forEach(subscriber::offer);
+            stream.subscribers.add(subscriber);
+        }
+        return Optional.of(emitter);
+    }
+
+    public int getSubscriberCount(String txId) {
+        Stream stream = streams.get(txId);
+        if (stream == null) {
+            return 0;
+        }
+        synchronized (stream) {
+            return stream.subscribers.size();
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * One client connection: its emitter and the frames not yet written to it. Frames are
+     * written by at most one dispatch thread at a time, in the order they were offered.
+     */
+    private final class Subscriber {
+
+        private final Stream stream;
+        private final ResponseBodyEmitter emitter;
+        private final ArrayDeque<Frame> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean overflowed;
+        private boolean closed;
+
+        private Subscriber(Stream stream, ResponseBodyEmitter emitter) {
+            this.stream = stream;
+            this.emitter = emitter;
+        }
+
+        void offer(Frame frame) {
+            boolean dropped;
+            boolean dispatch;
+            synchronized (this) {
+                if (closed || overflowed) {
+                    return;
+                }
+                // Too far behind: drop it, it resumes from the replay buffer once it reconnects
+                dropped = pending.size() == subscriberQueueSize;
+                if (dropped) {
+                    overflowed = true;
+                    pending.clear();
+                } else {
+                    pending.addLast(frame);
+                }
+                dispatch = !draining;
+                draining = true;
+            }
+            if (dropped) {
+                stream.unsubscribe(this);
+            }
+            if (dispatch) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+            }
+            stream.unsubscribe(this);
+        }
+
+        private void drain() {
+            while (true) {
+                Frame frame;
+                boolean complete;
+                synchronized (this) {
+                    complete = overflowed && !closed;
+                    frame = closed || overflowed ? null : pending.pollFirst();
+                    if (frame == null) {
+                        draining = false;
+                        if (complete) {
+                            closed = true;
+                        }
+                    }
+                }
+                if (complete) {
+                    log.debug("Event stream {} subscriber fell {} frames behind, disconnecting",
+                            stream.id, subscriberQueueSize);
+                    stream.unsubscribe(this);
+                    emitter.complete();
+                    return;
+                }
+                if (frame == null) {
+                    return;
+                }
+                send(frame);
+            }
+        }
+
+        private void send(Frame frame) {
+            try {
+                emitter.send(frame.bytes(), MediaType.TEXT_EVENT_STREAM);
+            } catch (IOException e) {
+                // Client went away; EventSource reconnects with Last-Event-ID if it still cares
+                close();
+                emitter.completeWithError(e);
+            } catch (IllegalStateException e) {
+                // Completed meanwhile (timeout or disconnect)
+                close();
+            }
+        }
+    }
+
+    /**
+     * One encoded event: {@code id}, {@code event} and {@code data} lines, ready to write as is.
+     */
+    private record Frame(long sequence, byte[] bytes) {
+
+        Frame(long streamId, long sequence, String event, String json) {
+            this(sequence, ("id: " + streamId + "-" + sequence + "\nevent: " + event + "\ndata: " + json + "\n\n")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Sequence, recent frames and subscribers of one transaction. Guarded by its own monitor.
+     */
+    private static final class Stream {
+
+        private final long id;
+        private final int replaySize;
+        private final ArrayDeque<Frame> recent;
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private long sequence;
+
+        private Stream(long id, int replaySize) {
+            this.id = id;
+            this.replaySize = replaySize;
+            this.recent = new ArrayDeque<>(replaySize);
+        }
+
+        Frame append(String event, String json) {
+            Frame frame = new Frame(id, ++sequence, event, json);
+            if (recent.size() == replaySize) {
+                recent.removeFirst();
+            }
+            recent.addLast(frame);
+            return frame;
+        }
+
+        /**
+         * The sequence to replay after, or -1 when the id is from another stream or its frames are gone.
+         */
+        long resumePoint(String lastEventId) {
+            if (lastEventId == null) {
+                return -1;
+            }
+            int separator = lastEventId.indexOf('-');
+            if (separator < 0) {
+                return -1;
+            }
+            try {
+                long streamId = Long.parseLong(lastEventId.substring(0, separator).trim());
+                long seen = Long.parseLong(lastEventId.substring(separator + 1).trim());
+                long oldest = recent.isEmpty() ? sequence + 1 : recent.peekFirst().sequence();
+                return streamId == id && seen >= oldest - 1 && seen <= sequence ? seen : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        List<Frame> framesAfter(long seen) {
+            List<Frame> frames = new ArrayList<>();
+            for (Frame frame : recent) {
+                if (frame.sequence() > seen) {
+                    frames.add(frame);
+                }
+            }
+            return frames;
+        }
+
+        synchronized void unsubscribe(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+        }
+
+        synchronized boolean isIdle() {
+            return subscribers.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.order.adapter.in.web;
+
+import com.ecommerce.order.adapter.in.web.dto.MessageResponse;
+import com.ecommerce.order.application.port.in.SagaMaintenanceUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for saga persistence maintenance.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/maintenance")
+@Tag(name = "Admin Maintenance", description = "Saga persistence maintenance APIs")
+public class MaintenanceController {
+
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceController.class);
+
+    private final SagaMaintenanceUseCase sagaMaintenanceUseCase;
+
+    public MaintenanceController(SagaMaintenanceUseCase sagaMaintenanceUseCase) {
+        this.sagaMaintenanceUseCase = sagaMaintenanceUseCase;
+    }
+
+    @PostMapping("/projection/rebuild")
+    @Operation(summary = "Rebuild state projection",
+               description = "Rebuilds saga_state and saga_summary from the immutable transaction log")
+    @ApiResponse(responseCode = "200", description = "Projection rebuilt")
+    public ResponseEntity<MessageResponse> rebuildProjection() {
+        log.info("Rebuilding saga state projection");
+        long projected = sagaMaintenanceUseCase.rebuildProjection();
+        return ResponseEntity.ok(MessageResponse.of("Projection rebuilt for " + projected + " transactions"));
+    }
+
+    @PostMapping("/archive")
+    @Operation(summary = "Archive cold partitions",
+               description = "Seals daily transaction_log partitions past the hot window whose sagas are all terminal")
+    @ApiResponse(responseCode = "200", description = "Archiving finished")
+    public ResponseEntity<MessageResponse> archiveColdPartitions() {
+        log.info("Archiving cold transaction_log partitions");
+        int sealed = sagaMaintenanceUseCase.archiveColdPartitions();
+        return ResponseEntity.ok(MessageResponse.of("Sealed " + sealed + " partitions"));
+    }
+
+    @PostMapping("/compaction")
+    @Operation(summary = "Compact terminal transactions",
+               description = "Folds sagas that have been terminal past the minimum age into summary records "
+                       + "and moves their log rows to the archive")
+    @ApiResponse(responseCode = "200", description = "Compaction finished")
+    public ResponseEntity<MessageResponse> compactTerminalTransactions() {
+        log.info("Compacting terminal transactions");
+        int compacted = sagaMaintenanceUseCase.compactTerminalTransactions();
+        return ResponseEntity.ok(MessageResponse.of("Compacted " + compacted + " transactions"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.order.adapter.in.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Newline-delimited JSON responses written one item at a time while the result is read,
+ * so response memory stays flat however many items there are.
+ */
+final class NdjsonResponses {
+
+    private NdjsonResponses() {
+    }
+
+    /**
+     * Whether the Accept header asks for NDJSON rather than a JSON document.
+     */
+    static boolean accepts(String acceptHeader) {
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(acceptHeader).stream()
+                    .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stream the items the producer hands to its sink, one JSON line each.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> stream(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> {
+            try {
+                producer.accept(item -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(item));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Client went away mid-stream; let the container see the original failure
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.order.adapter.in.web;
+
+import com.ecommerce.order.adapter.in.export.SagaExportFormat;
+import com.ecommerce.order.adapter.in.export.SagaExportWriter;
+import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+/**
+ * REST controller for bulk exports of saga outcomes, e.g. a daily finance extract.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/export")
+@Tag(name = "Admin Export", description = "Saga history export APIs")
+public class SagaExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(SagaExportController.class);
+
+    private static final MediaType GZIP = new MediaType("application", "gzip");
+
+    private final TransactionQueryUseCase transactionQueryUseCase;
+    private final ObjectMapper objectMapper;
+
+    public SagaExportController(TransactionQueryUseCase transactionQueryUseCase, ObjectMapper objectMapper) {
+        this.transactionQueryUseCase = transactionQueryUseCase;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    @Operation(summary = "Export saga outcomes",
+               description = "Streams every transaction started in [from, to) in start order, as NDJSON "
+                       + "(one transaction per line) or CSV (one row per transaction), optionally gzip-compressed. "
+                       + "Rows are written while they are read, so memory stays flat for any range")
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    @ApiResponse(responseCode = "400", description = "Invalid range or format")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Earliest start time, inclusive (ISO-8601, e.g. 2024-01-01T00:00:00Z)")
+            @RequestParam Instant from,
+            @Parameter(description = "Latest start time, exclusive (ISO-8601)") @RequestParam Instant to,
+            @Parameter(description = "ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Gzip-compress the body") @RequestParam(defaultValue = "false") boolean gzip) {
+        // Validate before the response is committed; errors mid-stream can no longer become a 400
+        SagaExportFormat exportFormat;
+        try {
+            exportFormat = SagaExportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid export format: {}", format);
+            return ResponseEntity.badRequest().build();
+        }
+        if (!from.isBefore(to)) {
+            log.warn("Invalid export range: [{}, {})", from, to);
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Exporting transactions started in [{}, {}) as {} gzip={}", from, to, exportFormat, gzip);
+
+        StreamingResponseBody body = out -> {
+            SagaExportWriter writer = new SagaExportWriter(out, exportFormat, gzip, objectMapper);
+            try {
+                transactionQueryUseCase.exportTransactions(from, to, writer);
+            } catch (UncheckedIOException e) {
+                // Client went away mid-export; let the container see the original failure
+                throw e.getCause();
+            }
+            writer.finish();
+        };
+
+        String filename = "saga-export." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString());
+        if (gzip) {
+            // The body is the compressed file itself, not a compressed transfer of the format
+            return response.contentType(GZIP).body(body);
+        }
+        return response.contentType(exportFormat.getMediaType()).body(body);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.order.adapter.in.web;
+
+import com.ecommerce.order.adapter.in.web.dto.SagaStatisticsResponse;
+import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for saga statistics served from in-memory counters.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/stats")
+@Tag(name = "Admin Statistics", description = "Saga statistics APIs")
+public class SagaStatisticsController {
+
+    private final TransactionQueryUseCase transactionQueryUseCase;
+
+    public SagaStatisticsController(TransactionQueryUseCase transactionQueryUseCase) {
+        this.transactionQueryUseCase = transactionQueryUseCase;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get saga statistics",
+               description = "Returns how many sagas are in each overall status right now, and per 1, 5 and 15 "
+                       + "minute window the sagas started, the sagas ended per outcome with the success rate, "
+                       + "and the statuses entered per service. Answered from counters maintained on every "
+                       + "append, without querying the log")
+    @ApiResponse(responseCode = "200", description = "Statistics returned")
+    public ResponseEntity<SagaStatisticsResponse> getStatistics() {
+        return ResponseEntity.ok(transactionQueryUseCase.getStatistics());
+    }
+}
@@ -1,16 +1,37 @@
 package com.ecommerce.order.adapter.in.web;
 
 import com.ecommerce.order.adapter.in.web.dto.OrderTransactionHistoryResponse;
+import com.ecommerce.order.adapter.in.web.dto.TransactionStatusBatchRequest;
+import com.ecommerce.order.adapter.in.web.dto.TransactionStatusBatchResponse;
 import com.ecommerce.order.adapter.in.web.dto.TransactionStatusResponse;
 import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
+import com.ecommerce.order.domain.model.PageCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/transactions")
@@ -18,28 +39,185 @@ import org.springframework.web.bind.annotation.RestController;
 public class TransactionController {
 
     private final TransactionQueryUseCase transactionQueryUseCase;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final int maxPageSize;
+    private final int maxBatchSize;
+    private final Duration maxWait;
 
-    public TransactionController(TransactionQueryUseCase transactionQueryUseCase) {
+    public TransactionController(TransactionQueryUseCase transactionQueryUseCase,
+                                 ObjectMapper objectMapper,
+                                 @Value("${saga.query.page-size:50}") int pageSize,
+                                 @Value("${saga.query.max-page-size:500}") int maxPageSize,
+                                 @Value("${saga.query.max-batch-size:500}") int maxBatchSize,
+                                 @Value("${saga.query.max-wait:60s}") Duration maxWait) {
         this.transactionQueryUseCase = transactionQueryUseCase;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWait = maxWait;
     }
 
     @GetMapping("/{txId}")
     @Operation(summary = "Get transaction status by Tx ID",
-               description = "Retrieves the current status of a saga transaction")
+               description = "Retrieves the current status of a saga transaction. Responses carry a strong ETag; "
+                       + "If-None-Match with the current ETag returns 304 without reading the status")
+    @ApiResponse(responseCode = "200", description = "Transaction status returned")
+    @ApiResponse(responseCode = "304", description = "Status unchanged since the given ETag")
+    @ApiResponse(responseCode = "404", description = "Transaction not found")
     public ResponseEntity<TransactionStatusResponse> getTransactionStatus(
-            @Parameter(description = "Transaction ID (UUID)") @PathVariable String txId) {
-        return transactionQueryUseCase.getTransactionStatus(txId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+            @Parameter(description = "Transaction ID (UUID)") @PathVariable String txId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        OptionalLong version = transactionQueryUseCase.getTransactionVersion(txId);
+        if (version.isPresent() && matchesAny(ifNoneMatch, eTag(version.getAsLong()))) {
+            return notModified(version.getAsLong());
+        }
+        return currentStatus(txId, version);
+    }
+
+    @GetMapping(value = "/{txId}", params = "waitForChangeSince")
+    @Operation(summary = "Wait for a transaction status change",
+               description = "Long-poll: holds the request until the status moves past the given ETag and then "
+                       + "returns it, or returns 304 once the timeout (default 30s, capped by saga.query.max-wait) "
+                       + "passes without a change")
+    @ApiResponse(responseCode = "200", description = "Changed status returned")
+    @ApiResponse(responseCode = "304", description = "No change within the timeout")
+    @ApiResponse(responseCode = "400", description = "Invalid transaction ID, ETag or timeout")
+    public DeferredResult<ResponseEntity<TransactionStatusResponse>> waitForTransactionChange(
+            @Parameter(description = "Transaction ID (UUID)") @PathVariable String txId,
+            @Parameter(description = "ETag of the status the client already has") @RequestParam String waitForChangeSince,
+            @Parameter(description = "Longest time to wait, e.g. 30s") @RequestParam(defaultValue = "30s") String timeout) {
+        long since;
+        Duration wait;
+        CompletableFuture<Long> change;
+        try {
+            since = parseETag(waitForChangeSince);
+            wait = DurationStyle.detectAndParse(timeout);
+            if (wait.isNegative()) {
+                throw new IllegalArgumentException("Negative timeout: " + timeout);
+            }
+            change = transactionQueryUseCase.awaitTransactionChange(txId, since);
+        } catch (IllegalArgumentException e) {
+            DeferredResult<ResponseEntity<TransactionStatusResponse>> invalid = new DeferredResult<>();
+            invalid.setResult(ResponseEntity.badRequest().build());
+            return invalid;
+        }
+
+        // A zero timeout would mean no timeout at all to the servlet container
+        long waitMillis = Math.max(1, Math.min(wait.toMillis(), maxWait.toMillis()));
+        DeferredResult<ResponseEntity<TransactionStatusResponse>> result = new DeferredResult<>(waitMillis);
+        result.onTimeout(() -> result.setResult(notModified(since)));
+        result.onCompletion(() -> change.cancel(false));
+        // Completes on a notifier thread; the status is read there, never on the thread that appended
+        change.thenAccept(version -> result.setResult(
+                currentStatus(txId, transactionQueryUseCase.getTransactionVersion(txId))));
+        return result;
+    }
+
+    @PostMapping("/status:batch")
+    @Operation(summary = "Get the status of several transactions",
+               description = "Resolves up to saga.query.max-batch-size transaction IDs in one read. Returns one "
+                       + "result per distinct ID in request order; with Accept: application/x-ndjson the results "
+                       + "are streamed one per line")
+    @ApiResponse(responseCode = "200", description = "Per-ID results returned")
+    @ApiResponse(responseCode = "400", description = "No IDs or too many IDs")
+    public ResponseEntity<?> getTransactionStatuses(
+            @Valid @RequestBody TransactionStatusBatchRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (request.txIds().size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<TransactionStatusBatchResponse.Result> results =
+                transactionQueryUseCase.getTransactionStatuses(request.txIds());
+        if (NdjsonResponses.accepts(accept)) {
+            return NdjsonResponses.<TransactionStatusBatchResponse.Result>stream(objectMapper, results::forEach);
+        }
+        return ResponseEntity.ok(new TransactionStatusBatchResponse(results.size(), results));
     }
 
     @GetMapping("/orders/{orderId}/history")
     @Operation(summary = "Get order transaction history",
-               description = "Retrieves all saga transaction executions for a given order")
-    public ResponseEntity<OrderTransactionHistoryResponse> getOrderTransactionHistory(
-            @Parameter(description = "Order ID (UUID)") @PathVariable String orderId) {
-        return transactionQueryUseCase.getOrderTransactionHistory(orderId)
-                .map(ResponseEntity::ok)
+               description = "Retrieves the saga transaction executions for a given order, most recent first. "
+                       + "JSON responses are paged with nextCursor; with Accept: application/x-ndjson the "
+                       + "history is streamed one execution per line")
+    @ApiResponse(responseCode = "200", description = "History page or stream returned")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    @ApiResponse(responseCode = "404", description = "Order has no transactions")
+    public ResponseEntity<?> getOrderTransactionHistory(
+            @Parameter(description = "Order ID (UUID)") @PathVariable String orderId,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum transactions to return") @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if ((limit != null && limit < 1)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            if (NdjsonResponses.accepts(accept)) {
+                // Validate before the response is committed; errors mid-stream can no longer become a 400
+                UUID.fromString(orderId);
+                PageCursor.decode(cursor);
+                int streamLimit = limit != null ? limit : Integer.MAX_VALUE;
+                return NdjsonResponses.<OrderTransactionHistoryResponse.TransactionSummary>stream(objectMapper, sink ->
+                        transactionQueryUseCase.streamOrderTransactionHistory(orderId, cursor, streamLimit, sink));
+            }
+            int size = limit != null ? Math.min(limit, maxPageSize) : pageSize;
+            return transactionQueryUseCase.getOrderTransactionHistory(orderId, cursor, size)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Status response tagged with a version taken before the read, so the tag is never newer than the body.
+     */
+    private ResponseEntity<TransactionStatusResponse> currentStatus(String txId, OptionalLong version) {
+        return transactionQueryUseCase.getTransactionStatus(txId)
+                .map(status -> {
+                    ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+                    version.ifPresent(v -> ok.eTag(eTag(v)));
+                    return ok.body(status);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    private static ResponseEntity<TransactionStatusResponse> notModified(long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
+    }
+
+    private static String eTag(long version) {
+        return "\"" + Long.toHexString(version) + "\"";
+    }
+
+    private static long parseETag(String eTag) {
+        String value = eTag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return Long.parseUnsignedLong(value, 16);
+    }
+
+    /**
+     * If-None-Match uses weak comparison, so a W/ prefix on the client's tag is ignored.
+     */
+    private static boolean matchesAny(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
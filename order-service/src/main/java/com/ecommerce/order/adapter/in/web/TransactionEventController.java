@@ -0,0 +1,60 @@
+package com.ecommerce.order.adapter.in.web;
+
+import com.ecommerce.order.adapter.in.sse.TransactionEventBroadcaster;
+import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.UUID;
+
+/**
+ * REST controller streaming saga progress as Server-Sent Events.
+ */
+@RestController
+@RequestMapping("/api/v1/transactions")
+@Tag(name = "Transaction", description = "Transaction status and history APIs")
+public class TransactionEventController {
+
+    private final TransactionQueryUseCase transactionQueryUseCase;
+    private final TransactionEventBroadcaster eventBroadcaster;
+
+    public TransactionEventController(TransactionQueryUseCase transactionQueryUseCase,
+                                      TransactionEventBroadcaster eventBroadcaster) {
+        this.transactionQueryUseCase = transactionQueryUseCase;
+        this.eventBroadcaster = eventBroadcaster;
+    }
+
+    @GetMapping(value = "/{txId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream transaction status changes",
+               description = "Server-Sent Events: a snapshot event with the current status, then a status event "
+                       + "per change, carrying the same message as the WebSocket channel. Reconnecting with "
+                       + "Last-Event-ID resumes after that event while it is still buffered")
+    @ApiResponse(responseCode = "200", description = "Event stream opened")
+    @ApiResponse(responseCode = "404", description = "Transaction not found")
+    public ResponseEntity<ResponseBodyEmitter> streamTransactionEvents(
+            @Parameter(description = "Transaction ID (UUID)") @PathVariable String txId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            UUID.fromString(txId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return eventBroadcaster.subscribe(txId, lastEventId, () -> transactionQueryUseCase.getTransactionStatus(txId))
+                .map(emitter -> ResponseEntity.ok()
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                        .body(emitter))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.order.adapter.in.web;
+
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.in.web.dto.TransactionSearchResponse;
+import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
+import com.ecommerce.order.domain.model.PageCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST controller for searching saga transactions by their current state.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/transactions")
+@Tag(name = "Admin Transactions", description = "Transaction search APIs")
+public class TransactionSearchController {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSearchController.class);
+
+    private final TransactionQueryUseCase transactionQueryUseCase;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final int maxPageSize;
+
+    public TransactionSearchController(TransactionQueryUseCase transactionQueryUseCase,
+                                       ObjectMapper objectMapper,
+                                       @Value("${saga.query.page-size:50}") int pageSize,
+                                       @Value("${saga.query.max-page-size:500}") int maxPageSize) {
+        this.transactionQueryUseCase = transactionQueryUseCase;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search transactions by status and age",
+               description = "Lists services currently in the given status and unchanged for longer than olderThan, "
+                       + "oldest first, e.g. status=U&olderThan=PT5M for stuck steps. JSON responses are paged "
+                       + "with nextCursor; with Accept: application/x-ndjson matches are streamed one per line")
+    @ApiResponse(responseCode = "200", description = "Matches returned")
+    @ApiResponse(responseCode = "400", description = "Invalid status, age, cursor or limit")
+    public ResponseEntity<?> search(
+            @Parameter(description = "Current status code, e.g. U") @RequestParam TransactionStatus status,
+            @Parameter(description = "Minimum time since the last change (ISO-8601, e.g. PT5M)")
+            @RequestParam(defaultValue = "PT0S") Duration olderThan,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum matches to return") @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Searching transactions status={} olderThan={}", status, olderThan);
+        if ((limit != null && limit < 1) || olderThan.isNegative()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            if (NdjsonResponses.accepts(accept)) {
+                // Validate before the response is committed; errors mid-stream can no longer become a 400
+                PageCursor.decode(cursor);
+                int streamLimit = limit != null ? limit : Integer.MAX_VALUE;
+                return NdjsonResponses.<TransactionSearchResponse.Match>stream(objectMapper, sink ->
+                        transactionQueryUseCase.searchTransactions(status, olderThan, cursor, streamLimit, sink));
+            }
+            int size = limit != null ? Math.min(limit, maxPageSize) : pageSize;
+            List<TransactionSearchResponse.Match> matches = new ArrayList<>();
+            String nextCursor = transactionQueryUseCase.searchTransactions(status, olderThan, cursor, size, matches::add);
+            return ResponseEntity.ok(new TransactionSearchResponse(status.getCode(), matches.size(), matches, nextCursor));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid transaction search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package com.ecommerce.order.adapter.in.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
  * Response DTO for order transaction history.
- * Contains all saga executions associated with an order.
+ * Contains the saga executions associated with an order, one page at a time;
+ * {@code nextCursor} is set when more executions follow.
  */
 public record OrderTransactionHistoryResponse(
         String orderId,
         int totalTransactions,
-        List<TransactionSummary> transactions
+        List<TransactionSummary> transactions,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String nextCursor
 ) {
+    public OrderTransactionHistoryResponse(String orderId, int totalTransactions, List<TransactionSummary> transactions) {
+        this(orderId, totalTransactions, transactions, null);
+    }
+
     /**
      * Summary of a single saga transaction execution.
      */
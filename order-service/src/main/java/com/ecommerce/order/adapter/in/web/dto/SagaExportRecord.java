@@ -0,0 +1,28 @@
+package com.ecommerce.order.adapter.in.web.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One saga transaction in a bulk export: its overall outcome and the latest entry of each service.
+ * Archived transactions carry no services.
+ */
+public record SagaExportRecord(
+        String txId,
+        String orderId,
+        String overallStatus,
+        Instant startedAt,
+        Instant updatedAt,
+        List<Service> services
+) {
+    /**
+     * Latest entry of one service in the transaction.
+     */
+    public record Service(
+            String serviceName,
+            String status,
+            String errorMessage,
+            int retryCount,
+            Instant updatedAt
+    ) {}
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.order.adapter.in.web.dto;
+
+import com.ecommerce.order.domain.model.SagaStatistics;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for the admin saga statistics.
+ * {@code current} counts sagas by overall status right now; each window holds rolling counts
+ * over its length (ISO-8601, e.g. PT5M) up to {@code at}.
+ */
+public record SagaStatisticsResponse(
+        Instant at,
+        Map<String, Long> current,
+        List<WindowStats> windows
+) {
+    /**
+     * Rolling counts over one window; {@code successRate} is the share of ended sagas that
+     * completed, left out when none ended.
+     */
+    public record WindowStats(
+            String window,
+            long started,
+            Map<String, Long> ended,
+            @JsonInclude(JsonInclude.Include.NON_NULL) Double successRate,
+            Map<String, Map<String, Long>> services
+    ) {}
+
+    /**
+     * Create from a domain statistics snapshot.
+     */
+    public static SagaStatisticsResponse fromDomain(SagaStatistics.Snapshot snapshot) {
+        return new SagaStatisticsResponse(
+                snapshot.at(),
+                byName(snapshot.current()),
+                snapshot.windows().stream()
+                        .map(window -> {
+                            Map<String, Map<String, Long>> services = new LinkedHashMap<>();
+                            window.services().forEach((service, counts) ->
+                                    services.put(service.name(), byName(counts)));
+                            return new WindowStats(window.length().toString(), window.started(),
+                                    byName(window.ended()), window.successRate(), services);
+                        })
+                        .toList()
+        );
+    }
+
+    private static Map<String, Long> byName(Map<? extends Enum<?>, Long> counts) {
+        Map<String, Long> named = new LinkedHashMap<>();
+        counts.forEach((key, count) -> named.put(key.name(), count));
+        return named;
+    }
+}
@@ -9,7 +9,8 @@ import com.ecommerce.order.domain.model.ServiceConfig;
 public record ServiceConfigDto(
         String serviceName,
         int order,
-        int timeoutSeconds
+        int timeoutSeconds,
+        boolean parallelCompensation
 ) {
     /**
      * Convert from domain model.
@@ -18,7 +19,8 @@ public record ServiceConfigDto(
         return new ServiceConfigDto(
                 config.name().name(),
                 config.order(),
-                config.timeoutSeconds()
+                config.timeoutSeconds(),
+                config.parallelCompensation()
         );
     }
 
@@ -30,7 +32,8 @@ public record ServiceConfigDto(
                 ServiceName.valueOf(serviceName),
                 order,
                 timeoutSeconds,
-                false  // pending
+                false,  // pending
+                parallelCompensation
         );
     }
 }
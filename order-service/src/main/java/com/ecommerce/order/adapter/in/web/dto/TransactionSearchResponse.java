@@ -0,0 +1,31 @@
+package com.ecommerce.order.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO for the admin transaction search.
+ * One page of services currently in the searched status, oldest first;
+ * {@code nextCursor} is set when more matches follow.
+ */
+public record TransactionSearchResponse(
+        String status,
+        int count,
+        List<Match> matches,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String nextCursor
+) {
+    /**
+     * A service of a saga transaction, with its latest entry.
+     */
+    public record Match(
+            String txId,
+            String orderId,
+            String serviceName,
+            String status,
+            String errorMessage,
+            int retryCount,
+            Instant updatedAt
+    ) {}
+}
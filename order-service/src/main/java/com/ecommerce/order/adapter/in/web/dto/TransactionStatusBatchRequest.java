@@ -0,0 +1,13 @@
+package com.ecommerce.order.adapter.in.web.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request DTO for looking up the status of several transactions at once.
+ */
+public record TransactionStatusBatchRequest(
+        @NotEmpty(message = "txIds cannot be empty")
+        List<String> txIds
+) {}
@@ -0,0 +1,22 @@
+package com.ecommerce.order.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch status lookup: one result per distinct requested id, in request order.
+ */
+public record TransactionStatusBatchResponse(
+        int count,
+        List<Result> results
+) {
+    /**
+     * Status of one requested transaction; {@code transaction} is absent when it was not found.
+     */
+    public record Result(
+            String txId,
+            boolean found,
+            @JsonInclude(JsonInclude.Include.NON_NULL) TransactionStatusResponse transaction
+    ) {}
+}
@@ -53,15 +53,22 @@ public class OrderWebSocketHandler extends TextWebSocketHandler {
 
     public void sendNotification(String txId, WebSocketMessage message) {
         List<WebSocketSession> sessions = sessionsByTxId.get(txId);
-        if (sessions == null) {
+        if (sessions == null || sessions.isEmpty()) {
+            return;
+        }
+
+        // Serialize once and share the frame across all subscribers of this txId
+        TextMessage frame;
+        try {
+            frame = new TextMessage(objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
             return;
         }
 
         for (WebSocketSession session : sessions) {
             if (session.isOpen()) {
                 try {
-                    String json = objectMapper.writeValueAsString(message);
-                    session.sendMessage(new TextMessage(json));
+                    session.sendMessage(frame);
                 } catch (Exception e) {
                     // Log and continue to next session
                 }
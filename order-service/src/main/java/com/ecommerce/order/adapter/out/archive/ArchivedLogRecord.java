@@ -0,0 +1,43 @@
+package com.ecommerce.order.adapter.out.archive;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.domain.model.TransactionLog;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One transaction_log row as stored in an archive segment (one NDJSON line).
+ */
+public record ArchivedLogRecord(
+        Long id,
+        UUID txId,
+        UUID orderId,
+        ServiceName serviceName,
+        TransactionStatus status,
+        String errorMessage,
+        int retryCount,
+        LocalDateTime createdAt,
+        LocalDateTime notifiedAt
+) {
+
+    public static ArchivedLogRecord of(TransactionLog transactionLog) {
+        return new ArchivedLogRecord(
+                transactionLog.getId(),
+                transactionLog.getTxId(),
+                transactionLog.getOrderId(),
+                transactionLog.getServiceName(),
+                transactionLog.getStatus(),
+                transactionLog.getErrorMessage(),
+                transactionLog.getRetryCount(),
+                transactionLog.getCreatedAt(),
+                transactionLog.getNotifiedAt()
+        );
+    }
+
+    public TransactionLog toDomain() {
+        return TransactionLog.restore(id, txId, orderId, serviceName, status,
+                errorMessage, retryCount, createdAt, notifiedAt);
+    }
+}
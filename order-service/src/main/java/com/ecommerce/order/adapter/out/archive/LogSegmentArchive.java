@@ -0,0 +1,327 @@
+package com.ecommerce.order.adapter.out.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local-disk archive of sealed transaction_log partitions.
+ * <p>
+ * Each day is one {@code <day>.ndjson.gz} segment holding the rows of that day's transactions,
+ * sorted by txId and written as a sequence of independent gzip members (blocks), so the file
+ * is still readable with {@code zcat}. A sparse {@code <day>.idx} records the first txId,
+ * offset and length of every block; a lookup decompresses only the block that can hold the txId.
+ * <p>
+ * Segments are addressed by name; a day's segment is named after the day. Compaction of
+ * individual terminal transactions writes its own segments in the same format.
+ */
+@Component
+public class LogSegmentArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(LogSegmentArchive.class);
+
+    static final String SEGMENT_SUFFIX = ".ndjson.gz";
+    static final String INDEX_SUFFIX = ".idx";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final Map<String, SparseIndex> indexes = new ConcurrentHashMap<>();
+
+    public LogSegmentArchive(@Value("${saga.archive.directory:./data/archive}") Path directory) {
+        this.directory = directory;
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Sort key of a transaction inside a segment.
+     * The canonical string form orders the same as the unsigned 128-bit value.
+     */
+    public static String key(UUID txId) {
+        return txId.toString();
+    }
+
+    /**
+     * Name of the segment holding a sealed day.
+     */
+    public static String segmentName(LocalDate day) {
+        return day.toString();
+    }
+
+    /**
+     * File name of the segment for a day, relative to the archive directory.
+     */
+    public String segmentFileName(LocalDate day) {
+        return segmentFileName(segmentName(day));
+    }
+
+    /**
+     * File name of a named segment, relative to the archive directory.
+     */
+    public String segmentFileName(String name) {
+        return name + SEGMENT_SUFFIX;
+    }
+
+    /**
+     * Start writing the segment of a day. Nothing is visible until {@link SegmentWriter#commit()}.
+     */
+    public SegmentWriter openSegment(LocalDate day) {
+        return openSegment(segmentName(day));
+    }
+
+    /**
+     * Start writing a named segment. Nothing is visible until {@link SegmentWriter#commit()}.
+     */
+    public SegmentWriter openSegment(String name) {
+        try {
+            Files.createDirectories(directory);
+            return new SegmentWriter(name);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open archive segment " + name, e);
+        }
+    }
+
+    /**
+     * Read the archived rows of the given transactions from the segment of a day, in append order.
+     */
+    public List<ArchivedLogRecord> read(LocalDate day, Collection<UUID> txIds) {
+        return read(segmentName(day), txIds);
+    }
+
+    /**
+     * Read the archived rows of the given transactions from a named segment, in append order.
+     */
+    public List<ArchivedLogRecord> read(String name, Collection<UUID> txIds) {
+        SparseIndex index = indexes.computeIfAbsent(name, this::loadIndex);
+
+        // Group the wanted transactions by the one block each can be in
+        Map<Integer, Set<UUID>> byBlock = new TreeMap<>();
+        for (UUID txId : txIds) {
+            int block = index.blockFor(key(txId));
+            if (block >= 0) {
+                byBlock.computeIfAbsent(block, b -> new HashSet<>()).add(txId);
+            }
+        }
+        if (byBlock.isEmpty()) {
+            return List.of();
+        }
+
+        List<ArchivedLogRecord> result = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(directory.resolve(segmentFileName(name)), StandardOpenOption.READ)) {
+            for (Map.Entry<Integer, Set<UUID>> entry : byBlock.entrySet()) {
+                int block = entry.getKey();
+                ByteBuffer buffer = ByteBuffer.allocate(index.lengths[block]);
+                long position = index.offsets[block];
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new EOFException("Truncated archive segment " + name);
+                    }
+                }
+                readBlock(buffer.array(), entry.getValue(), result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive segment " + name, e);
+        }
+        result.sort(Comparator.comparing(ArchivedLogRecord::id));
+        return result;
+    }
+
+    private void readBlock(byte[] compressed, Set<UUID> wanted, List<ArchivedLogRecord> result) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(compressed)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ArchivedLogRecord record = objectMapper.readValue(line, ArchivedLogRecord.class);
+                if (wanted.contains(record.txId())) {
+                    result.add(record);
+                }
+            }
+        }
+    }
+
+    private SparseIndex loadIndex(String name) {
+        Path indexFile = directory.resolve(name + INDEX_SUFFIX);
+        if (!Files.exists(indexFile)) {
+            throw new IllegalStateException("Archive index missing for segment " + name + ": " + indexFile);
+        }
+        try {
+            List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+            String[] firstKeys = new String[lines.size()];
+            long[] offsets = new long[lines.size()];
+            int[] lengths = new int[lines.size()];
+            for (int i = 0; i < lines.size(); i++) {
+                String[] fields = lines.get(i).split("\t");
+                firstKeys[i] = fields[0];
+                offsets[i] = Long.parseLong(fields[1]);
+                lengths[i] = Integer.parseInt(fields[2]);
+            }
+            return new SparseIndex(firstKeys, offsets, lengths);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load archive index for " + name, e);
+        }
+    }
+
+    /**
+     * First txId key, offset and compressed length of every block in a segment.
+     */
+    private record SparseIndex(String[] firstKeys, long[] offsets, int[] lengths) {
+
+        /**
+         * Index of the last block whose first key is not after the given key, or -1.
+         */
+        int blockFor(String key) {
+            int low = 0;
+            int high = firstKeys.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (firstKeys[mid].compareTo(key) <= 0) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Writes one segment block by block into temporary files.
+     * Callers must pass transactions in ascending {@link #key(UUID)} order and keep
+     * all rows of a transaction in the same block.
+     */
+    public final class SegmentWriter implements AutoCloseable {
+
+        private final String name;
+        private final Path segmentTmp;
+        private final Path indexTmp;
+        private final FileChannel segment;
+        private final FileChannel index;
+        private String lastKey;
+        private long offset;
+        private long rowCount;
+        private boolean committed;
+
+        private SegmentWriter(String name) throws IOException {
+            this.name = name;
+            this.segmentTmp = directory.resolve(segmentFileName(name) + ".tmp");
+            this.indexTmp = directory.resolve(name + INDEX_SUFFIX + ".tmp");
+            this.segment = FileChannel.open(segmentTmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.index = FileChannel.open(indexTmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        /**
+         * Compress the rows of a run of transactions into one block.
+         */
+        public void writeBlock(List<ArchivedLogRecord> records) {
+            if (records.isEmpty()) {
+                return;
+            }
+            String firstKey = key(records.get(0).txId());
+            if (lastKey != null && firstKey.compareTo(lastKey) <= 0) {
+                throw new IllegalStateException("Archive blocks must be written in txId order");
+            }
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (Writer out = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+                    for (ArchivedLogRecord record : records) {
+                        out.write(objectMapper.writeValueAsString(record));
+                        out.write('\n');
+                    }
+                }
+                ByteBuffer block = ByteBuffer.wrap(bytes.toByteArray());
+                int length = block.remaining();
+                while (block.hasRemaining()) {
+                    segment.write(block);
+                }
+                ByteBuffer entry = ByteBuffer.wrap((firstKey + "\t" + offset + "\t" + length + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                while (entry.hasRemaining()) {
+                    index.write(entry);
+                }
+                offset += length;
+                rowCount += records.size();
+                lastKey = key(records.get(records.size() - 1).txId());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write archive block for " + name, e);
+            }
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Force the segment and its index to disk and publish them. Once this returns, the
+         * renames are durable too, so callers may delete the archived rows from the hot tables.
+         */
+        public void commit() {
+            try {
+                segment.force(true);
+                segment.close();
+                index.force(true);
+                index.close();
+                Files.move(segmentTmp, directory.resolve(segmentFileName(name)),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.move(indexTmp, directory.resolve(name + INDEX_SUFFIX),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                syncDirectory();
+                indexes.remove(name);
+                committed = true;
+                log.info("Archive segment {} written: rows={}, bytes={}", segmentFileName(name), rowCount, offset);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to commit archive segment " + name, e);
+            }
+        }
+
+        /**
+         * Make the renames into the archive directory durable.
+         */
+        private void syncDirectory() throws IOException {
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                dir.force(true);
+            } catch (AccessDeniedException e) {
+                // Windows cannot open a directory as a channel; its renames are journaled by NTFS
+                log.debug("Cannot sync archive directory {}: {}", directory, e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                segment.close();
+                index.close();
+                Files.deleteIfExists(segmentTmp);
+                Files.deleteIfExists(indexTmp);
+            } catch (IOException e) {
+                log.warn("Failed to clean up partial archive segment {}: {}", name, e.getMessage());
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.ecommerce.common.dto.NotifyRequest;
 import com.ecommerce.common.dto.NotifyResponse;
 import com.ecommerce.common.dto.RollbackRequest;
 import com.ecommerce.common.dto.RollbackResponse;
+import com.ecommerce.order.application.port.out.RetryBudgetPort;
 import com.ecommerce.order.application.port.out.ServiceClientPort;
 import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.bulkhead.BulkheadFullException;
@@ -25,13 +26,25 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * HTTP adapter for downstream service communication.
  * Implements ServiceClientPort using RestTemplate with Resilience4j protection.
  *
  * Decorator order: Bulkhead -> Retry -> CircuitBreaker -> HTTP Call
+ *
+ * Retries made by the Resilience4j Retry are drawn from the shared {@link RetryBudgetPort};
+ * once the service's budget is exhausted the call fails with its last error instead of retrying.
+ * {@link #rollbackOnce} and {@link #rollbackBatch} leave retrying and budgeting to their caller.
  */
 @Component
 public class ServiceClientAdapter implements ServiceClientPort {
@@ -42,16 +55,19 @@ public class ServiceClientAdapter implements ServiceClientPort {
     private final CircuitBreakerRegistry circuitBreakerRegistry;
     private final RetryRegistry retryRegistry;
     private final BulkheadRegistry bulkheadRegistry;
+    private final RetryBudgetPort retryBudget;
 
     public ServiceClientAdapter(
             RestTemplate restTemplate,
             CircuitBreakerRegistry circuitBreakerRegistry,
             RetryRegistry retryRegistry,
-            BulkheadRegistry bulkheadRegistry) {
+            BulkheadRegistry bulkheadRegistry,
+            RetryBudgetPort retryBudget) {
         this.restTemplate = restTemplate;
         this.circuitBreakerRegistry = circuitBreakerRegistry;
         this.retryRegistry = retryRegistry;
         this.bulkheadRegistry = bulkheadRegistry;
+        this.retryBudget = retryBudget;
     }
 
     @Override
@@ -70,7 +86,7 @@ public class ServiceClientAdapter implements ServiceClientPort {
         Bulkhead bulkhead = bulkheadRegistry.bulkhead(instanceName);
 
         Supplier<NotifyResponse> decoratedSupplier = Decorators
-                .ofSupplier(() -> executeNotify(notifyUrl, request))
+                .ofSupplier(withRetryBudget(serviceName, () -> executeNotify(notifyUrl, request)))
                 .withBulkhead(bulkhead)
                 .withRetry(retry)
                 .withCircuitBreaker(circuitBreaker)
@@ -88,6 +104,10 @@ public class ServiceClientAdapter implements ServiceClientPort {
                     request.txId(), serviceName);
             return NotifyResponse.failure(request.txId(),
                     "Service " + serviceName.getDisplayName() + " is overloaded");
+        } catch (RetryBudgetExhaustedException e) {
+            log.warn("txId={} - Retry budget exhausted for service {}, not retrying: {}",
+                    request.txId(), serviceName, e.getMessage());
+            return NotifyResponse.failure(request.txId(), "Service call failed: " + e.getMessage());
         } catch (RestClientException e) {
             log.error("txId={} - Notify failed for {} after retries: {}",
                     request.txId(), notifyUrl, e.getMessage());
@@ -97,17 +117,28 @@ public class ServiceClientAdapter implements ServiceClientPort {
 
     @Override
     public RollbackResponse rollback(ServiceName serviceName, RollbackRequest request) {
+        return rollback(serviceName, request, true);
+    }
+
+    @Override
+    public RollbackResponse rollbackOnce(ServiceName serviceName, RollbackRequest request) {
+        return rollback(serviceName, request, false);
+    }
+
+    private RollbackResponse rollback(ServiceName serviceName, RollbackRequest request, boolean retrying) {
         String rollbackUrl = serviceName.getDefaultRollbackUrl();
         String instanceName = serviceName.name();
 
         CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(instanceName);
-        Retry retry = retryRegistry.retry(instanceName);
         Bulkhead bulkhead = bulkheadRegistry.bulkhead(instanceName);
 
-        Supplier<RollbackResponse> decoratedSupplier = Decorators
-                .ofSupplier(() -> executeRollback(rollbackUrl, request))
-                .withBulkhead(bulkhead)
-                .withRetry(retry)
+        Decorators.DecorateSupplier<RollbackResponse> decorated = retrying
+                ? Decorators.ofSupplier(withRetryBudget(serviceName, () -> executeRollback(rollbackUrl, request)))
+                        .withBulkhead(bulkhead)
+                        .withRetry(retryRegistry.retry(instanceName))
+                : Decorators.ofSupplier(() -> executeRollback(rollbackUrl, request))
+                        .withBulkhead(bulkhead);
+        Supplier<RollbackResponse> decoratedSupplier = decorated
                 .withCircuitBreaker(circuitBreaker)
                 .decorate();
 
@@ -123,13 +154,66 @@ public class ServiceClientAdapter implements ServiceClientPort {
                     request.txId(), serviceName);
             return RollbackResponse.failure(request.txId(),
                     "Service " + serviceName.getDisplayName() + " is overloaded");
+        } catch (RetryBudgetExhaustedException e) {
+            log.warn("txId={} - Retry budget exhausted for service {} rollback, not retrying: {}",
+                    request.txId(), serviceName, e.getMessage());
+            return RollbackResponse.failure(request.txId(), "Service call failed: " + e.getMessage());
         } catch (RestClientException e) {
-            log.error("txId={} - Rollback failed for {} after retries: {}",
-                    request.txId(), rollbackUrl, e.getMessage());
+            log.error("txId={} - Rollback failed for {}{}: {}",
+                    request.txId(), rollbackUrl, retrying ? " after retries" : "", e.getMessage());
             return RollbackResponse.failure(request.txId(), "Service call failed: " + e.getMessage());
         }
     }
 
+    @Override
+    public List<RollbackResponse> rollbackBatch(ServiceName serviceName, List<RollbackRequest> requests) {
+        String batchUrl = serviceName.getDefaultRollbackBatchUrl();
+        String instanceName = serviceName.name();
+
+        Supplier<List<RollbackResponse>> decoratedSupplier = Decorators
+                .ofSupplier(() -> executeRollbackBatch(batchUrl, requests))
+                .withBulkhead(bulkheadRegistry.bulkhead(instanceName))
+                .withCircuitBreaker(circuitBreakerRegistry.circuitBreaker(instanceName))
+                .decorate();
+
+        try {
+            return decoratedSupplier.get();
+        } catch (CallNotPermittedException e) {
+            log.warn("Circuit breaker OPEN for service {} rollback, skipping batch of {}",
+                    serviceName, requests.size());
+            return failAll(requests, "Circuit breaker is OPEN for " + serviceName.getDisplayName() + " rollback");
+        } catch (BulkheadFullException e) {
+            log.warn("Bulkhead full for service {} rollback, rejecting batch of {}", serviceName, requests.size());
+            return failAll(requests, "Service " + serviceName.getDisplayName() + " is overloaded");
+        } catch (RestClientException e) {
+            log.error("Rollback batch of {} failed for {}: {}", requests.size(), batchUrl, e.getMessage());
+            return failAll(requests, "Service call failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Count the first call against the service's retry budget and make every later call, i.e.
+     * each retry of the Resilience4j Retry around it, take a token first. The budget exception
+     * is not a retry exception, so the Retry gives up at once.
+     */
+    private <T> Supplier<T> withRetryBudget(ServiceName serviceName, Supplier<T> call) {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicReference<RuntimeException> lastFailure = new AtomicReference<>();
+        return () -> {
+            if (attempts.getAndIncrement() == 0) {
+                retryBudget.recordCall(serviceName);
+            } else if (!retryBudget.tryAcquireRetry(serviceName)) {
+                throw new RetryBudgetExhaustedException(serviceName, lastFailure.get());
+            }
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                lastFailure.set(e);
+                throw e;
+            }
+        };
+    }
+
     /**
      * Execute notify HTTP call - throws exception for resilience decorators to handle.
      */
@@ -180,6 +264,40 @@ public class ServiceClientAdapter implements ServiceClientPort {
         return RollbackResponse.failure(request.txId(), "Empty response from service");
     }
 
+    /**
+     * Execute batch rollback HTTP call - throws exception for resilience decorators to handle.
+     * Results are matched to requests by txId; a request the service did not answer fails.
+     */
+    private List<RollbackResponse> executeRollbackBatch(String batchUrl, List<RollbackRequest> requests) {
+        log.info("Calling rollback batch endpoint with {} requests: {}", requests.size(), batchUrl);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<RollbackRequest>> entity = new HttpEntity<>(requests, headers);
+
+        ResponseEntity<RollbackResponse[]> response = restTemplate.postForEntity(
+                batchUrl,
+                entity,
+                RollbackResponse[].class
+        );
+
+        RollbackResponse[] body = response.getBody();
+        if (body == null) {
+            return failAll(requests, "Empty response from service");
+        }
+        Map<UUID, RollbackResponse> byTxId = Arrays.stream(body)
+                .collect(Collectors.toMap(RollbackResponse::txId, Function.identity(), (first, second) -> first));
+        return requests.stream()
+                .map(request -> byTxId.getOrDefault(request.txId(),
+                        RollbackResponse.failure(request.txId(), "No result in batch response")))
+                .toList();
+    }
+
+    private static List<RollbackResponse> failAll(List<RollbackRequest> requests, String message) {
+        return requests.stream()
+                .map(request -> RollbackResponse.failure(request.txId(), message))
+                .toList();
+    }
+
     @Override
     public NotifyResponse notify(String notifyUrl, NotifyRequest request) {
         log.info("txId={} - Calling notify endpoint (direct): {}", request.txId(), notifyUrl);
@@ -235,4 +353,15 @@ public class ServiceClientAdapter implements ServiceClientPort {
             return RollbackResponse.failure(request.txId(), "Service call failed: " + e.getMessage());
         }
     }
+
+    /**
+     * Raised in place of a retry the service's budget cannot pay for.
+     */
+    static class RetryBudgetExhaustedException extends RuntimeException {
+
+        RetryBudgetExhaustedException(ServiceName serviceName, RuntimeException lastFailure) {
+            super("retry budget of " + serviceName.name() + " exhausted"
+                    + (lastFailure != null ? " after: " + lastFailure.getMessage() : ""), lastFailure);
+        }
+    }
 }
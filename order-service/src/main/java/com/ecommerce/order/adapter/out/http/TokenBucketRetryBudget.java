@@ -0,0 +1,129 @@
+package com.ecommerce.order.adapter.out.http;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.order.application.port.out.RetryBudgetPort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket retry budget, one bucket per downstream service.
+ * <p>
+ * A first call deposits {@code ratio} tokens and a retry withdraws one, so sustained retries are
+ * capped at that share of calls. The bucket also refills at {@code min-per-second} so a quiet
+ * service can still retry, and holds at most {@code max-tokens} so a long healthy period cannot
+ * bank a retry storm. Buckets start full.
+ */
+@Component
+public class TokenBucketRetryBudget implements RetryBudgetPort {
+
+    private final Map<ServiceName, Bucket> buckets = new EnumMap<>(ServiceName.class);
+
+    @Autowired
+    public TokenBucketRetryBudget(@Value("${saga.retry-budget.ratio:0.2}") double ratio,
+                                  @Value("${saga.retry-budget.min-per-second:1}") double minPerSecond,
+                                  @Value("${saga.retry-budget.max-tokens:10}") double maxTokens,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        this(ratio, minPerSecond, maxTokens, System::nanoTime);
+        meterRegistry.ifAvailable(this::bindTo);
+    }
+
+    TokenBucketRetryBudget(double ratio, double minPerSecond, double maxTokens, LongSupplier nanoTime) {
+        for (ServiceName serviceName : ServiceName.values()) {
+            buckets.put(serviceName, new Bucket(ratio, minPerSecond, maxTokens, nanoTime));
+        }
+    }
+
+    @Override
+    public void recordCall(ServiceName serviceName) {
+        buckets.get(serviceName).deposit();
+    }
+
+    @Override
+    public boolean tryAcquireRetry(ServiceName serviceName) {
+        return buckets.get(serviceName).tryWithdraw();
+    }
+
+    double tokens(ServiceName serviceName) {
+        return buckets.get(serviceName).tokens();
+    }
+
+    long exhausted(ServiceName serviceName) {
+        return buckets.get(serviceName).exhausted.sum();
+    }
+
+    private void bindTo(MeterRegistry registry) {
+        buckets.forEach((serviceName, bucket) -> {
+            Gauge.builder("saga.retry.budget.tokens", bucket, Bucket::tokens)
+                    .description("Retries currently available in the service's retry budget")
+                    .tag("service", serviceName.name())
+                    .register(registry);
+            FunctionCounter.builder("saga.retry.budget.granted", bucket.granted, LongAdder::sum)
+                    .description("Retries allowed by the service's retry budget")
+                    .tag("service", serviceName.name())
+                    .register(registry);
+            FunctionCounter.builder("saga.retry.budget.exhausted", bucket.exhausted, LongAdder::sum)
+                    .description("Retries refused because the service's retry budget was exhausted")
+                    .tag("service", serviceName.name())
+                    .register(registry);
+        });
+    }
+
+    private static final class Bucket {
+
+        private final double ratio;
+        private final double refillPerNano;
+        private final double maxTokens;
+        private final LongSupplier nanoTime;
+        private final LongAdder granted = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(double ratio, double minPerSecond, double maxTokens, LongSupplier nanoTime) {
+            this.ratio = ratio;
+            this.refillPerNano = minPerSecond / 1_000_000_000d;
+            this.maxTokens = maxTokens;
+            this.nanoTime = nanoTime;
+            this.tokens = maxTokens;
+            this.refilledAt = nanoTime.getAsLong();
+        }
+
+        synchronized void deposit() {
+            refill();
+            tokens = Math.min(maxTokens, tokens + ratio);
+        }
+
+        synchronized boolean tryWithdraw() {
+            refill();
+            if (tokens < 1) {
+                exhausted.increment();
+                return false;
+            }
+            tokens -= 1;
+            granted.increment();
+            return true;
+        }
+
+        synchronized double tokens() {
+            refill();
+            return tokens;
+        }
+
+        private void refill() {
+            long now = nanoTime.getAsLong();
+            tokens = Math.min(maxTokens, tokens + (now - refilledAt) * refillPerNano);
+            refilledAt = now;
+        }
+    }
+}
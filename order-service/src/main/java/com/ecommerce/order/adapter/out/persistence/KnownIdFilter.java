@@ -0,0 +1,242 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filters of every transaction and order id with a saga_summary row, so lookups of ids
+ * that never existed are answered without a query.
+ * <p>
+ * Ids are added as their summary row is inserted, inside the inserting transaction, so an id is
+ * known before anyone can read it; a rolled-back insert only leaves a harmless false positive.
+ * On startup the filters are filled from saga_summary, which keeps a row for archived and
+ * compacted transactions too; until then every id counts as possibly known.
+ * <p>
+ * The filters grow by slices as ids arrive. Beyond {@code maxSlices} they are rotated: a
+ * generation sized for the current count is filled from saga_summary in the background while new
+ * ids go into both, then replaces the old one. Filling starts {@code rotationGrace} after the
+ * new generation, so inserts added only to the old one have committed by the time it is read.
+ * <p>
+ * Lookups the filters rule out are counted as queries avoided; lookups they let through that
+ * find nothing are reported by the caller as false positives, giving the measured rate.
+ */
+@Component
+public class KnownIdFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(KnownIdFilter.class);
+
+    static final String SELECT_IDS = "SELECT tx_id, order_id FROM saga_summary";
+
+    /** Rows fetched per round trip while filling; keeps memory flat however many sagas exist. */
+    private static final int FILL_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long expectedIds;
+    private final double falsePositiveRate;
+    private final int maxSlices;
+    private final Duration rotationGrace;
+    private final ExecutorService rotator;
+
+    private volatile Generation current;
+    private volatile Generation next;
+    private volatile boolean ready;
+    private final AtomicBoolean rotating = new AtomicBoolean();
+
+    private final AtomicLong transactionsAvoided = new AtomicLong();
+    private final AtomicLong ordersAvoided = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    public KnownIdFilter(JdbcTemplate jdbcTemplate,
+                         @Value("${saga.known-ids.expected-ids:1000000}") long expectedIds,
+                         @Value("${saga.known-ids.false-positive-rate:0.01}") double falsePositiveRate,
+                         @Value("${saga.known-ids.max-slices:4}") int maxSlices,
+                         @Value("${saga.known-ids.rotation-grace:30s}") Duration rotationGrace,
+                         ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedIds = expectedIds;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxSlices = maxSlices;
+        this.rotationGrace = rotationGrace;
+        this.current = new Generation(expectedIds, falsePositiveRate);
+        this.rotator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "known-id-rotator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.ifAvailable(this::bindTo);
+    }
+
+    /**
+     * Record the ids of a newly inserted summary row. Must be called in the inserting transaction.
+     * <p>
+     * {@code next} is read before {@code current}: a rotation publishes its generation as
+     * {@code next} before it becomes {@code current}, so whichever generation ends up current
+     * was seen here. Read the other way round, an insert could see the old {@code current},
+     * then no {@code next} once the swap finished, and land only in the discarded generation
+     * after {@code fill} had already missed it as uncommitted.
+     */
+    public void add(UUID txId, UUID orderId) {
+        Generation upcoming = next;
+        Generation generation = current;
+        generation.add(txId, orderId);
+        if (upcoming != null && upcoming != generation) {
+            upcoming.add(txId, orderId);
+        }
+        if (generation.sliceCount() > maxSlices && rotating.compareAndSet(false, true)) {
+            rotator.execute(this::rotate);
+        }
+    }
+
+    /**
+     * False only if no saga_summary row was ever inserted for this transaction id.
+     */
+    public boolean mightContainTransaction(UUID txId) {
+        if (!ready || current.txIds().mightContain(txId)) {
+            return true;
+        }
+        transactionsAvoided.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * False only if no saga_summary row was ever inserted for this order id.
+     */
+    public boolean mightContainOrder(UUID orderId) {
+        if (!ready || current.orderIds().mightContain(orderId)) {
+            return true;
+        }
+        ordersAvoided.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Report that an id the filters let through had nothing behind it.
+     */
+    public void falsePositive() {
+        if (ready) {
+            falsePositives.incrementAndGet();
+        }
+    }
+
+    /**
+     * Fill the filters from saga_summary; lookups are filtered from then on.
+     */
+    public void load() {
+        long started = System.currentTimeMillis();
+        Generation generation = current;
+        fill(generation);
+        ready = true;
+        log.info("Known id filters loaded in {} ms: {} transactions, {} orders",
+                System.currentTimeMillis() - started, generation.txIds().count(), generation.orderIds().count());
+    }
+
+    /**
+     * Share of lookups for unknown ids that the filters let through.
+     */
+    public double measuredFalsePositiveRate() {
+        long misses = falsePositives.get();
+        long avoided = transactionsAvoided.get() + ordersAvoided.get();
+        return misses + avoided == 0 ? 0.0 : (double) misses / (misses + avoided);
+    }
+
+    public long queriesAvoided() {
+        return transactionsAvoided.get() + ordersAvoided.get();
+    }
+
+    public int sliceCount() {
+        return current.sliceCount();
+    }
+
+    void rotate() {
+        try {
+            Generation generation = current;
+            Generation rotated = new Generation(
+                    Math.max(expectedIds, 2 * generation.txIds().count()), falsePositiveRate);
+            next = rotated;
+            Thread.sleep(rotationGrace.toMillis());
+            fill(rotated);
+            current = rotated;
+            log.info("Known id filters rotated from {} slices: {} transactions, {} orders",
+                    generation.sliceCount(), rotated.txIds().count(), rotated.orderIds().count());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Known id filter rotation failed, keeping the current filters", e);
+        } finally {
+            next = null;
+            rotating.set(false);
+        }
+    }
+
+    private void fill(Generation generation) {
+        RowCallbackHandler handler = rs -> generation.add(
+                rs.getObject(1, UUID.class), rs.getObject(2, UUID.class));
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_IDS);
+            statement.setFetchSize(FILL_FETCH_SIZE);
+            return statement;
+        }, handler);
+    }
+
+    private void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("saga.known.ids.queries.avoided", transactionsAvoided, AtomicLong::get)
+                .description("Lookups of unknown ids answered without a query")
+                .tag("kind", "transaction")
+                .register(registry);
+        FunctionCounter.builder("saga.known.ids.queries.avoided", ordersAvoided, AtomicLong::get)
+                .description("Lookups of unknown ids answered without a query")
+                .tag("kind", "order")
+                .register(registry);
+        FunctionCounter.builder("saga.known.ids.false.positives", falsePositives, AtomicLong::get)
+                .description("Lookups let through by the filters that found nothing")
+                .register(registry);
+        Gauge.builder("saga.known.ids.false.positive.ratio", this, KnownIdFilter::measuredFalsePositiveRate)
+                .description("Measured share of unknown-id lookups the filters let through")
+                .register(registry);
+        Gauge.builder("saga.known.ids.expected.false.positive.ratio", this,
+                        filter -> filter.current.txIds().expectedFalsePositiveRate())
+                .description("False-positive probability of the transaction id filter at its current fill")
+                .register(registry);
+        Gauge.builder("saga.known.ids.memory", this, filter -> filter.current.bitSize() / 8.0)
+                .description("Heap held by the known id filters")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private record Generation(ScalableBloomFilter txIds, ScalableBloomFilter orderIds) {
+
+        private Generation(long expectedIds, double falsePositiveRate) {
+            this(new ScalableBloomFilter(expectedIds, falsePositiveRate),
+                    new ScalableBloomFilter(expectedIds, falsePositiveRate));
+        }
+
+        private void add(UUID txId, UUID orderId) {
+            txIds.add(txId);
+            orderIds.add(orderId);
+        }
+
+        private int sliceCount() {
+            return Math.max(txIds.sliceCount(), orderIds.sliceCount());
+        }
+
+        private long bitSize() {
+            return txIds.bitSize() + orderIds.bitSize();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.ecommerce.order.adapter.out.persistence;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * JPA entity for outbox_event table.
@@ -15,11 +16,11 @@ public class OutboxEventEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "tx_id", nullable = false, length = 36)
-    private String txId;
+    @Column(name = "tx_id", nullable = false)
+    private UUID txId;
 
-    @Column(name = "order_id", nullable = false, length = 36)
-    private String orderId;
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
 
     @Column(name = "event_type", nullable = false, length = 100)
     private String eventType;
@@ -40,7 +41,7 @@ public class OutboxEventEntity {
     public OutboxEventEntity() {
     }
 
-    public OutboxEventEntity(String txId, String orderId, String eventType, String payload) {
+    public OutboxEventEntity(UUID txId, UUID orderId, String eventType, String payload) {
         this.txId = txId;
         this.orderId = orderId;
         this.eventType = eventType;
@@ -59,19 +60,19 @@ public class OutboxEventEntity {
         this.id = id;
     }
 
-    public String getTxId() {
+    public UUID getTxId() {
         return txId;
     }
 
-    public void setTxId(String txId) {
+    public void setTxId(UUID txId) {
         this.txId = txId;
     }
 
-    public String getOrderId() {
+    public UUID getOrderId() {
         return orderId;
     }
 
-    public void setOrderId(String orderId) {
+    public void setOrderId(UUID orderId) {
         this.orderId = orderId;
     }
 
@@ -29,8 +29,8 @@ public class OutboxPersistenceAdapter implements OutboxPort {
     @Override
     public void save(OutboxEventData event) {
         OutboxEventEntity entity = new OutboxEventEntity(
-                event.getTxId(),
-                event.getOrderId(),
+                UUID.fromString(event.getTxId()),
+                UUID.fromString(event.getOrderId()),
                 event.getEventType(),
                 event.getPayload()
         );
@@ -47,8 +47,8 @@ public class OutboxPersistenceAdapter implements OutboxPort {
         }
 
         OutboxEventEntity entity = new OutboxEventEntity(
-                txId.toString(),
-                orderId.toString(),
+                txId,
+                orderId,
                 "ORDER_CONFIRMED",
                 payload
         );
@@ -62,8 +62,8 @@ public class OutboxPersistenceAdapter implements OutboxPort {
                 .stream()
                 .map(entity -> new OutboxEvent(
                         entity.getId(),
-                        UUID.fromString(entity.getTxId()),
-                        UUID.fromString(entity.getOrderId()),
+                        entity.getTxId(),
+                        entity.getOrderId(),
                         entity.getEventType(),
                         entity.getPayload()
                 ))
@@ -0,0 +1,64 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+
+/**
+ * Stable one-byte storage codes for enums persisted as TINYINT.
+ * <p>
+ * Codes are assigned explicitly rather than from ordinals so that reordering or
+ * extending an enum never changes the meaning of stored rows. Never reuse a code.
+ */
+public final class PersistenceCodes {
+
+    private static final TransactionStatus[] STATUS_BY_CODE = new TransactionStatus[8];
+    private static final ServiceName[] SERVICE_BY_CODE = new ServiceName[8];
+
+    static {
+        for (TransactionStatus status : TransactionStatus.values()) {
+            STATUS_BY_CODE[code(status)] = status;
+        }
+        for (ServiceName serviceName : ServiceName.values()) {
+            SERVICE_BY_CODE[code(serviceName)] = serviceName;
+        }
+    }
+
+    private PersistenceCodes() {
+    }
+
+    public static byte code(TransactionStatus status) {
+        return switch (status) {
+            case U -> 1;
+            case S -> 2;
+            case F -> 3;
+            case R -> 4;
+            case D -> 5;
+            case RF -> 6;
+        };
+    }
+
+    public static byte code(ServiceName serviceName) {
+        return switch (serviceName) {
+            case CREDIT_CARD -> 1;
+            case INVENTORY -> 2;
+            case LOGISTICS -> 3;
+            case SAGA -> 4;
+        };
+    }
+
+    public static TransactionStatus status(byte code) {
+        TransactionStatus status = code > 0 && code < STATUS_BY_CODE.length ? STATUS_BY_CODE[code] : null;
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown transaction status code: " + code);
+        }
+        return status;
+    }
+
+    public static ServiceName serviceName(byte code) {
+        ServiceName serviceName = code > 0 && code < SERVICE_BY_CODE.length ? SERVICE_BY_CODE[code] : null;
+        if (serviceName == null) {
+            throw new IllegalArgumentException("Unknown service name code: " + code);
+        }
+        return serviceName;
+    }
+}
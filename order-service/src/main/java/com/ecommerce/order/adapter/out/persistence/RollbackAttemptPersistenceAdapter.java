@@ -0,0 +1,159 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.application.port.out.RollbackAttemptPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plain-JDBC persistence of compensation attempts in the rollback_attempt table.
+ * <p>
+ * Claiming is optimistic: a due row is taken by moving its {@code next_attempt_at} from the value
+ * just read to the lease end, so of several pollers exactly one wins each row and no lock is held
+ * while the compensation call runs.
+ */
+@Component
+public class RollbackAttemptPersistenceAdapter implements RollbackAttemptPort {
+
+    private static final String INSERT_ATTEMPT = """
+        INSERT INTO rollback_attempt (tx_id, order_id, service_name, stage, attempts, max_attempts, next_attempt_at)
+        VALUES (?, ?, ?, ?, 0, ?, ?)
+    """;
+
+    // Due rows whose earlier stages have all settled, oldest first
+    static final String SELECT_DUE = """
+        SELECT a.id, a.tx_id, a.order_id, a.service_name, a.attempts, a.max_attempts, a.next_attempt_at
+        FROM rollback_attempt a
+        WHERE a.next_attempt_at <= ?
+          AND NOT EXISTS (SELECT 1 FROM rollback_attempt b
+                          WHERE b.tx_id = a.tx_id AND b.stage < a.stage AND b.outcome IS NULL)
+        ORDER BY a.next_attempt_at, a.id
+        LIMIT ?
+    """;
+
+    static final String CLAIM = """
+        UPDATE rollback_attempt SET next_attempt_at = ?
+        WHERE id = ? AND next_attempt_at = ? AND outcome IS NULL
+    """;
+
+    private static final String RELEASE = """
+        UPDATE rollback_attempt SET next_attempt_at = ? WHERE id = ? AND outcome IS NULL
+    """;
+
+    private static final String RESCHEDULE = """
+        UPDATE rollback_attempt SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?
+    """;
+
+    private static final String SETTLE = """
+        UPDATE rollback_attempt SET outcome = ?, next_attempt_at = NULL, last_error = ? WHERE id = ?
+    """;
+
+    private static final String COUNT_PENDING = """
+        SELECT COUNT(*) FROM rollback_attempt WHERE tx_id = ? AND outcome IS NULL
+    """;
+
+    private static final String SELECT_FAILED = """
+        SELECT service_name FROM rollback_attempt WHERE tx_id = ? AND outcome = ? ORDER BY stage, id
+    """;
+
+    private static final String DELETE_TRANSACTION = """
+        DELETE FROM rollback_attempt WHERE tx_id = ?
+    """;
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final RowMapper<DueRow> DUE_ROW_MAPPER = (rs, rowNum) -> new DueRow(
+            new RollbackAttempt(
+                    rs.getLong("id"),
+                    rs.getObject("tx_id", UUID.class),
+                    rs.getObject("order_id", UUID.class),
+                    PersistenceCodes.serviceName(rs.getByte("service_name")),
+                    rs.getInt("attempts"),
+                    rs.getInt("max_attempts")),
+            rs.getTimestamp("next_attempt_at"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RollbackAttemptPersistenceAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void schedule(UUID txId, UUID orderId, List<List<ServiceName>> stages, int maxAttempts,
+                         LocalDateTime firstAttemptAt) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int stage = 0; stage < stages.size(); stage++) {
+            for (ServiceName serviceName : stages.get(stage)) {
+                rows.add(new Object[]{txId, orderId, PersistenceCodes.code(serviceName), stage, maxAttempts,
+                        firstAttemptAt});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ATTEMPT, rows);
+    }
+
+    @Override
+    public List<RollbackAttempt> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        List<RollbackAttempt> claimed = new ArrayList<>();
+        for (DueRow row : jdbcTemplate.query(SELECT_DUE, DUE_ROW_MAPPER, now, limit)) {
+            // Losing the race to another poller leaves the row to it
+            if (jdbcTemplate.update(CLAIM, leaseUntil, row.attempt().id(), row.nextAttemptAt()) == 1) {
+                claimed.add(row.attempt());
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public void release(List<RollbackAttempt> attempts, LocalDateTime nextAttemptAt) {
+        if (attempts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RELEASE, attempts.stream()
+                .map(attempt -> new Object[]{nextAttemptAt, attempt.id()})
+                .toList());
+    }
+
+    @Override
+    public void reschedule(long attemptId, int attempts, LocalDateTime nextAttemptAt, String lastError) {
+        jdbcTemplate.update(RESCHEDULE, attempts, nextAttemptAt, truncate(lastError), attemptId);
+    }
+
+    @Override
+    public void settle(long attemptId, TransactionStatus outcome, String lastError) {
+        jdbcTemplate.update(SETTLE, PersistenceCodes.code(outcome), truncate(lastError), attemptId);
+    }
+
+    @Override
+    @Transactional
+    public Optional<List<ServiceName>> finish(UUID txId) {
+        Integer pending = jdbcTemplate.queryForObject(COUNT_PENDING, Integer.class, txId);
+        if (pending == null || pending > 0) {
+            return Optional.empty();
+        }
+        List<ServiceName> failed = jdbcTemplate.query(SELECT_FAILED,
+                (rs, rowNum) -> PersistenceCodes.serviceName(rs.getByte("service_name")),
+                txId, PersistenceCodes.code(TransactionStatus.RF));
+        // Workers settling the last two parallel rows may both get here; only one deletes anything
+        if (jdbcTemplate.update(DELETE_TRANSACTION, txId) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(failed);
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private record DueRow(RollbackAttempt attempt, Timestamp nextAttemptAt) {}
+}
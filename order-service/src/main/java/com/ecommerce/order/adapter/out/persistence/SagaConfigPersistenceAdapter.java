@@ -86,7 +86,8 @@ public class SagaConfigPersistenceAdapter implements SagaConfigPort {
                     ServiceName.valueOf(entity.getConfigKey()),
                     value.order(),
                     value.timeoutSeconds(),
-                    entity.getIsActive()
+                    entity.getIsActive(),
+                    value.parallelCompensation()
             );
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to parse config value for " + entity.getConfigKey(), e);
@@ -95,7 +96,7 @@ public class SagaConfigPersistenceAdapter implements SagaConfigPort {
 
     private SagaConfigEntity toEntity(ServiceConfig config, boolean isActive, boolean isPending) {
         try {
-            ConfigValue value = new ConfigValue(config.order(), config.timeoutSeconds());
+            ConfigValue value = new ConfigValue(config.order(), config.timeoutSeconds(), config.parallelCompensation());
             String jsonValue = objectMapper.writeValueAsString(value);
             return new SagaConfigEntity(
                     CONFIG_TYPE,
@@ -111,6 +112,7 @@ public class SagaConfigPersistenceAdapter implements SagaConfigPort {
 
     /**
      * Value object for storing config data as JSON.
+     * Values stored before {@code parallelCompensation} existed read it as false.
      */
-    private record ConfigValue(int order, int timeoutSeconds) {}
+    private record ConfigValue(int order, int timeoutSeconds, boolean parallelCompensation) {}
 }
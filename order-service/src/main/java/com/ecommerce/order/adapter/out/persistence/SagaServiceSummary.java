@@ -0,0 +1,38 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.domain.model.TransactionLog;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Final state of one service in a compacted transaction, folded from all of its log rows.
+ *
+ * @param startedAt  time of the service's first log row
+ * @param finishedAt time of its last log row
+ * @param attempts   number of log rows the service had
+ * @param retryCount highest retry count recorded
+ * @param lastError  most recent error message, if any
+ * @param lastLogId  id of the last log row, which stays addressable in the archive
+ */
+public record SagaServiceSummary(
+        ServiceName serviceName,
+        TransactionStatus status,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        int attempts,
+        int retryCount,
+        String lastError,
+        long lastLogId
+) {
+
+    /**
+     * The latest log entry this summary stands for.
+     */
+    public TransactionLog toDomain(UUID txId, UUID orderId) {
+        return TransactionLog.restore(lastLogId, txId, orderId, serviceName, status, lastError, retryCount,
+                finishedAt, null);
+    }
+}
@@ -0,0 +1,156 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.domain.model.TransactionLog;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA entity for saga_state table.
+ * Latest status per (transaction, service), projected from transaction_log.
+ */
+@Entity
+@Table(name = "saga_state")
+@IdClass(SagaStateId.class)
+public class SagaStateEntity {
+
+    @Id
+    @Column(name = "tx_id", nullable = false)
+    private UUID txId;
+
+    @Id
+    @Column(name = "service_name", nullable = false)
+    private Byte serviceCode;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Convert(converter = TransactionStatusConverter.class)
+    @Column(name = "status", nullable = false)
+    private TransactionStatus status;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "retry_count")
+    private Integer retryCount = 0;
+
+    @Column(name = "last_log_id", nullable = false)
+    private Long lastLogId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "deadline_at")
+    private LocalDateTime deadlineAt;
+
+    public SagaStateEntity() {
+    }
+
+    public SagaStateEntity(UUID txId, ServiceName serviceName, UUID orderId) {
+        this.txId = txId;
+        this.serviceCode = PersistenceCodes.code(serviceName);
+        this.orderId = orderId;
+    }
+
+    /**
+     * Apply a newly appended log entry to this projection row.
+     */
+    public void apply(TransactionLogEntity logEntry) {
+        this.status = logEntry.getStatus();
+        this.errorMessage = logEntry.getErrorMessage();
+        this.retryCount = logEntry.getRetryCount();
+        this.lastLogId = logEntry.getId();
+        this.updatedAt = logEntry.getCreatedAt();
+        this.deadlineAt = logEntry.getDeadlineAt();
+    }
+
+    /**
+     * The latest log entry this row stands for, as the hot path reads it back.
+     */
+    public TransactionLog toDomain() {
+        return TransactionLog.restore(lastLogId, txId, orderId, getServiceName(), status, errorMessage,
+                retryCount != null ? retryCount : 0, updatedAt, null, deadlineAt);
+    }
+
+    // Getters and setters
+
+    public UUID getTxId() {
+        return txId;
+    }
+
+    public void setTxId(UUID txId) {
+        this.txId = txId;
+    }
+
+    public Byte getServiceCode() {
+        return serviceCode;
+    }
+
+    public void setServiceCode(Byte serviceCode) {
+        this.serviceCode = serviceCode;
+    }
+
+    public ServiceName getServiceName() {
+        return PersistenceCodes.serviceName(serviceCode);
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(UUID orderId) {
+        this.orderId = orderId;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TransactionStatus status) {
+        this.status = status;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Integer getRetryCount() {
+        return retryCount;
+    }
+
+    public void setRetryCount(Integer retryCount) {
+        this.retryCount = retryCount;
+    }
+
+    public Long getLastLogId() {
+        return lastLogId;
+    }
+
+    public void setLastLogId(Long lastLogId) {
+        this.lastLogId = lastLogId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getDeadlineAt() {
+        return deadlineAt;
+    }
+
+    public void setDeadlineAt(LocalDateTime deadlineAt) {
+        this.deadlineAt = deadlineAt;
+    }
+}
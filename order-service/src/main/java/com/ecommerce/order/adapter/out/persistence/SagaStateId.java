@@ -0,0 +1,47 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Composite key of the saga_state table.
+ * The service is kept as its raw storage code since converters do not apply to identifiers.
+ */
+public class SagaStateId implements Serializable {
+
+    private UUID txId;
+    private Byte serviceCode;
+
+    public SagaStateId() {
+    }
+
+    public SagaStateId(UUID txId, Byte serviceCode) {
+        this.txId = txId;
+        this.serviceCode = serviceCode;
+    }
+
+    public UUID getTxId() {
+        return txId;
+    }
+
+    public Byte getServiceCode() {
+        return serviceCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SagaStateId that)) {
+            return false;
+        }
+        return Objects.equals(txId, that.txId) && Objects.equals(serviceCode, that.serviceCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(txId, serviceCode);
+    }
+}
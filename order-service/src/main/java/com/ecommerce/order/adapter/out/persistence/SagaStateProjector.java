@@ -0,0 +1,120 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.domain.model.SagaOverallStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Rebuilds the saga_state and saga_summary projections of transaction_log from the hot log.
+ * Appends keep the projection in step through {@link TransactionLogJdbcRepository}; a rebuild
+ * reports nothing to the statistics, cache or id filters, which the caller refreshes afterwards.
+ */
+@Component
+public class SagaStateProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(SagaStateProjector.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final TransactionLogRepository logRepository;
+    private final SagaStateRepository stateRepository;
+    private final SagaSummaryRepository summaryRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SagaStateProjector(TransactionLogRepository logRepository,
+                              SagaStateRepository stateRepository,
+                              SagaSummaryRepository summaryRepository) {
+        this.logRepository = logRepository;
+        this.stateRepository = stateRepository;
+        this.summaryRepository = summaryRepository;
+    }
+
+    /**
+     * Rebuild both projection tables from the hot log.
+     *
+     * @return number of transactions projected
+     */
+    @Transactional
+    public long rebuild() {
+        log.info("Rebuilding saga state projection from transaction_log");
+        entityManager.flush();
+        stateRepository.deleteAllInBatch();
+        // Archived summaries index the archive segments and have no hot log rows to rebuild from
+        summaryRepository.deleteUnarchived();
+        entityManager.clear();
+
+        long projected = 0;
+        UUID lastTxId = null;
+        while (true) {
+            PageRequest page = PageRequest.of(0, REBUILD_BATCH_SIZE);
+            List<UUID> txIds = lastTxId == null
+                    ? logRepository.findTxIds(page)
+                    : logRepository.findTxIdsAfter(lastTxId, page);
+            if (txIds.isEmpty()) {
+                break;
+            }
+
+            Map<UUID, SagaSummaryEntity> summaries = new HashMap<>();
+            Map<UUID, List<SagaStateEntity>> states = new HashMap<>();
+            for (TransactionLogEntity logEntry : logRepository.findByTxIdInOrderByIdAsc(txIds)) {
+                SagaSummaryEntity summary = summaries.get(logEntry.getTxId());
+                boolean created = summary == null;
+                if (created) {
+                    summary = new SagaSummaryEntity(logEntry.getTxId(), logEntry.getOrderId(), logEntry.getCreatedAt());
+                    summaries.put(logEntry.getTxId(), summary);
+                }
+                project(summary, states.computeIfAbsent(logEntry.getTxId(), txId -> new ArrayList<>()), logEntry);
+                if (created) {
+                    entityManager.persist(summary);
+                }
+            }
+
+            // Keep the persistence context bounded across batches
+            entityManager.flush();
+            entityManager.clear();
+
+            projected += txIds.size();
+            lastTxId = txIds.get(txIds.size() - 1);
+        }
+
+        log.info("Saga state projection rebuilt for {} transactions", projected);
+        return projected;
+    }
+
+    private void project(SagaSummaryEntity summary, List<SagaStateEntity> states, TransactionLogEntity logEntry) {
+        byte serviceCode = PersistenceCodes.code(logEntry.getServiceName());
+        SagaStateEntity state = null;
+        for (SagaStateEntity candidate : states) {
+            if (candidate.getServiceCode() == serviceCode) {
+                state = candidate;
+                break;
+            }
+        }
+        if (state == null) {
+            state = new SagaStateEntity(logEntry.getTxId(), logEntry.getServiceName(), logEntry.getOrderId());
+            state.apply(logEntry);
+            entityManager.persist(state);
+            states.add(state);
+        } else {
+            state.apply(logEntry);
+        }
+
+        List<TransactionStatus> latest = new ArrayList<>(states.size());
+        for (SagaStateEntity s : states) {
+            latest.add(s.getStatus());
+        }
+        summary.setOverallStatus(SagaOverallStatus.of(latest).name());
+        summary.setTerminal(SagaOverallStatus.isTerminal(latest));
+        summary.setUpdatedAt(logEntry.getCreatedAt());
+    }
+}
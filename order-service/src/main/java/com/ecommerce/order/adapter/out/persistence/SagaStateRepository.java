@@ -0,0 +1,50 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.TransactionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JPA repository for saga_state projection table.
+ */
+public interface SagaStateRepository extends JpaRepository<SagaStateEntity, SagaStateId> {
+
+    /**
+     * Find the latest state of every service in a transaction (primary key prefix lookup).
+     */
+    List<SagaStateEntity> findByTxId(UUID txId);
+
+    /**
+     * Find transaction IDs with a service in the given status since before the given time.
+     */
+    @Query("""
+        SELECT DISTINCT s.txId FROM SagaStateEntity s
+        WHERE s.status = :status AND s.updatedAt < :olderThan
+    """)
+    List<UUID> findTxIdsByStatusUpdatedBefore(@Param("status") TransactionStatus status,
+                                              @Param("olderThan") LocalDateTime olderThan);
+
+    /**
+     * Find transactions with a service in any of the given statuses.
+     * Returns txId and orderId for recovery.
+     */
+    @Query("""
+        SELECT DISTINCT s.txId, s.orderId FROM SagaStateEntity s
+        WHERE s.status IN :statuses
+    """)
+    List<Object[]> findTransactionsWithStatusIn(@Param("statuses") Collection<TransactionStatus> statuses);
+
+    /**
+     * Delete the rows of transactions that were moved to the archive.
+     */
+    @Modifying
+    @Query("DELETE FROM SagaStateEntity t WHERE t.txId IN :txIds")
+    int deleteByTxIdIn(@Param("txIds") Collection<UUID> txIds);
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.domain.model.SagaOverallStatus;
+import com.ecommerce.order.domain.model.SagaStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Keeps {@link SagaStatistics} in step with the saga_state/saga_summary projection.
+ * <p>
+ * The projector and the JDBC hot path report every status they project; it is counted once the
+ * surrounding transaction has committed, so rolled-back appends never show up. On startup the
+ * current counts are read back from saga_summary, and the rolling windows are seeded from what
+ * the projection still shows of the last {@link #HORIZON}: sagas started and ended in it, and
+ * the latest status of each service changed in it. Earlier statuses a service passed through
+ * within the horizon are gone from the projection and are not seeded.
+ * <p>
+ * Rehydration fills a fresh {@link SagaStatistics} and then publishes it, so a reader never sees
+ * half-cleared windows. On startup it runs before anything can append; after a rebuild, statuses
+ * committed while the projection is being read may be missed until they age out of the windows.
+ */
+@Component
+public class SagaStatisticsTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(SagaStatisticsTracker.class);
+
+    private static final Duration HORIZON = SagaStatistics.WINDOWS.get(SagaStatistics.WINDOWS.size() - 1);
+
+    // Package-private so QueryPlanRegressionTest can EXPLAIN them
+    static final String COUNT_BY_OVERALL_STATUS = """
+        SELECT overall_status, COUNT(*) FROM saga_summary GROUP BY overall_status
+    """;
+
+    static final String SELECT_STARTED_SINCE = """
+        SELECT started_at FROM saga_summary WHERE archived_on IS NULL AND started_at >= ?
+    """;
+
+    static final String SELECT_ENDED_SINCE = """
+        SELECT overall_status, updated_at FROM saga_summary
+        WHERE terminal = TRUE AND archived_on IS NULL AND updated_at >= ?
+    """;
+
+    static final String SELECT_STATES_SINCE = """
+        SELECT service_name, updated_at FROM saga_state WHERE status = ? AND updated_at >= ?
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile SagaStatistics statistics = new SagaStatistics();
+
+    public SagaStatisticsTracker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Count a projected status once the surrounding transaction commits, at once without one.
+     *
+     * @param before the saga's overall status before the append, null for a new saga
+     */
+    public void recordAfterCommit(SagaOverallStatus before, SagaOverallStatus after, boolean becameTerminal,
+                                  ServiceName service, TransactionStatus status) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            statistics.record(before, after, becameTerminal, service, status, Instant.now());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                statistics.record(before, after, becameTerminal, service, status, Instant.now());
+            }
+        });
+    }
+
+    public SagaStatistics.Snapshot snapshot() {
+        return statistics.snapshot(Instant.now());
+    }
+
+    /**
+     * Reset the statistics to what the projection holds now.
+     */
+    public void rehydrate() {
+        long started = System.currentTimeMillis();
+        SagaStatistics rebuilt = new SagaStatistics();
+
+        Map<SagaOverallStatus, Long> counts = new EnumMap<>(SagaOverallStatus.class);
+        jdbcTemplate.query(COUNT_BY_OVERALL_STATUS, rs -> {
+            counts.put(SagaOverallStatus.valueOf(rs.getString(1)), rs.getLong(2));
+        });
+        rebuilt.restoreCurrent(counts);
+
+        LocalDateTime since = LocalDateTime.now().minus(HORIZON);
+        jdbcTemplate.query(SELECT_STARTED_SINCE, rs -> {
+            rebuilt.recordStarted(instant(rs.getObject(1, LocalDateTime.class)));
+        }, since);
+        jdbcTemplate.query(SELECT_ENDED_SINCE, rs -> {
+            rebuilt.recordEnded(SagaOverallStatus.valueOf(rs.getString(1)),
+                    instant(rs.getObject(2, LocalDateTime.class)));
+        }, since);
+        // One range per status keeps each read on idx_state_status_updated
+        for (TransactionStatus status : TransactionStatus.values()) {
+            jdbcTemplate.query(SELECT_STATES_SINCE, rs -> {
+                rebuilt.recordEntered(PersistenceCodes.serviceName(rs.getByte(1)), status,
+                        instant(rs.getObject(2, LocalDateTime.class)));
+            }, PersistenceCodes.code(status), since);
+        }
+
+        statistics = rebuilt;
+        log.info("Saga statistics rehydrated from the projection in {} ms: {}",
+                System.currentTimeMillis() - started, counts);
+    }
+
+    private static Instant instant(LocalDateTime at) {
+        return at.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
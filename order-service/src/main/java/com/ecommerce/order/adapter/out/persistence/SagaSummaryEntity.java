@@ -0,0 +1,142 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JPA entity for saga_summary table.
+ * One row per transaction holding the overall saga status; once the transaction is compacted
+ * it also holds the final state of every service.
+ */
+@Entity
+@Table(name = "saga_summary")
+public class SagaSummaryEntity {
+
+    @Id
+    @Column(name = "tx_id", nullable = false)
+    private UUID txId;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "overall_status", nullable = false, length = 20)
+    private String overallStatus;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "terminal", nullable = false)
+    private boolean terminal;
+
+    @Column(name = "archived_on")
+    private LocalDate archivedOn;
+
+    @Column(name = "archive_segment", length = 64)
+    private String archiveSegment;
+
+    @Column(name = "compacted_at")
+    private LocalDateTime compactedAt;
+
+    @Convert(converter = ServiceSummaryConverter.class)
+    @Column(name = "service_summary", length = 4000)
+    private List<SagaServiceSummary> serviceSummary;
+
+    public SagaSummaryEntity() {
+    }
+
+    public SagaSummaryEntity(UUID txId, UUID orderId, LocalDateTime startedAt) {
+        this.txId = txId;
+        this.orderId = orderId;
+        this.startedAt = startedAt;
+        this.updatedAt = startedAt;
+    }
+
+    // Getters and setters
+
+    public UUID getTxId() {
+        return txId;
+    }
+
+    public void setTxId(UUID txId) {
+        this.txId = txId;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(UUID orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getOverallStatus() {
+        return overallStatus;
+    }
+
+    public void setOverallStatus(String overallStatus) {
+        this.overallStatus = overallStatus;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public boolean isTerminal() {
+        return terminal;
+    }
+
+    public void setTerminal(boolean terminal) {
+        this.terminal = terminal;
+    }
+
+    public LocalDate getArchivedOn() {
+        return archivedOn;
+    }
+
+    public void setArchivedOn(LocalDate archivedOn) {
+        this.archivedOn = archivedOn;
+    }
+
+    public String getArchiveSegment() {
+        return archiveSegment;
+    }
+
+    public void setArchiveSegment(String archiveSegment) {
+        this.archiveSegment = archiveSegment;
+    }
+
+    public LocalDateTime getCompactedAt() {
+        return compactedAt;
+    }
+
+    public void setCompactedAt(LocalDateTime compactedAt) {
+        this.compactedAt = compactedAt;
+    }
+
+    public List<SagaServiceSummary> getServiceSummary() {
+        return serviceSummary;
+    }
+
+    public void setServiceSummary(List<SagaServiceSummary> serviceSummary) {
+        this.serviceSummary = serviceSummary;
+    }
+}
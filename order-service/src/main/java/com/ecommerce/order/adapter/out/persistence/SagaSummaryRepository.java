@@ -0,0 +1,97 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JPA repository for saga_summary projection table.
+ */
+public interface SagaSummaryRepository extends JpaRepository<SagaSummaryEntity, UUID> {
+
+    /**
+     * Lock the summary row so concurrent appends to one transaction are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SagaSummaryEntity s WHERE s.txId = :txId")
+    Optional<SagaSummaryEntity> findByTxIdForUpdate(@Param("txId") UUID txId);
+
+    /**
+     * Find transaction IDs for an order, most recently started first.
+     */
+    @Query("""
+        SELECT s.txId FROM SagaSummaryEntity s
+        WHERE s.orderId = :orderId
+        ORDER BY s.startedAt DESC
+    """)
+    List<UUID> findTxIdsByOrderId(@Param("orderId") UUID orderId);
+
+    /**
+     * Find archived transactions of an order (their log rows live in archive segments).
+     */
+    List<SagaSummaryEntity> findByOrderIdAndArchivedOnIsNotNull(UUID orderId);
+
+    /**
+     * Start time of the oldest transaction whose log rows are still in the hot table.
+     */
+    @Query("SELECT MIN(s.startedAt) FROM SagaSummaryEntity s WHERE s.archivedOn IS NULL")
+    Optional<LocalDateTime> findOldestUnarchivedStart();
+
+    /**
+     * Count hot transactions started in the range that can still change.
+     */
+    @Query("""
+        SELECT COUNT(s) FROM SagaSummaryEntity s
+        WHERE s.archivedOn IS NULL AND s.terminal = false
+          AND s.startedAt >= :from AND s.startedAt < :to
+    """)
+    long countOpenStartedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Find hot transactions started in the range.
+     */
+    @Query("""
+        SELECT s.txId FROM SagaSummaryEntity s
+        WHERE s.archivedOn IS NULL
+          AND s.startedAt >= :from AND s.startedAt < :to
+    """)
+    List<UUID> findUnarchivedTxIdsStartedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Mark transactions as moved to the archive partition of the given day, stored in the given segment.
+     */
+    @Modifying
+    @Query("UPDATE SagaSummaryEntity s SET s.archivedOn = :day, s.archiveSegment = :segment WHERE s.txId IN :txIds")
+    int markArchived(@Param("txIds") Collection<UUID> txIds, @Param("day") LocalDate day,
+                     @Param("segment") String segment);
+
+    /**
+     * Lock hot transactions that have been terminal since before the given time, oldest first.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT s FROM SagaSummaryEntity s
+        WHERE s.terminal = true AND s.archivedOn IS NULL AND s.updatedAt < :terminalBefore
+        ORDER BY s.updatedAt
+    """)
+    List<SagaSummaryEntity> findCompactableForUpdate(@Param("terminalBefore") LocalDateTime terminalBefore,
+                                                     Pageable pageable);
+
+    /**
+     * Delete summaries that are rebuildable from the hot log; archived ones are kept as the archive index.
+     */
+    @Modifying
+    @Query("DELETE FROM SagaSummaryEntity s WHERE s.archivedOn IS NULL")
+    int deleteUnarchived();
+}
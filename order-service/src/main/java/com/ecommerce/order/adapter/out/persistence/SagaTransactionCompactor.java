@@ -0,0 +1,162 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.order.adapter.out.archive.ArchivedLogRecord;
+import com.ecommerce.order.adapter.out.archive.LogSegmentArchive;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Compacts terminal transactions one by one instead of waiting for their whole day to be sealed.
+ * <p>
+ * The log rows of a compacted transaction are folded into one {@link SagaServiceSummary} per
+ * service, stored on its saga_summary row, and the rows themselves move to an archive segment
+ * named after the compaction run. Latest-state queries are then answered from the summary row
+ * alone; only the full history still goes to the segment.
+ */
+@Component
+public class SagaTransactionCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(SagaTransactionCompactor.class);
+
+    /** Transactions per compressed block, as for sealed partitions. */
+    private static final int BLOCK_TRANSACTIONS = 256;
+
+    private static final String SEGMENT_PREFIX = "compacted-";
+
+    private static final DateTimeFormatter SEGMENT_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS");
+
+    private final TransactionLogRepository logRepository;
+    private final SagaStateRepository stateRepository;
+    private final SagaSummaryRepository summaryRepository;
+    private final LogSegmentArchive archive;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SagaTransactionCompactor(TransactionLogRepository logRepository,
+                                    SagaStateRepository stateRepository,
+                                    SagaSummaryRepository summaryRepository,
+                                    LogSegmentArchive archive) {
+        this.logRepository = logRepository;
+        this.stateRepository = stateRepository;
+        this.summaryRepository = summaryRepository;
+        this.archive = archive;
+    }
+
+    /**
+     * Compact up to {@code limit} transactions that have been terminal since before the given time.
+     *
+     * @return the number of transactions compacted
+     */
+    @Transactional
+    public int compact(LocalDateTime terminalBefore, int limit) {
+        // The summary rows stay locked until commit, so no append can slip in behind the compaction
+        List<SagaSummaryEntity> summaries = new ArrayList<>(
+                summaryRepository.findCompactableForUpdate(terminalBefore, PageRequest.of(0, limit)));
+        if (summaries.isEmpty()) {
+            return 0;
+        }
+        summaries.sort(Comparator.comparing(summary -> LogSegmentArchive.key(summary.getTxId())));
+        List<UUID> txIds = summaries.stream().map(SagaSummaryEntity::getTxId).toList();
+
+        LocalDateTime now = LocalDateTime.now();
+        String segmentName = SEGMENT_PREFIX + now.format(SEGMENT_TIME) + "-" + txIds.get(0);
+        Map<UUID, List<SagaServiceSummary>> serviceSummaries = new HashMap<>();
+        long rowCount;
+        try (LogSegmentArchive.SegmentWriter writer = archive.openSegment(segmentName)) {
+            for (List<UUID> chunk : chunks(txIds)) {
+                Map<UUID, List<TransactionLogEntity>> byTxId = new HashMap<>();
+                for (TransactionLogEntity entity : logRepository.findByTxIdInOrderByIdAsc(chunk)) {
+                    byTxId.computeIfAbsent(entity.getTxId(), txId -> new ArrayList<>()).add(entity);
+                }
+                List<ArchivedLogRecord> block = new ArrayList<>();
+                for (UUID txId : chunk) {
+                    List<TransactionLogEntity> rows = byTxId.getOrDefault(txId, List.of());
+                    rows.forEach(row -> block.add(toRecord(row)));
+                    serviceSummaries.put(txId, summarize(rows));
+                    // Only the locked summary rows need to stay managed
+                    rows.forEach(entityManager::detach);
+                }
+                writer.writeBlock(block);
+            }
+            writer.commit();
+            rowCount = writer.getRowCount();
+        }
+
+        // The segment is durable; a crash before this commits only leaves an unreferenced segment behind
+        for (List<UUID> chunk : chunks(txIds)) {
+            logRepository.deleteByTxIdIn(chunk);
+            stateRepository.deleteByTxIdIn(chunk);
+        }
+        for (SagaSummaryEntity summary : summaries) {
+            summary.setServiceSummary(serviceSummaries.get(summary.getTxId()));
+            summary.setCompactedAt(now);
+            summary.setArchivedOn(summary.getStartedAt().toLocalDate());
+            summary.setArchiveSegment(segmentName);
+        }
+
+        log.info("Compacted terminal transactions into segment {}: transactions={}, rows={}",
+                segmentName, txIds.size(), rowCount);
+        return txIds.size();
+    }
+
+    /**
+     * Fold the rows of one transaction, in append order, into one summary per service.
+     */
+    static List<SagaServiceSummary> summarize(List<TransactionLogEntity> rows) {
+        Map<ServiceName, List<TransactionLogEntity>> byService = new EnumMap<>(ServiceName.class);
+        for (TransactionLogEntity row : rows) {
+            byService.computeIfAbsent(row.getServiceName(), service -> new ArrayList<>()).add(row);
+        }
+        List<SagaServiceSummary> result = new ArrayList<>();
+        byService.forEach((service, serviceRows) -> {
+            TransactionLogEntity first = serviceRows.get(0);
+            TransactionLogEntity last = serviceRows.get(serviceRows.size() - 1);
+            int retryCount = 0;
+            String lastError = null;
+            for (TransactionLogEntity row : serviceRows) {
+                if (row.getRetryCount() != null) {
+                    retryCount = Math.max(retryCount, row.getRetryCount());
+                }
+                if (row.getErrorMessage() != null) {
+                    lastError = row.getErrorMessage();
+                }
+            }
+            result.add(new SagaServiceSummary(service, last.getStatus(), first.getCreatedAt(), last.getCreatedAt(),
+                    serviceRows.size(), retryCount, lastError, last.getId()));
+        });
+        return result;
+    }
+
+    private static List<List<UUID>> chunks(List<UUID> txIds) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int i = 0; i < txIds.size(); i += BLOCK_TRANSACTIONS) {
+            chunks.add(txIds.subList(i, Math.min(i + BLOCK_TRANSACTIONS, txIds.size())));
+        }
+        return chunks;
+    }
+
+    private static ArchivedLogRecord toRecord(TransactionLogEntity entity) {
+        return new ArchivedLogRecord(
+                entity.getId(),
+                entity.getTxId(),
+                entity.getOrderId(),
+                entity.getServiceName(),
+                entity.getStatus(),
+                entity.getErrorMessage(),
+                entity.getRetryCount() != null ? entity.getRetryCount() : 0,
+                entity.getCreatedAt(),
+                entity.getNotifiedAt()
+        );
+    }
+}
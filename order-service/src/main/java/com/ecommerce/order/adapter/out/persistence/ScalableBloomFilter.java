@@ -0,0 +1,164 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of UUIDs that grows as ids are added: "no" is always right,
+ * "maybe" is wrong with about the configured probability.
+ * <p>
+ * Ids go into the newest slice; once it holds its capacity a slice twice as large with half
+ * the false-positive rate is started. The first slice gets half the configured rate, so the
+ * compound rate stays under the configured one however many ids arrive. A lookup probes every
+ * slice, so a filter that grew many slices is best replaced by one sized for its count.
+ * <p>
+ * Probe positions come from the UUID's own bits by double hashing; random and time-based UUIDs
+ * are well mixed already, and both halves go through a finalizer to be safe.
+ */
+public final class ScalableBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final double falsePositiveRate;
+    private volatile Slice[] slices;
+
+    public ScalableBloomFilter(long expectedIds, double falsePositiveRate) {
+        if (expectedIds <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException(
+                    "expectedIds must be positive and falsePositiveRate in (0, 1): " + expectedIds
+                            + ", " + falsePositiveRate);
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        this.slices = new Slice[]{new Slice(expectedIds, falsePositiveRate / 2)};
+    }
+
+    /**
+     * Add an id; adding one the filter may already hold is a no-op.
+     */
+    public void add(UUID id) {
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+        Slice[] current = slices;
+        for (Slice slice : current) {
+            if (slice.contains(h1, h2)) {
+                return;
+            }
+        }
+        Slice last = current[current.length - 1];
+        if (last.count.get() >= last.capacity) {
+            last = grow(last);
+        }
+        last.add(h1, h2);
+    }
+
+    public boolean mightContain(UUID id) {
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+        for (Slice slice : slices) {
+            if (slice.contains(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ids added, not counting repeats the filter recognised.
+     */
+    public long count() {
+        long count = 0;
+        for (Slice slice : slices) {
+            count += slice.count.get();
+        }
+        return count;
+    }
+
+    public int sliceCount() {
+        return slices.length;
+    }
+
+    public long bitSize() {
+        long bits = 0;
+        for (Slice slice : slices) {
+            bits += slice.bits;
+        }
+        return bits;
+    }
+
+    /**
+     * False-positive probability for the ids held now, from the fill of each slice.
+     */
+    public double expectedFalsePositiveRate() {
+        double allMiss = 1.0;
+        for (Slice slice : slices) {
+            double fill = 1 - Math.exp(-(double) slice.hashes * slice.count.get() / slice.bits);
+            allMiss *= 1 - Math.pow(fill, slice.hashes);
+        }
+        return 1 - allMiss;
+    }
+
+    private synchronized Slice grow(Slice full) {
+        Slice[] current = slices;
+        Slice last = current[current.length - 1];
+        if (last != full) {
+            return last;
+        }
+        Slice[] grown = new Slice[current.length + 1];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        grown[current.length] = new Slice(full.capacity * 2, falsePositiveRate / (2L << current.length));
+        slices = grown;
+        return grown[current.length];
+    }
+
+    // Murmur3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Slice {
+
+        private final long capacity;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicLong count = new AtomicLong();
+
+        private Slice(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            long wanted = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+            this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE, Math.max(1, (wanted + 63) / 64)));
+            this.bits = words.length() * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * LN2));
+        }
+
+        private void add(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(combined, bits);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                words.getAndAccumulate(word, mask, (value, set) -> value | set);
+                combined += h2;
+            }
+            count.incrementAndGet();
+        }
+
+        private boolean contains(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(combined, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                combined += h2;
+            }
+            return true;
+        }
+    }
+}
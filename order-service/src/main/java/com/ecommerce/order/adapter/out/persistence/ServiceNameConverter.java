@@ -0,0 +1,22 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link ServiceName} as its TINYINT code.
+ */
+@Converter
+public class ServiceNameConverter implements AttributeConverter<ServiceName, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(ServiceName serviceName) {
+        return serviceName != null ? PersistenceCodes.code(serviceName) : null;
+    }
+
+    @Override
+    public ServiceName convertToEntityAttribute(Byte code) {
+        return code != null ? PersistenceCodes.serviceName(code) : null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+/**
+ * Stores the per-service summaries of a compacted transaction as one JSON column.
+ */
+@Converter
+public class ServiceSummaryConverter implements AttributeConverter<List<SagaServiceSummary>, String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static final TypeReference<List<SagaServiceSummary>> TYPE = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(List<SagaServiceSummary> summaries) {
+        if (summaries == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(summaries);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize service summaries", e);
+        }
+    }
+
+    @Override
+    public List<SagaServiceSummary> convertToEntityAttribute(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to parse service summaries", e);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.ecommerce.order.adapter.out.persistence;
 
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * JPA entity for transaction_log table.
@@ -11,21 +14,28 @@ import java.time.LocalDateTime;
 @Table(name = "transaction_log")
 public class TransactionLogEntity {
 
+    /** Increment of transaction_log_seq; ids are handed out pooled-lo in blocks of this size. */
+    static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_log_seq")
+    @SequenceGenerator(name = "transaction_log_seq", sequenceName = "transaction_log_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @Column(name = "tx_id", nullable = false, length = 36)
-    private String txId;
+    @Column(name = "tx_id", nullable = false)
+    private UUID txId;
 
-    @Column(name = "order_id", nullable = false, length = 36)
-    private String orderId;
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
 
-    @Column(name = "service_name", nullable = false, length = 50)
-    private String serviceName;
+    @Convert(converter = ServiceNameConverter.class)
+    @Column(name = "service_name", nullable = false)
+    private ServiceName serviceName;
 
-    @Column(name = "status", nullable = false, length = 2)
-    private String status;
+    @Convert(converter = TransactionStatusConverter.class)
+    @Column(name = "status", nullable = false)
+    private TransactionStatus status;
 
     @Column(name = "error_message", length = 500)
     private String errorMessage;
@@ -39,10 +49,13 @@ public class TransactionLogEntity {
     @Column(name = "notified_at")
     private LocalDateTime notifiedAt;
 
+    @Column(name = "deadline_at")
+    private LocalDateTime deadlineAt;
+
     public TransactionLogEntity() {
     }
 
-    public TransactionLogEntity(String txId, String orderId, String serviceName, String status) {
+    public TransactionLogEntity(UUID txId, UUID orderId, ServiceName serviceName, TransactionStatus status) {
         this.txId = txId;
         this.orderId = orderId;
         this.serviceName = serviceName;
@@ -60,35 +73,35 @@ public class TransactionLogEntity {
         this.id = id;
     }
 
-    public String getTxId() {
+    public UUID getTxId() {
         return txId;
     }
 
-    public void setTxId(String txId) {
+    public void setTxId(UUID txId) {
         this.txId = txId;
     }
 
-    public String getOrderId() {
+    public UUID getOrderId() {
         return orderId;
     }
 
-    public void setOrderId(String orderId) {
+    public void setOrderId(UUID orderId) {
         this.orderId = orderId;
     }
 
-    public String getServiceName() {
+    public ServiceName getServiceName() {
         return serviceName;
     }
 
-    public void setServiceName(String serviceName) {
+    public void setServiceName(ServiceName serviceName) {
         this.serviceName = serviceName;
     }
 
-    public String getStatus() {
+    public TransactionStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(TransactionStatus status) {
         this.status = status;
     }
 
@@ -123,4 +136,12 @@ public class TransactionLogEntity {
     public void setNotifiedAt(LocalDateTime notifiedAt) {
         this.notifiedAt = notifiedAt;
     }
+
+    public LocalDateTime getDeadlineAt() {
+        return deadlineAt;
+    }
+
+    public void setDeadlineAt(LocalDateTime deadlineAt) {
+        this.deadlineAt = deadlineAt;
+    }
 }
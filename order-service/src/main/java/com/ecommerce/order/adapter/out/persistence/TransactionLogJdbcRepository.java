@@ -0,0 +1,441 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.application.port.out.TransactionLogPort.TransactionOutcome;
+import com.ecommerce.order.application.port.out.TransactionLogPort.TransactionSnapshot;
+import com.ecommerce.order.domain.model.PageCursor;
+import com.ecommerce.order.domain.model.SagaOverallStatus;
+import com.ecommerce.order.domain.model.TransactionLog;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Plain-JDBC access for the saga hot path: appending statuses and reading latest state.
+ * <p>
+ * Bypasses the persistence context entirely: no entity instances, snapshots or dirty checking,
+ * just prepared statements and row mappers straight to {@link TransactionLog}. Every append to
+ * transaction_log goes through here and keeps the saga_state/saga_summary projection in step,
+ * reporting each status to the {@link SagaStatisticsTracker} and writing the new state through to
+ * the {@link TransactionStateCache}; new transactions are added to the {@link KnownIdFilter}.
+ * {@link SagaStateProjector} only rebuilds the projection from the log.
+ * Must run inside the caller's transaction.
+ */
+@Repository
+public class TransactionLogJdbcRepository {
+
+    private static final String NEXT_ID_BLOCK = "SELECT NEXT VALUE FOR transaction_log_seq";
+
+    // Lookup and update statements are package-private so QueryPlanRegressionTest can EXPLAIN them
+    static final String LOCK_SUMMARY = """
+        SELECT overall_status, terminal FROM saga_summary WHERE tx_id = ? FOR UPDATE
+    """;
+
+    private static final String INSERT_LOG = """
+        INSERT INTO transaction_log (id, tx_id, order_id, service_name, status, error_message, retry_count, created_at,
+                                     deadline_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String MERGE_STATE = """
+        MERGE INTO saga_state (tx_id, service_name, order_id, status, error_message, retry_count, last_log_id,
+                               updated_at, deadline_at)
+        KEY (tx_id, service_name)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String INSERT_SUMMARY = """
+        INSERT INTO saga_summary (tx_id, order_id, overall_status, started_at, updated_at, terminal)
+        VALUES (?, ?, ?, ?, ?, ?)
+    """;
+
+    static final String UPDATE_SUMMARY = """
+        UPDATE saga_summary SET overall_status = ?, updated_at = ?, terminal = ? WHERE tx_id = ?
+    """;
+
+    static final String MARK_NOTIFIED = """
+        UPDATE transaction_log SET notified_at = ? WHERE id = ?
+    """;
+
+    static final String SELECT_STATES = """
+        SELECT tx_id, service_name, order_id, status, error_message, retry_count, last_log_id, updated_at,
+               deadline_at
+        FROM saga_state WHERE tx_id = ?
+        ORDER BY service_name
+    """;
+
+    // Latest state per service for one page of an order's transactions, newest first
+    private static final String ORDER_STATES = """
+        SELECT s.tx_id, s.order_id, s.started_at, s.service_summary,
+               st.service_name, st.status, st.error_message, st.retry_count, st.last_log_id, st.updated_at,
+               st.deadline_at
+        FROM (SELECT tx_id, order_id, started_at, service_summary FROM saga_summary
+              WHERE order_id = ? %s
+              ORDER BY started_at DESC, tx_id DESC LIMIT ?) s
+        LEFT JOIN saga_state st ON st.tx_id = s.tx_id
+        ORDER BY s.started_at DESC, s.tx_id DESC, st.service_name
+    """;
+
+    static final String SELECT_ORDER_STATES = ORDER_STATES.formatted("");
+
+    static final String SELECT_ORDER_STATES_AFTER = ORDER_STATES.formatted(
+            "AND (started_at < ? OR (started_at = ? AND tx_id < ?))");
+
+    // Latest state per service for a set of transactions, bound as one array parameter
+    static final String SELECT_TRANSACTION_STATES = """
+        SELECT s.tx_id, s.order_id, s.started_at, s.service_summary,
+               st.service_name, st.status, st.error_message, st.retry_count, st.last_log_id, st.updated_at,
+               st.deadline_at
+        FROM saga_summary s
+        LEFT JOIN saga_state st ON st.tx_id = s.tx_id
+        WHERE s.tx_id = ANY(?)
+        ORDER BY s.tx_id, st.service_name
+    """;
+
+    // Services currently in a status since before a cutoff, oldest first
+    private static final String STATES_BY_STATUS = """
+        SELECT tx_id, service_name, order_id, status, error_message, retry_count, last_log_id, updated_at,
+               deadline_at
+        FROM saga_state WHERE status = ? AND updated_at < ? %s
+        ORDER BY updated_at, tx_id, service_name LIMIT ?
+    """;
+
+    static final String SELECT_STATES_BY_STATUS = STATES_BY_STATUS.formatted("");
+
+    static final String SELECT_STATES_BY_STATUS_AFTER = STATES_BY_STATUS.formatted(
+            "AND (updated_at > ? OR (updated_at = ? AND (tx_id > ? OR (tx_id = ? AND service_name > ?))))");
+
+    // Every transaction started in a time range with its latest state per service, in start order
+    static final String SELECT_OUTCOMES = """
+        SELECT s.tx_id, s.order_id, s.overall_status, s.started_at, s.updated_at AS summary_updated_at,
+               s.service_summary,
+               st.service_name, st.status, st.error_message, st.retry_count, st.last_log_id, st.updated_at,
+               st.deadline_at
+        FROM saga_summary s
+        LEFT JOIN saga_state st ON st.tx_id = s.tx_id
+        WHERE s.started_at >= ? AND s.started_at < ?
+        ORDER BY s.started_at, s.tx_id, st.service_name
+    """;
+
+    /** Rows fetched per round trip when streaming; keeps memory flat however large the result. */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final ServiceSummaryConverter SERVICE_SUMMARY_CONVERTER = new ServiceSummaryConverter();
+
+    private static final RowMapper<TransactionLog> STATE_MAPPER = (rs, rowNum) -> TransactionLog.restore(
+            rs.getLong("last_log_id"),
+            rs.getObject("tx_id", UUID.class),
+            rs.getObject("order_id", UUID.class),
+            PersistenceCodes.serviceName(rs.getByte("service_name")),
+            PersistenceCodes.status(rs.getByte("status")),
+            rs.getString("error_message"),
+            rs.getInt("retry_count"),
+            rs.getObject("updated_at", LocalDateTime.class),
+            null,
+            rs.getObject("deadline_at", LocalDateTime.class)
+    );
+
+    private static final RowMapper<SummaryRow> SUMMARY_ROW_MAPPER = (rs, rowNum) -> new SummaryRow(
+            SagaOverallStatus.valueOf(rs.getString("overall_status")), rs.getBoolean("terminal"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SagaStatisticsTracker statisticsTracker;
+    private final TransactionStateCache stateCache;
+    private final KnownIdFilter knownIds;
+
+    private final Object idLock = new Object();
+    private long nextId;
+    private long idBlockEnd;
+
+    public TransactionLogJdbcRepository(JdbcTemplate jdbcTemplate, SagaStatisticsTracker statisticsTracker,
+                                        TransactionStateCache stateCache, KnownIdFilter knownIds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statisticsTracker = statisticsTracker;
+        this.stateCache = stateCache;
+        this.knownIds = knownIds;
+    }
+
+    /**
+     * Append log rows and upsert their projection rows, giving each entry its id.
+     * Each transaction's summary is locked and its state rows read once however many entries it has;
+     * its log and state rows go out as one JDBC batch each. Entries without a step deadline clear
+     * the one left on their service's state row.
+     */
+    public void appendAll(List<TransactionLog> entries) {
+        Map<UUID, List<TransactionLog>> byTxId = new LinkedHashMap<>();
+        for (TransactionLog entry : entries) {
+            entry.setId(nextId());
+            byTxId.computeIfAbsent(entry.getTxId(), txId -> new ArrayList<>()).add(entry);
+        }
+        byTxId.forEach(this::appendTransaction);
+    }
+
+    private void appendTransaction(UUID txId, List<TransactionLog> entries) {
+        // Locking the summary row first serializes concurrent appends for the same txId
+        List<SummaryRow> locked = jdbcTemplate.query(LOCK_SUMMARY, SUMMARY_ROW_MAPPER, txId);
+        boolean summaryExists = !locked.isEmpty();
+
+        // Latest entry per service, keyed and so ordered by service code like the state rows
+        Map<Byte, TransactionLog> states = new TreeMap<>();
+        for (TransactionLog state : findLatestByTxId(txId)) {
+            states.put(PersistenceCodes.code(state.getServiceName()), state);
+        }
+
+        SagaOverallStatus overallStatus = summaryExists ? locked.get(0).overallStatus() : null;
+        boolean terminal = summaryExists && locked.get(0).terminal();
+        List<Object[]> logRows = new ArrayList<>(entries.size());
+        Map<Byte, TransactionLog> changed = new LinkedHashMap<>();
+        for (TransactionLog entry : entries) {
+            byte serviceCode = PersistenceCodes.code(entry.getServiceName());
+            logRows.add(new Object[]{entry.getId(), txId, entry.getOrderId(), serviceCode,
+                    PersistenceCodes.code(entry.getStatus()), entry.getErrorMessage(), entry.getRetryCount(),
+                    entry.getCreatedAt(), entry.getDeadlineAt()});
+            TransactionLog state = stateOf(entry);
+            states.put(serviceCode, state);
+            changed.put(serviceCode, state);
+
+            List<TransactionStatus> latest = new ArrayList<>(states.size());
+            for (TransactionLog current : states.values()) {
+                latest.add(current.getStatus());
+            }
+            SagaOverallStatus before = overallStatus;
+            boolean wasTerminal = terminal;
+            overallStatus = SagaOverallStatus.of(latest);
+            terminal = SagaOverallStatus.isTerminal(latest);
+            statisticsTracker.recordAfterCommit(before, overallStatus, terminal && !wasTerminal,
+                    entry.getServiceName(), entry.getStatus());
+        }
+
+        List<Object[]> stateRows = new ArrayList<>(changed.size());
+        changed.forEach((serviceCode, state) -> stateRows.add(new Object[]{txId, serviceCode, state.getOrderId(),
+                PersistenceCodes.code(state.getStatus()), state.getErrorMessage(), state.getRetryCount(),
+                state.getId(), state.getCreatedAt(), state.getDeadlineAt()}));
+        jdbcTemplate.batchUpdate(INSERT_LOG, logRows);
+        jdbcTemplate.batchUpdate(MERGE_STATE, stateRows);
+
+        TransactionLog first = entries.get(0);
+        LocalDateTime updatedAt = entries.get(entries.size() - 1).getCreatedAt();
+        if (summaryExists) {
+            jdbcTemplate.update(UPDATE_SUMMARY, overallStatus.name(), updatedAt, terminal, txId);
+        } else {
+            jdbcTemplate.update(INSERT_SUMMARY, txId, first.getOrderId(), overallStatus.name(),
+                    first.getCreatedAt(), updatedAt, terminal);
+            knownIds.add(txId, first.getOrderId());
+        }
+        stateCache.writeThroughAfterCommit(txId, List.copyOf(states.values()));
+    }
+
+    /**
+     * Stamp the notification time on one log row.
+     *
+     * @return false if the row is no longer in the hot table, e.g. because its partition was sealed
+     */
+    public boolean markNotified(long id, LocalDateTime notifiedAt) {
+        return jdbcTemplate.update(MARK_NOTIFIED, notifiedAt, id) == 1;
+    }
+
+    /**
+     * Latest entry of every service in a transaction, in service order.
+     */
+    public List<TransactionLog> findLatestByTxId(UUID txId) {
+        return jdbcTemplate.query(SELECT_STATES, STATE_MAPPER, txId);
+    }
+
+    /**
+     * Latest entry of every service for each transaction of an order, most recently started first.
+     * Compacted transactions are served from their summary; transactions of sealed partitions
+     * come back with no entries, since they have neither state rows nor a summary.
+     */
+    public List<TransactionSnapshot> findLatestByOrderId(UUID orderId) {
+        List<TransactionSnapshot> snapshots = new ArrayList<>();
+        streamLatestByOrderId(orderId, null, Integer.MAX_VALUE, snapshots::add);
+        return snapshots;
+    }
+
+    /**
+     * Like {@link #findLatestByOrderId(UUID)}, one page at a time: up to {@code limit} transactions
+     * started before the cursor, handed to the sink as each one is complete.
+     */
+    public void streamLatestByOrderId(UUID orderId, PageCursor after, int limit, Consumer<TransactionSnapshot> sink) {
+        SnapshotFolder folder = new SnapshotFolder(sink);
+        if (after == null) {
+            stream(SELECT_ORDER_STATES, folder, orderId, limit);
+        } else {
+            stream(SELECT_ORDER_STATES_AFTER, folder, orderId, after.at(), after.at(), after.txId(), limit);
+        }
+        folder.flush();
+    }
+
+    /**
+     * Latest entry of every service for each of the given transactions, read in one statement.
+     * Unknown ids are left out; sealed transactions come back with no entries, as for an order.
+     */
+    public List<TransactionSnapshot> findLatestByTxIds(Collection<UUID> txIds) {
+        List<TransactionSnapshot> snapshots = new ArrayList<>(txIds.size());
+        if (txIds.isEmpty()) {
+            return snapshots;
+        }
+        SnapshotFolder folder = new SnapshotFolder(snapshots::add);
+        stream(SELECT_TRANSACTION_STATES, folder, (Object) txIds.toArray(UUID[]::new));
+        folder.flush();
+        return snapshots;
+    }
+
+    /**
+     * Latest entries currently in the given status and unchanged since before the cutoff,
+     * oldest first, resuming after the cursor's (updated_at, tx_id, service) position.
+     */
+    public void streamLatestByStatus(TransactionStatus status, LocalDateTime updatedBefore, PageCursor after,
+                                     int limit, Consumer<TransactionLog> sink) {
+        byte statusCode = PersistenceCodes.code(status);
+        RowCallbackHandler handler = rs -> sink.accept(STATE_MAPPER.mapRow(rs, 0));
+        if (after == null) {
+            stream(SELECT_STATES_BY_STATUS, handler, statusCode, updatedBefore, limit);
+        } else {
+            byte afterService = after.serviceName() != null ? PersistenceCodes.code(after.serviceName()) : 0;
+            stream(SELECT_STATES_BY_STATUS_AFTER, handler, statusCode, updatedBefore,
+                    after.at(), after.at(), after.txId(), after.txId(), afterService, limit);
+        }
+    }
+
+    /**
+     * Outcome of every transaction started in [{@code startedFrom}, {@code startedBefore}), in start
+     * order, each handed to the sink as soon as its last row is read. Compacted transactions are
+     * served from their summary; archived ones come with their overall status only.
+     */
+    public void streamOutcomes(LocalDateTime startedFrom, LocalDateTime startedBefore,
+                               Consumer<TransactionOutcome> sink) {
+        OutcomeFolder folder = new OutcomeFolder(sink);
+        stream(SELECT_OUTCOMES, folder, startedFrom, startedBefore);
+        folder.flush();
+    }
+
+    /**
+     * The state row an appended entry leaves behind, as {@link #STATE_MAPPER} reads it back.
+     */
+    private static TransactionLog stateOf(TransactionLog entry) {
+        return TransactionLog.restore(entry.getId(), entry.getTxId(), entry.getOrderId(), entry.getServiceName(),
+                entry.getStatus(), entry.getErrorMessage(), entry.getRetryCount(), entry.getCreatedAt(), null,
+                entry.getDeadlineAt());
+    }
+
+    private void stream(String sql, RowCallbackHandler handler, Object... args) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement =
+                    connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            new ArgumentPreparedStatementSetter(args).setValues(statement);
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Next log id from the shared sequence, handed out pooled-lo style in blocks of the
+     * sequence increment, the same blocks the entity's generator is declared with.
+     */
+    private long nextId() {
+        synchronized (idLock) {
+            if (nextId == idBlockEnd) {
+                Long blockStart = jdbcTemplate.queryForObject(NEXT_ID_BLOCK, Long.class);
+                nextId = blockStart;
+                idBlockEnd = blockStart + TransactionLogEntity.ID_ALLOCATION_SIZE;
+            }
+            return nextId++;
+        }
+    }
+
+    /**
+     * Overall status of a transaction as its locked summary row had it before an append.
+     */
+    private record SummaryRow(SagaOverallStatus overallStatus, boolean terminal) {
+    }
+
+    /**
+     * Folds the joined rows of one transaction into a snapshot. Rows arrive grouped by
+     * transaction, so a snapshot is complete, and handed on, as soon as the next one starts.
+     */
+    private static final class SnapshotFolder implements RowCallbackHandler {
+
+        private final Consumer<TransactionSnapshot> sink;
+        private TransactionSnapshot current;
+
+        private SnapshotFolder(Consumer<TransactionSnapshot> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID txId = rs.getObject("tx_id", UUID.class);
+            if (current == null || !current.txId().equals(txId)) {
+                flush();
+                UUID orderId = rs.getObject("order_id", UUID.class);
+                current = new TransactionSnapshot(txId, orderId,
+                        rs.getObject("started_at", LocalDateTime.class), new ArrayList<>());
+                List<SagaServiceSummary> compacted =
+                        SERVICE_SUMMARY_CONVERTER.convertToEntityAttribute(rs.getString("service_summary"));
+                if (compacted != null) {
+                    for (SagaServiceSummary service : compacted) {
+                        current.latest().add(service.toDomain(txId, orderId));
+                    }
+                }
+            }
+            if (rs.getObject("service_name") != null) {
+                current.latest().add(STATE_MAPPER.mapRow(rs, 0));
+            }
+        }
+
+        void flush() {
+            if (current != null) {
+                sink.accept(current);
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * Folds the joined rows of one transaction into its outcome, reusing {@link SnapshotFolder}
+     * for the per-service entries and keeping the summary columns of the transaction being folded.
+     */
+    private static final class OutcomeFolder implements RowCallbackHandler {
+
+        private final Consumer<TransactionOutcome> sink;
+        private final SnapshotFolder snapshots = new SnapshotFolder(this::emit);
+        private UUID txId;
+        private SagaOverallStatus overallStatus;
+        private LocalDateTime updatedAt;
+
+        private OutcomeFolder(Consumer<TransactionOutcome> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID rowTxId = rs.getObject("tx_id", UUID.class);
+            if (!rowTxId.equals(txId)) {
+                snapshots.flush();
+                txId = rowTxId;
+                overallStatus = SagaOverallStatus.valueOf(rs.getString("overall_status"));
+                updatedAt = rs.getObject("summary_updated_at", LocalDateTime.class);
+            }
+            snapshots.processRow(rs);
+        }
+
+        void flush() {
+            snapshots.flush();
+        }
+
+        private void emit(TransactionSnapshot snapshot) {
+            sink.accept(new TransactionOutcome(snapshot.txId(), snapshot.orderId(), overallStatus,
+                    snapshot.startedAt(), updatedAt, snapshot.latest()));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for transaction_log_partition table.
+ * One row per sealed day; its log rows live in the referenced archive segment.
+ */
+@Entity
+@Table(name = "transaction_log_partition")
+public class TransactionLogPartitionEntity {
+
+    @Id
+    @Column(name = "partition_day", nullable = false)
+    private LocalDate partitionDay;
+
+    @Column(name = "segment_file", nullable = false)
+    private String segmentFile;
+
+    @Column(name = "tx_count", nullable = false)
+    private Integer txCount;
+
+    @Column(name = "row_count", nullable = false)
+    private Long rowCount;
+
+    @Column(name = "sealed_at", nullable = false)
+    private LocalDateTime sealedAt;
+
+    public TransactionLogPartitionEntity() {
+    }
+
+    public TransactionLogPartitionEntity(LocalDate partitionDay, String segmentFile, int txCount, long rowCount) {
+        this.partitionDay = partitionDay;
+        this.segmentFile = segmentFile;
+        this.txCount = txCount;
+        this.rowCount = rowCount;
+        this.sealedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+
+    public LocalDate getPartitionDay() {
+        return partitionDay;
+    }
+
+    public void setPartitionDay(LocalDate partitionDay) {
+        this.partitionDay = partitionDay;
+    }
+
+    public String getSegmentFile() {
+        return segmentFile;
+    }
+
+    public void setSegmentFile(String segmentFile) {
+        this.segmentFile = segmentFile;
+    }
+
+    public Integer getTxCount() {
+        return txCount;
+    }
+
+    public void setTxCount(Integer txCount) {
+        this.txCount = txCount;
+    }
+
+    public Long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(Long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public LocalDateTime getSealedAt() {
+        return sealedAt;
+    }
+
+    public void setSealedAt(LocalDateTime sealedAt) {
+        this.sealedAt = sealedAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+
+/**
+ * JPA repository for transaction_log_partition table.
+ */
+public interface TransactionLogPartitionRepository extends JpaRepository<TransactionLogPartitionEntity, LocalDate> {
+}
@@ -0,0 +1,146 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.order.adapter.out.archive.ArchivedLogRecord;
+import com.ecommerce.order.adapter.out.archive.LogSegmentArchive;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Seals daily partitions of transaction_log into the archive.
+ * <p>
+ * A partition is the set of transactions started on one day (saga_summary.started_at), so all
+ * rows of a transaction land in the same partition. Once every transaction of a day is terminal
+ * its rows are written to a segment, then removed from transaction_log and saga_state. The
+ * saga_summary row stays behind with archived_on set and routes later lookups to the segment.
+ */
+@Component
+public class TransactionLogPartitioner {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionLogPartitioner.class);
+
+    /** Transactions per compressed block, i.e. the granularity of the sparse index. */
+    private static final int BLOCK_TRANSACTIONS = 256;
+
+    private final TransactionLogRepository logRepository;
+    private final SagaStateRepository stateRepository;
+    private final SagaSummaryRepository summaryRepository;
+    private final TransactionLogPartitionRepository partitionRepository;
+    private final LogSegmentArchive archive;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TransactionLogPartitioner(TransactionLogRepository logRepository,
+                                     SagaStateRepository stateRepository,
+                                     SagaSummaryRepository summaryRepository,
+                                     TransactionLogPartitionRepository partitionRepository,
+                                     LogSegmentArchive archive) {
+        this.logRepository = logRepository;
+        this.stateRepository = stateRepository;
+        this.summaryRepository = summaryRepository;
+        this.partitionRepository = partitionRepository;
+        this.archive = archive;
+    }
+
+    /**
+     * Days before the cutoff that still have rows in the hot table, oldest first.
+     */
+    public List<LocalDate> findUnsealedDaysBefore(LocalDate cutoff) {
+        Optional<LocalDateTime> oldest = summaryRepository.findOldestUnarchivedStart();
+        if (oldest.isEmpty()) {
+            return List.of();
+        }
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = oldest.get().toLocalDate(); day.isBefore(cutoff); day = day.plusDays(1)) {
+            days.add(day);
+        }
+        return days;
+    }
+
+    /**
+     * Seal the partition of a day if all of its transactions are terminal.
+     *
+     * @return true if the partition was archived and removed from the hot table
+     */
+    @Transactional
+    public boolean seal(LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+
+        long open = summaryRepository.countOpenStartedBetween(from, to);
+        if (open > 0) {
+            log.debug("Partition {} not sealable yet: {} transactions still open", day, open);
+            return false;
+        }
+        List<UUID> txIds = new ArrayList<>(summaryRepository.findUnarchivedTxIdsStartedBetween(from, to));
+        if (txIds.isEmpty()) {
+            return false;
+        }
+        if (partitionRepository.existsById(day)) {
+            // Rewriting the segment would drop the rows already archived for this day
+            log.warn("Partition {} is already sealed but has {} hot transactions; leaving them hot", day, txIds.size());
+            return false;
+        }
+        txIds.sort(Comparator.comparing(LogSegmentArchive::key));
+
+        long rowCount;
+        try (LogSegmentArchive.SegmentWriter writer = archive.openSegment(day)) {
+            for (List<UUID> chunk : chunks(txIds)) {
+                Map<UUID, List<ArchivedLogRecord>> byTxId = new HashMap<>();
+                for (TransactionLogEntity entity : logRepository.findByTxIdInOrderByIdAsc(chunk)) {
+                    byTxId.computeIfAbsent(entity.getTxId(), txId -> new ArrayList<>()).add(toRecord(entity));
+                }
+                List<ArchivedLogRecord> block = new ArrayList<>();
+                for (UUID txId : chunk) {
+                    block.addAll(byTxId.getOrDefault(txId, List.of()));
+                }
+                writer.writeBlock(block);
+                entityManager.clear();
+            }
+            writer.commit();
+            rowCount = writer.getRowCount();
+        }
+
+        // The segment is durable; a crash before this commits only leaves it to be rewritten next run
+        for (List<UUID> chunk : chunks(txIds)) {
+            logRepository.deleteByTxIdIn(chunk);
+            stateRepository.deleteByTxIdIn(chunk);
+            summaryRepository.markArchived(chunk, day, LogSegmentArchive.segmentName(day));
+        }
+        partitionRepository.save(new TransactionLogPartitionEntity(
+                day, archive.segmentFileName(day), txIds.size(), rowCount));
+
+        log.info("Sealed transaction_log partition {}: transactions={}, rows={}", day, txIds.size(), rowCount);
+        return true;
+    }
+
+    private static List<List<UUID>> chunks(List<UUID> txIds) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int i = 0; i < txIds.size(); i += BLOCK_TRANSACTIONS) {
+            chunks.add(txIds.subList(i, Math.min(i + BLOCK_TRANSACTIONS, txIds.size())));
+        }
+        return chunks;
+    }
+
+    private static ArchivedLogRecord toRecord(TransactionLogEntity entity) {
+        return new ArchivedLogRecord(
+                entity.getId(),
+                entity.getTxId(),
+                entity.getOrderId(),
+                entity.getServiceName(),
+                entity.getStatus(),
+                entity.getErrorMessage(),
+                entity.getRetryCount() != null ? entity.getRetryCount() : 0,
+                entity.getCreatedAt(),
+                entity.getNotifiedAt()
+        );
+    }
+}
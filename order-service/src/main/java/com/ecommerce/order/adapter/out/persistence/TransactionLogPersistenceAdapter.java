@@ -2,159 +2,226 @@ package com.ecommerce.order.adapter.out.persistence;
 
 import com.ecommerce.common.domain.ServiceName;
 import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.out.archive.ArchivedLogRecord;
+import com.ecommerce.order.adapter.out.archive.LogSegmentArchive;
 import com.ecommerce.order.application.port.out.TransactionLogPort;
+import com.ecommerce.order.domain.model.PageCursor;
+import com.ecommerce.order.domain.model.SagaStatistics;
 import com.ecommerce.order.domain.model.TransactionLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Persistence adapter implementing TransactionLogPort.
  * Translates between domain model and JPA entities.
+ * <p>
+ * Appends also upsert the saga_state/saga_summary projection in the same transaction,
+ * so latest-state reads are primary key or index lookups instead of log scans.
+ * Transactions of sealed partitions are no longer in either table; their summary row
+ * carries the partition day and lookups fall through to the archive segment.
+ * Compacted transactions keep their final per-service state on the summary row, which
+ * answers latest-state reads without touching the segment.
+ * <p>
+ * Appends and latest-state reads go through {@link TransactionLogJdbcRepository}, which never
+ * touches the caller's persistence context; JPA remains for history and admin paths.
+ * <p>
+ * Every append bumps the transaction's in-memory {@link TransactionVersions version} once it commits,
+ * and writes its new state through to the {@link TransactionStateCache}, which answers the latest-state
+ * reads of recently active transactions. Lookups of transaction or order ids the {@link KnownIdFilter}
+ * has never seen return empty without a query.
+ * Saga statistics are counted by the {@link SagaStatisticsTracker} as the projection is written,
+ * and read back from the projection on startup and after a rebuild.
  */
 @Component
-public class TransactionLogPersistenceAdapter implements TransactionLogPort {
+@Profile("!segment-store")
+public class TransactionLogPersistenceAdapter implements TransactionLogPort, SmartInitializingSingleton {
 
     private final TransactionLogRepository repository;
+    private final SagaStateRepository stateRepository;
+    private final SagaSummaryRepository summaryRepository;
+    private final SagaStateProjector projector;
+    private final TransactionLogPartitioner partitioner;
+    private final LogSegmentArchive archive;
+    private final TransactionLogJdbcRepository jdbcRepository;
+    private final SagaTransactionCompactor compactor;
+    private final SagaStatisticsTracker statisticsTracker;
+    private final TransactionStateCache stateCache;
+    private final KnownIdFilter knownIds;
+    private final TransactionVersions versions = new TransactionVersions();
 
-    public TransactionLogPersistenceAdapter(TransactionLogRepository repository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TransactionLogPersistenceAdapter(TransactionLogRepository repository,
+                                            SagaStateRepository stateRepository,
+                                            SagaSummaryRepository summaryRepository,
+                                            SagaStateProjector projector,
+                                            TransactionLogPartitioner partitioner,
+                                            LogSegmentArchive archive,
+                                            TransactionLogJdbcRepository jdbcRepository,
+                                            SagaTransactionCompactor compactor,
+                                            SagaStatisticsTracker statisticsTracker,
+                                            TransactionStateCache stateCache,
+                                            KnownIdFilter knownIds) {
         this.repository = repository;
+        this.stateRepository = stateRepository;
+        this.summaryRepository = summaryRepository;
+        this.projector = projector;
+        this.partitioner = partitioner;
+        this.archive = archive;
+        this.jdbcRepository = jdbcRepository;
+        this.compactor = compactor;
+        this.statisticsTracker = statisticsTracker;
+        this.stateCache = stateCache;
+        this.knownIds = knownIds;
     }
 
+    /**
+     * Seed the statistics once every singleton exists, before lifecycle beans, scheduled pollers,
+     * Camel routes and recovery can append.
+     */
     @Override
-    public TransactionLog save(TransactionLog transactionLog) {
-        TransactionLogEntity entity = new TransactionLogEntity(
-                transactionLog.getTxId().toString(),
-                transactionLog.getOrderId().toString(),
-                transactionLog.getServiceName().name(),
-                transactionLog.getStatus().getCode()
-        );
-        entity.setErrorMessage(transactionLog.getErrorMessage());
-        entity.setRetryCount(transactionLog.getRetryCount());
+    public void afterSingletonsInstantiated() {
+        rehydrateStatistics();
+    }
 
-        TransactionLogEntity saved = repository.save(entity);
-        transactionLog.setId(saved.getId());
-        return transactionLog;
+    public void rehydrateStatistics() {
+        statisticsTracker.rehydrate();
+    }
+
+    /**
+     * Fill the known id filters; until then no lookup is short-circuited.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadKnownIds() {
+        knownIds.load();
     }
 
     @Override
-    public List<TransactionLog> findLatestByTxId(String txId) {
-        Map<String, TransactionLogEntity> latestByService = new HashMap<>();
+    @Transactional
+    public TransactionLog save(TransactionLog transactionLog) {
+        append(List.of(transactionLog));
+        return transactionLog;
+    }
 
-        List<TransactionLogEntity> logs = repository.findByTxIdOrderByCreatedAtAsc(txId);
-        for (TransactionLogEntity log : logs) {
-            latestByService.put(log.getServiceName(), log);
+    @Override
+    @Transactional
+    public List<TransactionLog> saveAll(List<TransactionLog> transactionLogs) {
+        if (transactionLogs.isEmpty()) {
+            return transactionLogs;
         }
+        append(transactionLogs);
+        return transactionLogs;
+    }
 
-        return latestByService.values().stream()
-                .map(this::toDomain)
-                .collect(Collectors.toList());
+    @Override
+    public List<TransactionLog> findLatestByTxId(String txId) {
+        UUID txUuid;
+        try {
+            txUuid = UUID.fromString(txId);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+        return latestOf(txUuid);
     }
 
     @Override
+    @Transactional
     public TransactionLog recordStatus(UUID txId, UUID orderId, ServiceName serviceName, TransactionStatus status) {
         return recordStatusWithError(txId, orderId, serviceName, status, null);
     }
 
     @Override
+    @Transactional
     public TransactionLog recordStatusWithError(UUID txId, UUID orderId, ServiceName serviceName,
                                                   TransactionStatus status, String errorMessage) {
         return recordStatusWithRetry(txId, orderId, serviceName, status, errorMessage, 0);
     }
 
     @Override
+    @Transactional
     public TransactionLog recordStatusWithRetry(UUID txId, UUID orderId, ServiceName serviceName,
                                                  TransactionStatus status, String errorMessage, int retryCount) {
-        TransactionLogEntity entity = new TransactionLogEntity(
-                txId.toString(),
-                orderId.toString(),
-                serviceName.name(),
-                status.getCode()
-        );
-        entity.setErrorMessage(errorMessage);
-        entity.setRetryCount(retryCount);
-
-        TransactionLogEntity saved = repository.save(entity);
-        return toDomain(saved);
+        TransactionLog entry = TransactionLog.createWithRetry(txId, orderId, serviceName, status, errorMessage,
+                retryCount);
+        append(List.of(entry));
+        return entry;
     }
 
     @Override
     public List<TransactionLog> findByTxId(UUID txId) {
-        return repository.findByTxIdOrderByCreatedAtAsc(txId.toString())
-                .stream()
+        if (!knownIds.mightContainTransaction(txId)) {
+            return new ArrayList<>();
+        }
+        List<TransactionLogEntity> entities = repository.findByTxIdOrderByCreatedAtAsc(txId);
+        if (entities.isEmpty()) {
+            List<TransactionLog> archived = findArchived(txId);
+            if (archived.isEmpty()) {
+                knownIds.falsePositive();
+            }
+            return archived;
+        }
+        return entities.stream()
                 .map(this::toDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<ServiceName> findSuccessfulServices(UUID txId) {
-        return repository.findSuccessfulServices(txId.toString())
-                .stream()
-                .map(ServiceName::valueOf)
+        return latestOf(txId).stream()
+                .filter(entry -> entry.getStatus() == TransactionStatus.S)
+                .map(TransactionLog::getServiceName)
+                .sorted()
                 .collect(Collectors.toList());
     }
 
     @Override
     public Map<ServiceName, TransactionStatus> getLatestStatuses(UUID txId) {
-        Map<ServiceName, TransactionStatus> result = new HashMap<>();
-
-        List<TransactionLogEntity> logs = repository.findByTxIdOrderByCreatedAtAsc(txId.toString());
-
-        // Group by service and get the latest status for each
-        logs.stream()
-                .collect(Collectors.groupingBy(TransactionLogEntity::getServiceName))
-                .forEach((serviceName, entities) -> {
-                    TransactionLogEntity latest = entities.stream()
-                            .max(Comparator.comparing(TransactionLogEntity::getCreatedAt))
-                            .orElseThrow();
-                    result.put(
-                            ServiceName.valueOf(serviceName),
-                            TransactionStatus.valueOf(latest.getStatus())
-                    );
-                });
-
-        return result;
+        Map<ServiceName, TransactionStatus> statuses = new EnumMap<>(ServiceName.class);
+        latestOf(txId)
+                .forEach(entry -> statuses.put(entry.getServiceName(), entry.getStatus()));
+        return statuses;
     }
 
     @Override
     public Optional<TransactionLog> getLatestForService(UUID txId, ServiceName serviceName) {
-        List<TransactionLogEntity> entities = repository
-                .findByTxIdAndServiceNameOrderByCreatedAtDesc(txId.toString(), serviceName.name());
-
-        return entities.isEmpty() ? Optional.empty() : Optional.of(toDomain(entities.get(0)));
+        return latestOf(txId).stream()
+                .filter(entry -> entry.getServiceName() == serviceName)
+                .findFirst();
     }
 
     @Override
     public List<UUID> findTimedOutTransactions(LocalDateTime olderThan) {
-        return repository.findTimedOutTransactions(olderThan)
-                .stream()
-                .map(UUID::fromString)
-                .collect(Collectors.toList());
+        return stateRepository.findTxIdsByStatusUpdatedBefore(TransactionStatus.U, olderThan);
     }
 
     @Override
     public List<UnfinishedTransaction> findUnfinishedTransactions() {
-        return repository.findUnfinishedTransactionsWithOrderId()
+        // A service left in U or F was started but never succeeded or compensated
+        return stateRepository.findTransactionsWithStatusIn(List.of(TransactionStatus.U, TransactionStatus.F))
                 .stream()
-                .map(row -> new UnfinishedTransaction(
-                        UUID.fromString((String) row[0]),
-                        UUID.fromString((String) row[1])
-                ))
+                .map(row -> new UnfinishedTransaction((UUID) row[0], (UUID) row[1]))
                 .collect(Collectors.toList());
     }
 
     @Override
-    public void recordNotifiedAt(UUID txId, ServiceName serviceName, LocalDateTime notifiedAt) {
-        List<TransactionLogEntity> entities = repository
-                .findByTxIdAndServiceNameOrderByCreatedAtDesc(txId.toString(), serviceName.name());
-
-        if (!entities.isEmpty()) {
-            TransactionLogEntity latest = entities.get(0);
-            latest.setNotifiedAt(notifiedAt);
-            repository.save(latest);
-        }
+    @Transactional
+    public void recordNotifiedAt(UUID txId, long logId, LocalDateTime notifiedAt) {
+        // Single UPDATE by primary key; the row is never loaded into the persistence context
+        jdbcRepository.markNotified(logId, notifiedAt);
     }
 
     @Override
@@ -165,33 +232,217 @@ public class TransactionLogPersistenceAdapter implements TransactionLogPort {
 
     @Override
     public List<TransactionLog> findByOrderId(UUID orderId) {
-        return repository.findByOrderIdOrderByCreatedAtDesc(orderId.toString())
+        if (!knownIds.mightContainOrder(orderId)) {
+            return new ArrayList<>();
+        }
+        List<TransactionLog> result = repository.findByOrderIdOrderByCreatedAtDesc(orderId)
                 .stream()
                 .map(this::toDomain)
                 .collect(Collectors.toList());
+
+        List<SagaSummaryEntity> archived = summaryRepository.findByOrderIdAndArchivedOnIsNotNull(orderId);
+        if (archived.isEmpty()) {
+            if (result.isEmpty()) {
+                knownIds.falsePositive();
+            }
+            return result;
+        }
+        Map<String, List<UUID>> bySegment = new TreeMap<>();
+        for (SagaSummaryEntity summary : archived) {
+            bySegment.computeIfAbsent(segmentOf(summary), segment -> new ArrayList<>()).add(summary.getTxId());
+        }
+        bySegment.forEach((segment, txIds) -> archive.read(segment, txIds)
+                .forEach(record -> result.add(record.toDomain())));
+        result.sort(Comparator.comparing(TransactionLog::getCreatedAt).reversed());
+        return result;
     }
 
     @Override
     public List<UUID> findDistinctTxIdsByOrderId(UUID orderId) {
-        return repository.findDistinctTxIdsByOrderId(orderId.toString())
+        if (!knownIds.mightContainOrder(orderId)) {
+            return new ArrayList<>();
+        }
+        List<UUID> txIds = summaryRepository.findTxIdsByOrderId(orderId);
+        if (txIds.isEmpty()) {
+            knownIds.falsePositive();
+        }
+        return txIds;
+    }
+
+    @Override
+    public List<TransactionSnapshot> findLatestByOrderId(UUID orderId) {
+        List<TransactionSnapshot> snapshots = new ArrayList<>();
+        streamLatestByOrderId(orderId, null, Integer.MAX_VALUE, snapshots::add);
+        return snapshots;
+    }
+
+    @Override
+    public void streamLatestByOrderId(UUID orderId, PageCursor after, int limit, Consumer<TransactionSnapshot> sink) {
+        if (!knownIds.mightContainOrder(orderId)) {
+            return;
+        }
+        boolean[] found = new boolean[1];
+        jdbcRepository.streamLatestByOrderId(orderId, after, limit, snapshot -> {
+            found[0] = true;
+            if (snapshot.latest().isEmpty()) {
+                // Sealed partitions keep no per-service state; fold the archived rows instead
+                snapshot.latest().addAll(findLatestByTxId(snapshot.txId().toString()));
+            }
+            sink.accept(snapshot);
+        });
+        // Only the first page says anything about the order existing
+        if (!found[0] && after == null) {
+            knownIds.falsePositive();
+        }
+    }
+
+    @Override
+    public List<TransactionSnapshot> findLatestByTxIds(Collection<UUID> txIds) {
+        List<UUID> candidates = txIds.stream().filter(knownIds::mightContainTransaction).toList();
+        List<TransactionSnapshot> snapshots = jdbcRepository.findLatestByTxIds(candidates);
+        for (TransactionSnapshot snapshot : snapshots) {
+            if (snapshot.latest().isEmpty()) {
+                // Sealed partitions keep no per-service state; fold the archived rows instead
+                snapshot.latest().addAll(findLatestByTxId(snapshot.txId().toString()));
+            }
+        }
+        return snapshots;
+    }
+
+    @Override
+    public void streamLatestByStatus(TransactionStatus status, LocalDateTime updatedBefore, PageCursor after,
+                                     int limit, Consumer<TransactionLog> sink) {
+        // Archived and compacted sagas are terminal, so only the hot projection can match
+        jdbcRepository.streamLatestByStatus(status, updatedBefore, after, limit, sink);
+    }
+
+    @Override
+    public void streamOutcomes(LocalDateTime startedFrom, LocalDateTime startedBefore,
+                               Consumer<TransactionOutcome> sink) {
+        // Every saga keeps its summary row, so one range scan covers hot, compacted and archived ones
+        jdbcRepository.streamOutcomes(startedFrom, startedBefore, sink);
+    }
+
+    @Override
+    public long currentVersion(UUID txId) {
+        return versions.current(txId);
+    }
+
+    @Override
+    public CompletableFuture<Long> awaitChange(UUID txId, long since) {
+        return versions.awaitChange(txId, since);
+    }
+
+    @Override
+    public SagaStatistics.Snapshot statistics() {
+        return statisticsTracker.snapshot();
+    }
+
+    @Override
+    public long rebuildProjection() {
+        long projected = projector.rebuild();
+        stateCache.invalidateAll();
+        statisticsTracker.rehydrate();
+        return projected;
+    }
+
+    @Override
+    public int archivePartitionsBefore(LocalDate cutoff) {
+        int sealed = 0;
+        // One DB transaction per day, so a large backlog is sealed incrementally
+        for (LocalDate day : partitioner.findUnsealedDaysBefore(cutoff)) {
+            if (partitioner.seal(day)) {
+                sealed++;
+            }
+        }
+        return sealed;
+    }
+
+    @Override
+    public int compactTerminalTransactions(LocalDateTime terminalBefore, int limit) {
+        return compactor.compact(terminalBefore, limit);
+    }
+
+    private List<TransactionLog> latestOf(UUID txId) {
+        if (!knownIds.mightContainTransaction(txId)) {
+            return List.of();
+        }
+        List<TransactionLog> latest = stateCache.get(txId, this::loadLatest);
+        if (latest.isEmpty()) {
+            knownIds.falsePositive();
+        }
+        return latest;
+    }
+
+    /**
+     * Latest entry of every service: hot projection, else the compacted summary, else the archive.
+     */
+    private List<TransactionLog> loadLatest(UUID txUuid) {
+        List<TransactionLog> states = jdbcRepository.findLatestByTxId(txUuid);
+        if (states.isEmpty()) {
+            List<TransactionLog> compacted = findCompacted(txUuid);
+            if (!compacted.isEmpty()) {
+                return compacted;
+            }
+            // Later entries overwrite earlier ones, leaving the latest per service
+            Map<ServiceName, TransactionLog> latest = new EnumMap<>(ServiceName.class);
+            for (TransactionLog entry : findArchived(txUuid)) {
+                latest.put(entry.getServiceName(), entry);
+            }
+            return new ArrayList<>(latest.values());
+        }
+        return states;
+    }
+
+    private List<TransactionLog> findCompacted(UUID txId) {
+        return summaryRepository.findById(txId)
+                .filter(summary -> summary.getServiceSummary() != null)
+                .map(summary -> summary.getServiceSummary().stream()
+                        .map(service -> service.toDomain(txId, summary.getOrderId()))
+                        .collect(Collectors.toList()))
+                .orElse(List.of());
+    }
+
+    private List<TransactionLog> findArchived(UUID txId) {
+        return summaryRepository.findById(txId)
+                .filter(summary -> summary.getArchivedOn() != null)
+                .map(summary -> archive.read(segmentOf(summary), List.of(txId)))
+                .orElse(List.of())
                 .stream()
-                .map(UUID::fromString)
+                .map(ArchivedLogRecord::toDomain)
                 .collect(Collectors.toList());
     }
 
+    private static String segmentOf(SagaSummaryEntity summary) {
+        // Rows sealed before segments were recorded per transaction live in the segment of their day
+        return summary.getArchiveSegment() != null
+                ? summary.getArchiveSegment()
+                : LogSegmentArchive.segmentName(summary.getArchivedOn());
+    }
+
+    /**
+     * Every append goes through the JDBC repository, which projects it and reports it onwards.
+     * Nothing is read back through the persistence context, so a caller's loaded entities are left alone.
+     */
+    private void append(List<TransactionLog> entries) {
+        // Pending JPA changes in this transaction must reach the database before the JDBC rows
+        entityManager.flush();
+        jdbcRepository.appendAll(entries);
+        entries.stream().map(TransactionLog::getTxId).distinct().forEach(versions::changedAfterCommit);
+    }
+
     private TransactionLog toDomain(TransactionLogEntity entity) {
-        TransactionLog log = TransactionLog.createWithRetry(
-                UUID.fromString(entity.getTxId()),
-                UUID.fromString(entity.getOrderId()),
-                ServiceName.valueOf(entity.getServiceName()),
-                TransactionStatus.valueOf(entity.getStatus()),
+        return TransactionLog.restore(
+                entity.getId(),
+                entity.getTxId(),
+                entity.getOrderId(),
+                entity.getServiceName(),
+                entity.getStatus(),
                 entity.getErrorMessage(),
-                entity.getRetryCount() != null ? entity.getRetryCount() : 0
+                entity.getRetryCount() != null ? entity.getRetryCount() : 0,
+                entity.getCreatedAt(),
+                entity.getNotifiedAt(),
+                entity.getDeadlineAt()
         );
-        log.setId(entity.getId());
-        if (entity.getNotifiedAt() != null) {
-            log.setNotifiedAt(entity.getNotifiedAt());
-        }
-        return log;
     }
 }
@@ -0,0 +1,176 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.order.domain.model.TransactionLog;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory copy of the latest per-service state of recently active transactions,
+ * so status reads of running sagas are answered without a query.
+ * <p>
+ * Every append writes the transaction's new state through once it commits; a read that misses
+ * loads from the database and keeps the result, unless it ran in a read-only transaction. Those
+ * are routed to the read pool, which may be a lagging replica, and a stale state kept under a
+ * fresh stamp would shadow the written-through one until it expires. Entries are bounded by the number of service
+ * states held and expire {@code ttl} after their last write, with Caffeine's W-TinyLFU policy
+ * choosing what to evict.
+ * <p>
+ * Consistency within the node: while an append for a transaction is in flight, reads of it
+ * bypass the cache, so the appending transaction reads its own writes and nobody caches a state
+ * about to change. Each write and each load is stamped from one sequence (writes while holding
+ * the summary row lock, loads before reading), and an entry is only ever replaced by a newer
+ * stamp, so a write-through that runs late or a slow load never overwrites a fresher state.
+ * Cached entries are shared between readers and must not be modified.
+ */
+@Component
+public class TransactionStateCache {
+
+    /** Rough heap cost of one cached service state and of one transaction entry around them. */
+    private static final long BYTES_PER_STATE = 240;
+    private static final long BYTES_PER_ENTRY = 160;
+
+    private final Cache<UUID, CachedState> cache;
+    private final ConcurrentHashMap<UUID, Integer> writing = new ConcurrentHashMap<>();
+    private final AtomicLong stamps = new AtomicLong();
+
+    @Autowired
+    public TransactionStateCache(@Value("${saga.state-cache.max-states:200000}") long maxStates,
+                                 @Value("${saga.state-cache.ttl:10m}") Duration ttl,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        this(maxStates, ttl, Ticker.systemTicker());
+        meterRegistry.ifAvailable(this::bindTo);
+    }
+
+    TransactionStateCache(long maxStates, Duration ttl, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxStates)
+                .weigher((UUID txId, CachedState state) -> state.latest().size())
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                // Maintenance runs on the calling thread; it is a few map operations per write
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Latest entry of every service in a transaction, from the cache when it holds the
+     * transaction, otherwise from the loader. A non-empty loaded state is kept, unless it was
+     * loaded in a read-only transaction and so possibly from a replica.
+     */
+    public List<TransactionLog> get(UUID txId, Function<UUID, List<TransactionLog>> loader) {
+        long stamp = stamps.get();
+        if (writing.containsKey(txId)) {
+            return loader.apply(txId);
+        }
+        CachedState cached = cache.getIfPresent(txId);
+        if (cached != null) {
+            return cached.latest();
+        }
+        List<TransactionLog> latest = loader.apply(txId);
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return latest;
+        }
+        // An append that started meanwhile may not be in what was read; its own write-through wins
+        if (!latest.isEmpty() && !writing.containsKey(txId)) {
+            put(txId, new CachedState(stamp, List.copyOf(latest)));
+        }
+        return latest;
+    }
+
+    /**
+     * Write the state an append left behind through to the cache once the surrounding
+     * transaction commits, at once without one. Must be called while the append still holds
+     * the transaction's summary row lock.
+     *
+     * @param latest latest entry of every service, including the one just appended
+     */
+    public void writeThroughAfterCommit(UUID txId, List<TransactionLog> latest) {
+        writing.merge(txId, 1, Integer::sum);
+        CachedState state = new CachedState(stamps.incrementAndGet(), List.copyOf(latest));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(txId, state);
+            finishWrite(txId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(txId, state);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                finishWrite(txId);
+            }
+        });
+    }
+
+    /**
+     * Forget every cached state, e.g. after the projection was rebuilt underneath.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Estimated heap held by the cached states, in bytes.
+     */
+    public long estimatedMemory() {
+        long states = cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+        return states * BYTES_PER_STATE + cache.estimatedSize() * BYTES_PER_ENTRY;
+    }
+
+    double hitRate() {
+        return cache.stats().hitRate();
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private void bindTo(MeterRegistry registry) {
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, ... tagged cache=saga.state
+        CaffeineCacheMetrics.monitor(registry, cache, "saga.state");
+        Gauge.builder("saga.state.cache.hit.ratio", this, TransactionStateCache::hitRate)
+                .description("Share of transaction state reads answered from the cache")
+                .register(registry);
+        Gauge.builder("saga.state.cache.memory", this, TransactionStateCache::estimatedMemory)
+                .description("Estimated heap held by cached transaction states")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void put(UUID txId, CachedState state) {
+        cache.asMap().merge(txId, state, (current, candidate) ->
+                current.stamp() >= candidate.stamp() ? current : candidate);
+    }
+
+    private void finishWrite(UUID txId) {
+        writing.computeIfPresent(txId, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private record CachedState(long stamp, List<TransactionLog> latest) {
+    }
+}
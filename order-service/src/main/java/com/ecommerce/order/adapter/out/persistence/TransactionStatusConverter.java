@@ -0,0 +1,22 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.TransactionStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link TransactionStatus} as its TINYINT code.
+ */
+@Converter
+public class TransactionStatusConverter implements AttributeConverter<TransactionStatus, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(TransactionStatus status) {
+        return status != null ? PersistenceCodes.code(status) : null;
+    }
+
+    @Override
+    public TransactionStatus convertToEntityAttribute(Byte code) {
+        return code != null ? PersistenceCodes.status(code) : null;
+    }
+}
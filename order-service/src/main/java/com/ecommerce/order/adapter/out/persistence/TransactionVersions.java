@@ -0,0 +1,137 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version of each transaction's latest state, changed on every append, so conditional
+ * status reads can be answered without a query and long-polls can park until the next change.
+ * <p>
+ * Versions come from one sequence seeded with the start time, so they only ever grow, across
+ * restarts too, and a stale version can never match again. A transaction gets its version on
+ * first read; appends only bump transactions already tracked. Beyond {@code maxEntries},
+ * entries nobody is waiting on are dropped; a dropped transaction gets a fresh version next time.
+ * <p>
+ * Waiters are completed on a small notifier pool, never on the appending thread.
+ */
+public final class TransactionVersions {
+
+    private static final int DEFAULT_MAX_ENTRIES = 100_000;
+    private static final int NOTIFIER_THREADS = 4;
+
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1_000_000L);
+    private final int maxEntries;
+    private final ExecutorService notifier;
+
+    public TransactionVersions() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public TransactionVersions(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.notifier = Executors.newFixedThreadPool(NOTIFIER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "tx-version-notifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Current version of the transaction, assigning one if it is not tracked yet.
+     * Taken before reading the state it describes, a version can only be older than that state.
+     */
+    public long current(UUID txId) {
+        long version = entries.computeIfAbsent(txId, key -> new Entry(sequence.incrementAndGet())).version;
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+        return version;
+    }
+
+    /**
+     * Completes with the transaction's version once it differs from {@code since}, immediately if
+     * it already does. Cancelling the future stops waiting.
+     */
+    public CompletableFuture<Long> awaitChange(UUID txId, long since) {
+        CompletableFuture<Long> waiter = new CompletableFuture<>();
+        Entry entry = entries.compute(txId, (key, current) -> {
+            Entry tracked = current != null ? current : new Entry(sequence.incrementAndGet());
+            if (tracked.version == since) {
+                tracked.waiters.add(waiter);
+            }
+            return tracked;
+        });
+        if (entry.version != since) {
+            waiter.complete(entry.version);
+        } else {
+            waiter.whenComplete((version, error) -> entry.waiters.remove(waiter));
+        }
+        return waiter;
+    }
+
+    /**
+     * Bump the version of a tracked transaction and wake its waiters.
+     */
+    public void changed(UUID txId) {
+        Entry[] previous = new Entry[1];
+        Entry next = entries.computeIfPresent(txId, (key, current) -> {
+            previous[0] = current;
+            return new Entry(sequence.incrementAndGet());
+        });
+        if (next != null) {
+            for (CompletableFuture<Long> waiter : previous[0].waiters) {
+                waiter.completeAsync(() -> next.version, notifier);
+            }
+        }
+    }
+
+    /**
+     * Like {@link #changed(UUID)}, once the surrounding transaction has committed, so a woken
+     * reader always sees the new state. Without a transaction the change is visible already.
+     */
+    public void changedAfterCommit(UUID txId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed(txId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changed(txId);
+            }
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        int target = maxEntries - maxEntries / 10;
+        for (UUID txId : entries.keySet()) {
+            if (entries.size() <= target) {
+                return;
+            }
+            entries.computeIfPresent(txId, (key, entry) -> entry.waiters.isEmpty() ? null : entry);
+        }
+    }
+
+    private static final class Entry {
+
+        private final long version;
+        private final Set<CompletableFuture<Long>> waiters = ConcurrentHashMap.newKeySet();
+
+        private Entry(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.ecommerce.order.adapter.out.segment;
+
+import com.ecommerce.order.adapter.out.persistence.PersistenceCodes;
+import com.ecommerce.order.domain.model.TransactionLog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Fixed-width binary layout of transaction log records in a segment.
+ * <pre>
+ * offset size  primary record ('L')        continuation record ('C')
+ *   0     1    marker                      marker
+ *   1     1    service code                -
+ *   2     1    status code                 -
+ *   3     1    flags                       -
+ *   4     4    retry count                 error message bytes (124)
+ *   8     8    id
+ *  16    16    txId
+ *  32    16    orderId
+ *  48     8    createdAt (epoch micros)
+ *  56     8    notifiedAt (epoch micros)
+ *  64     8    deadlineAt (epoch micros)
+ *  72     4    error message length
+ *  76    52    error message head
+ * </pre>
+ * Error messages longer than the head spill into continuation records that directly follow
+ * the primary one, so every record stays {@link #RECORD_SIZE} bytes. A zero marker means
+ * the slot was never written, which is how a scan finds the end of a segment.
+ */
+final class LogRecordCodec {
+
+    static final int RECORD_SIZE = 128;
+
+    static final byte PRIMARY = 'L';
+    static final byte CONTINUATION = 'C';
+
+    static final int NOTIFIED_AT_OFFSET = 56;
+
+    private static final byte FLAG_ERROR = 1;
+    private static final byte FLAG_NOTIFIED = 2;
+    private static final byte FLAG_DEADLINE = 4;
+
+    private static final int DEADLINE_AT_OFFSET = 64;
+    private static final int ERROR_LENGTH_OFFSET = 72;
+    private static final int ERROR_HEAD_OFFSET = 76;
+    private static final int ERROR_HEAD_SIZE = RECORD_SIZE - ERROR_HEAD_OFFSET;
+    private static final int CONTINUATION_HEADER = 4;
+    private static final int CONTINUATION_SIZE = RECORD_SIZE - CONTINUATION_HEADER;
+
+    private LogRecordCodec() {
+    }
+
+    /**
+     * Encode an entry into one primary record plus any continuation records.
+     */
+    static byte[] encode(TransactionLog entry) {
+        byte[] error = entry.getErrorMessage() != null
+                ? entry.getErrorMessage().getBytes(StandardCharsets.UTF_8)
+                : null;
+        int errorLength = error != null ? error.length : 0;
+        ByteBuffer buffer = ByteBuffer.allocate(slots(errorLength) * RECORD_SIZE);
+
+        byte flags = 0;
+        if (error != null) {
+            flags |= FLAG_ERROR;
+        }
+        if (entry.getNotifiedAt() != null) {
+            flags |= FLAG_NOTIFIED;
+        }
+        if (entry.getDeadlineAt() != null) {
+            flags |= FLAG_DEADLINE;
+        }
+        buffer.put(PRIMARY)
+                .put(PersistenceCodes.code(entry.getServiceName()))
+                .put(PersistenceCodes.code(entry.getStatus()))
+                .put(flags)
+                .putInt(entry.getRetryCount())
+                .putLong(entry.getId())
+                .putLong(entry.getTxId().getMostSignificantBits())
+                .putLong(entry.getTxId().getLeastSignificantBits())
+                .putLong(entry.getOrderId().getMostSignificantBits())
+                .putLong(entry.getOrderId().getLeastSignificantBits())
+                .putLong(toMicros(entry.getCreatedAt()))
+                .putLong(entry.getNotifiedAt() != null ? toMicros(entry.getNotifiedAt()) : 0L)
+                .putLong(entry.getDeadlineAt() != null ? toMicros(entry.getDeadlineAt()) : 0L)
+                .putInt(errorLength);
+
+        int written = Math.min(errorLength, ERROR_HEAD_SIZE);
+        if (written > 0) {
+            buffer.put(error, 0, written);
+        }
+        int slot = 1;
+        while (written < errorLength) {
+            buffer.position(slot * RECORD_SIZE);
+            buffer.put(CONTINUATION).put((byte) 0).put((byte) 0).put((byte) 0);
+            int chunk = Math.min(errorLength - written, CONTINUATION_SIZE);
+            buffer.put(error, written, chunk);
+            written += chunk;
+            slot++;
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Number of record slots (primary plus continuations) a record with this header occupies.
+     */
+    static int slots(ByteBuffer header) {
+        return slots(header.getInt(ERROR_LENGTH_OFFSET));
+    }
+
+    private static int slots(int errorLength) {
+        int overflow = Math.max(0, errorLength - ERROR_HEAD_SIZE);
+        return 1 + (overflow + CONTINUATION_SIZE - 1) / CONTINUATION_SIZE;
+    }
+
+    /**
+     * Decode a primary record and its continuations.
+     */
+    static TransactionLog decode(ByteBuffer buffer) {
+        byte flags = buffer.get(3);
+        String errorMessage = null;
+        if ((flags & FLAG_ERROR) != 0) {
+            int errorLength = buffer.getInt(ERROR_LENGTH_OFFSET);
+            byte[] error = new byte[errorLength];
+            int read = Math.min(errorLength, ERROR_HEAD_SIZE);
+            buffer.get(ERROR_HEAD_OFFSET, error, 0, read);
+            int slot = 1;
+            while (read < errorLength) {
+                int chunk = Math.min(errorLength - read, CONTINUATION_SIZE);
+                buffer.get(slot * RECORD_SIZE + CONTINUATION_HEADER, error, read, chunk);
+                read += chunk;
+                slot++;
+            }
+            errorMessage = new String(error, StandardCharsets.UTF_8);
+        }
+        return TransactionLog.restore(
+                id(buffer),
+                txId(buffer),
+                orderId(buffer),
+                PersistenceCodes.serviceName(serviceCode(buffer)),
+                PersistenceCodes.status(statusCode(buffer)),
+                errorMessage,
+                buffer.getInt(4),
+                createdAt(buffer),
+                (flags & FLAG_NOTIFIED) != 0 ? fromMicros(buffer.getLong(NOTIFIED_AT_OFFSET)) : null,
+                (flags & FLAG_DEADLINE) != 0 ? fromMicros(buffer.getLong(DEADLINE_AT_OFFSET)) : null
+        );
+    }
+
+    static byte serviceCode(ByteBuffer header) {
+        return header.get(1);
+    }
+
+    static byte statusCode(ByteBuffer header) {
+        return header.get(2);
+    }
+
+    static long id(ByteBuffer header) {
+        return header.getLong(8);
+    }
+
+    static UUID txId(ByteBuffer header) {
+        return new UUID(header.getLong(16), header.getLong(24));
+    }
+
+    static UUID orderId(ByteBuffer header) {
+        return new UUID(header.getLong(32), header.getLong(40));
+    }
+
+    static LocalDateTime createdAt(ByteBuffer header) {
+        return fromMicros(createdAtMicros(header));
+    }
+
+    static long createdAtMicros(ByteBuffer header) {
+        return header.getLong(48);
+    }
+
+    /**
+     * Flags byte with the notified bit set, for an in-place notifiedAt stamp.
+     */
+    static byte withNotified(byte flags) {
+        return (byte) (flags | FLAG_NOTIFIED);
+    }
+
+    static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
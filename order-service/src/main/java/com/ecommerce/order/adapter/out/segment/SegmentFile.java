@@ -0,0 +1,132 @@
+package com.ecommerce.order.adapter.out.segment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.ecommerce.order.adapter.out.segment.LogRecordCodec.RECORD_SIZE;
+
+/**
+ * One memory-mapped, fixed-size segment file of the transaction log.
+ * Appends are serialized by the owning store; reads use absolute positions and may run concurrently.
+ */
+final class SegmentFile {
+
+    private final long id;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+
+    private SegmentFile(long id, Path path, MappedByteBuffer buffer, int writePosition) {
+        this.id = id;
+        this.path = path;
+        this.buffer = buffer;
+        this.writePosition = writePosition;
+    }
+
+    /**
+     * Create a new zero-filled segment of the given size.
+     */
+    static SegmentFile create(long id, Path path, int size) {
+        return map(id, path, size, StandardOpenOption.CREATE_NEW);
+    }
+
+    /**
+     * Map an existing segment and find its end by scanning for the first unwritten slot.
+     */
+    static SegmentFile open(long id, Path path) {
+        SegmentFile segment = map(id, path, -1);
+        int position = 0;
+        while (position + RECORD_SIZE <= segment.capacity()
+                && segment.buffer.get(position) == LogRecordCodec.PRIMARY) {
+            position += LogRecordCodec.slots(segment.slice(position, RECORD_SIZE)) * RECORD_SIZE;
+        }
+        segment.writePosition = position;
+        return segment;
+    }
+
+    private static SegmentFile map(long id, Path path, int size, StandardOpenOption... extra) {
+        StandardOpenOption[] options = new StandardOpenOption[extra.length + 2];
+        options[0] = StandardOpenOption.READ;
+        options[1] = StandardOpenOption.WRITE;
+        System.arraycopy(extra, 0, options, 2, extra.length);
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            long length = size >= 0 ? size : channel.size();
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            return new SegmentFile(id, path, buffer, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map segment " + path, e);
+        }
+    }
+
+    long id() {
+        return id;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    int writePosition() {
+        return writePosition;
+    }
+
+    boolean hasRoom(int bytes) {
+        return writePosition + bytes <= buffer.capacity();
+    }
+
+    /**
+     * Copy encoded records to the end of the segment.
+     *
+     * @return offset of the first record
+     */
+    int append(byte[] records) {
+        int offset = writePosition;
+        buffer.put(offset, records);
+        writePosition += records.length;
+        return offset;
+    }
+
+    /**
+     * Read-only view of a region, independent of other readers' positions.
+     */
+    ByteBuffer slice(int offset, int length) {
+        return buffer.slice(offset, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * View of one record including its continuation slots.
+     */
+    ByteBuffer record(int offset) {
+        int slots = LogRecordCodec.slots(slice(offset, RECORD_SIZE));
+        return slice(offset, slots * RECORD_SIZE);
+    }
+
+    void putLong(int offset, long value) {
+        buffer.putLong(offset, value);
+    }
+
+    void put(int offset, byte value) {
+        buffer.put(offset, value);
+    }
+
+    byte get(int offset) {
+        return buffer.get(offset);
+    }
+
+    /**
+     * Flush dirty pages of the mapping to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+}
@@ -0,0 +1,838 @@
+package com.ecommerce.order.adapter.out.segment;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.out.persistence.PersistenceCodes;
+import com.ecommerce.order.adapter.out.persistence.TransactionVersions;
+import com.ecommerce.order.application.port.out.TransactionLogPort;
+import com.ecommerce.order.domain.model.PageCursor;
+import com.ecommerce.order.domain.model.SagaOverallStatus;
+import com.ecommerce.order.domain.model.SagaStatistics;
+import com.ecommerce.order.domain.model.TransactionLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import static com.ecommerce.order.adapter.out.segment.LogRecordCodec.RECORD_SIZE;
+
+/**
+ * TransactionLogPort backed by memory-mapped, fixed-size segment files instead of JPA/H2.
+ * Selected with the {@code segment-store} profile.
+ * <p>
+ * Records are fixed-width ({@link LogRecordCodec}) and appended to the active segment under a
+ * single writer lock. A background flusher forces the mapping every {@code fsync-interval-ms};
+ * with {@code durable-appends} a caller returns only once the flush covering its record is done,
+ * so concurrent appends share one fsync. The per-transaction index and the saga statistics live
+ * in memory and are rebuilt by scanning the segments on startup.
+ * <p>
+ * {@link #archivePartitionsBefore(LocalDate)} compacts sealed segments older than the cutoff
+ * whose transactions are all terminal: only the last record of each service is kept.
+ */
+@Component
+@Profile("segment-store")
+public class SegmentTransactionLogAdapter implements TransactionLogPort {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentTransactionLogAdapter.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String COMPACT_SUFFIX = ".compact";
+
+    /** Service codes are 1-based; slot 0 is unused. */
+    private static final int SERVICE_SLOTS = ServiceName.values().length + 1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean durableAppends;
+    private final ScheduledExecutorService flusher;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, SegmentFile> segments = new TreeMap<>();
+    private final Map<UUID, TxIndex> transactions = new HashMap<>();
+    private final Map<UUID, List<UUID>> txIdsByOrder = new HashMap<>();
+    private final Set<UUID> openTransactions = new HashSet<>();
+    private SegmentFile active;
+    private long lastId;
+    private long appendSequence;
+
+    private final TransactionVersions versions = new TransactionVersions();
+    private final SagaStatistics statistics = new SagaStatistics();
+
+    private final Object durability = new Object();
+    private volatile long durableSequence;
+
+    public SegmentTransactionLogAdapter(
+            @Value("${saga.segment-store.directory:./data/segments}") Path directory,
+            @Value("${saga.segment-store.segment-size:64MB}") DataSize segmentSize,
+            @Value("${saga.segment-store.fsync-interval-ms:2}") long fsyncIntervalMs,
+            @Value("${saga.segment-store.durable-appends:true}") boolean durableAppends) {
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.durableAppends = durableAppends;
+
+        openSegments();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "segment-store-fsync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        flusher.shutdown();
+        flush();
+    }
+
+    // Appends
+
+    @Override
+    public TransactionLog save(TransactionLog transactionLog) {
+        append(List.of(transactionLog));
+        return transactionLog;
+    }
+
+    @Override
+    public List<TransactionLog> saveAll(List<TransactionLog> transactionLogs) {
+        if (!transactionLogs.isEmpty()) {
+            append(transactionLogs);
+        }
+        return transactionLogs;
+    }
+
+    @Override
+    public TransactionLog recordStatus(UUID txId, UUID orderId, ServiceName serviceName, TransactionStatus status) {
+        return recordStatusWithRetry(txId, orderId, serviceName, status, null, 0);
+    }
+
+    @Override
+    public TransactionLog recordStatusWithError(UUID txId, UUID orderId, ServiceName serviceName,
+                                                TransactionStatus status, String errorMessage) {
+        return recordStatusWithRetry(txId, orderId, serviceName, status, errorMessage, 0);
+    }
+
+    @Override
+    public TransactionLog recordStatusWithRetry(UUID txId, UUID orderId, ServiceName serviceName,
+                                                TransactionStatus status, String errorMessage, int retryCount) {
+        TransactionLog entry = TransactionLog.createWithRetry(txId, orderId, serviceName, status,
+                errorMessage, retryCount);
+        byte[] encoded = append(List.of(entry)).get(0);
+        // Decode so the returned entry carries the stored (microsecond) timestamp
+        return LogRecordCodec.decode(ByteBuffer.wrap(encoded));
+    }
+
+    private List<byte[]> append(List<TransactionLog> entries) {
+        List<byte[]> encoded = new ArrayList<>(entries.size());
+        long ticket;
+        lock.writeLock().lock();
+        try {
+            for (TransactionLog entry : entries) {
+                entry.setId(++lastId);
+                byte[] records = LogRecordCodec.encode(entry);
+                if (!active.hasRoom(records.length)) {
+                    roll(records.length);
+                }
+                int offset = active.append(records);
+                index(ByteBuffer.wrap(records), locator(active.id(), offset));
+                encoded.add(records);
+            }
+            ticket = ++appendSequence;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable(ticket);
+        entries.stream().map(TransactionLog::getTxId).distinct().forEach(versions::changed);
+        return encoded;
+    }
+
+    private void roll(int needed) {
+        if (needed > segmentSize) {
+            throw new IllegalStateException("Record of " + needed + " bytes exceeds segment size " + segmentSize);
+        }
+        active.force();
+        active = SegmentFile.create(active.id() + 1, segmentPath(active.id() + 1), segmentSize);
+        segments.put(active.id(), active);
+        log.info("Rolled transaction log to segment {}", active.path().getFileName());
+    }
+
+    // Group fsync
+
+    private void flush() {
+        long target;
+        SegmentFile segment;
+        lock.readLock().lock();
+        try {
+            target = appendSequence;
+            segment = active;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (target == durableSequence) {
+            return;
+        }
+        try {
+            // Rolled segments were forced when they were sealed, so the active one covers the group
+            segment.force();
+        } catch (RuntimeException e) {
+            log.error("Segment fsync failed, appends stay pending: {}", e.getMessage(), e);
+            return;
+        }
+        synchronized (durability) {
+            durableSequence = target;
+            durability.notifyAll();
+        }
+    }
+
+    private void awaitDurable(long ticket) {
+        if (!durableAppends) {
+            return;
+        }
+        synchronized (durability) {
+            while (durableSequence < ticket) {
+                try {
+                    durability.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for segment fsync", e);
+                }
+            }
+        }
+    }
+
+    // Reads
+
+    @Override
+    public List<TransactionLog> findLatestByTxId(String txId) {
+        UUID txUuid;
+        try {
+            txUuid = UUID.fromString(txId);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            TxIndex tx = transactions.get(txUuid);
+            if (tx == null) {
+                return List.of();
+            }
+            List<TransactionLog> result = new ArrayList<>();
+            for (int code = 1; code < SERVICE_SLOTS; code++) {
+                if (tx.latest[code] != 0) {
+                    result.add(read(tx.latest[code]));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TransactionLog> findByTxId(UUID txId) {
+        lock.readLock().lock();
+        try {
+            TxIndex tx = transactions.get(txId);
+            if (tx == null) {
+                return List.of();
+            }
+            List<TransactionLog> result = new ArrayList<>(tx.size);
+            for (int i = 0; i < tx.size; i++) {
+                result.add(read(tx.locators[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ServiceName> findSuccessfulServices(UUID txId) {
+        byte success = PersistenceCodes.code(TransactionStatus.S);
+        lock.readLock().lock();
+        try {
+            TxIndex tx = transactions.get(txId);
+            List<ServiceName> result = new ArrayList<>();
+            if (tx != null) {
+                for (int code = 1; code < SERVICE_SLOTS; code++) {
+                    if (tx.latest[code] != 0 && tx.latestStatus[code] == success) {
+                        result.add(PersistenceCodes.serviceName((byte) code));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<ServiceName, TransactionStatus> getLatestStatuses(UUID txId) {
+        lock.readLock().lock();
+        try {
+            TxIndex tx = transactions.get(txId);
+            Map<ServiceName, TransactionStatus> result = new HashMap<>();
+            if (tx != null) {
+                for (int code = 1; code < SERVICE_SLOTS; code++) {
+                    if (tx.latest[code] != 0) {
+                        result.put(PersistenceCodes.serviceName((byte) code),
+                                PersistenceCodes.status(tx.latestStatus[code]));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<TransactionLog> getLatestForService(UUID txId, ServiceName serviceName) {
+        lock.readLock().lock();
+        try {
+            TxIndex tx = transactions.get(txId);
+            if (tx == null || tx.latest[PersistenceCodes.code(serviceName)] == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(read(tx.latest[PersistenceCodes.code(serviceName)]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<UUID> findTimedOutTransactions(LocalDateTime olderThan) {
+        long olderThanMicros = LogRecordCodec.toMicros(olderThan);
+        byte unknown = PersistenceCodes.code(TransactionStatus.U);
+        lock.readLock().lock();
+        try {
+            List<UUID> result = new ArrayList<>();
+            for (UUID txId : openTransactions) {
+                TxIndex tx = transactions.get(txId);
+                for (int code = 1; code < SERVICE_SLOTS; code++) {
+                    if (tx.latest[code] != 0 && tx.latestStatus[code] == unknown
+                            && tx.latestCreatedAt[code] < olderThanMicros) {
+                        result.add(txId);
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<UnfinishedTransaction> findUnfinishedTransactions() {
+        byte unknown = PersistenceCodes.code(TransactionStatus.U);
+        byte failed = PersistenceCodes.code(TransactionStatus.F);
+        lock.readLock().lock();
+        try {
+            // A service left in U or F was started but never succeeded or compensated
+            List<UnfinishedTransaction> result = new ArrayList<>();
+            transactions.forEach((txId, tx) -> {
+                for (int code = 1; code < SERVICE_SLOTS; code++) {
+                    if (tx.latest[code] != 0
+                            && (tx.latestStatus[code] == unknown || tx.latestStatus[code] == failed)) {
+                        result.add(new UnfinishedTransaction(txId, tx.orderId));
+                        break;
+                    }
+                }
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void recordNotifiedAt(UUID txId, long logId, LocalDateTime notifiedAt) {
+        lock.writeLock().lock();
+        try {
+            TxIndex tx = transactions.get(txId);
+            if (tx == null) {
+                return;
+            }
+            // notified_at is the one mutable field; stamp it in place on the record with that id
+            for (int i = tx.size - 1; i >= 0; i--) {
+                long locator = tx.locators[i];
+                SegmentFile segment = segments.get(segmentId(locator));
+                int offset = offset(locator);
+                if (LogRecordCodec.id(segment.slice(offset, LogRecordCodec.RECORD_SIZE)) != logId) {
+                    continue;
+                }
+                segment.putLong(offset + LogRecordCodec.NOTIFIED_AT_OFFSET, LogRecordCodec.toMicros(notifiedAt));
+                segment.put(offset + 3, LogRecordCodec.withNotified(segment.get(offset + 3)));
+                if (segment != active) {
+                    segment.force();
+                }
+                appendSequence++;
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isTransactionComplete(UUID txId, List<ServiceName> expectedServices) {
+        return findSuccessfulServices(txId).containsAll(expectedServices);
+    }
+
+    @Override
+    public List<TransactionLog> findByOrderId(UUID orderId) {
+        List<TransactionLog> result = new ArrayList<>();
+        for (UUID txId : findDistinctTxIdsByOrderId(orderId)) {
+            result.addAll(findByTxId(txId));
+        }
+        result.sort(Comparator.comparing(TransactionLog::getCreatedAt).reversed());
+        return result;
+    }
+
+    @Override
+    public List<UUID> findDistinctTxIdsByOrderId(UUID orderId) {
+        lock.readLock().lock();
+        try {
+            List<UUID> txIds = new ArrayList<>(txIdsByOrder.getOrDefault(orderId, List.of()));
+            // Most recently started first
+            Collections.reverse(txIds);
+            return txIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TransactionSnapshot> findLatestByOrderId(UUID orderId) {
+        List<TransactionSnapshot> snapshots = new ArrayList<>();
+        streamLatestByOrderId(orderId, null, Integer.MAX_VALUE, snapshots::add);
+        return snapshots;
+    }
+
+    @Override
+    public void streamLatestByOrderId(UUID orderId, PageCursor after, int limit, Consumer<TransactionSnapshot> sink) {
+        List<TransactionSnapshot> page = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<UUID> txIds = txIdsByOrder.getOrDefault(orderId, List.of());
+            // Most recently started first; a cursor resumes right after its transaction
+            int start = after == null ? txIds.size() - 1 : txIds.lastIndexOf(after.txId()) - 1;
+            for (int i = start; i >= 0 && page.size() < limit; i--) {
+                UUID txId = txIds.get(i);
+                page.add(snapshot(txId, transactions.get(txId)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Hand the page on outside the lock so a slow consumer never holds up appends
+        page.forEach(sink);
+    }
+
+    @Override
+    public List<TransactionSnapshot> findLatestByTxIds(Collection<UUID> txIds) {
+        List<TransactionSnapshot> snapshots = new ArrayList<>(txIds.size());
+        lock.readLock().lock();
+        try {
+            for (UUID txId : txIds) {
+                TxIndex tx = transactions.get(txId);
+                if (tx != null) {
+                    snapshots.add(snapshot(txId, tx));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return snapshots;
+    }
+
+    /**
+     * Caller must hold the read lock.
+     */
+    private TransactionSnapshot snapshot(UUID txId, TxIndex tx) {
+        LocalDateTime startedAt = tx.size > 0 ? read(tx.locators[0]).getCreatedAt() : null;
+        List<TransactionLog> latest = new ArrayList<>();
+        for (int code = 1; code < SERVICE_SLOTS; code++) {
+            if (tx.latest[code] != 0) {
+                latest.add(read(tx.latest[code]));
+            }
+        }
+        return new TransactionSnapshot(txId, tx.orderId, startedAt, latest);
+    }
+
+    @Override
+    public void streamLatestByStatus(TransactionStatus status, LocalDateTime updatedBefore, PageCursor after,
+                                     int limit, Consumer<TransactionLog> sink) {
+        byte statusCode = PersistenceCodes.code(status);
+        long updatedBeforeMicros = LogRecordCodec.toMicros(updatedBefore);
+        List<TransactionLog> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (TxIndex tx : transactions.values()) {
+                for (int code = 1; code < SERVICE_SLOTS; code++) {
+                    if (tx.latest[code] != 0 && tx.latestStatus[code] == statusCode
+                            && tx.latestCreatedAt[code] < updatedBeforeMicros) {
+                        TransactionLog entry = read(tx.latest[code]);
+                        if (after == null || updatedAfter(entry, after)) {
+                            matches.add(entry);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparing(TransactionLog::getCreatedAt)
+                .thenComparing(TransactionLog::getTxId)
+                .thenComparing(TransactionLog::getServiceName));
+        matches.subList(0, Math.min(limit, matches.size())).forEach(sink);
+    }
+
+    @Override
+    public void streamOutcomes(LocalDateTime startedFrom, LocalDateTime startedBefore,
+                               Consumer<TransactionOutcome> sink) {
+        List<TransactionOutcome> outcomes = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<UUID, TxIndex> entry : transactions.entrySet()) {
+                TxIndex tx = entry.getValue();
+                if (tx.size == 0) {
+                    continue;
+                }
+                LocalDateTime startedAt = read(tx.locators[0]).getCreatedAt();
+                if (!startedAt.isBefore(startedFrom) && startedAt.isBefore(startedBefore)) {
+                    TransactionSnapshot snapshot = snapshot(entry.getKey(), tx);
+                    LocalDateTime updatedAt = snapshot.latest().stream()
+                            .map(TransactionLog::getCreatedAt)
+                            .max(Comparator.naturalOrder())
+                            .orElse(snapshot.startedAt());
+                    outcomes.add(new TransactionOutcome(entry.getKey(), tx.orderId,
+                            SagaOverallStatus.of(tx.latestStatuses()), snapshot.startedAt(), updatedAt,
+                            snapshot.latest()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // The index lives in memory already; hand the outcomes on outside the lock, in start order
+        outcomes.sort(Comparator.comparing(TransactionOutcome::startedAt).thenComparing(TransactionOutcome::txId));
+        outcomes.forEach(sink);
+    }
+
+    private static boolean updatedAfter(TransactionLog entry, PageCursor cursor) {
+        int byTime = entry.getCreatedAt().compareTo(cursor.at());
+        if (byTime != 0) {
+            return byTime > 0;
+        }
+        int byTx = entry.getTxId().compareTo(cursor.txId());
+        if (byTx != 0) {
+            return byTx > 0;
+        }
+        return cursor.serviceName() == null || entry.getServiceName().compareTo(cursor.serviceName()) > 0;
+    }
+
+    // Maintenance
+
+    @Override
+    public long currentVersion(UUID txId) {
+        return versions.current(txId);
+    }
+
+    @Override
+    public CompletableFuture<Long> awaitChange(UUID txId, long since) {
+        return versions.awaitChange(txId, since);
+    }
+
+    @Override
+    public SagaStatistics.Snapshot statistics() {
+        return statistics.snapshot(Instant.now());
+    }
+
+    @Override
+    public long rebuildProjection() {
+        lock.writeLock().lock();
+        try {
+            clearIndex();
+            for (SegmentFile segment : segments.values()) {
+                replay(segment);
+            }
+            log.info("Segment index rebuilt: segments={}, transactions={}", segments.size(), transactions.size());
+            return transactions.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int archivePartitionsBefore(LocalDate cutoff) {
+        long cutoffMicros = LogRecordCodec.toMicros(cutoff.atStartOfDay());
+        int compacted = 0;
+        lock.writeLock().lock();
+        try {
+            for (SegmentFile segment : new ArrayList<>(segments.values())) {
+                if (segment != active && compact(segment, cutoffMicros)) {
+                    compacted++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return compacted;
+    }
+
+    @Override
+    public int compactTerminalTransactions(LocalDateTime terminalBefore, int limit) {
+        // Segment compaction in archivePartitionsBefore already reduces terminal transactions
+        // to the last record per service, which is this store's summary
+        return 0;
+    }
+
+    /**
+     * Rewrite a sealed segment keeping only records that are still the latest for their service.
+     */
+    private boolean compact(SegmentFile segment, long cutoffMicros) {
+        List<Integer> keep = new ArrayList<>();
+        Set<TxIndex> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+        int records = 0;
+        int position = 0;
+        while (position < segment.writePosition()) {
+            ByteBuffer header = segment.slice(position, RECORD_SIZE);
+            TxIndex tx = transactions.get(LogRecordCodec.txId(header));
+            if (LogRecordCodec.createdAtMicros(header) >= cutoffMicros || !tx.isTerminal()) {
+                return false;
+            }
+            touched.add(tx);
+            if (tx.latest[LogRecordCodec.serviceCode(header)] == locator(segment.id(), position)) {
+                keep.add(position);
+            }
+            records++;
+            position += LogRecordCodec.slots(header) * RECORD_SIZE;
+        }
+        if (keep.size() == records) {
+            return false;
+        }
+
+        Map<Long, Long> moved = new HashMap<>();
+        try {
+            if (keep.isEmpty()) {
+                segments.remove(segment.id());
+                Files.delete(segment.path());
+            } else {
+                int size = 0;
+                for (int offset : keep) {
+                    size += segment.record(offset).remaining();
+                }
+                Path compactPath = segment.path().resolveSibling(segment.path().getFileName() + COMPACT_SUFFIX);
+                Files.deleteIfExists(compactPath);
+                SegmentFile target = SegmentFile.create(segment.id(), compactPath, size);
+                for (int offset : keep) {
+                    ByteBuffer source = segment.record(offset);
+                    byte[] bytes = new byte[source.remaining()];
+                    source.get(bytes);
+                    moved.put(locator(segment.id(), offset), locator(segment.id(), target.append(bytes)));
+                }
+                target.force();
+                Files.move(compactPath, segment.path(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                segments.put(segment.id(), SegmentFile.open(segment.id(), segment.path()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact segment " + segment.path(), e);
+        }
+
+        for (TxIndex tx : touched) {
+            tx.relocate(segment.id(), moved);
+        }
+        log.info("Compacted segment {}: kept {} of {} records", segment.path().getFileName(), keep.size(), records);
+        return true;
+    }
+
+    // Index
+
+    private void openSegments() {
+        try {
+            Files.createDirectories(directory);
+            List<Long> ids = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(COMPACT_SUFFIX)) {
+                        // Left over from an interrupted compaction; the original segment is intact
+                        Files.delete(file);
+                    } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                        ids.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                                name.length() - SEGMENT_SUFFIX.length())));
+                    }
+                }
+            }
+            Collections.sort(ids);
+            for (long id : ids) {
+                SegmentFile segment = SegmentFile.open(id, segmentPath(id));
+                segments.put(id, segment);
+                replay(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open segment directory " + directory, e);
+        }
+
+        if (segments.isEmpty() || !segments.lastEntry().getValue().hasRoom(RECORD_SIZE)) {
+            long id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+            segments.put(id, SegmentFile.create(id, segmentPath(id), segmentSize));
+        }
+        active = segments.lastEntry().getValue();
+        log.info("Segment store opened: directory={}, segments={}, transactions={}, lastId={}",
+                directory, segments.size(), transactions.size(), lastId);
+    }
+
+    private void replay(SegmentFile segment) {
+        int position = 0;
+        while (position < segment.writePosition()) {
+            ByteBuffer header = segment.slice(position, RECORD_SIZE);
+            index(header, locator(segment.id(), position));
+            lastId = Math.max(lastId, LogRecordCodec.id(header));
+            position += LogRecordCodec.slots(header) * RECORD_SIZE;
+        }
+    }
+
+    private void index(ByteBuffer header, long locator) {
+        UUID txId = LogRecordCodec.txId(header);
+        TxIndex tx = transactions.get(txId);
+        SagaOverallStatus before = null;
+        boolean wasTerminal = false;
+        if (tx == null) {
+            tx = new TxIndex(LogRecordCodec.orderId(header));
+            transactions.put(txId, tx);
+            txIdsByOrder.computeIfAbsent(tx.orderId, orderId -> new ArrayList<>(1)).add(txId);
+        } else {
+            before = SagaOverallStatus.of(tx.latestStatuses());
+            wasTerminal = tx.isTerminal();
+        }
+        byte serviceCode = LogRecordCodec.serviceCode(header);
+        byte statusCode = LogRecordCodec.statusCode(header);
+        long createdAtMicros = LogRecordCodec.createdAtMicros(header);
+        tx.add(locator, serviceCode, statusCode, createdAtMicros);
+        boolean terminal = tx.isTerminal();
+        if (terminal) {
+            openTransactions.remove(txId);
+        } else {
+            openTransactions.add(txId);
+        }
+        // Replay goes through here too, which rebuilds the statistics along with the index
+        statistics.record(before, SagaOverallStatus.of(tx.latestStatuses()), terminal && !wasTerminal,
+                PersistenceCodes.serviceName(serviceCode), PersistenceCodes.status(statusCode),
+                LogRecordCodec.fromMicros(createdAtMicros).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private void clearIndex() {
+        transactions.clear();
+        txIdsByOrder.clear();
+        openTransactions.clear();
+        statistics.clear();
+    }
+
+    private TransactionLog read(long locator) {
+        return LogRecordCodec.decode(segments.get(segmentId(locator)).record(offset(locator)));
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static long locator(long segmentId, int offset) {
+        return (segmentId << 32) | offset;
+    }
+
+    private static long segmentId(long locator) {
+        return locator >>> 32;
+    }
+
+    private static int offset(long locator) {
+        return (int) locator;
+    }
+
+    /**
+     * In-memory index of one transaction: every record location in append order
+     * plus the latest record, status and time per service.
+     */
+    private static final class TxIndex {
+
+        private final UUID orderId;
+        private long[] locators = new long[4];
+        private int size;
+        private final long[] latest = new long[SERVICE_SLOTS];
+        private final byte[] latestStatus = new byte[SERVICE_SLOTS];
+        private final long[] latestCreatedAt = new long[SERVICE_SLOTS];
+
+        private TxIndex(UUID orderId) {
+            this.orderId = orderId;
+        }
+
+        void add(long locator, byte serviceCode, byte statusCode, long createdAtMicros) {
+            if (size == locators.length) {
+                locators = Arrays.copyOf(locators, size * 2);
+            }
+            locators[size++] = locator;
+            latest[serviceCode] = locator;
+            latestStatus[serviceCode] = statusCode;
+            latestCreatedAt[serviceCode] = createdAtMicros;
+        }
+
+        boolean isTerminal() {
+            return SagaOverallStatus.isTerminal(latestStatuses());
+        }
+
+        List<TransactionStatus> latestStatuses() {
+            List<TransactionStatus> statuses = new ArrayList<>(SERVICE_SLOTS);
+            for (int code = 1; code < SERVICE_SLOTS; code++) {
+                if (latest[code] != 0) {
+                    statuses.add(PersistenceCodes.status(latestStatus[code]));
+                }
+            }
+            return statuses;
+        }
+
+        /**
+         * Apply a compaction of one segment: drop records that were removed, move the kept ones.
+         */
+        void relocate(long segmentId, Map<Long, Long> moved) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                long locator = locators[i];
+                if (segmentId(locator) != segmentId) {
+                    locators[kept++] = locator;
+                } else if (moved.containsKey(locator)) {
+                    locators[kept++] = moved.get(locator);
+                }
+            }
+            size = kept;
+            for (int code = 1; code < SERVICE_SLOTS; code++) {
+                if (latest[code] != 0 && segmentId(latest[code]) == segmentId) {
+                    latest[code] = moved.get(latest[code]);
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.ecommerce.order.adapter.out.websocket;
 
 import com.ecommerce.common.domain.ServiceName;
 import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.in.sse.TransactionEventBroadcaster;
 import com.ecommerce.order.adapter.in.websocket.OrderWebSocketHandler;
 import com.ecommerce.order.adapter.in.websocket.WebSocketMessage;
 import com.ecommerce.order.application.port.out.WebSocketPort;
@@ -14,6 +15,7 @@ import java.util.UUID;
 /**
  * Output adapter for WebSocket notifications.
  * Implements WebSocketPort to send real-time updates to clients.
+ * The same messages feed the Server-Sent Events stream.
  */
 @Component
 public class WebSocketAdapter implements WebSocketPort {
@@ -21,9 +23,11 @@ public class WebSocketAdapter implements WebSocketPort {
     private static final Logger log = LoggerFactory.getLogger(WebSocketAdapter.class);
 
     private final OrderWebSocketHandler webSocketHandler;
+    private final TransactionEventBroadcaster eventBroadcaster;
 
-    public WebSocketAdapter(OrderWebSocketHandler webSocketHandler) {
+    public WebSocketAdapter(OrderWebSocketHandler webSocketHandler, TransactionEventBroadcaster eventBroadcaster) {
         this.webSocketHandler = webSocketHandler;
+        this.eventBroadcaster = eventBroadcaster;
     }
 
     @Override
@@ -31,6 +35,7 @@ public class WebSocketAdapter implements WebSocketPort {
         log.debug("txId={} - Sending WebSocket notification: {}", txId, message);
         if (message instanceof WebSocketMessage wsMessage) {
             webSocketHandler.sendNotification(txId, wsMessage);
+            eventBroadcaster.publish(txId, wsMessage);
         } else {
             WebSocketMessage wsMessage = new WebSocketMessage(
                     txId,
@@ -39,6 +44,7 @@ public class WebSocketAdapter implements WebSocketPort {
                     message != null ? message.toString() : ""
             );
             webSocketHandler.sendNotification(txId, wsMessage);
+            eventBroadcaster.publish(txId, wsMessage);
         }
     }
 
@@ -56,5 +62,6 @@ public class WebSocketAdapter implements WebSocketPort {
                 message
         );
         webSocketHandler.sendNotification(txId.toString(), wsMessage);
+        eventBroadcaster.publish(txId.toString(), wsMessage);
     }
 }
@@ -0,0 +1,30 @@
+package com.ecommerce.order.application.port.in;
+
+/**
+ * Input port for operational maintenance of saga persistence.
+ */
+public interface SagaMaintenanceUseCase {
+
+    /**
+     * Rebuilds the latest-state projection from the immutable transaction log.
+     *
+     * @return number of transactions projected
+     */
+    long rebuildProjection();
+
+    /**
+     * Seals daily log partitions older than the hot window whose transactions are all terminal,
+     * moving their rows to the archive.
+     *
+     * @return number of partitions sealed
+     */
+    int archiveColdPartitions();
+
+    /**
+     * Compacts transactions that have been terminal longer than the configured age into
+     * summary records, moving their detail rows to the archive.
+     *
+     * @return number of transactions compacted
+     */
+    int compactTerminalTransactions();
+}
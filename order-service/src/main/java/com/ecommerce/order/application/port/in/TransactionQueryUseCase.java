@@ -1,9 +1,20 @@
 package com.ecommerce.order.application.port.in;
 
+import com.ecommerce.common.domain.TransactionStatus;
 import com.ecommerce.order.adapter.in.web.dto.OrderTransactionHistoryResponse;
+import com.ecommerce.order.adapter.in.web.dto.SagaExportRecord;
+import com.ecommerce.order.adapter.in.web.dto.SagaStatisticsResponse;
+import com.ecommerce.order.adapter.in.web.dto.TransactionSearchResponse;
+import com.ecommerce.order.adapter.in.web.dto.TransactionStatusBatchResponse;
 import com.ecommerce.order.adapter.in.web.dto.TransactionStatusResponse;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Input port for querying transaction status.
@@ -19,6 +30,41 @@ public interface TransactionQueryUseCase {
      */
     Optional<TransactionStatusResponse> getTransactionStatus(String txId);
 
+    /**
+     * Returns the version of a transaction's current status without reading it. Taken before
+     * {@link #getTransactionStatus(String)}, it is never newer than the status that call returns.
+     *
+     * @param txId the transaction identifier
+     * @return the version, empty if the id is malformed
+     */
+    OptionalLong getTransactionVersion(String txId);
+
+    /**
+     * Waits for a transaction's status to move past the given version.
+     *
+     * @param txId  the transaction identifier
+     * @param since the version the caller already has
+     * @return future completing with the new version, at once if it already differs; cancel it to stop waiting
+     * @throws IllegalArgumentException if the id is malformed
+     */
+    CompletableFuture<Long> awaitTransactionChange(String txId, long since);
+
+    /**
+     * Returns saga counts by overall status and rolling per-window counts of starts, outcomes
+     * and per-service statuses. Served from counters kept up to date on every append, without a query.
+     *
+     * @return the statistics as of now
+     */
+    SagaStatisticsResponse getStatistics();
+
+    /**
+     * Retrieves the current status of several saga transactions in one read.
+     *
+     * @param txIds the transaction identifiers; duplicates are answered once
+     * @return one result per distinct id, in request order, marked not found for unknown or malformed ids
+     */
+    List<TransactionStatusBatchResponse.Result> getTransactionStatuses(List<String> txIds);
+
     /**
      * Retrieves all transaction history for a given order.
      *
@@ -26,4 +72,57 @@ public interface TransactionQueryUseCase {
      * @return optional containing the order's transaction history if found
      */
     Optional<OrderTransactionHistoryResponse> getOrderTransactionHistory(String orderId);
+
+    /**
+     * Retrieves one page of transaction history for a given order, most recently started first.
+     *
+     * @param orderId the order identifier
+     * @param cursor  the cursor returned with the previous page, or null for the first page
+     * @param limit   the maximum number of transactions in the page
+     * @return optional containing the page, empty if the order has no transactions
+     * @throws IllegalArgumentException if the cursor or limit is invalid
+     */
+    Optional<OrderTransactionHistoryResponse> getOrderTransactionHistory(String orderId, String cursor, int limit);
+
+    /**
+     * Streams the transaction history of an order, most recently started first, handing each
+     * summary to the sink as soon as it is read.
+     *
+     * @param orderId the order identifier
+     * @param cursor  the cursor to resume after, or null to start with the latest transaction
+     * @param limit   the maximum number of transactions
+     * @param sink    receives each transaction summary
+     * @return cursor to resume after the last transaction, or null if the history was exhausted
+     * @throws IllegalArgumentException if the order id, cursor or limit is invalid
+     */
+    String streamOrderTransactionHistory(String orderId, String cursor, int limit,
+                                         Consumer<OrderTransactionHistoryResponse.TransactionSummary> sink);
+
+    /**
+     * Streams the services currently in the given status and unchanged for longer than
+     * {@code olderThan}, oldest first, e.g. steps stuck in U.
+     *
+     * @param status    the current status to search for
+     * @param olderThan the minimum time since the service's last change
+     * @param cursor    the cursor to resume after, or null to start with the oldest match
+     * @param limit     the maximum number of matches
+     * @param sink      receives each match
+     * @return cursor to resume after the last match, or null if the search was exhausted
+     * @throws IllegalArgumentException if the cursor, age or limit is invalid
+     */
+    String searchTransactions(TransactionStatus status, Duration olderThan, String cursor, int limit,
+                              Consumer<TransactionSearchResponse.Match> sink);
+
+    /**
+     * Streams the outcome of every transaction started in [{@code from}, {@code to}), in start order,
+     * handing each one to the sink as soon as it is read. Meant for bulk extracts: memory stays flat
+     * however many transactions the range holds.
+     *
+     * @param from the earliest start time, inclusive
+     * @param to   the latest start time, exclusive
+     * @param sink receives each transaction
+     * @return the number of transactions exported
+     * @throws IllegalArgumentException if the range is empty
+     */
+    long exportTransactions(Instant from, Instant to, Consumer<SagaExportRecord> sink);
 }
@@ -5,6 +5,7 @@ import com.ecommerce.common.domain.ServiceName;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Output port for managing transaction checker threads.
@@ -51,4 +52,11 @@ public interface CheckerPort {
      * @return set of active transaction IDs
      */
     Set<UUID> getActiveTransactionIds();
+
+    /**
+     * Visits the transaction IDs with active checker threads without materializing a copy.
+     *
+     * @param action callback invoked once per active transaction ID
+     */
+    void forEachActiveTransaction(Consumer<UUID> action);
 }
@@ -0,0 +1,24 @@
+package com.ecommerce.order.application.port.out;
+
+import com.ecommerce.common.domain.ServiceName;
+
+/**
+ * Output port for the per-service retry budget.
+ * Every first call to a service earns a fraction of a retry and every retry spends one, so
+ * retries stay a bounded share of recent traffic however many layers would like to retry.
+ * Each call site has one retry owner, and that owner asks the budget before retrying.
+ */
+public interface RetryBudgetPort {
+
+    /**
+     * Record a first (non-retry) call to the service, depositing into its budget.
+     */
+    void recordCall(ServiceName serviceName);
+
+    /**
+     * Take one retry from the service's budget.
+     *
+     * @return false if the budget is exhausted and the retry must not be made now
+     */
+    boolean tryAcquireRetry(ServiceName serviceName);
+}
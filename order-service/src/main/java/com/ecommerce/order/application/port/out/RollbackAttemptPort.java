@@ -0,0 +1,70 @@
+package com.ecommerce.order.application.port.out;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Output port for persisted compensation attempts.
+ * Each service to roll back is a row carrying its attempt count and {@code next_attempt_at};
+ * a row only becomes due once every row of an earlier stage of its transaction has settled.
+ */
+public interface RollbackAttemptPort {
+
+    /**
+     * Schedule the compensation of a transaction, one stage after the other.
+     * Services within a stage may be attempted concurrently.
+     *
+     * @param stages services to roll back, in compensation order
+     * @param maxAttempts attempts per service before it is settled as RF
+     * @param firstAttemptAt when the first stage becomes due
+     */
+    void schedule(UUID txId, UUID orderId, List<List<ServiceName>> stages, int maxAttempts,
+                  LocalDateTime firstAttemptAt);
+
+    /**
+     * Claim up to {@code limit} due attempts by pushing their {@code next_attempt_at} to
+     * {@code leaseUntil}; an attempt whose worker dies is picked up again once its lease expires.
+     */
+    List<RollbackAttempt> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit);
+
+    /**
+     * Give claimed attempts back unmade, due again at {@code nextAttemptAt}, instead of letting
+     * their leases run out.
+     */
+    void release(List<RollbackAttempt> attempts, LocalDateTime nextAttemptAt);
+
+    /**
+     * Record a failed attempt and when to try again.
+     */
+    void reschedule(long attemptId, int attempts, LocalDateTime nextAttemptAt, String lastError);
+
+    /**
+     * Settle an attempt as rolled back ({@code R}) or given up ({@code RF}).
+     */
+    void settle(long attemptId, TransactionStatus outcome, String lastError);
+
+    /**
+     * Remove the attempts of a transaction once all of them have settled.
+     *
+     * @return the services settled as RF in compensation order, or empty while attempts are
+     *         pending or when another worker already finished the transaction
+     */
+    Optional<List<ServiceName>> finish(UUID txId);
+
+    /**
+     * A claimed compensation attempt; {@code attempts} counts the attempts already made.
+     */
+    record RollbackAttempt(
+            long id,
+            UUID txId,
+            UUID orderId,
+            ServiceName serviceName,
+            int attempts,
+            int maxAttempts
+    ) {}
+}
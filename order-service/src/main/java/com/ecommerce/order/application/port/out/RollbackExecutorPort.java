@@ -1,6 +1,7 @@
 package com.ecommerce.order.application.port.out;
 
 import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.order.application.port.out.RollbackAttemptPort.RollbackAttempt;
 
 import java.util.List;
 import java.util.UUID;
@@ -30,7 +31,8 @@ public interface RollbackExecutorPort {
     List<ServiceName> getSuccessfulServices(UUID txId);
 
     /**
-     * Execute rollback with retry logic and admin notification on exhausted retries.
+     * Schedule rollback with retry logic and admin notification on exhausted retries.
+     * Attempts are persisted and made by {@link #attemptRollback(RollbackAttempt)} when due.
      *
      * @param txId the transaction ID
      * @param orderId the order ID
@@ -38,4 +40,19 @@ public interface RollbackExecutorPort {
      * @param maxRetries maximum number of retry attempts per service
      */
     void executeRollbackWithRetry(UUID txId, UUID orderId, List<ServiceName> successfulServices, int maxRetries);
+
+    /**
+     * Make one due compensation attempt and reschedule or settle it.
+     *
+     * @param attempt an attempt claimed from the {@link RollbackAttemptPort}
+     */
+    void attemptRollback(RollbackAttempt attempt);
+
+    /**
+     * Make several due compensation attempts against one service with a single batch call,
+     * then reschedule or settle each of them.
+     *
+     * @param attempts attempts claimed from the {@link RollbackAttemptPort}, all for the same service
+     */
+    void attemptRollbacks(List<RollbackAttempt> attempts);
 }
@@ -6,6 +6,8 @@ import com.ecommerce.common.dto.NotifyResponse;
 import com.ecommerce.common.dto.RollbackRequest;
 import com.ecommerce.common.dto.RollbackResponse;
 
+import java.util.List;
+
 /**
  * Output port for downstream service communication.
  */
@@ -26,6 +28,20 @@ public interface ServiceClientPort {
      */
     RollbackResponse rollback(ServiceName serviceName, RollbackRequest request);
 
+    /**
+     * Call the rollback endpoint once, without transport-level retries (idempotent).
+     * For callers that own the retry policy themselves and draw on the retry budget.
+     */
+    RollbackResponse rollbackOnce(ServiceName serviceName, RollbackRequest request);
+
+    /**
+     * Call the batch rollback endpoint once with several transactions, without transport-level
+     * retries (idempotent). A failed call fails every request in the batch.
+     *
+     * @return one response per request, in request order
+     */
+    List<RollbackResponse> rollbackBatch(ServiceName serviceName, List<RollbackRequest> requests);
+
     /**
      * Call the notify endpoint of the downstream service using explicit URL.
      */
@@ -2,17 +2,25 @@ package com.ecommerce.order.application.port.out;
 
 import com.ecommerce.common.domain.ServiceName;
 import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.domain.model.PageCursor;
+import com.ecommerce.order.domain.model.SagaOverallStatus;
+import com.ecommerce.order.domain.model.SagaStatistics;
 import com.ecommerce.order.domain.model.TransactionLog;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Output port for transaction log persistence.
  * Follows Event Sourcing pattern - append only, no updates.
+ * Lookups by txId/orderId also cover transactions whose rows were moved to the archive.
  */
 public interface TransactionLogPort {
 
@@ -21,6 +29,11 @@ public interface TransactionLogPort {
      */
     TransactionLog save(TransactionLog transactionLog);
 
+    /**
+     * Save several transaction log entries in one batch (append-only).
+     */
+    List<TransactionLog> saveAll(List<TransactionLog> transactionLogs);
+
     /**
      * Find the latest status for each service in a transaction.
      */
@@ -80,9 +93,10 @@ public interface TransactionLogPort {
     record UnfinishedTransaction(UUID txId, UUID orderId) {}
 
     /**
-     * Record notification timestamp for admin alerts.
+     * Record notification timestamp for admin alerts on one log entry,
+     * identified by the id returned when the entry was recorded.
      */
-    void recordNotifiedAt(UUID txId, ServiceName serviceName, LocalDateTime notifiedAt);
+    void recordNotifiedAt(UUID txId, long logId, LocalDateTime notifiedAt);
 
     /**
      * Check if all services completed successfully for a transaction.
@@ -100,4 +114,85 @@ public interface TransactionLogPort {
      * Useful for listing all saga executions for an order.
      */
     List<UUID> findDistinctTxIdsByOrderId(UUID orderId);
+
+    /**
+     * Find the latest entry of every service for each transaction of an order,
+     * most recently started first, in one read rather than one per transaction.
+     */
+    List<TransactionSnapshot> findLatestByOrderId(UUID orderId);
+
+    /**
+     * Stream the snapshots of an order's transactions, most recently started first, resuming
+     * after the given cursor (null for the first page). Stops after {@code limit} transactions.
+     */
+    void streamLatestByOrderId(UUID orderId, PageCursor after, int limit, Consumer<TransactionSnapshot> sink);
+
+    /**
+     * Stream the latest per-service entries currently in the given status and unchanged since before
+     * the cutoff, oldest first, resuming after the given cursor. Stops after {@code limit} entries.
+     */
+    void streamLatestByStatus(TransactionStatus status, LocalDateTime updatedBefore, PageCursor after, int limit,
+                              Consumer<TransactionLog> sink);
+
+    /**
+     * Find the latest entry of every service for each of the given transactions in one read.
+     * Transactions that do not exist are left out; the order of the result is unspecified.
+     */
+    List<TransactionSnapshot> findLatestByTxIds(Collection<UUID> txIds);
+
+    /**
+     * Latest per-service entries of one transaction together with its start time.
+     */
+    record TransactionSnapshot(UUID txId, UUID orderId, LocalDateTime startedAt, List<TransactionLog> latest) {}
+
+    /**
+     * Stream the outcome of every transaction started in [{@code startedFrom}, {@code startedBefore}),
+     * in start order, with a forward-only read so memory stays flat however many there are.
+     * Archived transactions come with their overall status but no per-service entries.
+     */
+    void streamOutcomes(LocalDateTime startedFrom, LocalDateTime startedBefore, Consumer<TransactionOutcome> sink);
+
+    /**
+     * Overall status of one transaction with the latest entry of each of its services.
+     */
+    record TransactionOutcome(UUID txId, UUID orderId, SagaOverallStatus overallStatus, LocalDateTime startedAt,
+                              LocalDateTime updatedAt, List<TransactionLog> latest) {}
+
+    /**
+     * Version of a transaction's latest state, changing with every append.
+     * Answered from memory; taken before a read, it is never newer than what the read returns.
+     */
+    long currentVersion(UUID txId);
+
+    /**
+     * Complete with the transaction's version once it differs from {@code since}.
+     * Cancel the future to stop waiting.
+     */
+    CompletableFuture<Long> awaitChange(UUID txId, long since);
+
+    /**
+     * Saga counts by overall status and rolling per-second counts, maintained on every append.
+     * Answered from memory.
+     */
+    SagaStatistics.Snapshot statistics();
+
+    /**
+     * Rebuild the latest-state projection from the full log.
+     * Returns the number of transactions projected.
+     */
+    long rebuildProjection();
+
+    /**
+     * Move the log rows of fully terminal daily partitions started before the cutoff
+     * out of the hot table into the archive.
+     * Returns the number of partitions sealed.
+     */
+    int archivePartitionsBefore(LocalDate cutoff);
+
+    /**
+     * Fold up to {@code limit} transactions that have been terminal since before the given time
+     * into one summary record each, moving their detail rows to the archive.
+     * Returns the number of transactions compacted.
+     */
+    int compactTerminalTransactions(LocalDateTime terminalBefore, int limit);
 }
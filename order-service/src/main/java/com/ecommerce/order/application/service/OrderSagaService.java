@@ -5,22 +5,41 @@ import com.ecommerce.common.domain.TransactionStatus;
 import com.ecommerce.order.adapter.in.web.dto.OrderConfirmRequest;
 import com.ecommerce.order.adapter.in.web.dto.OrderConfirmResponse;
 import com.ecommerce.order.adapter.in.web.dto.OrderTransactionHistoryResponse;
+import com.ecommerce.order.adapter.in.web.dto.SagaExportRecord;
+import com.ecommerce.order.adapter.in.web.dto.SagaStatisticsResponse;
+import com.ecommerce.order.adapter.in.web.dto.TransactionSearchResponse;
+import com.ecommerce.order.adapter.in.web.dto.TransactionStatusBatchResponse;
 import com.ecommerce.order.adapter.in.web.dto.TransactionStatusResponse;
 import com.ecommerce.order.application.port.in.OrderConfirmUseCase;
 import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
 import com.ecommerce.order.application.port.out.CheckerPort;
 import com.ecommerce.order.application.port.out.OutboxPort;
 import com.ecommerce.order.application.port.out.TransactionLogPort;
+import com.ecommerce.order.application.port.out.TransactionLogPort.TransactionOutcome;
+import com.ecommerce.order.application.port.out.TransactionLogPort.TransactionSnapshot;
+import com.ecommerce.order.domain.model.PageCursor;
+import com.ecommerce.order.domain.model.SagaLogMode;
+import com.ecommerce.order.domain.model.SagaOverallStatus;
 import com.ecommerce.order.domain.model.TransactionLog;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Saga orchestration service implementing order confirmation and status query.
@@ -46,14 +65,17 @@ public class OrderSagaService implements OrderConfirmUseCase, TransactionQueryUs
     private final TransactionLogPort transactionLogPort;
     private final OutboxPort outboxPort;
     private final CheckerPort checkerPort;
+    private final SagaLogMode logMode;
     private final ObjectMapper objectMapper;
 
     public OrderSagaService(TransactionLogPort transactionLogPort,
                             OutboxPort outboxPort,
-                            CheckerPort checkerPort) {
+                            CheckerPort checkerPort,
+                            @Value("${saga.log.mode:FULL}") SagaLogMode logMode) {
         this.transactionLogPort = transactionLogPort;
         this.outboxPort = outboxPort;
         this.checkerPort = checkerPort;
+        this.logMode = logMode;
         this.objectMapper = new ObjectMapper();
     }
 
@@ -66,17 +88,12 @@ public class OrderSagaService implements OrderConfirmUseCase, TransactionQueryUs
         try {
             log.info("Confirming order orderId={}, items={}", request.orderId(), request.items().size());
 
-            // Create initial transaction log entries for all services (status: UNKNOWN)
-            for (ServiceName serviceName : SAGA_SERVICES) {
-                TransactionLog logEntry = TransactionLog.create(
-                        txId,
-                        request.orderId(),
-                        serviceName,
-                        TransactionStatus.UNKNOWN
-                );
-                transactionLogPort.save(logEntry);
-                log.debug("Created initial log entry for service={}", serviceName);
-            }
+            // Create initial transaction log entries for all services (status: UNKNOWN) in one batch
+            List<TransactionLog> initialEntries = logMode == SagaLogMode.LEAN
+                    ? pendingEntriesWithDeadlines(txId, request.orderId())
+                    : pendingEntries(txId, request.orderId());
+            transactionLogPort.saveAll(initialEntries);
+            log.debug("Created initial log entries for services={}", SAGA_SERVICES);
 
             // Create outbox event for Camel to pick up
             Map<String, Object> payload = buildPayload(request);
@@ -104,6 +121,7 @@ public class OrderSagaService implements OrderConfirmUseCase, TransactionQueryUs
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<TransactionStatusResponse> getTransactionStatus(String txId) {
         MDC.put("txId", txId);
         try {
@@ -114,19 +132,7 @@ public class OrderSagaService implements OrderConfirmUseCase, TransactionQueryUs
                 return Optional.empty();
             }
 
-            String orderId = logs.get(0).getOrderId().toString();
-            String overallStatus = calculateOverallStatus(logs);
-
-            List<TransactionStatusResponse.ServiceStatusDto> serviceStatuses = logs.stream()
-                    .map(logEntry -> new TransactionStatusResponse.ServiceStatusDto(
-                            logEntry.getServiceName().name(),
-                            logEntry.getStatus().getCode(),
-                            logEntry.getCreatedAt() != null ?
-                                logEntry.getCreatedAt().atZone(java.time.ZoneId.systemDefault()).toInstant() : null
-                    ))
-                    .toList();
-
-            return Optional.of(new TransactionStatusResponse(txId, orderId, overallStatus, serviceStatuses));
+            return Optional.of(toStatusResponse(txId, logs));
 
         } finally {
             MDC.remove("txId");
@@ -134,21 +140,67 @@ public class OrderSagaService implements OrderConfirmUseCase, TransactionQueryUs
     }
 
     @Override
+    public OptionalLong getTransactionVersion(String txId) {
+        UUID txUuid = parseUuid(txId);
+        return txUuid != null ? OptionalLong.of(transactionLogPort.currentVersion(txUuid)) : OptionalLong.empty();
+    }
+
+    @Override
+    public CompletableFuture<Long> awaitTransactionChange(String txId, long since) {
+        return transactionLogPort.awaitChange(UUID.fromString(txId), since);
+    }
+
+    @Override
+    public SagaStatisticsResponse getStatistics() {
+        return SagaStatisticsResponse.fromDomain(transactionLogPort.statistics());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionStatusBatchResponse.Result> getTransactionStatuses(List<String> txIds) {
+        // Distinct ids in request order; malformed ones can never match and are not looked up
+        Map<String, UUID> requested = new LinkedHashMap<>();
+        for (String txId : txIds) {
+            if (txId != null && !requested.containsKey(txId)) {
+                requested.put(txId, parseUuid(txId));
+            }
+        }
+
+        List<UUID> lookup = requested.values().stream().filter(Objects::nonNull).distinct().toList();
+        Map<UUID, TransactionSnapshot> snapshots = new HashMap<>();
+        for (TransactionSnapshot snapshot : transactionLogPort.findLatestByTxIds(lookup)) {
+            snapshots.put(snapshot.txId(), snapshot);
+        }
+
+        List<TransactionStatusBatchResponse.Result> results = new ArrayList<>(requested.size());
+        requested.forEach((txId, txUuid) -> {
+            TransactionSnapshot snapshot = txUuid != null ? snapshots.get(txUuid) : null;
+            results.add(snapshot == null || snapshot.latest().isEmpty()
+                    ? new TransactionStatusBatchResponse.Result(txId, false, null)
+                    : new TransactionStatusBatchResponse.Result(txId, true, toStatusResponse(txId, snapshot.latest())));
+        });
+        log.debug("Resolved {} of {} requested transactions", snapshots.size(), requested.size());
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<OrderTransactionHistoryResponse> getOrderTransactionHistory(String orderId) {
         try {
             UUID orderUuid = UUID.fromString(orderId);
-            List<UUID> txIds = transactionLogPort.findDistinctTxIdsByOrderId(orderUuid);
+            List<TransactionSnapshot> snapshots = transactionLogPort.findLatestByOrderId(orderUuid);
 
-            if (txIds.isEmpty()) {
+            if (snapshots.isEmpty()) {
                 log.debug("No transactions found for orderId={}", orderId);
                 return Optional.empty();
             }
 
-            List<OrderTransactionHistoryResponse.TransactionSummary> transactions = txIds.stream()
-                    .map(txId -> buildTransactionSummary(txId.toString()))
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .toList();
+            List<OrderTransactionHistoryResponse.TransactionSummary> transactions = new ArrayList<>(snapshots.size());
+            for (TransactionSnapshot snapshot : snapshots) {
+                if (!snapshot.latest().isEmpty()) {
+                    transactions.add(buildTransactionSummary(snapshot));
+                }
+            }
 
             return Optional.of(new OrderTransactionHistoryResponse(
                     orderId,
@@ -162,93 +214,204 @@ public class OrderSagaService implements OrderConfirmUseCase, TransactionQueryUs
         }
     }
 
-    private Optional<OrderTransactionHistoryResponse.TransactionSummary> buildTransactionSummary(String txId) {
-        List<TransactionLog> logs = transactionLogPort.findLatestByTxId(txId);
-
-        if (logs.isEmpty()) {
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderTransactionHistoryResponse> getOrderTransactionHistory(String orderId, String cursor,
+                                                                                int limit) {
+        try {
+            UUID.fromString(orderId);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid orderId format: {}", orderId);
             return Optional.empty();
         }
 
-        String overallStatus = calculateOverallStatus(logs);
+        List<OrderTransactionHistoryResponse.TransactionSummary> transactions = new ArrayList<>();
+        String nextCursor = streamOrderTransactionHistory(orderId, cursor, limit, transactions::add);
 
-        // Find the earliest createdAt as the transaction start time
-        String startedAt = logs.stream()
-                .map(TransactionLog::getCreatedAt)
-                .filter(java.util.Objects::nonNull)
-                .min(java.time.LocalDateTime::compareTo)
-                .map(dt -> dt.atZone(java.time.ZoneId.systemDefault()).toInstant().toString())
-                .orElse(null);
+        if (transactions.isEmpty() && (cursor == null || cursor.isBlank())) {
+            log.debug("No transactions found for orderId={}", orderId);
+            return Optional.empty();
+        }
+        return Optional.of(new OrderTransactionHistoryResponse(orderId, transactions.size(), transactions, nextCursor));
+    }
 
-        List<TransactionStatusResponse.ServiceStatusDto> serviceStatuses = logs.stream()
-                .map(logEntry -> new TransactionStatusResponse.ServiceStatusDto(
-                        logEntry.getServiceName().name(),
-                        logEntry.getStatus().getCode(),
-                        logEntry.getCreatedAt() != null ?
-                            logEntry.getCreatedAt().atZone(java.time.ZoneId.systemDefault()).toInstant() : null
-                ))
-                .toList();
+    @Override
+    @Transactional(readOnly = true)
+    public String streamOrderTransactionHistory(String orderId, String cursor, int limit,
+                                                Consumer<OrderTransactionHistoryResponse.TransactionSummary> sink) {
+        UUID orderUuid = UUID.fromString(orderId);
+        PageCursor after = PageCursor.decode(cursor);
+        requirePositive(limit);
+
+        AtomicInteger read = new AtomicInteger();
+        AtomicReference<PageCursor> last = new AtomicReference<>();
+        transactionLogPort.streamLatestByOrderId(orderUuid, after, limit, snapshot -> {
+            read.incrementAndGet();
+            if (snapshot.startedAt() != null) {
+                last.set(PageCursor.of(snapshot.startedAt(), snapshot.txId()));
+            }
+            if (!snapshot.latest().isEmpty()) {
+                sink.accept(buildTransactionSummary(snapshot));
+            }
+        });
+        return read.get() == limit && last.get() != null ? last.get().encode() : null;
+    }
 
-        return Optional.of(new OrderTransactionHistoryResponse.TransactionSummary(
-                txId,
-                overallStatus,
-                startedAt,
-                serviceStatuses
-        ));
+    @Override
+    @Transactional(readOnly = true)
+    public String searchTransactions(TransactionStatus status, Duration olderThan, String cursor, int limit,
+                                     Consumer<TransactionSearchResponse.Match> sink) {
+        if (olderThan.isNegative()) {
+            throw new IllegalArgumentException("olderThan must not be negative: " + olderThan);
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        requirePositive(limit);
+
+        AtomicInteger read = new AtomicInteger();
+        AtomicReference<TransactionLog> last = new AtomicReference<>();
+        transactionLogPort.streamLatestByStatus(status, LocalDateTime.now().minus(olderThan), after, limit, entry -> {
+            read.incrementAndGet();
+            last.set(entry);
+            sink.accept(new TransactionSearchResponse.Match(
+                    entry.getTxId().toString(),
+                    entry.getOrderId().toString(),
+                    entry.getServiceName().name(),
+                    entry.getStatus().getCode(),
+                    entry.getErrorMessage(),
+                    entry.getRetryCount(),
+                    entry.getCreatedAt().atZone(java.time.ZoneId.systemDefault()).toInstant()
+            ));
+        });
+        if (read.get() < limit) {
+            return null;
+        }
+        TransactionLog entry = last.get();
+        return new PageCursor(entry.getCreatedAt(), entry.getTxId(), entry.getServiceName()).encode();
     }
 
-    private String calculateOverallStatus(List<TransactionLog> logs) {
-        boolean anyUnknown = false;
-        boolean anyFailed = false;
-        boolean anyRollback = false;
-        boolean allSuccess = true;
-        boolean allRollbackComplete = true;
-
-        for (TransactionLog log : logs) {
-            TransactionStatus status = log.getStatus();
-
-            switch (status) {
-                case U -> {
-                    anyUnknown = true;
-                    allSuccess = false;
-                    allRollbackComplete = false;
-                }
-                case S -> allRollbackComplete = false;
-                case F -> {
-                    anyFailed = true;
-                    allSuccess = false;
-                    allRollbackComplete = false;
-                }
-                case R -> {
-                    anyRollback = true;
-                    allSuccess = false;
-                }
-                case D -> allSuccess = false;
-                case RF -> {
-                    anyFailed = true;
-                    allSuccess = false;
-                    allRollbackComplete = false;
-                }
-            }
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTransactions(Instant from, Instant to, Consumer<SagaExportRecord> sink) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to: " + from + ", " + to);
         }
+        ZoneId zone = ZoneId.systemDefault();
+        AtomicLong exported = new AtomicLong();
+        transactionLogPort.streamOutcomes(LocalDateTime.ofInstant(from, zone), LocalDateTime.ofInstant(to, zone),
+                outcome -> {
+                    exported.incrementAndGet();
+                    sink.accept(toExportRecord(outcome, zone));
+                });
+        log.info("Exported {} transactions started in [{}, {})", exported.get(), from, to);
+        return exported.get();
+    }
 
-        // Determine overall status
-        if (anyRollback) {
-            return "ROLLING_BACK";
+    private static SagaExportRecord toExportRecord(TransactionOutcome outcome, ZoneId zone) {
+        List<SagaExportRecord.Service> services = new ArrayList<>(outcome.latest().size());
+        for (TransactionLog entry : outcome.latest()) {
+            services.add(new SagaExportRecord.Service(
+                    entry.getServiceName().name(),
+                    entry.getStatus().getCode(),
+                    entry.getErrorMessage(),
+                    entry.getRetryCount(),
+                    entry.getCreatedAt() != null ? entry.getCreatedAt().atZone(zone).toInstant() : null
+            ));
         }
-        if (anyFailed) {
-            return "FAILED";
+        return new SagaExportRecord(
+                outcome.txId().toString(),
+                outcome.orderId().toString(),
+                outcome.overallStatus().name(),
+                outcome.startedAt().atZone(zone).toInstant(),
+                outcome.updatedAt() != null ? outcome.updatedAt().atZone(zone).toInstant() : null,
+                services
+        );
+    }
+
+    private static void requirePositive(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
         }
-        if (anyUnknown) {
-            return "PROCESSING";
+    }
+
+    /**
+     * Folds the latest entries of one transaction into its summary in a single pass.
+     * The start time comes from the snapshot, falling back to the earliest entry.
+     */
+    private OrderTransactionHistoryResponse.TransactionSummary buildTransactionSummary(TransactionSnapshot snapshot) {
+        List<TransactionLog> logs = snapshot.latest();
+        List<TransactionStatus> statuses = new ArrayList<>(logs.size());
+        List<TransactionStatusResponse.ServiceStatusDto> serviceStatuses = new ArrayList<>(logs.size());
+        LocalDateTime earliest = null;
+
+        for (TransactionLog logEntry : logs) {
+            statuses.add(logEntry.getStatus());
+            serviceStatuses.add(toServiceStatus(logEntry));
+            if (logEntry.getCreatedAt() != null && (earliest == null || logEntry.getCreatedAt().isBefore(earliest))) {
+                earliest = logEntry.getCreatedAt();
+            }
         }
-        if (allSuccess) {
-            return "COMPLETED";
+
+        LocalDateTime startedAt = snapshot.startedAt() != null ? snapshot.startedAt() : earliest;
+        return new OrderTransactionHistoryResponse.TransactionSummary(
+                snapshot.txId().toString(),
+                SagaOverallStatus.of(statuses).name(),
+                startedAt != null ? startedAt.atZone(java.time.ZoneId.systemDefault()).toInstant().toString() : null,
+                serviceStatuses
+        );
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private TransactionStatusResponse toStatusResponse(String txId, List<TransactionLog> logs) {
+        List<TransactionStatusResponse.ServiceStatusDto> serviceStatuses = logs.stream()
+                .map(this::toServiceStatus)
+                .toList();
+        return new TransactionStatusResponse(txId, logs.get(0).getOrderId().toString(),
+                calculateOverallStatus(logs), serviceStatuses);
+    }
+
+    private TransactionStatusResponse.ServiceStatusDto toServiceStatus(TransactionLog logEntry) {
+        return new TransactionStatusResponse.ServiceStatusDto(
+                logEntry.getServiceName().name(),
+                logEntry.getStatus().getCode(),
+                logEntry.getCreatedAt() != null ?
+                    logEntry.getCreatedAt().atZone(java.time.ZoneId.systemDefault()).toInstant() : null
+        );
+    }
+
+    private List<TransactionLog> pendingEntries(String txId, String orderId) {
+        List<TransactionLog> entries = new ArrayList<>(SAGA_SERVICES.size());
+        for (ServiceName serviceName : SAGA_SERVICES) {
+            entries.add(TransactionLog.create(txId, orderId, serviceName, TransactionStatus.UNKNOWN));
         }
-        if (allRollbackComplete) {
-            return "ROLLED_BACK";
+        return entries;
+    }
+
+    /**
+     * Lean mode skips the U written before each call, so the entry written here is the step start.
+     * A step's deadline is the sum of its own and all earlier timeouts: services run one after
+     * another, and a step may use whatever time its predecessors did not.
+     */
+    private List<TransactionLog> pendingEntriesWithDeadlines(String txId, String orderId) {
+        UUID txUuid = UUID.fromString(txId);
+        UUID orderUuid = UUID.fromString(orderId);
+        LocalDateTime deadline = LocalDateTime.now();
+        List<TransactionLog> entries = new ArrayList<>(SAGA_SERVICES.size());
+        for (ServiceName serviceName : SAGA_SERVICES) {
+            deadline = deadline.plusSeconds(DEFAULT_TIMEOUTS.get(serviceName));
+            entries.add(TransactionLog.createPending(txUuid, orderUuid, serviceName, deadline));
         }
+        return entries;
+    }
 
-        return "PROCESSING";
+    private String calculateOverallStatus(List<TransactionLog> logs) {
+        return SagaOverallStatus.of(logs.stream().map(TransactionLog::getStatus).toList()).name();
     }
 
     private Map<String, Object> buildPayload(OrderConfirmRequest request) {
@@ -5,43 +5,97 @@ import com.ecommerce.common.domain.TransactionStatus;
 import com.ecommerce.common.dto.RollbackRequest;
 import com.ecommerce.common.dto.RollbackResponse;
 import com.ecommerce.order.application.port.out.NotificationPort;
+import com.ecommerce.order.application.port.out.RetryBudgetPort;
+import com.ecommerce.order.application.port.out.RollbackAttemptPort;
+import com.ecommerce.order.application.port.out.RollbackAttemptPort.RollbackAttempt;
 import com.ecommerce.order.application.port.out.RollbackExecutorPort;
+import com.ecommerce.order.application.port.out.SagaConfigPort;
 import com.ecommerce.order.application.port.out.ServiceClientPort;
 import com.ecommerce.order.application.port.out.TransactionLogPort;
 import com.ecommerce.order.application.port.out.WebSocketPort;
+import com.ecommerce.order.domain.model.ServiceConfig;
+import com.ecommerce.order.domain.model.TransactionLog;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Service for executing saga rollback (compensation).
- * Rolls back services in reverse order of their execution.
+ * Rolls back services in reverse order of their execution. Consecutive services whose
+ * {@link ServiceConfig#parallelCompensation()} is set are compensated together on a bounded
+ * pool and joined before the next service, so dependent compensations keep their order.
+ * Rollback with retry only persists the stages; attempts are then made by
+ * {@link #attemptRollback(RollbackAttempt)} as they fall due, with no thread waiting out a backoff.
+ * Those attempts are the only retries of their calls: each is made once, without transport-level
+ * retries, and every attempt after the first is paid for from the service's {@link RetryBudgetPort}.
+ * Attempts due together for one service are made with a single call to its batch rollback
+ * endpoint by {@link #attemptRollbacks(List)}.
  */
 @Service
 public class RollbackService implements RollbackExecutorPort {
 
     private static final Logger log = LoggerFactory.getLogger(RollbackService.class);
     private static final int DEFAULT_MAX_RETRIES = 5;
+    private static final long BACKOFF_BASE_MILLIS = 100;
 
     private final TransactionLogPort transactionLogPort;
     private final ServiceClientPort serviceClientPort;
     private final WebSocketPort webSocketPort;
     private final NotificationPort notificationPort;
+    private final SagaConfigPort sagaConfigPort;
+    private final RollbackAttemptPort rollbackAttemptPort;
+    private final RetryBudgetPort retryBudget;
+    private final ThreadPoolExecutor compensationExecutor;
 
     public RollbackService(TransactionLogPort transactionLogPort,
                            ServiceClientPort serviceClientPort,
                            WebSocketPort webSocketPort,
-                           NotificationPort notificationPort) {
+                           NotificationPort notificationPort,
+                           SagaConfigPort sagaConfigPort,
+                           RollbackAttemptPort rollbackAttemptPort,
+                           RetryBudgetPort retryBudget,
+                           @Value("${saga.rollback.parallelism:8}") int parallelism) {
         this.transactionLogPort = transactionLogPort;
         this.serviceClientPort = serviceClientPort;
         this.webSocketPort = webSocketPort;
         this.notificationPort = notificationPort;
+        this.sagaConfigPort = sagaConfigPort;
+        this.rollbackAttemptPort = rollbackAttemptPort;
+        this.retryBudget = retryBudget;
+        // Saturated or shut down, a compensation runs on the caller rather than being dropped
+        this.compensationExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(parallelism * 16), runnable -> {
+                    Thread thread = new Thread(runnable, "rollback-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (task, executor) -> task.run());
+        this.compensationExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void close() {
+        compensationExecutor.shutdown();
     }
 
     /**
@@ -67,38 +121,11 @@ public class RollbackService implements RollbackExecutorPort {
             List<ServiceName> reversedServices = new ArrayList<>(successfulServices);
             Collections.reverse(reversedServices);
 
-            boolean anyFailed = false;
-            List<String> failureMessages = new ArrayList<>();
-
-            for (ServiceName serviceName : reversedServices) {
-                log.info("Rolling back service {} for txId={}", serviceName, txId);
-
-                try {
-                    RollbackRequest request = RollbackRequest.of(txId, orderId, null);
-                    RollbackResponse response = serviceClientPort.rollback(serviceName, request);
-
-                    if (response.success()) {
-                        log.info("Rollback successful for service {} txId={}", serviceName, txId);
-                        transactionLogPort.recordStatus(txId, orderId, serviceName, TransactionStatus.R);
-                        webSocketPort.sendRollbackProgress(txId, orderId, serviceName);
-                    } else {
-                        log.error("Rollback failed for service {} txId={}: {}", serviceName, txId, response.message());
-                        transactionLogPort.recordStatusWithError(txId, orderId, serviceName,
-                                TransactionStatus.RF, response.message());
-                        anyFailed = true;
-                        failureMessages.add(serviceName.name() + ": " + response.message());
-                    }
-                } catch (Exception e) {
-                    log.error("Exception during rollback of service {} txId={}", serviceName, txId, e);
-                    transactionLogPort.recordStatusWithError(txId, orderId, serviceName,
-                            TransactionStatus.RF, e.getMessage());
-                    anyFailed = true;
-                    failureMessages.add(serviceName.name() + ": " + e.getMessage());
-                }
-            }
+            List<String> failureMessages = compensateInStages(txId, reversedServices,
+                    serviceName -> compensate(txId, orderId, serviceName));
 
             // Send final notification
-            if (anyFailed) {
+            if (!failureMessages.isEmpty()) {
                 String errorSummary = String.join("; ", failureMessages);
                 log.error("Rollback completed with failures for txId={}: {}", txId, errorSummary);
                 webSocketPort.sendRollbackFailed(txId, orderId, errorSummary);
@@ -124,7 +151,9 @@ public class RollbackService implements RollbackExecutorPort {
     }
 
     /**
-     * Execute rollback with retry logic and admin notification on exhausted retries.
+     * Schedule rollback with retry logic and admin notification on exhausted retries.
+     * Returns once the attempts are persisted; the outcome is reported like
+     * {@link #executeRollback} when the last service has settled.
      *
      * @param txId the transaction ID
      * @param orderId the order ID
@@ -135,7 +164,7 @@ public class RollbackService implements RollbackExecutorPort {
     public void executeRollbackWithRetry(UUID txId, UUID orderId, List<ServiceName> successfulServices, int maxRetries) {
         MDC.put("txId", txId.toString());
         try {
-            log.info("Starting rollback with retry for txId={}, maxRetries={}, services: {}",
+            log.info("Scheduling rollback with retry for txId={}, maxRetries={}, services: {}",
                     txId, maxRetries, successfulServices);
 
             if (successfulServices.isEmpty()) {
@@ -148,85 +177,313 @@ public class RollbackService implements RollbackExecutorPort {
             List<ServiceName> reversedServices = new ArrayList<>(successfulServices);
             Collections.reverse(reversedServices);
 
-            List<String> failureMessages = new ArrayList<>();
+            rollbackAttemptPort.schedule(txId, orderId, stages(reversedServices), maxRetries, LocalDateTime.now());
 
-            for (ServiceName serviceName : reversedServices) {
-                boolean success = rollbackServiceWithRetry(txId, orderId, serviceName, maxRetries);
-                if (!success) {
-                    failureMessages.add(serviceName.name() + ": Max retries exceeded");
-                }
+        } finally {
+            MDC.remove("txId");
+        }
+    }
+
+    /**
+     * Make one due compensation attempt: settle it as R on success, reschedule it with
+     * exponential backoff on failure, or settle it as RF and alert the admin once its attempts
+     * are exhausted. The transaction's outcome is sent after its last attempt settles.
+     * A retry the service's budget cannot pay for is deferred by one more backoff without
+     * calling the service or using up an attempt.
+     * An attempt whose worker dies is made again after its lease, so it may reach the
+     * service twice; compensation endpoints are idempotent.
+     *
+     * @param attempt the claimed attempt
+     */
+    @Override
+    public void attemptRollback(RollbackAttempt attempt) {
+        attemptRollbacks(List.of(attempt));
+    }
+
+    /**
+     * Make due compensation attempts against one service together: a single attempt goes to
+     * the rollback endpoint, several go to the batch endpoint in one call, and each is then
+     * settled or rescheduled on its own as in {@link #attemptRollback(RollbackAttempt)}.
+     * A batch is one call to the service, so it earns or spends from the retry budget once.
+     *
+     * @param attempts the claimed attempts, all for the same service
+     */
+    @Override
+    public void attemptRollbacks(List<RollbackAttempt> attempts) {
+        if (attempts.isEmpty()) {
+            return;
+        }
+        ServiceName serviceName = attempts.get(0).serviceName();
+        List<RollbackAttempt> batch = withinRetryBudget(serviceName, attempts);
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (RollbackAttempt attempt : batch) {
+            log.info("Rollback attempt {}/{} for service {} txId={}",
+                    attempt.attempts() + 1, attempt.maxAttempts(), serviceName, attempt.txId());
+        }
+
+        Map<UUID, RollbackResponse> responses = compensateOnce(serviceName, batch);
+        for (RollbackAttempt attempt : batch) {
+            MDC.put("txId", attempt.txId().toString());
+            try {
+                settleAttempt(attempt, responses.getOrDefault(attempt.txId(),
+                        RollbackResponse.failure(attempt.txId(), "No rollback result")));
+            } finally {
+                MDC.remove("txId");
             }
+        }
+    }
 
-            // Send final notification
-            if (!failureMessages.isEmpty()) {
-                String errorSummary = String.join("; ", failureMessages);
+    /**
+     * Charge the call about to be made to the service's retry budget.
+     *
+     * @return the attempts to make now; retries the budget cannot pay for are deferred
+     */
+    private List<RollbackAttempt> withinRetryBudget(ServiceName serviceName, List<RollbackAttempt> attempts) {
+        List<RollbackAttempt> retries = attempts.stream().filter(attempt -> attempt.attempts() > 0).toList();
+        if (retries.size() < attempts.size()) {
+            retryBudget.recordCall(serviceName);
+        }
+        if (retries.isEmpty() || retryBudget.tryAcquireRetry(serviceName)) {
+            return attempts;
+        }
+        for (RollbackAttempt retry : retries) {
+            log.warn("Retry budget of service {} exhausted, deferring rollback attempt {}/{} txId={}",
+                    serviceName, retry.attempts() + 1, retry.maxAttempts(), retry.txId());
+            rollbackAttemptPort.reschedule(retry.id(), retry.attempts(),
+                    LocalDateTime.now().plus(backoffMillis(retry.attempts()), ChronoUnit.MILLIS),
+                    "Retry budget exhausted");
+        }
+        return attempts.stream().filter(attempt -> attempt.attempts() == 0).toList();
+    }
+
+    /**
+     * Call the service once for the attempts, without transport-level retries.
+     *
+     * @return the response for each attempt's txId
+     */
+    private Map<UUID, RollbackResponse> compensateOnce(ServiceName serviceName, List<RollbackAttempt> attempts) {
+        List<RollbackRequest> requests = attempts.stream()
+                .map(attempt -> RollbackRequest.of(attempt.txId(), attempt.orderId(), null))
+                .toList();
+        List<RollbackResponse> responses;
+        try {
+            responses = requests.size() == 1
+                    ? List.of(serviceClientPort.rollbackOnce(serviceName, requests.get(0)))
+                    : serviceClientPort.rollbackBatch(serviceName, requests);
+        } catch (Exception e) {
+            log.warn("Rollback call for service {} with {} attempts threw: {}",
+                    serviceName, requests.size(), e.getMessage());
+            responses = requests.stream()
+                    .map(request -> RollbackResponse.failure(request.txId(), e.getMessage()))
+                    .toList();
+        }
+        return responses.stream()
+                .collect(Collectors.toMap(RollbackResponse::txId, Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * Settle an attempt as R, reschedule it, or settle it as RF once its attempts are exhausted.
+     */
+    private void settleAttempt(RollbackAttempt attempt, RollbackResponse response) {
+        UUID txId = attempt.txId();
+        UUID orderId = attempt.orderId();
+        ServiceName serviceName = attempt.serviceName();
+        int attemptNumber = attempt.attempts() + 1;
+        int maxRetries = attempt.maxAttempts();
+
+        if (response.success()) {
+            log.info("Rollback successful for service {} txId={} (attempt {})",
+                    serviceName, txId, attemptNumber);
+            transactionLogPort.recordStatus(txId, orderId, serviceName, TransactionStatus.R);
+            webSocketPort.sendRollbackProgress(txId, orderId, serviceName);
+            rollbackAttemptPort.settle(attempt.id(), TransactionStatus.R, null);
+            finishRollback(txId, orderId);
+            return;
+        }
+        String lastErrorMessage = response.message();
+        log.warn("Rollback attempt {}/{} failed for service {} txId={}: {}",
+                attemptNumber, maxRetries, serviceName, txId, lastErrorMessage);
+
+        // Retry later (exponential backoff)
+        if (attemptNumber < maxRetries) {
+            rollbackAttemptPort.reschedule(attempt.id(), attemptNumber,
+                    LocalDateTime.now().plus(backoffMillis(attemptNumber), ChronoUnit.MILLIS), lastErrorMessage);
+            return;
+        }
+
+        // All retries exhausted - record failure and notify admin
+        log.error("All {} rollback attempts exhausted for service {} txId={}",
+                maxRetries, serviceName, txId);
+
+        TransactionLog rollbackFailed = transactionLogPort.recordStatusWithError(txId, orderId, serviceName,
+                TransactionStatus.RF, lastErrorMessage);
+
+        // Send admin notification and stamp it on the RollbackFail entry by id
+        notificationPort.sendRollbackFailureAlert(txId, orderId, serviceName, lastErrorMessage, maxRetries);
+        transactionLogPort.recordNotifiedAt(txId, rollbackFailed.getId(), LocalDateTime.now());
+
+        rollbackAttemptPort.settle(attempt.id(), TransactionStatus.RF, lastErrorMessage);
+        finishRollback(txId, orderId);
+    }
+
+    private static long backoffMillis(int failedAttempts) {
+        return (long) Math.pow(2, failedAttempts) * BACKOFF_BASE_MILLIS;
+    }
+
+    /**
+     * Send the final notification once every scheduled attempt of the transaction has settled.
+     */
+    private void finishRollback(UUID txId, UUID orderId) {
+        rollbackAttemptPort.finish(txId).ifPresent(failedServices -> {
+            if (!failedServices.isEmpty()) {
+                String errorSummary = failedServices.stream()
+                        .map(serviceName -> serviceName.name() + ": Max retries exceeded")
+                        .collect(Collectors.joining("; "));
                 log.error("Rollback completed with failures for txId={}: {}", txId, errorSummary);
                 webSocketPort.sendRollbackFailed(txId, orderId, errorSummary);
             } else {
                 log.info("Rollback completed successfully for txId={}", txId);
                 webSocketPort.sendRolledBack(txId, orderId);
             }
-
-        } finally {
-            MDC.remove("txId");
-        }
+        });
     }
 
     /**
-     * Attempt to rollback a single service with retries.
-     * Sends admin notification if all retries are exhausted.
+     * Rollback a single service once, recording R or RF.
      *
-     * @return true if rollback succeeded, false if all retries exhausted
+     * @return null if the rollback succeeded, otherwise the failure message for the summary
      */
-    private boolean rollbackServiceWithRetry(UUID txId, UUID orderId, ServiceName serviceName, int maxRetries) {
-        String lastErrorMessage = null;
+    private String compensate(UUID txId, UUID orderId, ServiceName serviceName) {
+        log.info("Rolling back service {} for txId={}", serviceName, txId);
 
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            log.info("Rollback attempt {}/{} for service {} txId={}", attempt, maxRetries, serviceName, txId);
+        try {
+            RollbackRequest request = RollbackRequest.of(txId, orderId, null);
+            RollbackResponse response = serviceClientPort.rollback(serviceName, request);
+
+            if (response.success()) {
+                log.info("Rollback successful for service {} txId={}", serviceName, txId);
+                transactionLogPort.recordStatus(txId, orderId, serviceName, TransactionStatus.R);
+                webSocketPort.sendRollbackProgress(txId, orderId, serviceName);
+                return null;
+            }
+            log.error("Rollback failed for service {} txId={}: {}", serviceName, txId, response.message());
+            transactionLogPort.recordStatusWithError(txId, orderId, serviceName,
+                    TransactionStatus.RF, response.message());
+            return serviceName.name() + ": " + response.message();
+        } catch (Exception e) {
+            log.error("Exception during rollback of service {} txId={}", serviceName, txId, e);
+            transactionLogPort.recordStatusWithError(txId, orderId, serviceName,
+                    TransactionStatus.RF, e.getMessage());
+            return serviceName.name() + ": " + e.getMessage();
+        }
+    }
 
-            try {
-                RollbackRequest request = RollbackRequest.of(txId, orderId, null);
-                RollbackResponse response = serviceClientPort.rollback(serviceName, request);
-
-                if (response.success()) {
-                    log.info("Rollback successful for service {} txId={} (attempt {})",
-                            serviceName, txId, attempt);
-                    transactionLogPort.recordStatus(txId, orderId, serviceName, TransactionStatus.R);
-                    webSocketPort.sendRollbackProgress(txId, orderId, serviceName);
-                    return true;
-                } else {
-                    lastErrorMessage = response.message();
-                    log.warn("Rollback attempt {}/{} failed for service {} txId={}: {}",
-                            attempt, maxRetries, serviceName, txId, lastErrorMessage);
+    /**
+     * Split the (already reversed) services into stages: a run of consecutive
+     * parallel-capable services forms one stage, every other service is a stage of its own.
+     */
+    private List<List<ServiceName>> stages(List<ServiceName> reversedServices) {
+        Set<ServiceName> parallel = reversedServices.size() > 1 ? parallelCompensations() : Set.of();
+        List<List<ServiceName>> stages = new ArrayList<>();
+
+        int start = 0;
+        while (start < reversedServices.size()) {
+            int end = start + 1;
+            if (parallel.contains(reversedServices.get(start))) {
+                while (end < reversedServices.size() && parallel.contains(reversedServices.get(end))) {
+                    end++;
                 }
-            } catch (Exception e) {
-                lastErrorMessage = e.getMessage();
-                log.warn("Rollback attempt {}/{} exception for service {} txId={}: {}",
-                        attempt, maxRetries, serviceName, txId, e.getMessage());
             }
+            stages.add(List.copyOf(reversedServices.subList(start, end)));
+            start = end;
+        }
+        return stages;
+    }
 
-            // Wait before retry (exponential backoff)
-            if (attempt < maxRetries) {
-                try {
-                    long waitMs = (long) Math.pow(2, attempt) * 100;
-                    Thread.sleep(waitMs);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
+    /**
+     * Run the compensation of each stage in turn, fanning out stages of several services.
+     *
+     * @return the failure messages in compensation order
+     */
+    private List<String> compensateInStages(UUID txId, List<ServiceName> reversedServices,
+                                            Function<ServiceName, String> compensation) {
+        List<String> failureMessages = new ArrayList<>();
+        for (List<ServiceName> stage : stages(reversedServices)) {
+            if (stage.size() == 1) {
+                String failure = compensation.apply(stage.get(0));
+                if (failure != null) {
+                    failureMessages.add(failure);
                 }
+            } else {
+                failureMessages.addAll(fanOut(txId, stage, compensation));
             }
         }
+        return failureMessages;
+    }
 
-        // All retries exhausted - record failure and notify admin
-        log.error("All {} rollback attempts exhausted for service {} txId={}",
-                maxRetries, serviceName, txId);
-
-        transactionLogPort.recordStatusWithError(txId, orderId, serviceName,
-                TransactionStatus.RF, lastErrorMessage);
+    private List<String> fanOut(UUID txId, List<ServiceName> stage, Function<ServiceName, String> compensation) {
+        log.info("Rolling back services {} in parallel for txId={}", stage, txId);
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        List<CompletableFuture<String>> futures = stage.stream()
+                .map(serviceName -> CompletableFuture.supplyAsync(
+                        () -> withContext(context, () -> compensation.apply(serviceName)), compensationExecutor))
+                .toList();
+
+        // Join every compensation before surfacing an error, so none is left running unseen
+        List<String> failureMessages = new ArrayList<>();
+        RuntimeException error = null;
+        for (CompletableFuture<String> future : futures) {
+            try {
+                String failure = future.join();
+                if (failure != null) {
+                    failureMessages.add(failure);
+                }
+            } catch (CompletionException e) {
+                if (error == null) {
+                    error = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        return failureMessages;
+    }
 
-        // Send admin notification
-        notificationPort.sendRollbackFailureAlert(txId, orderId, serviceName, lastErrorMessage, maxRetries);
+    private static <T> T withContext(Map<String, String> context, Supplier<T> task) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        if (context != null) {
+            MDC.setContextMap(context);
+        }
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                MDC.setContextMap(previous);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
 
-        return false;
+    /**
+     * Services whose active configuration allows parallel compensation; none if the
+     * configuration cannot be read, which falls back to strictly sequential rollback.
+     */
+    private Set<ServiceName> parallelCompensations() {
+        try {
+            Set<ServiceName> parallel = EnumSet.noneOf(ServiceName.class);
+            for (ServiceConfig config : sagaConfigPort.findActiveConfigs()) {
+                if (config.parallelCompensation()) {
+                    parallel.add(config.name());
+                }
+            }
+            return parallel;
+        } catch (RuntimeException e) {
+            log.warn("Could not read saga config, compensating sequentially: {}", e.getMessage());
+            return Set.of();
+        }
     }
 }
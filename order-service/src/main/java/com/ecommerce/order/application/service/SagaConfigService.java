@@ -7,6 +7,7 @@ import com.ecommerce.order.domain.model.ServiceConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -14,6 +15,7 @@ import java.util.stream.Collectors;
 /**
  * Service for managing saga configuration.
  * Supports active/pending configuration model for safe updates.
+ * Reads run in read-only transactions and are served from the read pool.
  */
 @Service
 public class SagaConfigService implements SagaConfigUseCase {
@@ -28,11 +30,13 @@ public class SagaConfigService implements SagaConfigUseCase {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ServiceConfig> getActiveConfig() {
         return sagaConfigPort.findActiveConfigs();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ServiceConfig> getPendingConfig() {
         return sagaConfigPort.findPendingConfigs();
     }
@@ -62,6 +66,7 @@ public class SagaConfigService implements SagaConfigUseCase {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public int getServiceTimeout(ServiceName serviceName) {
         return sagaConfigPort.findActiveConfigs().stream()
                 .filter(config -> config.name() == serviceName)
@@ -71,6 +76,7 @@ public class SagaConfigService implements SagaConfigUseCase {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ServiceName> getServiceOrder() {
         return sagaConfigPort.findActiveConfigs().stream()
                 .sorted(Comparator.comparingInt(ServiceConfig::order))
@@ -79,6 +85,7 @@ public class SagaConfigService implements SagaConfigUseCase {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<ServiceName, Integer> getTimeouts() {
         return sagaConfigPort.findActiveConfigs().stream()
                 .collect(Collectors.toMap(
@@ -0,0 +1,65 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.in.SagaMaintenanceUseCase;
+import com.ecommerce.order.application.port.out.TransactionLogPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Service for administrative maintenance of saga persistence.
+ */
+@Service
+public class SagaMaintenanceService implements SagaMaintenanceUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(SagaMaintenanceService.class);
+
+    private final TransactionLogPort transactionLogPort;
+    private final int hotDays;
+    private final Duration minTerminalAge;
+    private final int compactionBatchSize;
+
+    public SagaMaintenanceService(TransactionLogPort transactionLogPort,
+                                  @Value("${saga.archive.hot-days:7}") int hotDays,
+                                  @Value("${saga.compaction.min-terminal-age:PT1H}") Duration minTerminalAge,
+                                  @Value("${saga.compaction.batch-size:1000}") int compactionBatchSize) {
+        this.transactionLogPort = transactionLogPort;
+        this.hotDays = hotDays;
+        this.minTerminalAge = minTerminalAge;
+        this.compactionBatchSize = compactionBatchSize;
+    }
+
+    @Override
+    public long rebuildProjection() {
+        long started = System.currentTimeMillis();
+        long projected = transactionLogPort.rebuildProjection();
+        log.info("Projection rebuild finished: transactions={}, elapsedMs={}",
+                projected, System.currentTimeMillis() - started);
+        return projected;
+    }
+
+    @Override
+    public int archiveColdPartitions() {
+        LocalDate cutoff = LocalDate.now().minusDays(hotDays);
+        long started = System.currentTimeMillis();
+        int sealed = transactionLogPort.archivePartitionsBefore(cutoff);
+        log.info("Partition archiving finished: cutoff={}, sealed={}, elapsedMs={}",
+                cutoff, sealed, System.currentTimeMillis() - started);
+        return sealed;
+    }
+
+    @Override
+    public int compactTerminalTransactions() {
+        LocalDateTime terminalBefore = LocalDateTime.now().minus(minTerminalAge);
+        long started = System.currentTimeMillis();
+        int compacted = transactionLogPort.compactTerminalTransactions(terminalBefore, compactionBatchSize);
+        log.info("Transaction compaction finished: terminalBefore={}, compacted={}, elapsedMs={}",
+                terminalBefore, compacted, System.currentTimeMillis() - started);
+        return compacted;
+    }
+}
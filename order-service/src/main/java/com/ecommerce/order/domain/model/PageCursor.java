@@ -0,0 +1,54 @@
+package com.ecommerce.order.domain.model;
+
+import com.ecommerce.common.domain.ServiceName;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a time-ordered listing: the timestamp and id of the last row returned,
+ * plus the service when a transaction contributes one row per service.
+ * Encoded as an opaque URL-safe token for clients.
+ */
+public record PageCursor(LocalDateTime at, UUID txId, ServiceName serviceName) {
+
+    private static final String SEPARATOR = "|";
+
+    public PageCursor {
+        if (at == null || txId == null) {
+            throw new IllegalArgumentException("Cursor needs a timestamp and a txId");
+        }
+    }
+
+    public static PageCursor of(LocalDateTime at, UUID txId) {
+        return new PageCursor(at, txId, null);
+    }
+
+    public String encode() {
+        String raw = at + SEPARATOR + txId + (serviceName != null ? SEPARATOR + serviceName.name() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a token produced by {@link #encode()}; null or blank means the first page.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new PageCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]),
+                    parts.length == 3 ? ServiceName.valueOf(parts[2]) : null);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.order.domain.model;
+
+/**
+ * How many transitions a saga writes to the transaction log.
+ */
+public enum SagaLogMode {
+
+    /**
+     * Every transition is logged: one U per service at confirmation, another U before each
+     * service is called, then its outcome. Nine rows for a happy-path saga.
+     */
+    FULL,
+
+    /**
+     * Only the U per service written at confirmation, carrying the step deadline, plus each outcome.
+     * The U before each call repeats what is already logged and is skipped. Six rows for a
+     * happy-path saga; recovery and timeout detection read the same U rows as in full mode.
+     */
+    LEAN
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.order.domain.model;
+
+import com.ecommerce.common.domain.TransactionStatus;
+
+import java.util.Collection;
+
+/**
+ * Overall saga status derived from the latest status of each participating service.
+ */
+public enum SagaOverallStatus {
+
+    PROCESSING,
+    COMPLETED,
+    FAILED,
+    ROLLING_BACK,
+    ROLLED_BACK;
+
+    /**
+     * Derive the overall status from the latest per-service statuses.
+     */
+    public static SagaOverallStatus of(Collection<TransactionStatus> statuses) {
+        boolean anyUnknown = false;
+        boolean anyFailed = false;
+        boolean anyRollback = false;
+        boolean allSuccess = true;
+        boolean allRollbackComplete = true;
+
+        for (TransactionStatus status : statuses) {
+            switch (status) {
+                case U -> {
+                    anyUnknown = true;
+                    allSuccess = false;
+                    allRollbackComplete = false;
+                }
+                case S -> allRollbackComplete = false;
+                case F -> {
+                    anyFailed = true;
+                    allSuccess = false;
+                    allRollbackComplete = false;
+                }
+                case R -> {
+                    anyRollback = true;
+                    allSuccess = false;
+                }
+                case D -> allSuccess = false;
+                case RF -> {
+                    anyFailed = true;
+                    allSuccess = false;
+                    allRollbackComplete = false;
+                }
+            }
+        }
+
+        if (anyRollback) {
+            return ROLLING_BACK;
+        }
+        if (anyFailed) {
+            return FAILED;
+        }
+        if (anyUnknown) {
+            return PROCESSING;
+        }
+        if (allSuccess) {
+            return COMPLETED;
+        }
+        if (allRollbackComplete) {
+            return ROLLED_BACK;
+        }
+        return PROCESSING;
+    }
+
+    /**
+     * Whether a saga with these latest per-service statuses will never change again.
+     * Completed when every service succeeded; finished when something failed or was
+     * compensated and no successful service is left to roll back. Services still in U
+     * next to a failure were never invoked.
+     */
+    public static boolean isTerminal(Collection<TransactionStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return false;
+        }
+        boolean anySuccess = false;
+        boolean anyFinished = false;
+        boolean allSuccess = true;
+
+        for (TransactionStatus status : statuses) {
+            switch (status) {
+                case S -> anySuccess = true;
+                case F, R, D, RF -> {
+                    anyFinished = true;
+                    allSuccess = false;
+                }
+                case U -> allSuccess = false;
+            }
+        }
+        return allSuccess || (anyFinished && !anySuccess);
+    }
+}
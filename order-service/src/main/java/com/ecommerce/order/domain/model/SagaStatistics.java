@@ -0,0 +1,241 @@
+package com.ecommerce.order.domain.model;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Saga statistics maintained incrementally on every status append instead of aggregated from the log.
+ * <p>
+ * Holds how many sagas are in each overall status right now, and rolling counts of sagas started,
+ * sagas ended per outcome and service statuses entered over the last {@link #WINDOWS}. Rolling
+ * counts live in ring buffers of per-second buckets, so recording and reading are constant-time
+ * and memory is fixed however busy the service is. Thread-safe.
+ */
+public final class SagaStatistics {
+
+    /** Rolling windows reported by {@link #snapshot(Instant)}. */
+    public static final List<Duration> WINDOWS =
+            List.of(Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(15));
+
+    private static final int HORIZON_SECONDS = 15 * 60;
+
+    private static final SagaOverallStatus[] STATUSES = SagaOverallStatus.values();
+    private static final ServiceName[] SERVICES = ServiceName.values();
+    private static final TransactionStatus[] SERVICE_STATUSES = TransactionStatus.values();
+
+    private final AtomicLongArray current = new AtomicLongArray(STATUSES.length);
+    private final SecondBuckets started = new SecondBuckets(HORIZON_SECONDS);
+    private final SecondBuckets[] ended = new SecondBuckets[STATUSES.length];
+    private final SecondBuckets[][] entered = new SecondBuckets[SERVICES.length][SERVICE_STATUSES.length];
+
+    public SagaStatistics() {
+        for (int i = 0; i < ended.length; i++) {
+            ended[i] = new SecondBuckets(HORIZON_SECONDS);
+        }
+        for (SecondBuckets[] byStatus : entered) {
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new SecondBuckets(HORIZON_SECONDS);
+            }
+        }
+    }
+
+    /**
+     * Record one appended status.
+     *
+     * @param before         the saga's overall status before the append, null for a saga not seen before
+     * @param after          the saga's overall status after the append
+     * @param becameTerminal whether the append made the saga terminal
+     */
+    public void record(SagaOverallStatus before, SagaOverallStatus after, boolean becameTerminal,
+                       ServiceName service, TransactionStatus status, Instant at) {
+        long second = at.getEpochSecond();
+        if (before == null) {
+            current.incrementAndGet(after.ordinal());
+            started.add(second);
+        } else if (before != after) {
+            current.decrementAndGet(before.ordinal());
+            current.incrementAndGet(after.ordinal());
+        }
+        if (becameTerminal) {
+            recordEnded(after, at);
+        }
+        recordEntered(service, status, at);
+    }
+
+    /**
+     * Replace the current per-status counts, e.g. with counts read from the projection on startup.
+     */
+    public void restoreCurrent(Map<SagaOverallStatus, Long> counts) {
+        for (SagaOverallStatus status : STATUSES) {
+            current.set(status.ordinal(), counts.getOrDefault(status, 0L));
+        }
+    }
+
+    public void recordStarted(Instant at) {
+        started.add(at.getEpochSecond());
+    }
+
+    public void recordEnded(SagaOverallStatus outcome, Instant at) {
+        ended[outcome.ordinal()].add(at.getEpochSecond());
+    }
+
+    public void recordEntered(ServiceName service, TransactionStatus status, Instant at) {
+        entered[service.ordinal()][status.ordinal()].add(at.getEpochSecond());
+    }
+
+    /**
+     * Forget everything, before counting again from scratch.
+     */
+    public void clear() {
+        for (int i = 0; i < current.length(); i++) {
+            current.set(i, 0);
+        }
+        started.clear();
+        for (SecondBuckets buckets : ended) {
+            buckets.clear();
+        }
+        for (SecondBuckets[] byStatus : entered) {
+            for (SecondBuckets buckets : byStatus) {
+                buckets.clear();
+            }
+        }
+    }
+
+    /**
+     * Current counts and every rolling window as of {@code now}.
+     */
+    public Snapshot snapshot(Instant now) {
+        long second = now.getEpochSecond();
+        int[] lengths = WINDOWS.stream().mapToInt(window -> (int) window.toSeconds()).toArray();
+
+        Map<SagaOverallStatus, Long> currentCounts = new EnumMap<>(SagaOverallStatus.class);
+        for (SagaOverallStatus status : STATUSES) {
+            currentCounts.put(status, current.get(status.ordinal()));
+        }
+
+        long[] startedCounts = started.sums(second, lengths);
+        long[][] endedCounts = new long[STATUSES.length][];
+        for (SagaOverallStatus status : STATUSES) {
+            endedCounts[status.ordinal()] = ended[status.ordinal()].sums(second, lengths);
+        }
+        long[][][] enteredCounts = new long[SERVICES.length][SERVICE_STATUSES.length][];
+        for (ServiceName service : SERVICES) {
+            for (TransactionStatus status : SERVICE_STATUSES) {
+                enteredCounts[service.ordinal()][status.ordinal()] =
+                        entered[service.ordinal()][status.ordinal()].sums(second, lengths);
+            }
+        }
+
+        List<Window> windows = new ArrayList<>(WINDOWS.size());
+        for (int w = 0; w < lengths.length; w++) {
+            Map<SagaOverallStatus, Long> endedInWindow = new EnumMap<>(SagaOverallStatus.class);
+            for (SagaOverallStatus status : STATUSES) {
+                long count = endedCounts[status.ordinal()][w];
+                if (count > 0) {
+                    endedInWindow.put(status, count);
+                }
+            }
+            Map<ServiceName, Map<TransactionStatus, Long>> services = new EnumMap<>(ServiceName.class);
+            for (ServiceName service : SERVICES) {
+                Map<TransactionStatus, Long> byStatus = new EnumMap<>(TransactionStatus.class);
+                for (TransactionStatus status : SERVICE_STATUSES) {
+                    long count = enteredCounts[service.ordinal()][status.ordinal()][w];
+                    if (count > 0) {
+                        byStatus.put(status, count);
+                    }
+                }
+                if (!byStatus.isEmpty()) {
+                    services.put(service, Collections.unmodifiableMap(byStatus));
+                }
+            }
+            windows.add(new Window(WINDOWS.get(w), startedCounts[w], Collections.unmodifiableMap(endedInWindow),
+                    Collections.unmodifiableMap(services)));
+        }
+        return new Snapshot(now, Collections.unmodifiableMap(currentCounts), List.copyOf(windows));
+    }
+
+    /**
+     * Statistics as of one instant.
+     *
+     * @param current sagas in each overall status right now
+     */
+    public record Snapshot(Instant at, Map<SagaOverallStatus, Long> current, List<Window> windows) {
+    }
+
+    /**
+     * Rolling counts over the {@code length} up to the snapshot.
+     *
+     * @param ended    sagas that became terminal, by the overall status they ended in
+     * @param services statuses entered per service
+     */
+    public record Window(Duration length, long started, Map<SagaOverallStatus, Long> ended,
+                         Map<ServiceName, Map<TransactionStatus, Long>> services) {
+
+        /**
+         * Share of ended sagas that completed, null when none ended.
+         */
+        public Double successRate() {
+            long total = ended.values().stream().mapToLong(Long::longValue).sum();
+            return total == 0 ? null : (double) ended.getOrDefault(SagaOverallStatus.COMPLETED, 0L) / total;
+        }
+    }
+
+    /**
+     * Ring of per-second counts covering a fixed horizon. A bucket is reused once its second has
+     * fallen out of the horizon; counts older than whatever a bucket holds now are dropped.
+     */
+    private static final class SecondBuckets {
+
+        private final long[] seconds;
+        private final long[] counts;
+
+        private SecondBuckets(int horizonSeconds) {
+            this.seconds = new long[horizonSeconds];
+            this.counts = new long[horizonSeconds];
+        }
+
+        synchronized void add(long second) {
+            int slot = (int) Math.floorMod(second, (long) seconds.length);
+            if (seconds[slot] == second) {
+                counts[slot]++;
+            } else if (seconds[slot] < second) {
+                seconds[slot] = second;
+                counts[slot] = 1;
+            }
+        }
+
+        /**
+         * Sum over each of the trailing windows ending at {@code now}, in one pass over the ring.
+         */
+        synchronized long[] sums(long now, int[] windowSeconds) {
+            long[] sums = new long[windowSeconds.length];
+            for (int slot = 0; slot < seconds.length; slot++) {
+                long age = now - seconds[slot];
+                if (counts[slot] == 0 || age < 0) {
+                    continue;
+                }
+                for (int w = 0; w < windowSeconds.length; w++) {
+                    if (age < windowSeconds[w]) {
+                        sums[w] += counts[slot];
+                    }
+                }
+            }
+            return sums;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(seconds, 0);
+            Arrays.fill(counts, 0);
+        }
+    }
+}
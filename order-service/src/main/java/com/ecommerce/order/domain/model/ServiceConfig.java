@@ -7,6 +7,8 @@ import java.util.Objects;
 /**
  * Service configuration value object.
  * Defines execution order, endpoints, and timeout for a downstream service.
+ * {@code parallelCompensation} marks a compensation that does not depend on the services
+ * executed after it, so it may run concurrently with its neighbours that are marked too.
  */
 public record ServiceConfig(
         int order,
@@ -14,7 +16,8 @@ public record ServiceConfig(
         String notifyUrl,
         String rollbackUrl,
         int timeoutSeconds,
-        boolean active
+        boolean active,
+        boolean parallelCompensation
 ) {
     private static final int DEFAULT_TIMEOUT = 120;
 
@@ -31,6 +34,11 @@ public record ServiceConfig(
         }
     }
 
+    public ServiceConfig(int order, ServiceName name, String notifyUrl, String rollbackUrl,
+                         int timeoutSeconds, boolean active) {
+        this(order, name, notifyUrl, rollbackUrl, timeoutSeconds, active, false);
+    }
+
     /**
      * Create a default configuration for the given service.
      */
@@ -49,13 +57,22 @@ public record ServiceConfig(
      * Create a configuration with timeout and active status (for admin config).
      */
     public static ServiceConfig of(ServiceName serviceName, int order, int timeoutSeconds, boolean active) {
+        return of(serviceName, order, timeoutSeconds, active, false);
+    }
+
+    /**
+     * Create a configuration that also declares whether its compensation may run in parallel.
+     */
+    public static ServiceConfig of(ServiceName serviceName, int order, int timeoutSeconds, boolean active,
+                                   boolean parallelCompensation) {
         return new ServiceConfig(
                 order,
                 serviceName,
                 serviceName.getDefaultNotifyUrl(),
                 serviceName.getDefaultRollbackUrl(),
                 timeoutSeconds,
-                active
+                active,
+                parallelCompensation
         );
     }
 }
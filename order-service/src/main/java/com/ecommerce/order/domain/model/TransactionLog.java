@@ -24,9 +24,16 @@ public class TransactionLog {
     private final int retryCount;
     private final LocalDateTime createdAt;
     private LocalDateTime notifiedAt;
+    private LocalDateTime deadlineAt;
 
     private TransactionLog(UUID txId, UUID orderId, ServiceName serviceName,
                            TransactionStatus status, String errorMessage, int retryCount) {
+        this(txId, orderId, serviceName, status, errorMessage, retryCount, LocalDateTime.now());
+    }
+
+    private TransactionLog(UUID txId, UUID orderId, ServiceName serviceName,
+                           TransactionStatus status, String errorMessage, int retryCount,
+                           LocalDateTime createdAt) {
         validateTxId(txId);
         validateOrderId(orderId);
         Objects.requireNonNull(serviceName, "Service name is required");
@@ -38,7 +45,7 @@ public class TransactionLog {
         this.status = status;
         this.errorMessage = errorMessage;
         this.retryCount = retryCount;
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = createdAt;
     }
 
     // Factory methods
@@ -51,6 +58,16 @@ public class TransactionLog {
         return new TransactionLog(UUID.fromString(txId), UUID.fromString(orderId), serviceName, status, null, 0);
     }
 
+    /**
+     * Step-started entry that carries the time by which the step must have finished.
+     */
+    public static TransactionLog createPending(UUID txId, UUID orderId, ServiceName serviceName,
+                                               LocalDateTime deadlineAt) {
+        TransactionLog log = new TransactionLog(txId, orderId, serviceName, TransactionStatus.U, null, 0);
+        log.deadlineAt = deadlineAt;
+        return log;
+    }
+
     public static TransactionLog createWithError(UUID txId, UUID orderId, ServiceName serviceName,
                                                   TransactionStatus status, String errorMessage) {
         return new TransactionLog(txId, orderId, serviceName, status, errorMessage, 0);
@@ -61,6 +78,30 @@ public class TransactionLog {
         return new TransactionLog(txId, orderId, serviceName, status, errorMessage, retryCount);
     }
 
+    /**
+     * Rehydrate a persisted entry, keeping its original creation time.
+     */
+    public static TransactionLog restore(Long id, UUID txId, UUID orderId, ServiceName serviceName,
+                                         TransactionStatus status, String errorMessage, int retryCount,
+                                         LocalDateTime createdAt, LocalDateTime notifiedAt) {
+        return restore(id, txId, orderId, serviceName, status, errorMessage, retryCount, createdAt, notifiedAt, null);
+    }
+
+    /**
+     * Rehydrate a persisted entry including its step deadline, if it has one.
+     */
+    public static TransactionLog restore(Long id, UUID txId, UUID orderId, ServiceName serviceName,
+                                         TransactionStatus status, String errorMessage, int retryCount,
+                                         LocalDateTime createdAt, LocalDateTime notifiedAt,
+                                         LocalDateTime deadlineAt) {
+        TransactionLog log = new TransactionLog(txId, orderId, serviceName, status, errorMessage, retryCount,
+                createdAt != null ? createdAt : LocalDateTime.now());
+        log.id = id;
+        log.notifiedAt = notifiedAt;
+        log.deadlineAt = deadlineAt;
+        return log;
+    }
+
     // Validation methods
 
     private void validateTxId(UUID txId) {
@@ -135,6 +176,10 @@ public class TransactionLog {
         this.notifiedAt = notifiedAt;
     }
 
+    public LocalDateTime getDeadlineAt() {
+        return deadlineAt;
+    }
+
     @Override
     public String toString() {
         return String.format("TransactionLog[txId=%s, service=%s, status=%s]",
@@ -0,0 +1,37 @@
+package com.ecommerce.order.infrastructure.archive;
+
+import com.ecommerce.order.application.port.in.SagaMaintenanceUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically seals cold transaction_log partitions so the hot table stays bounded.
+ */
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "saga.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class PartitionArchiveScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionArchiveScheduler.class);
+
+    private final SagaMaintenanceUseCase sagaMaintenanceUseCase;
+
+    public PartitionArchiveScheduler(SagaMaintenanceUseCase sagaMaintenanceUseCase) {
+        this.sagaMaintenanceUseCase = sagaMaintenanceUseCase;
+    }
+
+    @Scheduled(fixedDelayString = "${saga.archive.interval-ms:3600000}",
+               initialDelayString = "${saga.archive.initial-delay-ms:60000}")
+    public void archiveColdPartitions() {
+        try {
+            sagaMaintenanceUseCase.archiveColdPartitions();
+        } catch (RuntimeException e) {
+            // Rows stay in the hot table and the next run retries
+            log.error("Partition archiving failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.order.infrastructure.archive;
+
+import com.ecommerce.order.application.port.in.SagaMaintenanceUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically compacts terminal transactions so finished sagas leave the hot table without
+ * waiting for their whole day to be sealed.
+ */
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "saga.compaction.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionCompactionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionCompactionScheduler.class);
+
+    private final SagaMaintenanceUseCase sagaMaintenanceUseCase;
+
+    public TransactionCompactionScheduler(SagaMaintenanceUseCase sagaMaintenanceUseCase) {
+        this.sagaMaintenanceUseCase = sagaMaintenanceUseCase;
+    }
+
+    @Scheduled(fixedDelayString = "${saga.compaction.interval-ms:300000}",
+               initialDelayString = "${saga.compaction.initial-delay-ms:120000}")
+    public void compactTerminalTransactions() {
+        try {
+            sagaMaintenanceUseCase.compactTerminalTransactions();
+        } catch (RuntimeException e) {
+            // Rows stay in the hot table and the next run retries
+            log.error("Transaction compaction failed: {}", e.getMessage(), e);
+        }
+    }
+}
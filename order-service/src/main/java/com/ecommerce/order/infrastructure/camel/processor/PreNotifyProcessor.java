@@ -5,10 +5,12 @@ import com.ecommerce.common.domain.TransactionStatus;
 import com.ecommerce.common.dto.NotifyRequest;
 import com.ecommerce.order.application.port.out.TransactionLogPort;
 import com.ecommerce.order.application.port.out.WebSocketPort;
+import com.ecommerce.order.domain.model.SagaLogMode;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
@@ -17,6 +19,9 @@ import java.util.UUID;
 /**
  * Processor that runs before calling a downstream service.
  * Records the "processing" status and sends WebSocket notification.
+ * <p>
+ * In {@link SagaLogMode#LEAN} nothing is recorded: the U entry written at order confirmation
+ * already marks the step as started and carries its deadline.
  */
 @Component
 public class PreNotifyProcessor implements Processor {
@@ -25,10 +30,14 @@ public class PreNotifyProcessor implements Processor {
 
     private final TransactionLogPort transactionLogPort;
     private final WebSocketPort webSocketPort;
+    private final SagaLogMode logMode;
 
-    public PreNotifyProcessor(TransactionLogPort transactionLogPort, WebSocketPort webSocketPort) {
+    public PreNotifyProcessor(TransactionLogPort transactionLogPort,
+                              WebSocketPort webSocketPort,
+                              @Value("${saga.log.mode:FULL}") SagaLogMode logMode) {
         this.transactionLogPort = transactionLogPort;
         this.webSocketPort = webSocketPort;
+        this.logMode = logMode;
     }
 
     @Override
@@ -43,7 +52,9 @@ public class PreNotifyProcessor implements Processor {
         log.info("Pre-notify: Preparing to call service {} for txId={}", currentService, txId);
 
         // Record that we're about to call this service
-        transactionLogPort.recordStatus(txId, orderId, currentService, TransactionStatus.U);
+        if (logMode == SagaLogMode.FULL) {
+            transactionLogPort.recordStatus(txId, orderId, currentService, TransactionStatus.U);
+        }
 
         // Send WebSocket notification that we're processing this service
         webSocketPort.sendProcessing(txId, orderId, currentService);
@@ -9,14 +9,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Manages checker threads for all active transactions.
- * Maintains a map of transaction IDs to their corresponding checker threads.
+ * Maintains a primitive-keyed registry of transaction IDs to their corresponding checker threads.
  */
 @Component
 public class CheckerThreadManager implements CheckerPort {
@@ -24,7 +26,7 @@ public class CheckerThreadManager implements CheckerPort {
     private static final Logger log = LoggerFactory.getLogger(CheckerThreadManager.class);
     private static final long DEFAULT_CHECK_INTERVAL_MS = 1000L; // 1 second default
 
-    private final ConcurrentHashMap<UUID, ThreadEntry> activeThreads = new ConcurrentHashMap<>();
+    private final InFlightSagaRegistry<ThreadEntry> activeThreads = new InFlightSagaRegistry<>();
     private final TransactionLogPort transactionLogPort;
     private final RollbackExecutorPort rollbackExecutorPort;
     private long checkIntervalMs = DEFAULT_CHECK_INTERVAL_MS;
@@ -40,7 +42,7 @@ public class CheckerThreadManager implements CheckerPort {
      */
     @Override
     public void startCheckerThread(UUID txId, UUID orderId, Map<ServiceName, Integer> timeouts) {
-        activeThreads.computeIfAbsent(txId, id -> {
+        activeThreads.computeIfAbsent(txId, () -> {
             log.info("Starting checker thread for txId={}", txId);
 
             TransactionCheckerThread checker = new TransactionCheckerThread(
@@ -90,7 +92,7 @@ public class CheckerThreadManager implements CheckerPort {
      */
     @Override
     public boolean hasActiveThread(UUID txId) {
-        return activeThreads.containsKey(txId);
+        return activeThreads.contains(txId);
     }
 
     /**
@@ -106,7 +108,17 @@ public class CheckerThreadManager implements CheckerPort {
      */
     @Override
     public Set<UUID> getActiveTransactionIds() {
-        return Set.copyOf(activeThreads.keySet());
+        Set<UUID> ids = new HashSet<>();
+        forEachActiveTransaction(ids::add);
+        return Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * Visits the IDs of transactions with active checker threads without copying the registry.
+     */
+    @Override
+    public void forEachActiveTransaction(Consumer<UUID> action) {
+        activeThreads.forEach((msb, lsb, entry) -> action.accept(new UUID(msb, lsb)));
     }
 
     /**
@@ -124,11 +136,11 @@ public class CheckerThreadManager implements CheckerPort {
     public void shutdownAll() {
         log.info("Shutting down all checker threads, count={}", activeThreads.size());
 
-        for (Map.Entry<UUID, ThreadEntry> entry : activeThreads.entrySet()) {
-            log.debug("Stopping checker thread for txId={}", entry.getKey());
-            entry.getValue().checker.stop();
-            entry.getValue().thread.interrupt();
-        }
+        activeThreads.forEach((msb, lsb, entry) -> {
+            log.debug("Stopping checker thread for txId={}", new UUID(msb, lsb));
+            entry.checker.stop();
+            entry.thread.interrupt();
+        });
 
         activeThreads.clear();
         log.info("All checker threads shut down");
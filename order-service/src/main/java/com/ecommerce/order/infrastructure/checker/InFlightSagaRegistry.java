@@ -0,0 +1,363 @@
+package com.ecommerce.order.infrastructure.checker;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Low-GC registry of in-flight sagas keyed by the two longs of the transaction UUID.
+ * <p>
+ * Entries live in primitive parallel arrays (open addressing, linear probing with
+ * backward-shift deletion, so no tombstones). The table is striped into independently
+ * locked segments; lookups use optimistic reads. A slot is occupied when its value
+ * reference is non-null, so entries need no per-entry objects and no status array.
+ * <p>
+ * Footprint per slot is 20 bytes (2 key longs, compressed reference); presized for 1M
+ * entries the table takes about 41 bytes per entry.
+ */
+public final class InFlightSagaRegistry<V> {
+
+    private static final int DEFAULT_SEGMENTS = 64;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final float MAX_LOAD = 0.75f;
+
+    private final Segment<V>[] segments;
+    private final int segmentMask;
+
+    public InFlightSagaRegistry() {
+        this(DEFAULT_SEGMENTS, 0);
+    }
+
+    /**
+     * @param segmentCount     number of lock stripes (rounded up to a power of two)
+     * @param expectedEntries  expected number of concurrent entries, used to presize segments
+     */
+    @SuppressWarnings("unchecked")
+    public InFlightSagaRegistry(int segmentCount, int expectedEntries) {
+        int count = ceilPowerOfTwo(segmentCount);
+        this.segments = new Segment[count];
+        this.segmentMask = count - 1;
+        int perSegment = (int) Math.ceil(expectedEntries / (double) count / MAX_LOAD);
+        int capacity = Math.max(MIN_SEGMENT_CAPACITY, ceilPowerOfTwo(perSegment));
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(capacity);
+        }
+    }
+
+    // UUID convenience overloads
+
+    public V computeIfAbsent(UUID txId, Supplier<V> factory) {
+        return computeIfAbsent(txId.getMostSignificantBits(), txId.getLeastSignificantBits(), factory);
+    }
+
+    public V get(UUID txId) {
+        return get(txId.getMostSignificantBits(), txId.getLeastSignificantBits());
+    }
+
+    public boolean contains(UUID txId) {
+        return contains(txId.getMostSignificantBits(), txId.getLeastSignificantBits());
+    }
+
+    public V remove(UUID txId) {
+        return remove(txId.getMostSignificantBits(), txId.getLeastSignificantBits());
+    }
+
+    // Primitive API
+
+    /**
+     * Returns the existing value, or inserts the value created by {@code factory}.
+     * The factory runs under the segment write lock and at most once per absent key;
+     * a null result inserts nothing.
+     */
+    public V computeIfAbsent(long msb, long lsb, Supplier<V> factory) {
+        long hash = hash(msb, lsb);
+        return segmentFor(hash).computeIfAbsent(msb, lsb, (int) hash, factory);
+    }
+
+    public V get(long msb, long lsb) {
+        long hash = hash(msb, lsb);
+        return segmentFor(hash).get(msb, lsb, (int) hash);
+    }
+
+    public boolean contains(long msb, long lsb) {
+        long hash = hash(msb, lsb);
+        return segmentFor(hash).indexOf(msb, lsb, (int) hash) >= 0;
+    }
+
+    public V remove(long msb, long lsb) {
+        long hash = hash(msb, lsb);
+        return segmentFor(hash).remove(msb, lsb, (int) hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Visits every entry without copying the table. Each segment is visited under its
+     * read lock, so the visitor must not modify this registry.
+     */
+    public void forEach(EntryVisitor<? super V> visitor) {
+        for (Segment<V> segment : segments) {
+            segment.forEach(visitor);
+        }
+    }
+
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Callback for allocation-free iteration.
+     */
+    @FunctionalInterface
+    public interface EntryVisitor<V> {
+        void visit(long msb, long lsb, V value);
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        // High half selects the stripe, low half the slot within it
+        return segments[(int) (hash >>> 32) & segmentMask];
+    }
+
+    private static int ceilPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static long hash(long msb, long lsb) {
+        // MurmurHash3 fmix64 over the folded key
+        long h = msb ^ Long.rotateLeft(lsb, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Segment<V> {
+
+        private final StampedLock lock = new StampedLock();
+
+        private long[] msbs;
+        private long[] lsbs;
+        private Object[] values;
+        private int size;
+
+        Segment(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            msbs = new long[capacity];
+            lsbs = new long[capacity];
+            values = new Object[capacity];
+        }
+
+        int size() {
+            long stamp = lock.tryOptimisticRead();
+            int result = size;
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    result = size;
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Must be called while holding a lock or within a validated optimistic read.
+         */
+        private int probe(long[] keysHi, long[] keysLo, Object[] slots, long msb, long lsb, int hash) {
+            int mask = slots.length - 1;
+            int i = hash & mask;
+            for (int n = 0; n <= mask; n++) {
+                if (slots[i] == null) {
+                    return -1;
+                }
+                if (keysHi[i] == msb && keysLo[i] == lsb) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        int indexOf(long msb, long lsb, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            long[] keysHi = msbs;
+            long[] keysLo = lsbs;
+            Object[] slots = values;
+            if (consistent(keysHi, keysLo, slots)) {
+                int index = probe(keysHi, keysLo, slots, msb, lsb, hash);
+                if (lock.validate(stamp)) {
+                    return index;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return probe(msbs, lsbs, values, msb, lsb, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(long msb, long lsb, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            long[] keysHi = msbs;
+            long[] keysLo = lsbs;
+            Object[] slots = values;
+            if (consistent(keysHi, keysLo, slots)) {
+                int index = probe(keysHi, keysLo, slots, msb, lsb, hash);
+                Object value = index >= 0 ? slots[index] : null;
+                if (lock.validate(stamp)) {
+                    return (V) value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                int index = probe(msbs, lsbs, values, msb, lsb, hash);
+                return index >= 0 ? (V) values[index] : null;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * An optimistic reader may observe arrays from both sides of a resize.
+         */
+        private static boolean consistent(long[] keysHi, long[] keysLo, Object[] slots) {
+            return keysHi.length == slots.length && keysLo.length == slots.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        V computeIfAbsent(long msb, long lsb, int hash, Supplier<V> factory) {
+            long stamp = lock.writeLock();
+            try {
+                int index = probe(msbs, lsbs, values, msb, lsb, hash);
+                if (index >= 0) {
+                    return (V) values[index];
+                }
+                V value = factory.get();
+                if (value == null) {
+                    return null;
+                }
+                if (size + 1 > values.length * MAX_LOAD) {
+                    resize(values.length << 1);
+                }
+                insert(msb, lsb, hash, value);
+                size++;
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void insert(long msb, long lsb, int hash, Object value) {
+            int mask = values.length - 1;
+            int i = hash & mask;
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            msbs[i] = msb;
+            lsbs[i] = lsb;
+            values[i] = value;
+        }
+
+        private void resize(int newCapacity) {
+            long[] oldMsbs = msbs;
+            long[] oldLsbs = lsbs;
+            Object[] oldValues = values;
+            allocate(newCapacity);
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    insert(oldMsbs[i], oldLsbs[i], (int) hash(oldMsbs[i], oldLsbs[i]), oldValues[i]);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V remove(long msb, long lsb, int hash) {
+            long stamp = lock.writeLock();
+            try {
+                int index = probe(msbs, lsbs, values, msb, lsb, hash);
+                if (index < 0) {
+                    return null;
+                }
+                V removed = (V) values[index];
+                shiftBack(index);
+                size--;
+                return removed;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Backward-shift deletion keeps probe chains intact without tombstones.
+         */
+        private void shiftBack(int hole) {
+            int mask = values.length - 1;
+            int i = hole;
+            while (true) {
+                i = (i + 1) & mask;
+                if (values[i] == null) {
+                    break;
+                }
+                int home = (int) hash(msbs[i], lsbs[i]) & mask;
+                // Move entry i into the hole if its home slot is not in (hole, i]
+                boolean movable = hole <= i
+                        ? (home <= hole || home > i)
+                        : (home <= hole && home > i);
+                if (movable) {
+                    msbs[hole] = msbs[i];
+                    lsbs[hole] = lsbs[i];
+                    values[hole] = values[i];
+                    hole = i;
+                }
+            }
+            values[hole] = null;
+            msbs[hole] = 0L;
+            lsbs[hole] = 0L;
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(EntryVisitor<? super V> visitor) {
+            long stamp = lock.readLock();
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] != null) {
+                        visitor.visit(msbs[i], lsbs[i], (V) values[i]);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                Arrays.fill(values, null);
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+}
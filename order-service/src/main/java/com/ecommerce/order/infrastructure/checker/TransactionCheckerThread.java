@@ -169,6 +169,11 @@ public class TransactionCheckerThread implements Runnable {
     }
 
     private boolean isTimedOut(TransactionLog logEntry) {
+        if (logEntry.getDeadlineAt() != null) {
+            // Step-started entries of the lean log mode carry their own deadline
+            return LocalDateTime.now().isAfter(logEntry.getDeadlineAt());
+        }
+
         ServiceName service = logEntry.getServiceName();
         Integer timeoutSeconds = timeouts.get(service);
 
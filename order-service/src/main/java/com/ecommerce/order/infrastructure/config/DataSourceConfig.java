@@ -1,16 +1,72 @@
 package com.ecommerce.order.infrastructure.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.sql.DataSource;
+
 /**
  * Data source and JPA configuration.
+ * <p>
+ * The saga write path and the query endpoints use separate connection pools, so dashboard
+ * polling cannot starve the write path of connections. {@code @Transactional(readOnly = true)}
+ * use cases go to the read pool; everything else, including non-transactional JDBC access,
+ * goes to the write pool. Both pools connect to {@code spring.datasource.url} unless
+ * {@code saga.datasource.read.jdbc-url} points the read pool at a replica.
+ * <p>
+ * Each pool publishes the {@code hikaricp.connections.*} metrics tagged with its pool name.
  */
 @Configuration
 @EnableJpaRepositories(basePackages = "com.ecommerce.order.adapter.out.persistence")
 @EnableTransactionManagement
 public class DataSourceConfig {
-    // H2 datasource is auto-configured by Spring Boot
-    // Additional configuration can be added here if needed
+
+    static final String WRITE_POOL = "saga-write";
+    static final String READ_POOL = "saga-read";
+
+    @Bean
+    @ConfigurationProperties("saga.datasource.write")
+    public HikariDataSource writeDataSource(DataSourceProperties properties,
+                                            ObjectProvider<MeterRegistry> meterRegistry) {
+        return pool(properties, WRITE_POOL, meterRegistry);
+    }
+
+    @Bean
+    @ConfigurationProperties("saga.datasource.read")
+    public HikariDataSource readDataSource(DataSourceProperties properties,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = pool(properties, READ_POOL, meterRegistry);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(writeDataSource, readDataSource));
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String poolName,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(poolName);
+        // Set before the pool starts; Hikari rejects a tracker once it is running
+        meterRegistry.ifAvailable(registry ->
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
 }
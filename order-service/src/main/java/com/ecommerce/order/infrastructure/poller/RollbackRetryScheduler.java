@@ -0,0 +1,140 @@
+package com.ecommerce.order.infrastructure.poller;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.order.application.port.out.RollbackAttemptPort;
+import com.ecommerce.order.application.port.out.RollbackAttemptPort.RollbackAttempt;
+import com.ecommerce.order.application.port.out.RollbackExecutorPort;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks up due compensation attempts from the rollback_attempt table and makes them on a small
+ * pool. Backoff lives in {@code next_attempt_at}, not in a sleeping thread, so any number of
+ * compensations can wait out their backoff at once; attempts survive a restart and an attempt
+ * interrupted by a crash is claimed again once its lease expires.
+ * <p>
+ * Attempts claimed together are coalesced per service into batches of up to
+ * {@code saga.rollback.batch-size}, each made with one call to the service's batch rollback
+ * endpoint, so recovery after an outage takes a few large calls instead of one per transaction.
+ * At most one batch per free worker is started per poll; claimed attempts that do not fit are
+ * released at once rather than queued, so no lease runs out before its attempt is made.
+ * <p>
+ * Polling runs on the application's scheduler once the context has started; the calls are made
+ * on a pool of {@code saga.rollback.scheduler-threads} workers, so a slow service does not hold
+ * up the next poll. {@code saga.rollback.scheduler.enabled=false} leaves due attempts for
+ * another node.
+ */
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "saga.rollback.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class RollbackRetryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RollbackRetryScheduler.class);
+
+    private final RollbackAttemptPort rollbackAttemptPort;
+    private final RollbackExecutorPort rollbackExecutorPort;
+    private final int threads;
+    private final int batchSize;
+    private final Duration lease;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ExecutorService workers;
+
+    public RollbackRetryScheduler(RollbackAttemptPort rollbackAttemptPort,
+                                  RollbackExecutorPort rollbackExecutorPort,
+                                  @Value("${saga.rollback.scheduler-threads:4}") int threads,
+                                  @Value("${saga.rollback.batch-size:50}") int batchSize,
+                                  @Value("${saga.rollback.attempt-lease:PT1M}") Duration lease) {
+        this.rollbackAttemptPort = rollbackAttemptPort;
+        this.rollbackExecutorPort = rollbackExecutorPort;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "rollback-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        workers.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${saga.rollback.poll-interval-ms:200}",
+               initialDelayString = "${saga.rollback.poll-interval-ms:200}")
+    public void poll() {
+        try {
+            // Claim about a batch per free thread, so leases do not run out in the queue
+            int capacity = threads - inFlight.get();
+            if (capacity <= 0) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<RollbackAttempt> due = rollbackAttemptPort.claimDue(now, now.plus(lease), capacity * batchSize);
+            List<List<RollbackAttempt>> batches = batches(due);
+            for (List<RollbackAttempt> batch : batches.subList(0, Math.min(capacity, batches.size()))) {
+                inFlight.incrementAndGet();
+                workers.execute(() -> makeAttempts(batch));
+            }
+            // Split across services, the claim can make more batches than there are free workers
+            if (batches.size() > capacity) {
+                rollbackAttemptPort.release(batches.subList(capacity, batches.size()).stream()
+                        .flatMap(List::stream)
+                        .toList(), now);
+            }
+        } catch (RuntimeException e) {
+            // Due rows stay due and the next poll retries
+            log.error("Polling rollback attempts failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Group claimed attempts by service into batches of at most the batch size, the batch
+     * holding the oldest attempt first.
+     */
+    List<List<RollbackAttempt>> batches(List<RollbackAttempt> due) {
+        Map<ServiceName, List<RollbackAttempt>> byService = new EnumMap<>(ServiceName.class);
+        for (RollbackAttempt attempt : due) {
+            byService.computeIfAbsent(attempt.serviceName(), serviceName -> new ArrayList<>()).add(attempt);
+        }
+        List<List<RollbackAttempt>> batches = new ArrayList<>();
+        for (List<RollbackAttempt> attempts : byService.values()) {
+            for (int from = 0; from < attempts.size(); from += batchSize) {
+                batches.add(attempts.subList(from, Math.min(from + batchSize, attempts.size())));
+            }
+        }
+        // Claims come oldest first, so the released overflow is always the newest work
+        batches.sort(Comparator.comparingInt(batch -> due.indexOf(batch.get(0))));
+        return batches;
+    }
+
+    private void makeAttempts(List<RollbackAttempt> batch) {
+        try {
+            rollbackExecutorPort.attemptRollbacks(batch);
+        } catch (RuntimeException e) {
+            // Left claimed; the attempts are made again when their leases expire
+            log.error("Rollback attempts for service {} ({} attempts, first txId={}) failed: {}",
+                    batch.get(0).serviceName(), batch.size(), batch.get(0).txId(), e.getMessage(), e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Component;
  * Scans for unfinished transactions and resumes monitoring.
  */
 @Component
+@ConditionalOnProperty(name = "saga.recovery.enabled", havingValue = "true", matchIfMissing = true)
 @Order(1) // Run early in startup sequence
 public class SagaRecoveryRunner implements ApplicationRunner {
 
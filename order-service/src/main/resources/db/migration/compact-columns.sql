@@ -0,0 +1,59 @@
+-- Migration: compact key and code columns (H2)
+--
+-- Converts a database created with the VARCHAR schema to the current one:
+--   tx_id / order_id        VARCHAR(36) -> UUID
+--   status / service_name   VARCHAR     -> TINYINT code (must match PersistenceCodes)
+--   transaction_log.id      IDENTITY    -> transaction_log_seq (pooled-lo, increment 50)
+--
+-- schema.sql only creates missing objects, so run this once against an existing file
+-- database with the application stopped, then rebuild the projection:
+--   POST /api/v1/admin/maintenance/projection/rebuild
+
+-- transaction_log --------------------------------------------------------------
+
+DROP INDEX IF EXISTS idx_tx_service_status;
+DROP INDEX IF EXISTS idx_status_created;
+DROP INDEX IF EXISTS idx_order_id;
+ALTER TABLE transaction_log DROP CONSTRAINT IF EXISTS chk_status;
+
+ALTER TABLE transaction_log ALTER COLUMN tx_id SET DATA TYPE UUID;
+ALTER TABLE transaction_log ALTER COLUMN order_id SET DATA TYPE UUID;
+
+ALTER TABLE transaction_log ADD COLUMN status_code TINYINT;
+UPDATE transaction_log SET status_code = CASE status
+    WHEN 'U' THEN 1 WHEN 'S' THEN 2 WHEN 'F' THEN 3
+    WHEN 'R' THEN 4 WHEN 'D' THEN 5 WHEN 'RF' THEN 6 END;
+ALTER TABLE transaction_log DROP COLUMN status;
+ALTER TABLE transaction_log ALTER COLUMN status_code RENAME TO status;
+ALTER TABLE transaction_log ALTER COLUMN status SET NOT NULL;
+
+ALTER TABLE transaction_log ADD COLUMN service_code TINYINT;
+UPDATE transaction_log SET service_code = CASE service_name
+    WHEN 'CREDIT_CARD' THEN 1 WHEN 'INVENTORY' THEN 2
+    WHEN 'LOGISTICS' THEN 3 WHEN 'SAGA' THEN 4 END;
+ALTER TABLE transaction_log DROP COLUMN service_name;
+ALTER TABLE transaction_log ALTER COLUMN service_code RENAME TO service_name;
+ALTER TABLE transaction_log ALTER COLUMN service_name SET NOT NULL;
+
+ALTER TABLE transaction_log ADD CONSTRAINT chk_status CHECK (status BETWEEN 1 AND 6);
+
+CREATE INDEX idx_tx_service_status ON transaction_log (tx_id, service_name, status);
+CREATE INDEX idx_status_created ON transaction_log (status, created_at);
+CREATE INDEX idx_order_id ON transaction_log (order_id);
+
+-- Switch id generation to the sequence; restart it above the current maximum id
+ALTER TABLE transaction_log ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS transaction_log_seq START WITH 1 INCREMENT BY 50;
+SET @next_log_id = (SELECT COALESCE(MAX(id), 0) + 1 FROM transaction_log);
+ALTER SEQUENCE transaction_log_seq RESTART WITH @next_log_id;
+
+-- outbox_event -----------------------------------------------------------------
+
+ALTER TABLE outbox_event ALTER COLUMN tx_id SET DATA TYPE UUID;
+ALTER TABLE outbox_event ALTER COLUMN order_id SET DATA TYPE UUID;
+
+-- projections ------------------------------------------------------------------
+-- Dropped here and recreated by schema.sql on the next start; repopulate with the rebuild endpoint
+
+DROP TABLE IF EXISTS saga_state;
+DROP TABLE IF EXISTS saga_summary;
@@ -16,9 +16,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -145,24 +147,24 @@ class RollbackAcceptanceTest {
             int maxRetries = 3;
 
             // Mock: Rollback always fails
-            when(serviceClientPort.rollback(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class)))
+            when(serviceClientPort.rollbackOnce(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class)))
                     .thenReturn(RollbackResponse.failure(txId, "Service temporarily unavailable"));
 
             // When: Rollback with retries is triggered
             rollbackService.executeRollbackWithRetry(txId, orderId, successfulServices, maxRetries);
 
-            // Then: Rollback is attempted max retries times
-            verify(serviceClientPort, times(maxRetries))
-                    .rollback(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class));
-
-            // And: Admin notification is sent
-            verify(notificationPort).sendRollbackFailureAlert(
+            // Then: Admin notification is sent once the scheduled attempts are exhausted
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> verify(notificationPort).sendRollbackFailureAlert(
                     eq(txId),
                     eq(orderId),
                     eq(ServiceName.CREDIT_CARD),
                     any(),
                     eq(maxRetries)
-            );
+            ));
+
+            // And: Rollback is attempted max retries times
+            verify(serviceClientPort, times(maxRetries))
+                    .rollbackOnce(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class));
         }
     }
 
@@ -180,7 +182,7 @@ class RollbackAcceptanceTest {
             int maxRetries = 5;
 
             // Mock: Rollback fails twice, then succeeds
-            when(serviceClientPort.rollback(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class)))
+            when(serviceClientPort.rollbackOnce(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class)))
                     .thenReturn(RollbackResponse.failure(txId, "Temporary error"))
                     .thenReturn(RollbackResponse.failure(txId, "Still failing"))
                     .thenReturn(RollbackResponse.success(txId, "Finally succeeded"));
@@ -188,9 +190,13 @@ class RollbackAcceptanceTest {
             // When: Rollback with retries is triggered
             rollbackService.executeRollbackWithRetry(txId, orderId, successfulServices, maxRetries);
 
-            // Then: Rollback is attempted 3 times (2 failures + 1 success)
+            // Then: The rollback completes once the scheduled attempts succeed
+            await().atMost(Duration.ofSeconds(10))
+                    .untilAsserted(() -> verify(webSocketPort).sendRolledBack(txId, orderId));
+
+            // And: Rollback is attempted 3 times (2 failures + 1 success)
             verify(serviceClientPort, times(3))
-                    .rollback(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class));
+                    .rollbackOnce(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class));
 
             // And: No admin notification is sent
             verify(notificationPort, never()).sendRollbackFailureAlert(any(), any(), any(), any(), anyInt());
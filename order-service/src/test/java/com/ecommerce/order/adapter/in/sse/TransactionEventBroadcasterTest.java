@@ -0,0 +1,129 @@
+package com.ecommerce.order.adapter.in.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("TransactionEventBroadcaster Tests")
+class TransactionEventBroadcasterTest {
+
+    private static final String TX_ID = "tx-1";
+
+    private final CountDownLatch unstall = new CountDownLatch(1);
+    private final Queue<ResponseBodyEmitter> nextEmitters = new ArrayDeque<>();
+    private TransactionEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        unstall.countDown();
+        broadcaster.close();
+    }
+
+    @Test
+    @DisplayName("should keep delivering to other subscribers while one client stalls")
+    void shouldNotDelayOthersBehindStalledSubscriber() throws InterruptedException {
+        // Given - the first client stops reading inside its first write
+        broadcaster = broadcaster(64);
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        subscribe(stalled);
+        assertThat(stalled.writing.await(5, TimeUnit.SECONDS)).isTrue();
+        subscribe(healthy);
+
+        // When
+        broadcaster.publish(TX_ID, Map.of("status", "S"));
+
+        // Then
+        assertThat(healthy.poll()).contains("event: snapshot");
+        assertThat(healthy.poll()).contains("event: status").contains("\"status\":\"S\"");
+    }
+
+    @Test
+    @DisplayName("should disconnect a subscriber that falls a full queue behind")
+    void shouldDisconnectOverflowingSubscriber() throws InterruptedException {
+        // Given - queues hold the replay buffer plus a snapshot, three frames
+        broadcaster = broadcaster(2);
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        subscribe(stalled);
+        assertThat(stalled.writing.await(5, TimeUnit.SECONDS)).isTrue();
+        subscribe(healthy);
+        assertThat(healthy.poll()).contains("event: snapshot");
+
+        // When - the healthy client keeps up with every frame
+        for (int i = 0; i < 5; i++) {
+            broadcaster.publish(TX_ID, Map.of("status", "U" + i));
+            assertThat(healthy.poll()).contains("\"status\":\"U" + i + "\"");
+        }
+
+        // Then - the stalled client is dropped; once its write returns it is completed
+        assertThat(broadcaster.getSubscriberCount(TX_ID)).isEqualTo(1);
+        unstall.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> stalled.completed);
+    }
+
+    private TransactionEventBroadcaster broadcaster(int replaySize) {
+        return new TransactionEventBroadcaster(new ObjectMapper(), replaySize, 100, Duration.ofMinutes(1),
+                1, 2, timeout -> nextEmitters.remove());
+    }
+
+    private void subscribe(ResponseBodyEmitter emitter) {
+        nextEmitters.add(emitter);
+        assertThat(broadcaster.subscribe(TX_ID, null, () -> Optional.of(Map.of("status", "U")))).isPresent();
+    }
+
+    /**
+     * A client whose TCP window is full: the first write blocks until the test lets it go.
+     */
+    private class StalledEmitter extends ResponseBodyEmitter {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private volatile boolean completed;
+
+        @Override
+        public void send(Object object, MediaType mediaType) {
+            writing.countDown();
+            try {
+                unstall.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    private static class RecordingEmitter extends ResponseBodyEmitter {
+
+        private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(Object object, MediaType mediaType) {
+            frames.add(new String((byte[]) object, StandardCharsets.UTF_8));
+        }
+
+        String poll() throws InterruptedException {
+            return frames.poll(1, TimeUnit.SECONDS);
+        }
+    }
+}
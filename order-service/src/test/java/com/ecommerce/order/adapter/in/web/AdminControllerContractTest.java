@@ -109,9 +109,9 @@ class AdminControllerContractTest {
         void shouldReturn200WhenConfigUpdatedSuccessfully() throws Exception {
             // Given
             ServiceConfigListRequest request = new ServiceConfigListRequest(List.of(
-                    new ServiceConfigDto("CREDIT_CARD", 1, 30),
-                    new ServiceConfigDto("INVENTORY", 2, 60),
-                    new ServiceConfigDto("LOGISTICS", 3, 120)
+                    new ServiceConfigDto("CREDIT_CARD", 1, 30, false),
+                    new ServiceConfigDto("INVENTORY", 2, 60, false),
+                    new ServiceConfigDto("LOGISTICS", 3, 120, false)
             ));
 
             // When/Then
@@ -129,8 +129,8 @@ class AdminControllerContractTest {
         void shouldReturn400WhenConfigIsInvalid() throws Exception {
             // Given
             ServiceConfigListRequest request = new ServiceConfigListRequest(List.of(
-                    new ServiceConfigDto("CREDIT_CARD", 1, 30),
-                    new ServiceConfigDto("INVENTORY", 1, 60)  // Duplicate order
+                    new ServiceConfigDto("CREDIT_CARD", 1, 30, false),
+                    new ServiceConfigDto("INVENTORY", 1, 60, false)  // Duplicate order
             ));
             doThrow(new IllegalArgumentException("Duplicate order"))
                     .when(sagaConfigService).updatePendingConfig(any());
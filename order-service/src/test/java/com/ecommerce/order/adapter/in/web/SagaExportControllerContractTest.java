@@ -0,0 +1,138 @@
+package com.ecommerce.order.adapter.in.web;
+
+import com.ecommerce.order.adapter.in.web.dto.SagaExportRecord;
+import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SagaExportController.class)
+@DisplayName("SagaExportController Contract Tests")
+class SagaExportControllerContractTest {
+
+    private static final Instant FROM = Instant.parse("2026-01-04T00:00:00Z");
+    private static final Instant TO = Instant.parse("2026-01-05T00:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionQueryUseCase transactionQueryUseCase;
+
+    private void exporting(int count) {
+        when(transactionQueryUseCase.exportTransactions(eq(FROM), eq(TO), any())).thenAnswer(invocation -> {
+            Consumer<SagaExportRecord> sink = invocation.getArgument(2);
+            for (int i = 0; i < count; i++) {
+                sink.accept(new SagaExportRecord(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                        "COMPLETED", FROM, FROM.plusSeconds(5), List.of(
+                        new SagaExportRecord.Service("CREDIT_CARD", "S", null, 0, FROM.plusSeconds(1)),
+                        new SagaExportRecord.Service("INVENTORY", "S", null, 1, FROM.plusSeconds(3)))));
+            }
+            return (long) count;
+        });
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/export")
+    class Export {
+
+        @Test
+        @DisplayName("should stream one CSV row per transaction after a header")
+        void shouldStreamCsv() throws Exception {
+            // Given
+            exporting(3);
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/admin/export")
+                            .param("from", FROM.toString())
+                            .param("to", TO.toString())
+                            .param("format", "csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("text/csv"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"saga-export.csv\""))
+                    .andReturn().getResponse().getContentAsString();
+            String[] lines = body.split("\\n");
+            assertThat(lines).hasSize(4);
+            assertThat(lines[0]).startsWith("tx_id,order_id,overall_status,started_at,updated_at,credit_card_status");
+            assertThat(lines[1]).contains(",COMPLETED,2026-01-04T00:00:00Z,");
+        }
+
+        @Test
+        @DisplayName("should stream gzip-compressed NDJSON on request")
+        void shouldStreamGzippedNdjson() throws Exception {
+            // Given
+            exporting(2);
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/admin/export")
+                            .param("from", FROM.toString())
+                            .param("to", TO.toString())
+                            .param("gzip", "true"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            byte[] body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/gzip"))
+                    .andReturn().getResponse().getContentAsByteArray();
+            String ndjson;
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            String[] lines = ndjson.split("\\n");
+            assertThat(lines).hasSize(2);
+            assertThat(lines[0]).contains("\"overallStatus\":\"COMPLETED\"", "\"serviceName\":\"INVENTORY\"");
+        }
+
+        @Test
+        @DisplayName("should return 400 Bad Request for an empty range, a bad time or an unknown format")
+        void shouldReturn400ForInvalidRequest() throws Exception {
+            mockMvc.perform(get("/api/v1/admin/export")
+                            .param("from", TO.toString())
+                            .param("to", FROM.toString()))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/v1/admin/export")
+                            .param("from", "yesterday")
+                            .param("to", TO.toString()))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/v1/admin/export")
+                            .param("from", FROM.toString())
+                            .param("to", TO.toString())
+                            .param("format", "xml")
+                            .accept(MediaType.ALL))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(transactionQueryUseCase);
+        }
+    }
+}
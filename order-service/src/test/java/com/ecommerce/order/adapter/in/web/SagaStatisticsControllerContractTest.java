@@ -0,0 +1,71 @@
+package com.ecommerce.order.adapter.in.web;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.in.web.dto.SagaStatisticsResponse;
+import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
+import com.ecommerce.order.domain.model.SagaOverallStatus;
+import com.ecommerce.order.domain.model.SagaStatistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SagaStatisticsController.class)
+@DisplayName("SagaStatisticsController Contract Tests")
+class SagaStatisticsControllerContractTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionQueryUseCase transactionQueryUseCase;
+
+    @Test
+    @DisplayName("should return current counts and rolling windows")
+    void shouldReturnStatistics() throws Exception {
+        // Given
+        Instant now = Instant.now();
+        SagaStatistics statistics = new SagaStatistics();
+        statistics.record(null, SagaOverallStatus.PROCESSING, false, ServiceName.CREDIT_CARD, TransactionStatus.U, now);
+        statistics.record(SagaOverallStatus.PROCESSING, SagaOverallStatus.COMPLETED, true,
+                ServiceName.CREDIT_CARD, TransactionStatus.S, now);
+        when(transactionQueryUseCase.getStatistics())
+                .thenReturn(SagaStatisticsResponse.fromDomain(statistics.snapshot(now)));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/admin/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.current.COMPLETED").value(1))
+                .andExpect(jsonPath("$.current.PROCESSING").value(0))
+                .andExpect(jsonPath("$.windows.length()").value(3))
+                .andExpect(jsonPath("$.windows[0].window").value("PT1M"))
+                .andExpect(jsonPath("$.windows[0].started").value(1))
+                .andExpect(jsonPath("$.windows[0].ended.COMPLETED").value(1))
+                .andExpect(jsonPath("$.windows[0].successRate").value(1.0))
+                .andExpect(jsonPath("$.windows[0].services.CREDIT_CARD.S").value(1));
+    }
+
+    @Test
+    @DisplayName("should leave out the success rate when no saga ended")
+    void shouldOmitSuccessRateWithoutOutcomes() throws Exception {
+        // Given
+        Instant now = Instant.now();
+        when(transactionQueryUseCase.getStatistics())
+                .thenReturn(SagaStatisticsResponse.fromDomain(new SagaStatistics().snapshot(now)));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/admin/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows[0].started").value(0))
+                .andExpect(jsonPath("$.windows[0].successRate").doesNotExist());
+    }
+}
@@ -1,6 +1,8 @@
 package com.ecommerce.order.adapter.in.web;
 
 import com.ecommerce.order.adapter.in.web.dto.OrderTransactionHistoryResponse;
+import com.ecommerce.order.adapter.in.web.dto.TransactionStatusBatchRequest;
+import com.ecommerce.order.adapter.in.web.dto.TransactionStatusBatchResponse;
 import com.ecommerce.order.adapter.in.web.dto.TransactionStatusResponse;
 import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,17 +12,34 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TransactionController.class)
@@ -70,6 +89,68 @@ class TransactionControllerContractTest {
                     .andExpect(jsonPath("$.services.length()").value(2));
         }
 
+        @Test
+        @DisplayName("should tag the status with an ETag and answer a matching If-None-Match with 304")
+        void shouldReturn304ForCurrentETag() throws Exception {
+            // Given
+            String txId = UUID.randomUUID().toString();
+            when(transactionQueryUseCase.getTransactionVersion(txId)).thenReturn(OptionalLong.of(0x2aL));
+            when(transactionQueryUseCase.getTransactionStatus(txId)).thenReturn(Optional.of(
+                    new TransactionStatusResponse(txId, "order-1", "PROCESSING", List.of())));
+
+            // When/Then
+            mockMvc.perform(get("/api/v1/transactions/{txId}", txId))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"2a\""));
+            mockMvc.perform(get("/api/v1/transactions/{txId}", txId)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"1f\", W/\"2a\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"2a\""));
+            verify(transactionQueryUseCase, times(1)).getTransactionStatus(txId);
+        }
+
+        @Test
+        @DisplayName("should return the new status once a long-poll sees a change")
+        void shouldReturnChangedStatusFromLongPoll() throws Exception {
+            // Given
+            String txId = UUID.randomUUID().toString();
+            when(transactionQueryUseCase.awaitTransactionChange(txId, 0x2aL))
+                    .thenReturn(CompletableFuture.completedFuture(0x2bL));
+            when(transactionQueryUseCase.getTransactionVersion(txId)).thenReturn(OptionalLong.of(0x2bL));
+            when(transactionQueryUseCase.getTransactionStatus(txId)).thenReturn(Optional.of(
+                    new TransactionStatusResponse(txId, "order-1", "COMPLETED", List.of())));
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/transactions/{txId}", txId)
+                            .param("waitForChangeSince", "\"2a\"")
+                            .param("timeout", "30s"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"2b\""))
+                    .andExpect(jsonPath("$.overallStatus").value("COMPLETED"));
+        }
+
+        @Test
+        @DisplayName("should return 400 for a long-poll with an invalid ETag or timeout")
+        void shouldReturn400ForInvalidLongPoll() throws Exception {
+            String txId = UUID.randomUUID().toString();
+
+            MvcResult badETag = mockMvc.perform(get("/api/v1/transactions/{txId}", txId)
+                            .param("waitForChangeSince", "\"not-hex\""))
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(badETag)).andExpect(status().isBadRequest());
+            MvcResult badTimeout = mockMvc.perform(get("/api/v1/transactions/{txId}", txId)
+                            .param("waitForChangeSince", "\"2a\"")
+                            .param("timeout", "soon"))
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(badTimeout)).andExpect(status().isBadRequest());
+            verifyNoInteractions(transactionQueryUseCase);
+        }
+
         @Test
         @DisplayName("should return 404 Not Found when transaction does not exist")
         void shouldReturn404WhenNotFound() throws Exception {
@@ -183,7 +264,7 @@ class TransactionControllerContractTest {
                     )
             );
 
-            when(transactionQueryUseCase.getOrderTransactionHistory(orderId))
+            when(transactionQueryUseCase.getOrderTransactionHistory(orderId, null, 50))
                     .thenReturn(Optional.of(response));
 
             // When/Then
@@ -206,7 +287,7 @@ class TransactionControllerContractTest {
         void shouldReturn404WhenOrderNotFound() throws Exception {
             // Given
             String orderId = UUID.randomUUID().toString();
-            when(transactionQueryUseCase.getOrderTransactionHistory(anyString()))
+            when(transactionQueryUseCase.getOrderTransactionHistory(anyString(), any(), anyInt()))
                     .thenReturn(Optional.empty());
 
             // When/Then
@@ -240,7 +321,7 @@ class TransactionControllerContractTest {
                     )
             );
 
-            when(transactionQueryUseCase.getOrderTransactionHistory(orderId))
+            when(transactionQueryUseCase.getOrderTransactionHistory(orderId, null, 50))
                     .thenReturn(Optional.of(response));
 
             // When/Then
@@ -277,7 +358,7 @@ class TransactionControllerContractTest {
                     )
             );
 
-            when(transactionQueryUseCase.getOrderTransactionHistory(orderId))
+            when(transactionQueryUseCase.getOrderTransactionHistory(orderId, null, 50))
                     .thenReturn(Optional.of(response));
 
             // When/Then
@@ -289,5 +370,153 @@ class TransactionControllerContractTest {
                     .andExpect(jsonPath("$.transactions[0].services[1].serviceName").value("INVENTORY"))
                     .andExpect(jsonPath("$.transactions[0].services[2].serviceName").value("LOGISTICS"));
         }
+
+        @Test
+        @DisplayName("should pass cursor and capped limit and return the next cursor")
+        void shouldPageWithCursor() throws Exception {
+            // Given
+            String orderId = UUID.randomUUID().toString();
+            OrderTransactionHistoryResponse response = new OrderTransactionHistoryResponse(
+                    orderId, 0, List.of(), "next-page");
+            when(transactionQueryUseCase.getOrderTransactionHistory(orderId, "this-page", 500))
+                    .thenReturn(Optional.of(response));
+
+            // When/Then - limit above the maximum page size is capped
+            mockMvc.perform(get("/api/v1/transactions/orders/{orderId}/history", orderId)
+                            .param("cursor", "this-page")
+                            .param("limit", "10000")
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nextCursor").value("next-page"));
+        }
+
+        @Test
+        @DisplayName("should return 400 Bad Request for an invalid cursor or limit")
+        void shouldReturn400ForInvalidPaging() throws Exception {
+            // Given
+            String orderId = UUID.randomUUID().toString();
+            when(transactionQueryUseCase.getOrderTransactionHistory(orderId, "garbage", 50))
+                    .thenThrow(new IllegalArgumentException("Invalid cursor: garbage"));
+
+            // When/Then
+            mockMvc.perform(get("/api/v1/transactions/orders/{orderId}/history", orderId)
+                            .param("cursor", "garbage")
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/v1/transactions/orders/{orderId}/history", orderId)
+                            .param("limit", "0")
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("should stream one JSON line per transaction when NDJSON is requested")
+        void shouldStreamNdjson() throws Exception {
+            // Given
+            String orderId = UUID.randomUUID().toString();
+            String txId1 = UUID.randomUUID().toString();
+            String txId2 = UUID.randomUUID().toString();
+            doAnswer(invocation -> {
+                Consumer<OrderTransactionHistoryResponse.TransactionSummary> sink = invocation.getArgument(3);
+                sink.accept(new OrderTransactionHistoryResponse.TransactionSummary(txId1, "COMPLETED", null, List.of()));
+                sink.accept(new OrderTransactionHistoryResponse.TransactionSummary(txId2, "FAILED", null, List.of()));
+                return null;
+            }).when(transactionQueryUseCase)
+                    .streamOrderTransactionHistory(eq(orderId), isNull(), eq(Integer.MAX_VALUE), any());
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/transactions/orders/{orderId}/history", orderId)
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+            String[] lines = body.split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readTree(lines[0]).get("txId").asText()).isEqualTo(txId1);
+            assertThat(objectMapper.readTree(lines[1]).get("overallStatus").asText()).isEqualTo("FAILED");
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/transactions/status:batch")
+    class GetTransactionStatuses {
+
+        @Test
+        @DisplayName("should return one result per requested id")
+        void shouldReturnResultPerId() throws Exception {
+            // Given
+            String found = UUID.randomUUID().toString();
+            String missing = UUID.randomUUID().toString();
+            when(transactionQueryUseCase.getTransactionStatuses(List.of(found, missing))).thenReturn(List.of(
+                    new TransactionStatusBatchResponse.Result(found, true,
+                            new TransactionStatusResponse(found, "order-1", "COMPLETED", List.of())),
+                    new TransactionStatusBatchResponse.Result(missing, false, null)));
+
+            // When/Then
+            mockMvc.perform(post("/api/v1/transactions/status:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new TransactionStatusBatchRequest(
+                                    List.of(found, missing)))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.count").value(2))
+                    .andExpect(jsonPath("$.results[0].txId").value(found))
+                    .andExpect(jsonPath("$.results[0].found").value(true))
+                    .andExpect(jsonPath("$.results[0].transaction.overallStatus").value("COMPLETED"))
+                    .andExpect(jsonPath("$.results[1].found").value(false))
+                    .andExpect(jsonPath("$.results[1].transaction").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("should return 400 for an empty or oversized batch")
+        void shouldReturn400ForInvalidBatch() throws Exception {
+            List<String> tooMany = new ArrayList<>();
+            for (int i = 0; i < 501; i++) {
+                tooMany.add(UUID.randomUUID().toString());
+            }
+
+            mockMvc.perform(post("/api/v1/transactions/status:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new TransactionStatusBatchRequest(List.of()))))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/api/v1/transactions/status:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new TransactionStatusBatchRequest(tooMany))))
+                    .andExpect(status().isBadRequest());
+            verifyNoInteractions(transactionQueryUseCase);
+        }
+
+        @Test
+        @DisplayName("should stream results as NDJSON when asked")
+        void shouldStreamNdjson() throws Exception {
+            // Given
+            String txId1 = UUID.randomUUID().toString();
+            String txId2 = UUID.randomUUID().toString();
+            when(transactionQueryUseCase.getTransactionStatuses(List.of(txId1, txId2))).thenReturn(List.of(
+                    new TransactionStatusBatchResponse.Result(txId1, false, null),
+                    new TransactionStatusBatchResponse.Result(txId2, false, null)));
+
+            // When
+            MvcResult result = mockMvc.perform(post("/api/v1/transactions/status:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .content(objectMapper.writeValueAsString(new TransactionStatusBatchRequest(
+                                    List.of(txId1, txId2)))))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+            String[] lines = body.split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readTree(lines[1]).get("txId").asText()).isEqualTo(txId2);
+        }
     }
 }
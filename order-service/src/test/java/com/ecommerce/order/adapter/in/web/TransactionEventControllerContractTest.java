@@ -0,0 +1,169 @@
+package com.ecommerce.order.adapter.in.web;
+
+import com.ecommerce.order.adapter.in.sse.TransactionEventBroadcaster;
+import com.ecommerce.order.adapter.in.web.dto.TransactionStatusResponse;
+import com.ecommerce.order.adapter.in.websocket.WebSocketMessage;
+import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TransactionEventController.class)
+@Import(TransactionEventBroadcaster.class)
+@DisplayName("TransactionEventController Contract Tests")
+class TransactionEventControllerContractTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id: (\\d+)-(\\d+)\nevent: snapshot");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionEventBroadcaster eventBroadcaster;
+
+    @MockBean
+    private TransactionQueryUseCase transactionQueryUseCase;
+
+    @Test
+    @DisplayName("should open the stream with a snapshot of the current status")
+    void shouldStartWithSnapshot() throws Exception {
+        // Given
+        String txId = givenTransaction();
+
+        // When
+        MvcResult result = subscribe(txId, null);
+
+        // Then
+        String content = awaitContent(result, "event: snapshot");
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(content).contains("\"overallStatus\":\"PROCESSING\"");
+        assertThat(eventBroadcaster.getSubscriberCount(txId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should push each published change as a status event")
+    void shouldPushPublishedChanges() throws Exception {
+        // Given
+        String txId = givenTransaction();
+        MvcResult result = subscribe(txId, null);
+        long streamId = streamId(awaitContent(result, "event: snapshot"));
+
+        // When
+        eventBroadcaster.publish(txId, new WebSocketMessage(txId, "CREDIT_CARD", "S", "Payment captured"));
+
+        // Then
+        String content = awaitContent(result, "id: " + streamId + "-1\nevent: status");
+        assertThat(content).contains("\"message\":\"Payment captured\"");
+    }
+
+    @Test
+    @DisplayName("should resume after Last-Event-ID without a new snapshot")
+    void shouldResumeAfterLastEventId() throws Exception {
+        // Given
+        String txId = givenTransaction();
+        MvcResult first = subscribe(txId, null);
+        long streamId = streamId(awaitContent(first, "event: snapshot"));
+        eventBroadcaster.publish(txId, new WebSocketMessage(txId, "CREDIT_CARD", "S", "first"));
+        eventBroadcaster.publish(txId, new WebSocketMessage(txId, "INVENTORY", "S", "second"));
+
+        // When
+        MvcResult resumed = subscribe(txId, streamId + "-1");
+
+        // Then
+        String content = awaitContent(resumed, "id: " + streamId + "-2");
+        assertThat(content).doesNotContain("event: snapshot").doesNotContain("\"message\":\"first\"");
+        verify(transactionQueryUseCase, times(1)).getTransactionStatus(txId);
+    }
+
+    @Test
+    @DisplayName("should fall back to a snapshot for an unknown Last-Event-ID")
+    void shouldSnapshotForUnknownLastEventId() throws Exception {
+        // Given
+        String txId = givenTransaction();
+
+        // When
+        MvcResult result = subscribe(txId, "1-42");
+
+        // Then
+        awaitContent(result, "event: snapshot");
+        verify(transactionQueryUseCase).getTransactionStatus(txId);
+    }
+
+    @Test
+    @DisplayName("should return 404 for an unknown transaction")
+    void shouldReturn404WhenNotFound() throws Exception {
+        // Given
+        String txId = UUID.randomUUID().toString();
+        when(transactionQueryUseCase.getTransactionStatus(txId)).thenReturn(Optional.empty());
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/transactions/{txId}/events", txId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("should return 404 for a malformed transaction ID")
+    void shouldReturn404ForMalformedId() throws Exception {
+        mockMvc.perform(get("/api/v1/transactions/{txId}/events", "not-a-uuid"))
+                .andExpect(status().isNotFound());
+
+        verify(transactionQueryUseCase, never()).getTransactionStatus("not-a-uuid");
+    }
+
+    private String givenTransaction() {
+        String txId = UUID.randomUUID().toString();
+        TransactionStatusResponse response = new TransactionStatusResponse(
+                txId, "order-123", "PROCESSING",
+                List.of(new TransactionStatusResponse.ServiceStatusDto("CREDIT_CARD", "U", Instant.now())));
+        when(transactionQueryUseCase.getTransactionStatus(txId)).thenReturn(Optional.of(response));
+        return txId;
+    }
+
+    private MvcResult subscribe(String txId, String lastEventId) throws Exception {
+        var builder = get("/api/v1/transactions/{txId}/events", txId).accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    private static long streamId(String content) {
+        Matcher matcher = EVENT_ID.matcher(content);
+        assertThat(matcher.find()).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.order.adapter.in.web;
+
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.in.web.dto.TransactionSearchResponse;
+import com.ecommerce.order.application.port.in.TransactionQueryUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TransactionSearchController.class)
+@DisplayName("TransactionSearchController Contract Tests")
+class TransactionSearchControllerContractTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionQueryUseCase transactionQueryUseCase;
+
+    private static TransactionSearchResponse.Match match(String txId) {
+        return new TransactionSearchResponse.Match(txId, UUID.randomUUID().toString(), "INVENTORY", "U",
+                null, 0, Instant.parse("2026-01-04T10:30:00Z"));
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/admin/transactions/search")
+    class Search {
+
+        @Test
+        @DisplayName("should return one page of matches with the next cursor")
+        void shouldReturnPageWithNextCursor() throws Exception {
+            // Given
+            String txId = UUID.randomUUID().toString();
+            when(transactionQueryUseCase.searchTransactions(
+                    eq(TransactionStatus.U), eq(Duration.ofMinutes(5)), isNull(), eq(50), any()))
+                    .thenAnswer(invocation -> {
+                        Consumer<TransactionSearchResponse.Match> sink = invocation.getArgument(4);
+                        sink.accept(match(txId));
+                        return "next-page";
+                    });
+
+            // When/Then
+            mockMvc.perform(get("/api/v1/admin/transactions/search")
+                            .param("status", "U")
+                            .param("olderThan", "PT5M")
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("U"))
+                    .andExpect(jsonPath("$.count").value(1))
+                    .andExpect(jsonPath("$.matches[0].txId").value(txId))
+                    .andExpect(jsonPath("$.matches[0].serviceName").value("INVENTORY"))
+                    .andExpect(jsonPath("$.nextCursor").value("next-page"));
+        }
+
+        @Test
+        @DisplayName("should return 400 Bad Request for an unknown status or negative age")
+        void shouldReturn400ForInvalidCriteria() throws Exception {
+            mockMvc.perform(get("/api/v1/admin/transactions/search")
+                            .param("status", "X")
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/v1/admin/transactions/search")
+                            .param("status", "U")
+                            .param("olderThan", "-PT5M")
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(transactionQueryUseCase);
+        }
+
+        @Test
+        @DisplayName("should stream one JSON line per match when NDJSON is requested")
+        void shouldStreamNdjson() throws Exception {
+            // Given
+            when(transactionQueryUseCase.searchTransactions(
+                    eq(TransactionStatus.U), eq(Duration.ZERO), isNull(), eq(Integer.MAX_VALUE), any()))
+                    .thenAnswer(invocation -> {
+                        Consumer<TransactionSearchResponse.Match> sink = invocation.getArgument(4);
+                        for (int i = 0; i < 3; i++) {
+                            sink.accept(match(UUID.randomUUID().toString()));
+                        }
+                        return null;
+                    });
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/admin/transactions/search")
+                            .param("status", "U")
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(body.split("\\n")).hasSize(3);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.ecommerce.order.adapter.out.archive;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LogSegmentArchive Tests")
+class LogSegmentArchiveTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 15);
+
+    @TempDir
+    Path directory;
+
+    private LogSegmentArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = new LogSegmentArchive(directory);
+    }
+
+    @Nested
+    @DisplayName("Write and Read")
+    class WriteAndRead {
+
+        @Test
+        @DisplayName("should find every transaction through the sparse index")
+        void shouldFindEveryTransaction() {
+            // Given - 1000 transactions in blocks of 64, two rows each
+            List<UUID> txIds = sortedTxIds(1_000);
+            writeSegment(txIds, 64);
+
+            // When / Then
+            for (UUID txId : txIds) {
+                List<ArchivedLogRecord> records = archive.read(DAY, List.of(txId));
+                assertThat(records).hasSize(2);
+                assertThat(records).allMatch(record -> record.txId().equals(txId));
+                assertThat(records.get(0).id()).isLessThan(records.get(1).id());
+                assertThat(records.get(1).status()).isEqualTo(TransactionStatus.S);
+            }
+        }
+
+        @Test
+        @DisplayName("should read several transactions across blocks in one call")
+        void shouldReadSeveralTransactions() {
+            // Given
+            List<UUID> txIds = sortedTxIds(300);
+            writeSegment(txIds, 16);
+
+            // When
+            List<ArchivedLogRecord> records = archive.read(DAY, List.of(txIds.get(0), txIds.get(150), txIds.get(299)));
+
+            // Then
+            assertThat(records).hasSize(6);
+        }
+
+        @Test
+        @DisplayName("should return nothing for unknown transactions")
+        void shouldReturnNothingForUnknown() {
+            // Given
+            writeSegment(sortedTxIds(100), 10);
+
+            // When / Then
+            assertThat(archive.read(DAY, List.of(UUID.randomUUID()))).isEmpty();
+            assertThat(archive.read(DAY, List.of(new UUID(0L, 0L)))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should stay readable as a plain gzip NDJSON file")
+        void shouldBePlainGzipNdjson() throws Exception {
+            // Given
+            writeSegment(sortedTxIds(50), 8);
+
+            // When
+            long lines;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(
+                    Files.newInputStream(directory.resolve(archive.segmentFileName(DAY)))), StandardCharsets.UTF_8))) {
+                lines = reader.lines().count();
+            }
+
+            // Then
+            assertThat(lines).isEqualTo(100);
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation")
+    class Validation {
+
+        @Test
+        @DisplayName("should reject blocks written out of txId order")
+        void shouldRejectOutOfOrderBlocks() {
+            List<UUID> txIds = sortedTxIds(2);
+            try (LogSegmentArchive.SegmentWriter writer = archive.openSegment(DAY)) {
+                writer.writeBlock(rows(txIds.get(1), 1));
+                assertThatThrownBy(() -> writer.writeBlock(rows(txIds.get(0), 3)))
+                        .isInstanceOf(IllegalStateException.class);
+            }
+        }
+
+        @Test
+        @DisplayName("should publish nothing when the writer is not committed")
+        void shouldPublishNothingWithoutCommit() {
+            try (LogSegmentArchive.SegmentWriter writer = archive.openSegment(DAY)) {
+                writer.writeBlock(rows(UUID.randomUUID(), 1));
+            }
+
+            assertThat(Files.exists(directory.resolve(archive.segmentFileName(DAY)))).isFalse();
+            assertThatThrownBy(() -> archive.read(DAY, List.of(UUID.randomUUID())))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private void writeSegment(List<UUID> txIds, int transactionsPerBlock) {
+        try (LogSegmentArchive.SegmentWriter writer = archive.openSegment(DAY)) {
+            long id = 1;
+            for (int i = 0; i < txIds.size(); i += transactionsPerBlock) {
+                List<ArchivedLogRecord> block = new ArrayList<>();
+                for (UUID txId : txIds.subList(i, Math.min(i + transactionsPerBlock, txIds.size()))) {
+                    block.addAll(rows(txId, id));
+                    id += 2;
+                }
+                writer.writeBlock(block);
+            }
+            writer.commit();
+        }
+    }
+
+    private static List<ArchivedLogRecord> rows(UUID txId, long firstId) {
+        UUID orderId = UUID.randomUUID();
+        LocalDateTime createdAt = DAY.atTime(10, 0);
+        return List.of(
+                new ArchivedLogRecord(firstId, txId, orderId, ServiceName.CREDIT_CARD,
+                        TransactionStatus.U, null, 0, createdAt, null),
+                new ArchivedLogRecord(firstId + 1, txId, orderId, ServiceName.CREDIT_CARD,
+                        TransactionStatus.S, null, 0, createdAt.plusSeconds(1), null)
+        );
+    }
+
+    private static List<UUID> sortedTxIds(int count) {
+        List<UUID> txIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            txIds.add(UUID.randomUUID());
+        }
+        txIds.sort(Comparator.comparing(LogSegmentArchive::key));
+        return txIds;
+    }
+}
@@ -26,6 +26,7 @@ import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -76,7 +77,8 @@ class ServiceClientAdapterCircuitBreakerTest {
         retryRegistry = RetryRegistry.of(retryConfig);
         bulkheadRegistry = BulkheadRegistry.of(bulkheadConfig);
 
-        adapter = new ServiceClientAdapter(restTemplate, circuitBreakerRegistry, retryRegistry, bulkheadRegistry);
+        adapter = new ServiceClientAdapter(restTemplate, circuitBreakerRegistry, retryRegistry, bulkheadRegistry,
+                new TokenBucketRetryBudget(0.2, 1, 10, System::nanoTime));
     }
 
     private NotifyRequest createNotifyRequest(UUID txId, UUID orderId) {
@@ -293,4 +295,103 @@ class ServiceClientAdapterCircuitBreakerTest {
         assertEquals(10, metrics.getMaxAllowedConcurrentCalls());
         assertEquals(10, metrics.getAvailableConcurrentCalls());
     }
+
+    @Test
+    @DisplayName("Retry stops once the retry budget is exhausted")
+    void retryStopsWhenRetryBudgetExhausted() {
+        // Given - three attempts per call, but a budget of a single retry that never refills
+        TokenBucketRetryBudget budget = new TokenBucketRetryBudget(0, 0, 1, () -> 0L);
+        RetryRegistry retrying = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryExceptions(ResourceAccessException.class)
+                .build());
+        ServiceClientAdapter budgeted = new ServiceClientAdapter(restTemplate, circuitBreakerRegistry, retrying,
+                bulkheadRegistry, budget);
+        UUID txId = UUID.randomUUID();
+
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(NotifyResponse.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        // When
+        NotifyResponse response = budgeted.notify(ServiceName.INVENTORY, createNotifyRequest(txId, UUID.randomUUID()));
+
+        // Then - first call and the one retry the budget paid for
+        assertFalse(response.success());
+        assertTrue(response.message().contains("Connection refused"));
+        verify(restTemplate, times(2)).postForEntity(anyString(), any(HttpEntity.class), eq(NotifyResponse.class));
+        assertEquals(1, budget.exhausted(ServiceName.INVENTORY));
+    }
+
+    @Test
+    @DisplayName("rollbackOnce makes a single HTTP call and leaves retries to its caller")
+    void rollbackOnceDoesNotRetry() {
+        // Given
+        RetryRegistry retrying = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryExceptions(ResourceAccessException.class)
+                .build());
+        ServiceClientAdapter budgeted = new ServiceClientAdapter(restTemplate, circuitBreakerRegistry, retrying,
+                bulkheadRegistry, new TokenBucketRetryBudget(0.2, 1, 10, System::nanoTime));
+        UUID txId = UUID.randomUUID();
+
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(RollbackResponse.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        // When
+        RollbackResponse response = budgeted.rollbackOnce(ServiceName.LOGISTICS,
+                createRollbackRequest(txId, UUID.randomUUID()));
+
+        // Then
+        assertFalse(response.success());
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(HttpEntity.class), eq(RollbackResponse.class));
+    }
+
+    @Test
+    @DisplayName("rollbackBatch matches results to requests by txId and fails unanswered requests")
+    void rollbackBatchMatchesResultsByTxId() {
+        // Given
+        UUID answered = UUID.randomUUID();
+        UUID unanswered = UUID.randomUUID();
+        RollbackResponse[] body = {RollbackResponse.rolledBack(answered)};
+
+        when(restTemplate.postForEntity(eq(ServiceName.INVENTORY.getDefaultRollbackBatchUrl()), any(HttpEntity.class),
+                eq(RollbackResponse[].class)))
+                .thenReturn(new ResponseEntity<>(body, HttpStatus.OK));
+
+        // When
+        List<RollbackResponse> responses = adapter.rollbackBatch(ServiceName.INVENTORY, List.of(
+                createRollbackRequest(unanswered, UUID.randomUUID()),
+                createRollbackRequest(answered, UUID.randomUUID())));
+
+        // Then
+        assertEquals(2, responses.size());
+        assertEquals(unanswered, responses.get(0).txId());
+        assertFalse(responses.get(0).success());
+        assertEquals(answered, responses.get(1).txId());
+        assertTrue(responses.get(1).success());
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(HttpEntity.class), eq(RollbackResponse[].class));
+    }
+
+    @Test
+    @DisplayName("rollbackBatch fails every request when the call fails")
+    void rollbackBatchFailsAllWhenCallFails() {
+        // Given
+        List<RollbackRequest> requests = List.of(
+                createRollbackRequest(UUID.randomUUID(), UUID.randomUUID()),
+                createRollbackRequest(UUID.randomUUID(), UUID.randomUUID()));
+
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(RollbackResponse[].class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        // When
+        List<RollbackResponse> responses = adapter.rollbackBatch(ServiceName.LOGISTICS, requests);
+
+        // Then
+        assertEquals(2, responses.size());
+        assertTrue(responses.stream().noneMatch(RollbackResponse::success));
+        assertTrue(responses.get(1).message().contains("Connection refused"));
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(HttpEntity.class), eq(RollbackResponse[].class));
+    }
 }
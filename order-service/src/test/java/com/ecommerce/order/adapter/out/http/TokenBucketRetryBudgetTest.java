@@ -0,0 +1,84 @@
+package com.ecommerce.order.adapter.out.http;
+
+import com.ecommerce.common.domain.ServiceName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenBucketRetryBudget Tests")
+class TokenBucketRetryBudgetTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private TokenBucketRetryBudget budget;
+
+    @BeforeEach
+    void setUp() {
+        // 20% of calls, one retry per second when quiet, at most 3 banked
+        budget = new TokenBucketRetryBudget(0.2, 1, 3, nanos::get);
+    }
+
+    @Test
+    @DisplayName("should refuse retries once the banked tokens are spent")
+    void shouldRefuseRetriesWhenExhausted() {
+        // When
+        boolean first = budget.tryAcquireRetry(ServiceName.CREDIT_CARD);
+        boolean second = budget.tryAcquireRetry(ServiceName.CREDIT_CARD);
+        boolean third = budget.tryAcquireRetry(ServiceName.CREDIT_CARD);
+        boolean fourth = budget.tryAcquireRetry(ServiceName.CREDIT_CARD);
+
+        // Then
+        assertThat(first && second && third).isTrue();
+        assertThat(fourth).isFalse();
+        assertThat(budget.exhausted(ServiceName.CREDIT_CARD)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should earn a retry for every five calls")
+    void shouldEarnRetriesFromCalls() {
+        // Given
+        drain(ServiceName.INVENTORY);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            budget.recordCall(ServiceName.INVENTORY);
+        }
+
+        // Then
+        assertThat(budget.tryAcquireRetry(ServiceName.INVENTORY)).isTrue();
+        assertThat(budget.tryAcquireRetry(ServiceName.INVENTORY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should refill at the minimum rate up to the cap")
+    void shouldRefillOverTime() {
+        // Given
+        drain(ServiceName.LOGISTICS);
+
+        // When
+        nanos.addAndGet(10_000_000_000L);
+
+        // Then
+        assertThat(budget.tokens(ServiceName.LOGISTICS)).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("should keep separate budgets per service")
+    void shouldKeepBudgetsPerService() {
+        // Given
+        drain(ServiceName.CREDIT_CARD);
+
+        // Then
+        assertThat(budget.tryAcquireRetry(ServiceName.CREDIT_CARD)).isFalse();
+        assertThat(budget.tryAcquireRetry(ServiceName.INVENTORY)).isTrue();
+    }
+
+    private void drain(ServiceName serviceName) {
+        while (budget.tryAcquireRetry(serviceName)) {
+            // spend everything banked
+        }
+    }
+}
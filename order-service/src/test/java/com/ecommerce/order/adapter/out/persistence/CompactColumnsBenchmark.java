@@ -0,0 +1,156 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the legacy VARCHAR layout of transaction_log with the compact UUID/TINYINT layout
+ * on a file-based H2 database: table and index size, rows per 4 KiB page, and read ns/row
+ * including the mapping the persistence adapter performs per row.
+ * <p>
+ * Run with {@code ./gradlew :order-service:benchmark -Dbenchmark.compact.rows=10000000}.
+ */
+@Tag("benchmark")
+@DisplayName("Compact Columns Benchmark")
+class CompactColumnsBenchmark {
+
+    private static final long ROWS = Long.getLong("benchmark.compact.rows", 10_000_000L);
+    private static final int PAGE_BYTES = 4096;
+
+    private static final String LEGACY_DDL = """
+        CREATE TABLE transaction_log (
+            id BIGINT PRIMARY KEY,
+            tx_id VARCHAR(36) NOT NULL,
+            order_id VARCHAR(36) NOT NULL,
+            service_name VARCHAR(50) NOT NULL,
+            status VARCHAR(2) NOT NULL,
+            created_at TIMESTAMP NOT NULL
+        )
+    """;
+
+    private static final String LEGACY_FILL = """
+        INSERT INTO transaction_log
+        SELECT X, CAST(RANDOM_UUID() AS VARCHAR), CAST(RANDOM_UUID() AS VARCHAR),
+               CASE MOD(X, 3) WHEN 0 THEN 'CREDIT_CARD' WHEN 1 THEN 'INVENTORY' ELSE 'LOGISTICS' END,
+               CASE MOD(X, 6) WHEN 0 THEN 'U' WHEN 1 THEN 'S' WHEN 2 THEN 'F'
+                              WHEN 3 THEN 'R' WHEN 4 THEN 'D' ELSE 'RF' END,
+               CURRENT_TIMESTAMP
+        FROM SYSTEM_RANGE(1, %d)
+    """;
+
+    private static final String COMPACT_DDL = """
+        CREATE TABLE transaction_log (
+            id BIGINT PRIMARY KEY,
+            tx_id UUID NOT NULL,
+            order_id UUID NOT NULL,
+            service_name TINYINT NOT NULL,
+            status TINYINT NOT NULL,
+            created_at TIMESTAMP NOT NULL
+        )
+    """;
+
+    private static final String COMPACT_FILL = """
+        INSERT INTO transaction_log
+        SELECT X, RANDOM_UUID(), RANDOM_UUID(), MOD(X, 3) + 1, MOD(X, 6) + 1, CURRENT_TIMESTAMP
+        FROM SYSTEM_RANGE(1, %d)
+    """;
+
+    // Keeps the mapped values observable so the read loop is not optimized away
+    private static volatile long sink;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    @DisplayName("compact layout shrinks the index and speeds up row mapping")
+    void compareLayouts() throws SQLException {
+        Result legacy = measure("legacy", LEGACY_DDL, LEGACY_FILL, false);
+        Result compact = measure("compact", COMPACT_DDL, COMPACT_FILL, true);
+
+        System.out.printf("rows=%d%n", ROWS);
+        System.out.printf("%-8s %14s %14s %12s %12s%n", "layout", "table bytes", "index bytes", "rows/page", "read ns/row");
+        for (Result r : new Result[]{legacy, compact}) {
+            System.out.printf("%-8s %14d %14d %12.1f %12.1f%n",
+                    r.name(), r.tableBytes(), r.indexBytes(), r.rowsPerPage(), r.readNanosPerRow());
+        }
+
+        assertThat(compact.indexBytes()).isLessThan(legacy.indexBytes());
+        assertThat(compact.tableBytes()).isLessThan(legacy.tableBytes());
+    }
+
+    private Result measure(String name, String ddl, String fill, boolean compact) throws SQLException {
+        String url = "jdbc:h2:file:" + dataDir.resolve(name).toAbsolutePath();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(ddl);
+            statement.execute(fill.formatted(ROWS));
+            statement.execute("CHECKPOINT SYNC");
+            long tableBytes = diskSpaceUsed(statement);
+
+            statement.execute("CREATE INDEX idx_tx_service_status ON transaction_log (tx_id, service_name, status)");
+            statement.execute("CHECKPOINT SYNC");
+            long indexBytes = diskSpaceUsed(statement) - tableBytes;
+
+            long readNanos = readAll(connection, compact);
+            return new Result(name, tableBytes, indexBytes,
+                    PAGE_BYTES / (tableBytes / (double) ROWS), readNanos / (double) ROWS);
+        }
+    }
+
+    private static long diskSpaceUsed(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT DISK_SPACE_USED('TRANSACTION_LOG')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static long readAll(Connection connection, boolean compact) throws SQLException {
+        long checksum = 0;
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(10_000);
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT tx_id, order_id, service_name, status FROM transaction_log")) {
+                while (rs.next()) {
+                    UUID txId;
+                    UUID orderId;
+                    ServiceName serviceName;
+                    TransactionStatus status;
+                    if (compact) {
+                        txId = rs.getObject(1, UUID.class);
+                        orderId = rs.getObject(2, UUID.class);
+                        serviceName = PersistenceCodes.serviceName(rs.getByte(3));
+                        status = PersistenceCodes.status(rs.getByte(4));
+                    } else {
+                        txId = UUID.fromString(rs.getString(1));
+                        orderId = UUID.fromString(rs.getString(2));
+                        serviceName = ServiceName.valueOf(rs.getString(3));
+                        status = TransactionStatus.valueOf(rs.getString(4));
+                    }
+                    checksum += txId.getLeastSignificantBits() ^ orderId.getMostSignificantBits()
+                            ^ serviceName.ordinal() ^ status.ordinal();
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = checksum;
+        return elapsed;
+    }
+
+    private record Result(String name, long tableBytes, long indexBytes, double rowsPerPage, double readNanosPerRow) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.out.archive.LogSegmentArchive;
+import com.ecommerce.order.domain.model.SagaOverallStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * p99 latency and allocated bytes per call of the hot path, JPA (before) against plain JDBC (after).
+ * Each call commits its own transaction, like a saga step does.
+ * <p>
+ * Run with {@code ./gradlew :order-service:benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.jdbc=INFO"
+})
+@Import({TransactionLogPersistenceAdapter.class, SagaStateProjector.class, TransactionLogJdbcRepository.class,
+        TransactionLogPartitioner.class, SagaTransactionCompactor.class, LogSegmentArchive.class,
+        SagaStatisticsTracker.class, TransactionStateCache.class, KnownIdFilter.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("JDBC Hot Path Benchmark")
+class JdbcHotPathBenchmark {
+
+    private static final int CALLS = Integer.getInteger("benchmark.hotpath.calls", 20_000);
+    private static final int WARMUP = 5_000;
+
+    @Autowired
+    private TransactionLogPersistenceAdapter adapter;
+
+    @Autowired
+    private TransactionLogRepository repository;
+
+    @Autowired
+    private SagaStateRepository stateRepository;
+
+    @Autowired
+    private SagaSummaryRepository summaryRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("JDBC hot path has lower p99 and allocates less than JPA")
+    void compareJpaAndJdbc() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        UUID[] txIds = new UUID[CALLS + WARMUP];
+        UUID[] orderIds = new UUID[CALLS + WARMUP];
+        for (int i = 0; i < txIds.length; i++) {
+            txIds[i] = UUID.randomUUID();
+            orderIds[i] = UUID.randomUUID();
+        }
+
+        // recordStatus: entities + save + projection through JPA (before) vs JdbcTemplate (after)
+        Result jpaWrite = measure("jpa recordStatus", i -> transaction.executeWithoutResult(status -> {
+            TransactionLogEntity entity = repository.save(new TransactionLogEntity(txIds[i], orderIds[i],
+                    ServiceName.CREDIT_CARD, TransactionStatus.U));
+            summaryRepository.findByTxIdForUpdate(txIds[i]);
+            stateRepository.findByTxId(txIds[i]);
+            SagaStateEntity state = new SagaStateEntity(txIds[i], ServiceName.CREDIT_CARD, orderIds[i]);
+            state.apply(entity);
+            entityManager.persist(state);
+            SagaSummaryEntity summary = new SagaSummaryEntity(txIds[i], orderIds[i], entity.getCreatedAt());
+            summary.setOverallStatus(SagaOverallStatus.PROCESSING.name());
+            entityManager.persist(summary);
+        }));
+        Result jdbcWrite = measure("jdbc recordStatus", i ->
+                adapter.recordStatus(txIds[i], orderIds[i], ServiceName.INVENTORY, TransactionStatus.U));
+
+        // findLatestByTxId: entity graph + mapping (before) vs row mapper (after)
+        Result jpaRead = measure("jpa findLatestByTxId", i -> transaction.executeWithoutResult(status ->
+                stateRepository.findByTxId(txIds[i]).forEach(state -> state.getStatus())));
+        Result jdbcRead = measure("jdbc findLatestByTxId", i -> adapter.findLatestByTxId(txIds[i].toString()));
+
+        assertThat(jdbcWrite.p99Micros()).isLessThan(jpaWrite.p99Micros());
+        assertThat(jdbcWrite.bytesPerCall()).isLessThan(jpaWrite.bytesPerCall());
+        assertThat(jdbcRead.bytesPerCall()).isLessThan(jpaRead.bytesPerCall());
+    }
+
+    private Result measure(String name, IntConsumer call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.accept(CALLS + i);
+        }
+        long[] latencies = new long[CALLS];
+        long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < CALLS; i++) {
+            long start = System.nanoTime();
+            call.accept(i);
+            latencies[i] = System.nanoTime() - start;
+        }
+        long allocated = allocatedBytes() - allocatedBefore;
+        Arrays.sort(latencies);
+        double p50 = latencies[CALLS / 2] / 1_000.0;
+        double p99 = latencies[(int) (CALLS * 0.99)] / 1_000.0;
+        long bytesPerCall = allocated / CALLS;
+        System.out.printf("%-22s p50=%.1f us p99=%.1f us allocated=%,d B/call%n", name, p50, p99, bytesPerCall);
+        return new Result(p99, bytesPerCall);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private record Result(double p99Micros, long bytesPerCall) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.Collections;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("KnownIdFilter Tests")
+class KnownIdFilterTest {
+
+    private final List<UUID[]> summaryRows = Collections.synchronizedList(new ArrayList<>());
+    /** Held shared by an insert until it commits; a fill takes it exclusively to read committed rows. */
+    private final ReentrantReadWriteLock commits = new ReentrantReadWriteLock();
+    private JdbcTemplate jdbcTemplate;
+    private KnownIdFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            List<UUID[]> committed;
+            commits.writeLock().lock();
+            try {
+                committed = List.copyOf(summaryRows);
+            } finally {
+                commits.writeLock().unlock();
+            }
+            UUID[][] cursor = new UUID[1][];
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getObject(1, UUID.class)).thenAnswer(read -> cursor[0][0]);
+            when(rs.getObject(2, UUID.class)).thenAnswer(read -> cursor[0][1]);
+            for (UUID[] row : committed) {
+                cursor[0] = row;
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        filter = new KnownIdFilter(jdbcTemplate, 100, 0.01, 1, Duration.ZERO, mock(ObjectProvider.class));
+    }
+
+    @Test
+    @DisplayName("should let every lookup through until loaded")
+    void shouldNotFilterBeforeLoad() {
+        assertThat(filter.mightContainTransaction(UUID.randomUUID())).isTrue();
+        assertThat(filter.mightContainOrder(UUID.randomUUID())).isTrue();
+        assertThat(filter.queriesAvoided()).isZero();
+    }
+
+    @Test
+    @DisplayName("should know ids from the summary table and from inserts, and count the lookups it avoided")
+    void shouldFilterUnknownIds() {
+        // Given
+        UUID storedTx = UUID.randomUUID();
+        UUID storedOrder = UUID.randomUUID();
+        summaryRows.add(new UUID[]{storedTx, storedOrder});
+        filter.load();
+        UUID insertedTx = UUID.randomUUID();
+        filter.add(insertedTx, storedOrder);
+
+        // When/Then
+        assertThat(filter.mightContainTransaction(storedTx)).isTrue();
+        assertThat(filter.mightContainTransaction(insertedTx)).isTrue();
+        assertThat(filter.mightContainOrder(storedOrder)).isTrue();
+        assertThat(filter.mightContainTransaction(UUID.randomUUID())).isFalse();
+        assertThat(filter.mightContainOrder(UUID.randomUUID())).isFalse();
+        assertThat(filter.queriesAvoided()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should measure the false-positive rate from reported misses")
+    void shouldMeasureFalsePositiveRate() {
+        filter.load();
+        filter.mightContainTransaction(UUID.randomUUID());
+        filter.mightContainTransaction(UUID.randomUUID());
+        filter.mightContainTransaction(UUID.randomUUID());
+
+        filter.falsePositive();
+
+        assertThat(filter.measuredFalsePositiveRate()).isEqualTo(0.25);
+    }
+
+    @Test
+    @DisplayName("should rotate to a single right-sized slice without forgetting ids")
+    void shouldRotateGrownFilters() {
+        // Given - every insert also lands in the summary table
+        filter.load();
+        List<UUID> txIds = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            UUID txId = UUID.randomUUID();
+            summaryRows.add(new UUID[]{txId, UUID.randomUUID()});
+            txIds.add(txId);
+        }
+
+        // When - growing past one slice starts a rotation
+        for (UUID[] row : List.copyOf(summaryRows)) {
+            filter.add(row[0], row[1]);
+        }
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> filter.sliceCount() == 1);
+        assertThat(txIds).allMatch(filter::mightContainTransaction);
+    }
+
+    @Test
+    @DisplayName("should keep ids inserted while rotations swap generations")
+    void shouldKeepIdsAddedDuringSwap() throws InterruptedException {
+        // Given - rotations only run when started here, and each insert commits after add()
+        @SuppressWarnings("unchecked")
+        KnownIdFilter rotated = new KnownIdFilter(jdbcTemplate, 100, 0.01, Integer.MAX_VALUE, Duration.ZERO,
+                mock(ObjectProvider.class));
+        rotated.load();
+        Thread inserter = new Thread(() -> {
+            for (int i = 0; i < 5000; i++) {
+                UUID[] row = {UUID.randomUUID(), UUID.randomUUID()};
+                commits.readLock().lock();
+                try {
+                    rotated.add(row[0], row[1]);
+                    summaryRows.add(row);
+                } finally {
+                    commits.readLock().unlock();
+                }
+            }
+        });
+
+        // When - generations are swapped over and over while inserts run
+        inserter.start();
+        while (inserter.isAlive()) {
+            rotated.rotate();
+        }
+        inserter.join();
+
+        // Then - an insert that raced a swap is in the generation that replaced the old one
+        assertThat(List.copyOf(summaryRows)).isNotEmpty()
+                .allMatch(row -> rotated.mightContainTransaction(row[0]));
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.out.archive.LogSegmentArchive;
+import com.ecommerce.order.domain.model.TransactionLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order history read latency at 1, 50 and 500 transactions per order: one lookup per
+ * transaction (before) against a single set-based read of the whole order (after).
+ * <p>
+ * Run with {@code ./gradlew :order-service:benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.jdbc=INFO"
+})
+@Import({TransactionLogPersistenceAdapter.class, SagaStateProjector.class, TransactionLogJdbcRepository.class,
+        TransactionLogPartitioner.class, SagaTransactionCompactor.class, LogSegmentArchive.class,
+        SagaStatisticsTracker.class, TransactionStateCache.class, KnownIdFilter.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Order History Benchmark")
+class OrderHistoryBenchmark {
+
+    private static final int CALLS = Integer.getInteger("benchmark.history.calls", 200);
+    private static final int WARMUP = 50;
+
+    private static final List<ServiceName> SERVICES = List.of(
+            ServiceName.CREDIT_CARD, ServiceName.INVENTORY, ServiceName.LOGISTICS);
+
+    @Autowired
+    private TransactionLogPersistenceAdapter adapter;
+
+    @Test
+    @DisplayName("single-query history is faster than one lookup per transaction")
+    void compareHistoryReads() {
+        for (int transactions : new int[]{1, 50, 500}) {
+            UUID orderId = seedOrder(transactions);
+
+            Result perTransaction = measure("per-tx  " + transactions, () -> {
+                List<List<TransactionLog>> history = new ArrayList<>();
+                for (UUID txId : adapter.findDistinctTxIdsByOrderId(orderId)) {
+                    history.add(adapter.findLatestByTxId(txId.toString()));
+                }
+                return history.size();
+            });
+            Result singleQuery = measure("single  " + transactions, () ->
+                    adapter.findLatestByOrderId(orderId).size());
+
+            assertThat(singleQuery.rows()).isEqualTo(transactions);
+            assertThat(perTransaction.rows()).isEqualTo(transactions);
+            if (transactions > 1) {
+                assertThat(singleQuery.p50Micros()).isLessThan(perTransaction.p50Micros());
+            }
+        }
+    }
+
+    private UUID seedOrder(int transactions) {
+        UUID orderId = UUID.randomUUID();
+        List<TransactionLog> entries = new ArrayList<>(transactions * SERVICES.size());
+        for (int i = 0; i < transactions; i++) {
+            UUID txId = UUID.randomUUID();
+            for (ServiceName service : SERVICES) {
+                entries.add(TransactionLog.create(txId, orderId, service, TransactionStatus.S));
+            }
+        }
+        adapter.saveAll(entries);
+        return orderId;
+    }
+
+    private Result measure(String name, Supplier<Integer> call) {
+        int rows = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            rows = call.get();
+        }
+        long[] latencies = new long[CALLS];
+        for (int i = 0; i < CALLS; i++) {
+            long start = System.nanoTime();
+            rows = call.get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        double p50 = latencies[CALLS / 2] / 1_000.0;
+        double p99 = latencies[(int) (CALLS * 0.99)] / 1_000.0;
+        System.out.printf("%-12s p50=%,.1f us p99=%,.1f us%n", name, p50, p99);
+        return new Result(p50, rows);
+    }
+
+    private record Result(double p50Micros, int rows) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PersistenceCodes Tests")
+class PersistenceCodesTest {
+
+    @Test
+    @DisplayName("should round-trip every transaction status through a unique code")
+    void shouldRoundTripStatuses() {
+        Set<Byte> codes = new HashSet<>();
+        for (TransactionStatus status : TransactionStatus.values()) {
+            byte code = PersistenceCodes.code(status);
+            assertThat(codes.add(code)).isTrue();
+            assertThat(PersistenceCodes.status(code)).isEqualTo(status);
+        }
+    }
+
+    @Test
+    @DisplayName("should round-trip every service name through a unique code")
+    void shouldRoundTripServiceNames() {
+        Set<Byte> codes = new HashSet<>();
+        for (ServiceName serviceName : ServiceName.values()) {
+            byte code = PersistenceCodes.code(serviceName);
+            assertThat(codes.add(code)).isTrue();
+            assertThat(PersistenceCodes.serviceName(code)).isEqualTo(serviceName);
+        }
+    }
+
+    @Test
+    @DisplayName("should keep stored codes stable")
+    void shouldKeepStoredCodesStable() {
+        // These values are persisted; changing them corrupts existing rows
+        assertThat(PersistenceCodes.code(TransactionStatus.U)).isEqualTo((byte) 1);
+        assertThat(PersistenceCodes.code(TransactionStatus.RF)).isEqualTo((byte) 6);
+        assertThat(PersistenceCodes.code(ServiceName.CREDIT_CARD)).isEqualTo((byte) 1);
+        assertThat(PersistenceCodes.code(ServiceName.SAGA)).isEqualTo((byte) 4);
+    }
+
+    @Test
+    @DisplayName("should reject unknown codes")
+    void shouldRejectUnknownCodes() {
+        assertThatThrownBy(() -> PersistenceCodes.status((byte) 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PersistenceCodes.serviceName((byte) 99))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,432 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.TransactionStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression suite for every repository query and the JDBC hot-path statements.
+ * <p>
+ * Fills H2 with a generated dataset ({@code queryplan.transactions} sagas, nine log rows each),
+ * captures the SQL each query sends, and asserts on its {@code EXPLAIN}: it must seek one of
+ * the expected indexes and never fall back to a table scan, unless the case documents why a
+ * scan is inherent. Latency is the median of several runs against a per-case budget, scaled by
+ * {@code queryplan.latency-factor} for slow machines. Plans are written to
+ * {@code build/reports/query-plans/plans.txt}.
+ * <p>
+ * Runs offline as part of {@code ./gradlew check} via the {@code queryPlan} task.
+ */
+@Tag("queryplan")
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.ecommerce.order.adapter.out.persistence.QueryPlanRegressionTest$CapturingStatementInspector",
+        "spring.jpa.show-sql=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Query Plan Regression")
+class QueryPlanRegressionTest {
+
+    private static final int TRANSACTIONS = Integer.getInteger("queryplan.transactions", 200_000);
+    private static final double LATENCY_FACTOR = Double.parseDouble(System.getProperty("queryplan.latency-factor", "1"));
+
+    /** Single-transaction lookups. */
+    private static final Duration POINT = Duration.ofMillis(50);
+    /** Bounded range reads returning up to a few thousand rows. */
+    private static final Duration RANGE = Duration.ofMillis(500);
+
+    private static final int RUNS = 5;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final Pattern TABLE_SCAN = Pattern.compile("\\.tableScan");
+    private static final Path REPORT = Path.of("build", "reports", "query-plans", "plans.txt");
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            TransactionLogRepository.class, SagaStateRepository.class, SagaSummaryRepository.class,
+            OutboxEventRepository.class, SagaConfigRepository.class, TransactionLogPartitionRepository.class);
+
+    @Autowired
+    private TransactionLogRepository logRepository;
+
+    @Autowired
+    private SagaStateRepository stateRepository;
+
+    @Autowired
+    private SagaSummaryRepository summaryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private SagaConfigRepository configRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final Map<String, QueryCase> cases = new LinkedHashMap<>();
+    private final Map<String, String> report = new TreeMap<>();
+
+    private UUID sampleTx;
+    private UUID sampleOrder;
+    private long sampleLogId;
+    private List<UUID> sampleTxIds;
+
+    @BeforeAll
+    void generateDataset() {
+        long started = System.currentTimeMillis();
+        jdbcTemplate.execute("CREATE TABLE qp_tx AS SELECT X AS n, RANDOM_UUID() AS tx_id, RANDOM_UUID() AS order_id"
+                + " FROM SYSTEM_RANGE(1, " + TRANSACTIONS + ")");
+
+        // Saga n starts at EPOCH + 10n seconds; 1% failed, 1% still in flight, the rest completed.
+        // Each writes the three upfront U rows, then a U and an outcome per service.
+        jdbcTemplate.execute("""
+            INSERT INTO transaction_log (id, tx_id, order_id, service_name, status, retry_count, created_at)
+            SELECT t.n * 10 + s.X, t.tx_id, t.order_id, MOD(s.X - 1, 3) + 1,
+                   CASE WHEN s.X <= 6 OR MOD(t.n, 100) = 1 THEN 1 WHEN MOD(t.n, 100) = 0 THEN 3 ELSE 2 END,
+                   0, DATEADD('SECOND', t.n * 10 + s.X, TIMESTAMP '2024-01-01 00:00:00')
+            FROM qp_tx t CROSS JOIN SYSTEM_RANGE(1, 9) s
+        """);
+        jdbcTemplate.execute("""
+            INSERT INTO saga_state (tx_id, service_name, order_id, status, retry_count, last_log_id, updated_at)
+            SELECT t.tx_id, s.X, t.order_id,
+                   CASE WHEN MOD(t.n, 100) = 1 THEN 1 WHEN MOD(t.n, 100) = 0 THEN 3 ELSE 2 END,
+                   0, t.n * 10 + 6 + s.X, DATEADD('SECOND', t.n * 10 + 9, TIMESTAMP '2024-01-01 00:00:00')
+            FROM qp_tx t CROSS JOIN SYSTEM_RANGE(1, 3) s
+        """);
+        // The older half of the sagas is archived
+        jdbcTemplate.execute("""
+            INSERT INTO saga_summary (tx_id, order_id, overall_status, started_at, updated_at, terminal, archived_on)
+            SELECT t.tx_id, t.order_id,
+                   CASE WHEN MOD(t.n, 100) = 1 THEN 'PROCESSING' WHEN MOD(t.n, 100) = 0 THEN 'FAILED' ELSE 'COMPLETED' END,
+                   DATEADD('SECOND', t.n * 10, TIMESTAMP '2024-01-01 00:00:00'),
+                   DATEADD('SECOND', t.n * 10 + 9, TIMESTAMP '2024-01-01 00:00:00'),
+                   MOD(t.n, 100) <> 1,
+                   CASE WHEN t.n <= %d THEN CAST(DATEADD('SECOND', t.n * 10, TIMESTAMP '2024-01-01 00:00:00') AS DATE) END
+            FROM qp_tx t
+        """.formatted(TRANSACTIONS / 2));
+        jdbcTemplate.execute("""
+            INSERT INTO outbox_event (tx_id, order_id, event_type, payload, created_at, processed)
+            SELECT t.tx_id, t.order_id, 'SAGA_STARTED', '{}',
+                   DATEADD('SECOND', t.n * 10, TIMESTAMP '2024-01-01 00:00:00'), MOD(t.n, 100) <> 1
+            FROM qp_tx t
+        """);
+        long maxId = TRANSACTIONS * 10L + 10;
+        jdbcTemplate.execute("ALTER SEQUENCE transaction_log_seq RESTART WITH " + (maxId + 50 - maxId % 50 + 1));
+
+        // Samples from the hot (unarchived) half
+        int sample = TRANSACTIONS * 3 / 4;
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT tx_id, order_id FROM qp_tx WHERE n = ?", sample);
+        sampleTx = (UUID) row.get("TX_ID");
+        sampleOrder = (UUID) row.get("ORDER_ID");
+        sampleLogId = sample * 10L + 9;
+        sampleTxIds = jdbcTemplate.queryForList(
+                "SELECT tx_id FROM qp_tx WHERE n BETWEEN ? AND ?", UUID.class, sample, sample + 255);
+        jdbcTemplate.execute("DROP TABLE qp_tx");
+        jdbcTemplate.execute("ANALYZE");
+
+        registerCases();
+        System.out.printf("Generated %d sagas (%d log rows) in %d ms%n",
+                TRANSACTIONS, TRANSACTIONS * 9L, System.currentTimeMillis() - started);
+    }
+
+    @AfterAll
+    void cleanUpAndWriteReport() throws IOException {
+        for (String table : List.of("transaction_log", "saga_state", "saga_summary", "outbox_event")) {
+            jdbcTemplate.execute("TRUNCATE TABLE " + table);
+        }
+        Files.createDirectories(REPORT.getParent());
+        StringBuilder text = new StringBuilder();
+        report.forEach((name, plan) -> text.append("== ").append(name).append('\n').append(plan).append("\n\n"));
+        Files.writeString(REPORT, text);
+    }
+
+    private void registerCases() {
+        LocalDateTime hotDayStart = EPOCH.plusSeconds(TRANSACTIONS * 10L * 3 / 4).toLocalDate().atStartOfDay();
+        LocalDateTime hotDayEnd = hotDayStart.plusDays(1);
+        LocalDateTime recent = EPOCH.plusSeconds(TRANSACTIONS * 10L - 3600);
+
+        // transaction_log
+        seek("TransactionLogRepository.findByTxIdOrderByCreatedAtAsc", POINT,
+                () -> logRepository.findByTxIdOrderByCreatedAtAsc(sampleTx), "IDX_TX_SERVICE_STATUS");
+        seek("TransactionLogRepository.findByOrderIdOrderByCreatedAtDesc", POINT,
+                () -> logRepository.findByOrderIdOrderByCreatedAtDesc(sampleOrder), "IDX_ORDER_ID");
+        scan("TransactionLogRepository.findTxIds",
+                "Projection rebuild pages through every txId from the start of the index",
+                () -> logRepository.findTxIds(PageRequest.of(0, 500)));
+        seek("TransactionLogRepository.findTxIdsAfter", RANGE,
+                () -> logRepository.findTxIdsAfter(sampleTx, PageRequest.of(0, 500)), "IDX_TX_SERVICE_STATUS");
+        seek("TransactionLogRepository.findByTxIdInOrderByIdAsc", RANGE,
+                () -> logRepository.findByTxIdInOrderByIdAsc(sampleTxIds), "IDX_TX_SERVICE_STATUS");
+        seek("TransactionLogRepository.deleteByTxIdIn", RANGE,
+                () -> logRepository.deleteByTxIdIn(sampleTxIds), "IDX_TX_SERVICE_STATUS");
+
+        // saga_state
+        seek("SagaStateRepository.findByTxId", POINT,
+                () -> stateRepository.findByTxId(sampleTx), "PRIMARY_KEY");
+        seek("SagaStateRepository.findTxIdsByStatusUpdatedBefore", RANGE,
+                () -> stateRepository.findTxIdsByStatusUpdatedBefore(TransactionStatus.U, recent),
+                "IDX_STATE_STATUS_UPDATED");
+        seek("SagaStateRepository.findTransactionsWithStatusIn", RANGE,
+                () -> stateRepository.findTransactionsWithStatusIn(List.of(TransactionStatus.U, TransactionStatus.F)),
+                "IDX_STATE_STATUS_UPDATED");
+        seek("SagaStateRepository.deleteByTxIdIn", RANGE,
+                () -> stateRepository.deleteByTxIdIn(sampleTxIds), "PRIMARY_KEY");
+
+        // saga_summary
+        seek("SagaSummaryRepository.findByTxIdForUpdate", POINT,
+                () -> summaryRepository.findByTxIdForUpdate(sampleTx), "PRIMARY_KEY");
+        seek("SagaSummaryRepository.findTxIdsByOrderId", POINT,
+                () -> summaryRepository.findTxIdsByOrderId(sampleOrder), "IDX_SUMMARY_ORDER_STARTED");
+        seek("SagaSummaryRepository.findByOrderIdAndArchivedOnIsNotNull", POINT,
+                () -> summaryRepository.findByOrderIdAndArchivedOnIsNotNull(sampleOrder), "IDX_SUMMARY_ORDER_STARTED");
+        seek("SagaSummaryRepository.findOldestUnarchivedStart", RANGE,
+                () -> summaryRepository.findOldestUnarchivedStart(), "IDX_SUMMARY_ARCHIVED_STARTED");
+        seek("SagaSummaryRepository.countOpenStartedBetween", RANGE,
+                () -> summaryRepository.countOpenStartedBetween(hotDayStart, hotDayEnd),
+                "IDX_SUMMARY_ARCHIVED_STARTED", "IDX_SUMMARY_TERMINAL_UPDATED");
+        seek("SagaSummaryRepository.findUnarchivedTxIdsStartedBetween", RANGE,
+                () -> summaryRepository.findUnarchivedTxIdsStartedBetween(hotDayStart, hotDayEnd),
+                "IDX_SUMMARY_ARCHIVED_STARTED");
+        seek("SagaSummaryRepository.markArchived", RANGE,
+                () -> summaryRepository.markArchived(sampleTxIds, LocalDate.of(2024, 1, 1), "2024-01-01"),
+                "PRIMARY_KEY");
+        seek("SagaSummaryRepository.findCompactableForUpdate", RANGE,
+                () -> summaryRepository.findCompactableForUpdate(recent, PageRequest.of(0, 1000)),
+                "IDX_SUMMARY_TERMINAL_UPDATED");
+        scan("SagaSummaryRepository.deleteUnarchived",
+                "Projection rebuild clears every hot summary row",
+                () -> summaryRepository.deleteUnarchived());
+
+        // outbox_event
+        seek("OutboxEventRepository.findByProcessedFalseOrderByCreatedAtAsc", RANGE,
+                () -> outboxRepository.findByProcessedFalseOrderByCreatedAtAsc(), "IDX_OUTBOX_PROCESSED");
+
+        // saga_config holds one row per service and configuration state; a scan is as cheap as a seek
+        String smallTable = "saga_config holds a handful of rows";
+        scan("SagaConfigRepository.findByConfigTypeAndIsActiveTrue", smallTable,
+                () -> configRepository.findByConfigTypeAndIsActiveTrue("GLOBAL"));
+        scan("SagaConfigRepository.findByConfigTypeAndIsPendingTrue", smallTable,
+                () -> configRepository.findByConfigTypeAndIsPendingTrue("GLOBAL"));
+        scan("SagaConfigRepository.findByConfigType", smallTable,
+                () -> configRepository.findByConfigType("SERVICE_CONFIG"));
+        scan("SagaConfigRepository.findActiveServiceConfigs", smallTable,
+                () -> configRepository.findActiveServiceConfigs());
+        scan("SagaConfigRepository.findPendingServiceConfigs", smallTable,
+                () -> configRepository.findPendingServiceConfigs());
+        scan("SagaConfigRepository.deletePendingServiceConfigs", smallTable,
+                () -> configRepository.deletePendingServiceConfigs());
+        scan("SagaConfigRepository.deactivateActiveServiceConfigs", smallTable,
+                () -> configRepository.deactivateActiveServiceConfigs());
+        scan("SagaConfigRepository.activatePendingServiceConfigs", smallTable,
+                () -> configRepository.activatePendingServiceConfigs());
+
+        // Plain-JDBC hot path
+        jdbc("TransactionLogJdbcRepository.LOCK_SUMMARY", TransactionLogJdbcRepository.LOCK_SUMMARY,
+                "PRIMARY_KEY", sampleTx);
+        jdbc("TransactionLogJdbcRepository.UPDATE_SUMMARY", TransactionLogJdbcRepository.UPDATE_SUMMARY,
+                "PRIMARY_KEY", "COMPLETED", LocalDateTime.now(), true, sampleTx);
+        jdbc("TransactionLogJdbcRepository.MARK_NOTIFIED", TransactionLogJdbcRepository.MARK_NOTIFIED,
+                "PRIMARY_KEY", LocalDateTime.now(), sampleLogId);
+        jdbc("TransactionLogJdbcRepository.SELECT_STATES", TransactionLogJdbcRepository.SELECT_STATES,
+                "PRIMARY_KEY", sampleTx);
+        jdbc("TransactionLogJdbcRepository.SELECT_ORDER_STATES", TransactionLogJdbcRepository.SELECT_ORDER_STATES,
+                "IDX_SUMMARY_ORDER_STARTED", sampleOrder, 50);
+        jdbc("TransactionLogJdbcRepository.SELECT_ORDER_STATES_AFTER",
+                TransactionLogJdbcRepository.SELECT_ORDER_STATES_AFTER, "IDX_SUMMARY_ORDER_STARTED",
+                sampleOrder, LocalDateTime.now(), LocalDateTime.now(), sampleTx, 50);
+        jdbc("TransactionLogJdbcRepository.SELECT_TRANSACTION_STATES",
+                TransactionLogJdbcRepository.SELECT_TRANSACTION_STATES, "PRIMARY_KEY",
+                (Object) new UUID[]{sampleTx, UUID.randomUUID()});
+        jdbc("TransactionLogJdbcRepository.SELECT_STATES_BY_STATUS",
+                TransactionLogJdbcRepository.SELECT_STATES_BY_STATUS, "IDX_STATE_STATUS_UPDATED",
+                (byte) 1, LocalDateTime.now().minusMinutes(5), 50);
+        jdbc("TransactionLogJdbcRepository.SELECT_STATES_BY_STATUS_AFTER",
+                TransactionLogJdbcRepository.SELECT_STATES_BY_STATUS_AFTER, "IDX_STATE_STATUS_UPDATED",
+                (byte) 1, LocalDateTime.now().minusMinutes(5), LocalDateTime.now().minusHours(1),
+                LocalDateTime.now().minusHours(1), sampleTx, sampleTx, (byte) 1, 50);
+        jdbc("TransactionLogJdbcRepository.SELECT_OUTCOMES", TransactionLogJdbcRepository.SELECT_OUTCOMES,
+                "IDX_SUMMARY_STARTED", EPOCH.plusHours(400), EPOCH.plusHours(400).plusMinutes(10));
+
+        // Rollback retry scheduler polling
+        jdbc("RollbackAttemptPersistenceAdapter.SELECT_DUE", RollbackAttemptPersistenceAdapter.SELECT_DUE,
+                "IDX_ROLLBACK_ATTEMPT_DUE", LocalDateTime.now(), 64);
+        jdbc("RollbackAttemptPersistenceAdapter.CLAIM", RollbackAttemptPersistenceAdapter.CLAIM,
+                "PRIMARY_KEY", LocalDateTime.now().plusMinutes(1), 1L, LocalDateTime.now());
+
+        // Statistics rehydration on startup; the per-status count is a one-off scan and not listed
+        jdbc("SagaStatisticsTracker.SELECT_STARTED_SINCE", SagaStatisticsTracker.SELECT_STARTED_SINCE,
+                "IDX_SUMMARY_ARCHIVED_STARTED", LocalDateTime.now().minusMinutes(15));
+        jdbc("SagaStatisticsTracker.SELECT_ENDED_SINCE", SagaStatisticsTracker.SELECT_ENDED_SINCE,
+                "IDX_SUMMARY_TERMINAL_UPDATED", LocalDateTime.now().minusMinutes(15));
+        jdbc("SagaStatisticsTracker.SELECT_STATES_SINCE", SagaStatisticsTracker.SELECT_STATES_SINCE,
+                "IDX_STATE_STATUS_UPDATED", (byte) 2, LocalDateTime.now().minusMinutes(15));
+    }
+
+    Stream<String> queryCases() {
+        return cases.keySet().stream();
+    }
+
+    @Test
+    @DisplayName("every declared repository query has a plan case")
+    void shouldCoverEveryRepositoryQuery() {
+        List<String> declared = new ArrayList<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                declared.add(repository.getSimpleName() + "." + method.getName());
+            }
+        }
+        assertThat(cases.keySet()).containsAll(declared);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queryCases")
+    @DisplayName("query keeps its plan and latency budget")
+    void shouldKeepPlanAndLatency(String name) throws Exception {
+        QueryCase queryCase = cases.get(name);
+
+        // When - first run captures the SQL, the rest are timed
+        CapturingStatementInspector.clear();
+        queryCase.query().run();
+        entityManager.flush();
+        entityManager.clear();
+        List<String> statements = queryCase.sql() != null ? List.of(queryCase.sql()) : CapturingStatementInspector.captured();
+
+        List<String> plans = statements.stream().map(this::explain).toList();
+        report.put(name, String.join("\n", plans));
+
+        // Then - plan shape
+        assertThat(plans).as("SQL sent by %s", name).isNotEmpty();
+        if (queryCase.scanReason() == null) {
+            assertThat(plans).as("plans of %s", name)
+                    .noneMatch(plan -> TABLE_SCAN.matcher(plan).find())
+                    .anyMatch(plan -> queryCase.indexes().stream().anyMatch(index -> seeks(plan, index)));
+        }
+
+        // Then - latency
+        if (queryCase.budget() != null) {
+            long[] nanos = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                long started = System.nanoTime();
+                queryCase.query().run();
+                nanos[i] = System.nanoTime() - started;
+                entityManager.clear();
+            }
+            Arrays.sort(nanos);
+            Duration median = Duration.ofNanos(nanos[RUNS / 2]);
+            Duration budget = Duration.ofNanos((long) (queryCase.budget().toNanos() * LATENCY_FACTOR));
+            report.merge(name, "median " + median.toMillis() + " ms (budget " + budget.toMillis() + " ms)",
+                    (plan, latency) -> plan + "\n" + latency);
+            assertThat(median).as("median latency of %s", name).isLessThanOrEqualTo(budget);
+        }
+    }
+
+    private void seek(String name, Duration budget, Query query, String... indexes) {
+        cases.put(name, new QueryCase(query, null, List.of(indexes), budget, null));
+    }
+
+    private void scan(String name, String reason, Query query) {
+        cases.put(name, new QueryCase(query, null, List.of(), null, reason));
+    }
+
+    private void jdbc(String name, String sql, String index, Object... args) {
+        Query query = () -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < args.length; i++) {
+                    statement.setObject(i + 1, args[i]);
+                }
+                statement.execute();
+            }
+            return null;
+        });
+        cases.put(name, new QueryCase(query, sql, List.of(index), POINT, null));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // EXPLAIN only plans the statement; parameter values do not matter, but must be set
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Whether the plan uses the index with an index condition, not just as a sorted full scan.
+     * H2 names inline primary keys PRIMARY_KEY_ followed by a hex suffix.
+     */
+    private static boolean seeks(String plan, String index) {
+        return Pattern.compile("/\\* PUBLIC\\." + Pattern.quote(index) + "(_[0-9A-F]+)?: ").matcher(plan).find();
+    }
+
+    @FunctionalInterface
+    private interface Query {
+        void run() throws Exception;
+    }
+
+    /**
+     * @param sql        fixed SQL of a JDBC statement, or null to EXPLAIN what the repository sent
+     * @param indexes    indexes any one of which the plan must seek
+     * @param budget     median latency budget, or null for batch queries that are not timed
+     * @param scanReason why a scan is acceptable, or null if the plan must seek an index
+     */
+    private record QueryCase(Query query, String sql, List<String> indexes, Duration budget, String scanReason) {
+    }
+
+    /**
+     * Records the SQL Hibernate sends, so the suite can EXPLAIN exactly what a repository method runs.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static List<String> captured() {
+            return List.copyOf(STATEMENTS);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.application.port.out.RollbackAttemptPort.RollbackAttempt;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for RollbackAttemptPersistenceAdapter.
+ */
+@DataJpaTest
+@Import(RollbackAttemptPersistenceAdapter.class)
+@ActiveProfiles("test")
+class RollbackAttemptPersistenceAdapterTest {
+
+    @Autowired
+    private RollbackAttemptPersistenceAdapter adapter;
+
+    @Test
+    @DisplayName("should only hand out a stage once the earlier stages have settled")
+    void shouldGateStages() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        adapter.schedule(txId, UUID.randomUUID(),
+                List.of(List.of(ServiceName.LOGISTICS, ServiceName.INVENTORY), List.of(ServiceName.CREDIT_CARD)),
+                3, now.minusSeconds(1));
+
+        // When
+        List<RollbackAttempt> first = claim(txId, now);
+
+        // Then - the parallel stage is due, the last stage waits for it
+        assertEquals(List.of(ServiceName.LOGISTICS, ServiceName.INVENTORY),
+                first.stream().map(RollbackAttempt::serviceName).toList());
+        assertTrue(claim(txId, now).isEmpty(), "claimed attempts are leased");
+
+        adapter.settle(first.get(0).id(), TransactionStatus.R, null);
+        assertTrue(claim(txId, now).isEmpty(), "stage still has a pending attempt");
+
+        adapter.settle(first.get(1).id(), TransactionStatus.R, null);
+        List<RollbackAttempt> second = claim(txId, now);
+        assertEquals(1, second.size());
+        assertEquals(ServiceName.CREDIT_CARD, second.get(0).serviceName());
+        assertEquals(3, second.get(0).maxAttempts());
+    }
+
+    @Test
+    @DisplayName("should hand a rescheduled attempt out again only when it falls due")
+    void shouldRescheduleAttempt() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        adapter.schedule(txId, UUID.randomUUID(), List.of(List.of(ServiceName.CREDIT_CARD)), 3, now.minusSeconds(1));
+        RollbackAttempt attempt = claim(txId, now).get(0);
+
+        // When
+        adapter.reschedule(attempt.id(), 1, now.plusSeconds(1), "Connection refused");
+
+        // Then
+        assertTrue(claim(txId, now).isEmpty());
+        List<RollbackAttempt> retried = claim(txId, now.plusSeconds(2));
+        assertEquals(1, retried.size());
+        assertEquals(1, retried.get(0).attempts());
+    }
+
+    @Test
+    @DisplayName("should hand a released attempt out again at once")
+    void shouldReleaseClaimedAttempt() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        adapter.schedule(txId, UUID.randomUUID(), List.of(List.of(ServiceName.CREDIT_CARD)), 3, now.minusSeconds(1));
+        List<RollbackAttempt> claimed = claim(txId, now);
+
+        // When
+        adapter.release(claimed, now);
+
+        // Then
+        List<RollbackAttempt> reclaimed = claim(txId, now);
+        assertEquals(1, reclaimed.size());
+        assertEquals(0, reclaimed.get(0).attempts());
+    }
+
+    @Test
+    @DisplayName("should finish a transaction once, reporting the services settled as RF")
+    void shouldFinishOnce() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        adapter.schedule(txId, UUID.randomUUID(),
+                List.of(List.of(ServiceName.INVENTORY, ServiceName.LOGISTICS)), 3, now.minusSeconds(1));
+        List<RollbackAttempt> attempts = claim(txId, now);
+        RollbackAttempt inventory = attempts.stream()
+                .filter(attempt -> attempt.serviceName() == ServiceName.INVENTORY).findFirst().orElseThrow();
+        RollbackAttempt logistics = attempts.stream()
+                .filter(attempt -> attempt.serviceName() == ServiceName.LOGISTICS).findFirst().orElseThrow();
+        adapter.settle(inventory.id(), TransactionStatus.RF, "Inventory system down");
+        assertEquals(Optional.empty(), adapter.finish(txId), "one attempt is still pending");
+
+        // When
+        adapter.settle(logistics.id(), TransactionStatus.R, null);
+
+        // Then
+        assertEquals(Optional.of(List.of(ServiceName.INVENTORY)), adapter.finish(txId));
+        assertEquals(Optional.empty(), adapter.finish(txId));
+    }
+
+    private List<RollbackAttempt> claim(UUID txId, LocalDateTime now) {
+        return adapter.claimDue(now, now.plusMinutes(1), 100).stream()
+                .filter(attempt -> attempt.txId().equals(txId))
+                .toList();
+    }
+}
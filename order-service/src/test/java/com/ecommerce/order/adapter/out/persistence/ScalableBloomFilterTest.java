@@ -0,0 +1,80 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ScalableBloomFilter Tests")
+class ScalableBloomFilterTest {
+
+    @Test
+    @DisplayName("should never deny an added id and rarely admit an unknown one")
+    void shouldKeepFalsePositivesNearTheConfiguredRate() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(10_000, 0.01);
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            filter.add(id);
+            added.add(id);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(added).allMatch(filter::mightContain);
+        assertThat(falsePositives / 100_000.0).isLessThan(0.01);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.01);
+    }
+
+    @Test
+    @DisplayName("should grow slices past its capacity without losing ids")
+    void shouldGrowBeyondCapacity() {
+        // Given
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        List<UUID> added = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = UUID.randomUUID();
+            filter.add(id);
+            added.add(id);
+        }
+
+        // Then - 100 + 200 + 400 + 800 covers 1000 ids
+        assertThat(filter.sliceCount()).isEqualTo(4);
+        assertThat(added).allMatch(filter::mightContain);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.01);
+    }
+
+    @Test
+    @DisplayName("should count an id added twice once")
+    void shouldIgnoreRepeats() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        UUID id = UUID.randomUUID();
+
+        filter.add(id);
+        filter.add(id);
+
+        assertThat(filter.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should reject impossible sizing")
+    void shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> new ScalableBloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ScalableBloomFilter(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
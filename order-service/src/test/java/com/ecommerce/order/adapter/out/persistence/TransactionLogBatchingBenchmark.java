@@ -0,0 +1,153 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.out.archive.LogSegmentArchive;
+import com.ecommerce.order.domain.model.TransactionLog;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares per-row saves against batched saveAll for the initial saga log entries.
+ * Reports JDBC statements per saga, counted as they are prepared on the connection, and rows/sec.
+ * <p>
+ * Run with {@code ./gradlew :order-service:benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.jdbc=INFO"
+})
+@Import({TransactionLogPersistenceAdapter.class, SagaStateProjector.class, TransactionLogJdbcRepository.class,
+        TransactionLogPartitioner.class, SagaTransactionCompactor.class, LogSegmentArchive.class,
+        SagaStatisticsTracker.class, TransactionStateCache.class, KnownIdFilter.class})
+@ActiveProfiles("test")
+@DisplayName("TransactionLog Batching Benchmark")
+class TransactionLogBatchingBenchmark {
+
+    private static final int SAGAS = Integer.getInteger("benchmark.batching.sagas", 2_000);
+    private static final List<ServiceName> SERVICES =
+            List.of(ServiceName.CREDIT_CARD, ServiceName.INVENTORY, ServiceName.LOGISTICS);
+
+    @Autowired
+    private TransactionLogPersistenceAdapter adapter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("saveAll issues fewer statements per saga than per-row saves")
+    void compareRowByRowAndBatched() {
+        // Warm up both paths
+        run(200, entries -> entries.forEach(adapter::save));
+        run(200, adapter::saveAll);
+
+        Result rowByRow = run(SAGAS, entries -> entries.forEach(adapter::save));
+        Result batched = run(SAGAS, adapter::saveAll);
+
+        System.out.printf("row-by-row: %.1f statements/saga, %.0f rows/sec%n",
+                rowByRow.statementsPerSaga(), rowByRow.rowsPerSecond());
+        System.out.printf("saveAll:    %.1f statements/saga, %.0f rows/sec%n",
+                batched.statementsPerSaga(), batched.rowsPerSecond());
+
+        assertThat(batched.statementsPerSaga()).isLessThan(rowByRow.statementsPerSaga());
+    }
+
+    private Result run(int sagas, Consumer<List<TransactionLog>> writer) {
+        CountingDataSource.PREPARED.set(0);
+        long start = System.nanoTime();
+        for (int i = 0; i < sagas; i++) {
+            UUID txId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+            List<TransactionLog> entries = new ArrayList<>(SERVICES.size());
+            for (ServiceName service : SERVICES) {
+                entries.add(TransactionLog.create(txId, orderId, service, TransactionStatus.U));
+            }
+            writer.accept(entries);
+            // Each saga is its own unit of work, as in confirmOrder
+            entityManager.flush();
+            entityManager.clear();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        return new Result(
+                CountingDataSource.PREPARED.get() / (double) sagas,
+                sagas * (double) SERVICES.size() / (elapsedNanos / 1_000_000_000.0));
+    }
+
+    private record Result(double statementsPerSaga, double rowsPerSecond) {
+    }
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new CountingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Counts statements prepared through any connection, whether Hibernate or JdbcTemplate asks.
+     * A JDBC batch is prepared once however many rows it carries.
+     */
+    static final class CountingDataSource extends DelegatingDataSource {
+
+        static final AtomicLong PREPARED = new AtomicLong();
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement")) {
+                            PREPARED.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -2,17 +2,28 @@ package com.ecommerce.order.adapter.out.persistence;
 
 import com.ecommerce.common.domain.ServiceName;
 import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.out.archive.LogSegmentArchive;
+import com.ecommerce.order.application.port.out.TransactionLogPort;
+import com.ecommerce.order.domain.model.PageCursor;
+import com.ecommerce.order.domain.model.SagaOverallStatus;
+import com.ecommerce.order.domain.model.SagaStatistics;
 import com.ecommerce.order.domain.model.TransactionLog;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,7 +31,9 @@ import static org.junit.jupiter.api.Assertions.*;
  * Integration tests for TransactionLogPersistenceAdapter.
  */
 @DataJpaTest
-@Import(TransactionLogPersistenceAdapter.class)
+@Import({TransactionLogPersistenceAdapter.class, SagaStateProjector.class, TransactionLogJdbcRepository.class,
+        TransactionLogPartitioner.class, SagaTransactionCompactor.class, LogSegmentArchive.class,
+        SagaStatisticsTracker.class, TransactionStateCache.class, KnownIdFilter.class})
 @ActiveProfiles("test")
 class TransactionLogPersistenceAdapterTest {
 
@@ -30,6 +43,18 @@ class TransactionLogPersistenceAdapterTest {
     @Autowired
     private TransactionLogRepository repository;
 
+    @Autowired
+    private SagaStateRepository stateRepository;
+
+    @Autowired
+    private SagaSummaryRepository summaryRepository;
+
+    @Autowired
+    private KnownIdFilter knownIds;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     @DisplayName("should record transaction status")
     void shouldRecordTransactionStatus() {
@@ -48,7 +73,7 @@ class TransactionLogPersistenceAdapterTest {
         assertEquals(TransactionStatus.U, log.getStatus());
 
         // Verify persisted
-        List<TransactionLogEntity> entities = repository.findByTxIdOrderByCreatedAtAsc(txId.toString());
+        List<TransactionLogEntity> entities = repository.findByTxIdOrderByCreatedAtAsc(txId);
         assertEquals(1, entities.size());
     }
 
@@ -238,4 +263,500 @@ class TransactionLogPersistenceAdapterTest {
         assertTrue(txIdsForOrder1.contains(txId1));
         assertFalse(txIdsForOrder1.contains(txId2));
     }
+
+    @Test
+    @DisplayName("should project latest state per service and overall status")
+    void shouldProjectLatestStateAndOverallStatus() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+
+        // When
+        adapter.recordStatus(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+        adapter.recordStatus(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatus(txId, orderId, ServiceName.INVENTORY, TransactionStatus.U);
+
+        // Then
+        List<SagaStateEntity> states = stateRepository.findByTxId(txId);
+        assertEquals(2, states.size());
+        SagaSummaryEntity summary = summaryRepository.findById(txId).orElseThrow();
+        assertEquals(orderId, summary.getOrderId());
+        assertEquals("PROCESSING", summary.getOverallStatus());
+
+        // When - the last service succeeds
+        adapter.recordStatus(txId, orderId, ServiceName.INVENTORY, TransactionStatus.S);
+
+        // Then - the caller's loaded summary is left managed; a refresh sees the new status
+        assertTrue(entityManager.getEntityManager().contains(summary));
+        entityManager.refresh(summary);
+        assertEquals("COMPLETED", summary.getOverallStatus());
+        assertEquals(2, adapter.findLatestByTxId(txId.toString()).size());
+    }
+
+    @Test
+    @DisplayName("should return latest log entry for service from projection")
+    void shouldGetLatestForService() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        adapter.recordStatus(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+        TransactionLog failed = adapter.recordStatusWithError(txId, orderId, ServiceName.CREDIT_CARD,
+                TransactionStatus.F, "Payment declined");
+
+        // When
+        TransactionLog latest = adapter.getLatestForService(txId, ServiceName.CREDIT_CARD).orElseThrow();
+
+        // Then
+        assertEquals(failed.getId(), latest.getId());
+        assertEquals(TransactionStatus.F, latest.getStatus());
+        assertEquals("Payment declined", latest.getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("should stamp notified_at on the log row with the given id only")
+    void shouldRecordNotifiedAtById() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        TransactionLog failed = adapter.recordStatusWithError(txId, orderId, ServiceName.CREDIT_CARD,
+                TransactionStatus.RF, "Refund rejected");
+        adapter.recordStatus(txId, orderId, ServiceName.INVENTORY, TransactionStatus.R);
+        LocalDateTime notifiedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+        // When
+        adapter.recordNotifiedAt(txId, failed.getId(), notifiedAt);
+
+        // Then
+        List<TransactionLogEntity> entities = repository.findByTxIdOrderByCreatedAtAsc(txId);
+        assertEquals(2, entities.size());
+        for (TransactionLogEntity entity : entities) {
+            if (entity.getId().equals(failed.getId())) {
+                assertEquals(notifiedAt, entity.getNotifiedAt());
+            } else {
+                assertNull(entity.getNotifiedAt());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should rehydrate saga statistics from the projection")
+    void shouldRehydrateStatisticsFromProjection() {
+        // Given
+        adapter.rehydrateStatistics();
+        SagaStatistics.Snapshot baseline = adapter.statistics();
+        UUID orderId = UUID.randomUUID();
+        UUID completed = UUID.randomUUID();
+        adapter.recordStatus(completed, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+        adapter.recordStatus(completed, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatus(UUID.randomUUID(), orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+
+        // When
+        adapter.rehydrateStatistics();
+        SagaStatistics.Snapshot rehydrated = adapter.statistics();
+
+        // Then - current counts, and the latest status of each service seeds the windows
+        assertEquals(baseline.current().get(SagaOverallStatus.COMPLETED) + 1,
+                rehydrated.current().get(SagaOverallStatus.COMPLETED));
+        assertEquals(baseline.current().get(SagaOverallStatus.PROCESSING) + 1,
+                rehydrated.current().get(SagaOverallStatus.PROCESSING));
+        SagaStatistics.Window before = baseline.windows().get(0);
+        SagaStatistics.Window after = rehydrated.windows().get(0);
+        assertEquals(before.started() + 2, after.started());
+        assertEquals(before.ended().getOrDefault(SagaOverallStatus.COMPLETED, 0L) + 1,
+                after.ended().get(SagaOverallStatus.COMPLETED));
+        assertEquals(serviceCount(before, TransactionStatus.S) + 1, serviceCount(after, TransactionStatus.S));
+        assertEquals(serviceCount(before, TransactionStatus.U) + 1, serviceCount(after, TransactionStatus.U));
+    }
+
+    private static long serviceCount(SagaStatistics.Window window, TransactionStatus status) {
+        return window.services().getOrDefault(ServiceName.CREDIT_CARD, Map.of()).getOrDefault(status, 0L);
+    }
+
+    @Test
+    @DisplayName("should rebuild projection from the log")
+    void shouldRebuildProjectionFromLog() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        UUID txId1 = UUID.randomUUID();
+        UUID txId2 = UUID.randomUUID();
+        adapter.recordStatus(txId1, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+        adapter.recordStatus(txId1, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatus(txId2, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+        adapter.recordStatusWithError(txId2, orderId, ServiceName.CREDIT_CARD, TransactionStatus.F, "boom");
+        Map<ServiceName, TransactionStatus> before = adapter.getLatestStatuses(txId2);
+        stateRepository.deleteAllInBatch();
+        summaryRepository.deleteAllInBatch();
+
+        // When
+        long projected = adapter.rebuildProjection();
+
+        // Then
+        assertTrue(projected >= 2);
+        assertEquals(before, adapter.getLatestStatuses(txId2));
+        assertEquals(TransactionStatus.S, adapter.getLatestStatuses(txId1).get(ServiceName.CREDIT_CARD));
+        assertEquals("FAILED", summaryRepository.findById(txId2).orElseThrow().getOverallStatus());
+        assertEquals(2, adapter.findDistinctTxIdsByOrderId(orderId).size());
+    }
+
+    @Test
+    @DisplayName("should save multiple entries in one batch and project them")
+    void shouldSaveAllAndProject() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        List<TransactionLog> entries = List.of(
+                TransactionLog.create(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U),
+                TransactionLog.create(txId, orderId, ServiceName.INVENTORY, TransactionStatus.U),
+                TransactionLog.create(txId, orderId, ServiceName.LOGISTICS, TransactionStatus.U)
+        );
+
+        // When
+        List<TransactionLog> saved = adapter.saveAll(entries);
+
+        // Then
+        assertEquals(3, saved.size());
+        assertTrue(saved.stream().allMatch(log -> log.getId() != null));
+        assertEquals(3, repository.findByTxIdOrderByCreatedAtAsc(txId).size());
+        assertEquals(3, adapter.getLatestStatuses(txId).size());
+        assertEquals("PROCESSING", summaryRepository.findById(txId).orElseThrow().getOverallStatus());
+    }
+
+    @Test
+    @DisplayName("should keep the step deadline until the service reports its outcome")
+    void shouldProjectStepDeadline() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        LocalDateTime deadline = LocalDateTime.of(2030, 1, 1, 12, 0);
+        adapter.saveAll(List.of(
+                TransactionLog.createPending(txId, orderId, ServiceName.CREDIT_CARD, deadline),
+                TransactionLog.createPending(txId, orderId, ServiceName.INVENTORY, deadline.plusSeconds(60))));
+
+        // When
+        adapter.recordStatus(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+
+        // Then
+        List<TransactionLog> latest = adapter.findLatestByTxId(txId.toString());
+        assertEquals(2, latest.size());
+        assertNull(latest.get(0).getDeadlineAt());
+        assertEquals(deadline.plusSeconds(60), latest.get(1).getDeadlineAt());
+        TransactionLog started = adapter.findByTxId(txId).stream()
+                .filter(log -> log.getServiceName() == ServiceName.CREDIT_CARD && log.getStatus() == TransactionStatus.U)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(deadline, started.getDeadlineAt());
+    }
+
+    @Test
+    @DisplayName("should seal a terminal partition and serve it from the archive")
+    void shouldSealTerminalPartitionAndReadFromArchive() {
+        // Given - a completed and a rolled back saga started on an old day
+        LocalDate day = LocalDate.of(2001, 1, 1);
+        UUID orderId = UUID.randomUUID();
+        UUID completedTx = UUID.randomUUID();
+        UUID rolledBackTx = UUID.randomUUID();
+        adapter.recordStatus(completedTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+        adapter.recordStatus(completedTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatus(rolledBackTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatusWithError(rolledBackTx, orderId, ServiceName.INVENTORY, TransactionStatus.F, "Out of stock");
+        adapter.recordStatus(rolledBackTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.R);
+        startOn(completedTx, day);
+        startOn(rolledBackTx, day);
+
+        // When
+        int sealed = adapter.archivePartitionsBefore(day.plusDays(1));
+
+        // Then - hot rows are gone, lookups fall through to the segment
+        assertEquals(1, sealed);
+        assertTrue(repository.findByTxIdOrderByCreatedAtAsc(completedTx).isEmpty());
+        assertTrue(stateRepository.findByTxId(rolledBackTx).isEmpty());
+        assertEquals(day, summaryRepository.findById(completedTx).orElseThrow().getArchivedOn());
+
+        assertEquals(2, adapter.findByTxId(completedTx).size());
+        List<TransactionLog> latest = adapter.findLatestByTxId(rolledBackTx.toString());
+        assertEquals(2, latest.size());
+        assertTrue(latest.stream().anyMatch(log -> log.getServiceName() == ServiceName.CREDIT_CARD
+                && log.getStatus() == TransactionStatus.R));
+        assertEquals("Out of stock", latest.stream()
+                .filter(log -> log.getServiceName() == ServiceName.INVENTORY)
+                .findFirst().orElseThrow().getErrorMessage());
+        assertEquals(5, adapter.findByOrderId(orderId).size());
+    }
+
+    @Test
+    @DisplayName("should keep a partition hot while any of its sagas is open")
+    void shouldKeepPartitionWithOpenSagaHot() {
+        // Given
+        LocalDate day = LocalDate.of(2001, 1, 2);
+        UUID orderId = UUID.randomUUID();
+        UUID completedTx = UUID.randomUUID();
+        UUID openTx = UUID.randomUUID();
+        adapter.recordStatus(completedTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatus(openTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatus(openTx, orderId, ServiceName.INVENTORY, TransactionStatus.U);
+        startOn(completedTx, day);
+        startOn(openTx, day);
+
+        // When
+        int sealed = adapter.archivePartitionsBefore(day.plusDays(1));
+
+        // Then
+        assertEquals(0, sealed);
+        assertEquals(1, repository.findByTxIdOrderByCreatedAtAsc(completedTx).size());
+        assertNull(summaryRepository.findById(completedTx).orElseThrow().getArchivedOn());
+    }
+
+    @Test
+    @DisplayName("should compact a terminal saga into its summary and serve it from there")
+    void shouldCompactTerminalSagaIntoSummary() {
+        // Given - a rolled back saga whose compensation needed retries, and an open saga
+        UUID orderId = UUID.randomUUID();
+        UUID rolledBackTx = UUID.randomUUID();
+        UUID openTx = UUID.randomUUID();
+        adapter.recordStatus(rolledBackTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+        adapter.recordStatus(rolledBackTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatusWithError(rolledBackTx, orderId, ServiceName.INVENTORY, TransactionStatus.F, "Out of stock");
+        adapter.recordStatusWithRetry(rolledBackTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.RF,
+                "Connection refused", 1);
+        adapter.recordStatusWithRetry(rolledBackTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.R, null, 2);
+        adapter.recordStatus(openTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+
+        // When
+        int compacted = adapter.compactTerminalTransactions(LocalDateTime.now().plusSeconds(1), 100);
+
+        // Then - only the terminal saga left the hot tables
+        assertEquals(1, compacted);
+        assertTrue(repository.findByTxIdOrderByCreatedAtAsc(rolledBackTx).isEmpty());
+        assertTrue(stateRepository.findByTxId(rolledBackTx).isEmpty());
+        assertEquals(1, repository.findByTxIdOrderByCreatedAtAsc(openTx).size());
+
+        SagaSummaryEntity summary = summaryRepository.findById(rolledBackTx).orElseThrow();
+        assertNotNull(summary.getCompactedAt());
+        SagaServiceSummary creditCard = summary.getServiceSummary().stream()
+                .filter(service -> service.serviceName() == ServiceName.CREDIT_CARD)
+                .findFirst().orElseThrow();
+        assertEquals(TransactionStatus.R, creditCard.status());
+        assertEquals(4, creditCard.attempts());
+        assertEquals(2, creditCard.retryCount());
+        assertEquals("Connection refused", creditCard.lastError());
+
+        // Latest state comes from the summary, the full history from the archive
+        Map<ServiceName, TransactionStatus> statuses = adapter.getLatestStatuses(rolledBackTx);
+        assertEquals(TransactionStatus.R, statuses.get(ServiceName.CREDIT_CARD));
+        assertEquals(TransactionStatus.F, statuses.get(ServiceName.INVENTORY));
+        assertEquals(2, adapter.findLatestByTxId(rolledBackTx.toString()).size());
+        assertEquals("Out of stock", adapter.getLatestForService(rolledBackTx, ServiceName.INVENTORY)
+                .orElseThrow().getErrorMessage());
+        assertEquals(5, adapter.findByTxId(rolledBackTx).size());
+        assertEquals(6, adapter.findByOrderId(orderId).size());
+    }
+
+    @Test
+    @DisplayName("should read the latest entries of every transaction of an order in one pass")
+    void shouldFindLatestByOrderId() {
+        // Given - a sealed saga from an old day, a compacted saga and an open saga
+        UUID orderId = UUID.randomUUID();
+        UUID sealedTx = UUID.randomUUID();
+        UUID compactedTx = UUID.randomUUID();
+        UUID openTx = UUID.randomUUID();
+        adapter.recordStatus(sealedTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatus(sealedTx, orderId, ServiceName.INVENTORY, TransactionStatus.S);
+        startOn(sealedTx, LocalDate.of(2001, 1, 3));
+        adapter.archivePartitionsBefore(LocalDate.of(2001, 1, 4));
+
+        adapter.recordStatus(compactedTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatus(compactedTx, orderId, ServiceName.INVENTORY, TransactionStatus.F);
+        adapter.recordStatus(compactedTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.R);
+        adapter.compactTerminalTransactions(LocalDateTime.now().plusSeconds(1), 100);
+
+        adapter.recordStatus(openTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatus(openTx, orderId, ServiceName.INVENTORY, TransactionStatus.U);
+        adapter.recordStatus(UUID.randomUUID(), UUID.randomUUID(), ServiceName.CREDIT_CARD, TransactionStatus.S);
+
+        // When
+        List<TransactionLogPort.TransactionSnapshot> snapshots = adapter.findLatestByOrderId(orderId);
+
+        // Then - most recently started first, each served from where it lives
+        assertEquals(List.of(openTx, compactedTx, sealedTx),
+                snapshots.stream().map(TransactionLogPort.TransactionSnapshot::txId).toList());
+        assertEquals(LocalDate.of(2001, 1, 3), snapshots.get(2).startedAt().toLocalDate());
+
+        Map<ServiceName, TransactionStatus> open = statuses(snapshots.get(0));
+        assertEquals(Map.of(ServiceName.CREDIT_CARD, TransactionStatus.S, ServiceName.INVENTORY, TransactionStatus.U), open);
+        Map<ServiceName, TransactionStatus> compacted = statuses(snapshots.get(1));
+        assertEquals(Map.of(ServiceName.CREDIT_CARD, TransactionStatus.R, ServiceName.INVENTORY, TransactionStatus.F),
+                compacted);
+        Map<ServiceName, TransactionStatus> sealed = statuses(snapshots.get(2));
+        assertEquals(Map.of(ServiceName.CREDIT_CARD, TransactionStatus.S, ServiceName.INVENTORY, TransactionStatus.S),
+                sealed);
+        assertTrue(adapter.findLatestByOrderId(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("should read the latest entries of a set of transactions in one pass")
+    void shouldFindLatestByTxIds() {
+        // Given - a sealed saga, a compacted saga and an open saga of different orders
+        UUID sealedTx = UUID.randomUUID();
+        UUID compactedTx = UUID.randomUUID();
+        UUID openTx = UUID.randomUUID();
+        UUID openOrder = UUID.randomUUID();
+        adapter.recordStatus(sealedTx, UUID.randomUUID(), ServiceName.CREDIT_CARD, TransactionStatus.S);
+        startOn(sealedTx, LocalDate.of(2001, 1, 3));
+        adapter.archivePartitionsBefore(LocalDate.of(2001, 1, 4));
+
+        adapter.recordStatus(compactedTx, UUID.randomUUID(), ServiceName.CREDIT_CARD, TransactionStatus.F);
+        adapter.compactTerminalTransactions(LocalDateTime.now().plusSeconds(1), 100);
+
+        adapter.recordStatus(openTx, openOrder, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatus(openTx, openOrder, ServiceName.INVENTORY, TransactionStatus.U);
+
+        // When
+        Map<UUID, TransactionLogPort.TransactionSnapshot> snapshots = adapter.findLatestByTxIds(
+                        List.of(openTx, compactedTx, sealedTx, UUID.randomUUID())).stream()
+                .collect(Collectors.toMap(TransactionLogPort.TransactionSnapshot::txId, snapshot -> snapshot));
+
+        // Then - unknown ids are left out, the rest served from where they live
+        assertEquals(Set.of(openTx, compactedTx, sealedTx), snapshots.keySet());
+        assertEquals(openOrder, snapshots.get(openTx).orderId());
+        assertEquals(Map.of(ServiceName.CREDIT_CARD, TransactionStatus.S, ServiceName.INVENTORY, TransactionStatus.U),
+                statuses(snapshots.get(openTx)));
+        assertEquals(Map.of(ServiceName.CREDIT_CARD, TransactionStatus.F), statuses(snapshots.get(compactedTx)));
+        assertEquals(Map.of(ServiceName.CREDIT_CARD, TransactionStatus.S), statuses(snapshots.get(sealedTx)));
+        assertTrue(adapter.findLatestByTxIds(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("should page an order's transactions by start time with a keyset cursor")
+    void shouldPageLatestByOrderId() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.of(2026, 1, 4, 10, 0);
+        List<UUID> txIds = List.of(first, second, third);
+        for (int i = 0; i < txIds.size(); i++) {
+            adapter.recordStatus(txIds.get(i), orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+            summaryRepository.findById(txIds.get(i)).orElseThrow().setStartedAt(start.plusMinutes(i));
+        }
+        summaryRepository.flush();
+
+        // When
+        List<UUID> firstPage = new ArrayList<>();
+        adapter.streamLatestByOrderId(orderId, null, 2, snapshot -> firstPage.add(snapshot.txId()));
+        List<UUID> secondPage = new ArrayList<>();
+        adapter.streamLatestByOrderId(orderId, PageCursor.of(start.plusMinutes(1), second), 2,
+                snapshot -> secondPage.add(snapshot.txId()));
+
+        // Then
+        assertEquals(List.of(third, second), firstPage);
+        assertEquals(List.of(first), secondPage);
+    }
+
+    @Test
+    @DisplayName("should stream services currently in a status, oldest first, resuming after a cursor")
+    void shouldStreamLatestByStatus() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        UUID olderTx = UUID.randomUUID();
+        UUID newerTx = UUID.randomUUID();
+        UUID succeededTx = UUID.randomUUID();
+        adapter.recordStatus(olderTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+        adapter.recordStatus(newerTx, orderId, ServiceName.INVENTORY, TransactionStatus.U);
+        adapter.recordStatus(succeededTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+        adapter.recordStatus(succeededTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        LocalDateTime cutoff = LocalDateTime.now().plusSeconds(1);
+
+        // When
+        List<TransactionLog> all = new ArrayList<>();
+        adapter.streamLatestByStatus(TransactionStatus.U, cutoff, null, Integer.MAX_VALUE, all::add);
+        List<TransactionLog> mine = all.stream().filter(entry -> entry.getOrderId().equals(orderId)).toList();
+        TransactionLog oldest = mine.get(0);
+        List<UUID> resumed = new ArrayList<>();
+        adapter.streamLatestByStatus(TransactionStatus.U, cutoff,
+                new PageCursor(oldest.getCreatedAt(), oldest.getTxId(), oldest.getServiceName()), Integer.MAX_VALUE,
+                entry -> resumed.add(entry.getTxId()));
+
+        // Then - the succeeded service is not in U any more
+        assertEquals(2, mine.size());
+        assertTrue(mine.stream().map(TransactionLog::getTxId).toList().containsAll(List.of(olderTx, newerTx)));
+        assertFalse(mine.get(1).getCreatedAt().isBefore(oldest.getCreatedAt()));
+        assertFalse(resumed.contains(oldest.getTxId()));
+        assertTrue(resumed.contains(mine.get(1).getTxId()));
+        List<TransactionLog> beforeAnyChange = new ArrayList<>();
+        adapter.streamLatestByStatus(TransactionStatus.U, LocalDateTime.of(2000, 1, 1, 0, 0), null, 10,
+                beforeAnyChange::add);
+        assertTrue(beforeAnyChange.isEmpty());
+    }
+
+    @Test
+    @DisplayName("should answer lookups of ids never recorded without a query")
+    void shouldShortCircuitUnknownIds() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        adapter.recordStatus(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+        long avoidedBefore = knownIds.queriesAvoided();
+
+        // When
+        List<TransactionLog> unknownTx = adapter.findLatestByTxId(UUID.randomUUID().toString());
+        List<TransactionLog> unknownHistory = adapter.findByTxId(UUID.randomUUID());
+        List<UUID> unknownOrder = adapter.findDistinctTxIdsByOrderId(UUID.randomUUID());
+        List<TransactionLogPort.TransactionSnapshot> batch = adapter.findLatestByTxIds(List.of(txId, UUID.randomUUID()));
+
+        // Then - a false positive would still have found nothing, so only the count can differ
+        assertTrue(unknownTx.isEmpty());
+        assertTrue(unknownHistory.isEmpty());
+        assertTrue(unknownOrder.isEmpty());
+        assertEquals(List.of(txId), batch.stream().map(TransactionLogPort.TransactionSnapshot::txId).toList());
+        assertTrue(knownIds.queriesAvoided() > avoidedBefore);
+        assertEquals(1, adapter.findLatestByTxId(txId.toString()).size());
+        assertEquals(List.of(txId), adapter.findDistinctTxIdsByOrderId(orderId));
+    }
+
+    @Test
+    @DisplayName("should stream the outcome of every transaction started in a range, in start order")
+    void shouldStreamOutcomesInStartOrder() {
+        // Given - a rolled back and a completed saga on one day, and one on the next day
+        LocalDate day = LocalDate.of(2001, 1, 7);
+        UUID orderId = UUID.randomUUID();
+        UUID rolledBackTx = UUID.randomUUID();
+        UUID completedTx = UUID.randomUUID();
+        UUID nextDayTx = UUID.randomUUID();
+        adapter.recordStatus(completedTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        adapter.recordStatus(completedTx, orderId, ServiceName.INVENTORY, TransactionStatus.S);
+        adapter.recordStatus(rolledBackTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.R);
+        adapter.recordStatusWithError(rolledBackTx, orderId, ServiceName.INVENTORY, TransactionStatus.F,
+                "Out of stock");
+        adapter.recordStatus(nextDayTx, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+        summaryRepository.findById(rolledBackTx).orElseThrow().setStartedAt(day.atTime(9, 0));
+        startOn(completedTx, day);
+        startOn(nextDayTx, day.plusDays(1));
+        summaryRepository.flush();
+
+        // When
+        List<TransactionLogPort.TransactionOutcome> outcomes = new ArrayList<>();
+        adapter.streamOutcomes(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), outcomes::add);
+
+        // Then
+        assertEquals(List.of(rolledBackTx, completedTx),
+                outcomes.stream().map(TransactionLogPort.TransactionOutcome::txId).toList());
+        assertEquals(SagaOverallStatus.ROLLING_BACK, outcomes.get(0).overallStatus());
+        assertEquals(day.atTime(9, 0), outcomes.get(0).startedAt());
+        assertEquals("Out of stock", outcomes.get(0).latest().stream()
+                .filter(log -> log.getServiceName() == ServiceName.INVENTORY)
+                .findFirst().orElseThrow().getErrorMessage());
+        assertEquals(SagaOverallStatus.COMPLETED, outcomes.get(1).overallStatus());
+        assertEquals(2, outcomes.get(1).latest().size());
+        assertNotNull(outcomes.get(1).updatedAt());
+    }
+
+    private static Map<ServiceName, TransactionStatus> statuses(TransactionLogPort.TransactionSnapshot snapshot) {
+        return snapshot.latest().stream()
+                .collect(Collectors.toMap(TransactionLog::getServiceName, TransactionLog::getStatus));
+    }
+
+    private void startOn(UUID txId, LocalDate day) {
+        summaryRepository.findById(txId).orElseThrow().setStartedAt(day.atTime(12, 0));
+    }
 }
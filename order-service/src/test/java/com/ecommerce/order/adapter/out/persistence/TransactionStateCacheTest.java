@@ -0,0 +1,186 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.domain.model.TransactionLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TransactionStateCache Tests")
+class TransactionStateCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private TransactionStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TransactionStateCache(6, Duration.ofMinutes(10), nanos::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("should serve a written-through state without loading")
+    void shouldServeWrittenThroughState() {
+        UUID txId = UUID.randomUUID();
+        cache.writeThroughAfterCommit(txId, List.of(state(txId, ServiceName.CREDIT_CARD, TransactionStatus.S)));
+
+        List<TransactionLog> latest = cache.get(txId, loader(List.of()));
+
+        assertThat(latest).extracting(TransactionLog::getStatus).containsExactly(TransactionStatus.S);
+        assertThat(loads).hasValue(0);
+        assertThat(cache.hitRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should keep what a miss loaded, but not an unknown transaction")
+    void shouldKeepLoadedStates() {
+        UUID known = UUID.randomUUID();
+        Function<UUID, List<TransactionLog>> loader =
+                loader(List.of(state(known, ServiceName.INVENTORY, TransactionStatus.U)));
+
+        cache.get(known, loader);
+        cache.get(known, loader);
+        cache.get(UUID.randomUUID(), loader(List.of()));
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should not keep what a read-only transaction loaded from the read pool")
+    void shouldNotKeepReadPoolLoads() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        Function<UUID, List<TransactionLog>> loader =
+                loader(List.of(state(txId, ServiceName.INVENTORY, TransactionStatus.U)));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        List<TransactionLog> first = cache.get(txId, loader);
+        cache.get(txId, loader);
+
+        // Then
+        assertThat(first).extracting(TransactionLog::getStatus).containsExactly(TransactionStatus.U);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should read through while an append is in flight and apply it only on commit")
+    void shouldBypassWhileAppendInFlight() {
+        // Given
+        UUID txId = UUID.randomUUID();
+        cache.writeThroughAfterCommit(txId, List.of(state(txId, ServiceName.CREDIT_CARD, TransactionStatus.U)));
+        TransactionSynchronizationManager.initSynchronization();
+        cache.writeThroughAfterCommit(txId, List.of(state(txId, ServiceName.CREDIT_CARD, TransactionStatus.S)));
+
+        // When - the appending transaction reads before it commits
+        List<TransactionLog> inFlight = cache.get(txId,
+                loader(List.of(state(txId, ServiceName.CREDIT_CARD, TransactionStatus.S))));
+        complete(TransactionSynchronizationManager.getSynchronizations(), true);
+
+        // Then
+        assertThat(inFlight).extracting(TransactionLog::getStatus).containsExactly(TransactionStatus.S);
+        assertThat(cache.get(txId, loader(List.of()))).extracting(TransactionLog::getStatus)
+                .containsExactly(TransactionStatus.S);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should keep the newer state when write-throughs run out of order")
+    void shouldIgnoreLateWriteThrough() {
+        // Given - two appends, committed in order
+        UUID txId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        cache.writeThroughAfterCommit(txId, List.of(state(txId, ServiceName.LOGISTICS, TransactionStatus.U)));
+        cache.writeThroughAfterCommit(txId, List.of(state(txId, ServiceName.LOGISTICS, TransactionStatus.S)));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+        // When - their callbacks run the other way round
+        complete(List.of(synchronizations.get(1), synchronizations.get(0)), true);
+
+        // Then
+        assertThat(cache.get(txId, loader(List.of()))).extracting(TransactionLog::getStatus)
+                .containsExactly(TransactionStatus.S);
+    }
+
+    @Test
+    @DisplayName("should drop the state of a rolled-back append")
+    void shouldDropRolledBackWrite() {
+        UUID txId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        cache.writeThroughAfterCommit(txId, List.of(state(txId, ServiceName.CREDIT_CARD, TransactionStatus.S)));
+
+        complete(TransactionSynchronizationManager.getSynchronizations(), false);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should expire entries after the TTL and stay within the state bound")
+    void shouldEvictBySizeAndTtl() {
+        // Given - three services per transaction against a bound of six states
+        for (int i = 0; i < 5; i++) {
+            UUID txId = UUID.randomUUID();
+            cache.writeThroughAfterCommit(txId, List.of(
+                    state(txId, ServiceName.CREDIT_CARD, TransactionStatus.S),
+                    state(txId, ServiceName.INVENTORY, TransactionStatus.S),
+                    state(txId, ServiceName.LOGISTICS, TransactionStatus.U)));
+        }
+        cache.cleanUp();
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        assertThat(cache.estimatedMemory()).isPositive();
+
+        // When
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        cache.cleanUp();
+
+        // Then
+        assertThat(cache.size()).isZero();
+        assertThat(cache.estimatedMemory()).isZero();
+    }
+
+    private Function<UUID, List<TransactionLog>> loader(List<TransactionLog> states) {
+        return txId -> {
+            loads.incrementAndGet();
+            return states;
+        };
+    }
+
+    private static void complete(List<TransactionSynchronization> synchronizations, boolean committed) {
+        if (committed) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(committed
+                ? TransactionSynchronization.STATUS_COMMITTED
+                : TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static TransactionLog state(UUID txId, ServiceName service, TransactionStatus status) {
+        return TransactionLog.restore(1L, txId, UUID.randomUUID(), service, status, null, 0,
+                LocalDateTime.now(), null);
+    }
+}
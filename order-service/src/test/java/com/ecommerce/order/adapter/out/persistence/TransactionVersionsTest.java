@@ -0,0 +1,110 @@
+package com.ecommerce.order.adapter.out.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TransactionVersions Tests")
+class TransactionVersionsTest {
+
+    private TransactionVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        versions = new TransactionVersions(10);
+    }
+
+    @Test
+    @DisplayName("should keep a version until the transaction changes")
+    void shouldBumpOnChange() {
+        UUID txId = UUID.randomUUID();
+        long first = versions.current(txId);
+
+        assertThat(versions.current(txId)).isEqualTo(first);
+        versions.changed(txId);
+        assertThat(versions.current(txId)).isGreaterThan(first);
+    }
+
+    @Test
+    @DisplayName("should not track transactions that were never read")
+    void shouldIgnoreChangesOfUntrackedTransactions() {
+        versions.changed(UUID.randomUUID());
+
+        assertThat(versions.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should stay bounded and never hand out a version twice")
+    void shouldStayBoundedWithoutRepeatingVersions() {
+        UUID txId = UUID.randomUUID();
+        long first = versions.current(txId);
+        Set<Long> handedOut = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            assertThat(handedOut.add(versions.current(UUID.randomUUID()))).isTrue();
+        }
+
+        assertThat(versions.size()).isLessThanOrEqualTo(10);
+        // Either still tracked or re-seeded past everything handed out so far
+        long again = versions.current(txId);
+        assertThat(again == first || again > Collections.max(handedOut)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should complete at once when the version already moved on")
+    void shouldCompleteAtOnceWhenStale() {
+        UUID txId = UUID.randomUUID();
+        long stale = versions.current(txId);
+        versions.changed(txId);
+
+        CompletableFuture<Long> change = versions.awaitChange(txId, stale);
+
+        assertThat(change).isCompletedWithValue(versions.current(txId));
+    }
+
+    @Test
+    @DisplayName("should wake a waiter with the new version on the next change")
+    void shouldWakeWaiterOnChange() throws Exception {
+        UUID txId = UUID.randomUUID();
+        long since = versions.current(txId);
+
+        CompletableFuture<Long> change = versions.awaitChange(txId, since);
+        assertThat(change).isNotDone();
+        versions.changed(txId);
+
+        assertThat(change.get(5, TimeUnit.SECONDS)).isEqualTo(versions.current(txId)).isGreaterThan(since);
+    }
+
+    @Test
+    @DisplayName("should not evict a transaction someone is waiting on")
+    void shouldKeepEntriesWithWaiters() throws Exception {
+        UUID txId = UUID.randomUUID();
+        CompletableFuture<Long> change = versions.awaitChange(txId, versions.current(txId));
+        for (int i = 0; i < 20; i++) {
+            versions.current(UUID.randomUUID());
+        }
+
+        versions.changed(txId);
+
+        assertThat(change.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should apply the change at once outside a transaction")
+    void shouldChangeAtOnceWithoutTransaction() {
+        UUID txId = UUID.randomUUID();
+        long first = versions.current(txId);
+
+        versions.changedAfterCommit(txId);
+
+        assertThat(versions.current(txId)).isGreaterThan(first);
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecommerce.order.adapter.out.segment;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.dto.NotifyResponse;
+import com.ecommerce.order.adapter.in.web.dto.OrderConfirmRequest;
+import com.ecommerce.order.application.port.out.CheckerPort;
+import com.ecommerce.order.application.port.out.OutboxPort;
+import com.ecommerce.order.application.port.out.TransactionLogPort;
+import com.ecommerce.order.application.port.out.WebSocketPort;
+import com.ecommerce.order.application.service.OrderSagaService;
+import com.ecommerce.order.domain.model.SagaLogMode;
+import com.ecommerce.order.domain.model.TransactionLog;
+import com.ecommerce.order.infrastructure.camel.processor.PostNotifyProcessor;
+import com.ecommerce.order.infrastructure.camel.processor.PreNotifyProcessor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Rows, bytes and fsyncs a happy-path saga writes in each {@link SagaLogMode}.
+ * Drives the real write path (confirmOrder, pre-notify, post-notify) against the segment store.
+ * Bytes are the stored record size; fsyncs count durable log writes, one commit each on a
+ * database and one group fsync each on the segment store when sagas do not overlap.
+ * <p>
+ * Run with {@code ./gradlew :order-service:benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Saga Log Mode Benchmark")
+class SagaLogModeBenchmark {
+
+    private static final int SAGAS = Integer.getInteger("benchmark.logmode.sagas", 200);
+
+    private static final List<ServiceName> SERVICES = List.of(
+            ServiceName.CREDIT_CARD, ServiceName.INVENTORY, ServiceName.LOGISTICS);
+
+    private static final Set<String> WRITE_METHODS = Set.of(
+            "save", "saveAll", "recordStatus", "recordStatusWithError", "recordStatusWithRetry", "recordNotifiedAt");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("lean mode writes 6 rows per happy-path saga instead of 9")
+    void compareLogModes() throws Exception {
+        Report full = run(SagaLogMode.FULL);
+        Report lean = run(SagaLogMode.LEAN);
+
+        System.out.printf("%-5s %10s %10s %10s%n", "mode", "rows/saga", "bytes/saga", "fsyncs/saga");
+        for (Report report : List.of(full, lean)) {
+            System.out.printf("%-5s %10.1f %10.1f %10.1f%n", report.mode(),
+                    report.rowsPerSaga(), report.bytesPerSaga(), report.fsyncsPerSaga());
+        }
+
+        assertThat(full.rowsPerSaga()).isEqualTo(9.0);
+        assertThat(lean.rowsPerSaga()).isEqualTo(6.0);
+        assertThat(lean.fsyncsPerSaga()).isLessThan(full.fsyncsPerSaga());
+    }
+
+    private Report run(SagaLogMode mode) throws Exception {
+        Path storeDirectory = Files.createDirectory(directory.resolve(mode.name().toLowerCase()));
+        SegmentTransactionLogAdapter store = new SegmentTransactionLogAdapter(
+                storeDirectory, DataSize.ofMegabytes(16), 1, true);
+        AtomicLong writes = new AtomicLong();
+        TransactionLogPort port = counting(store, writes);
+
+        WebSocketPort webSocketPort = mock(WebSocketPort.class);
+        OrderSagaService sagaService = new OrderSagaService(port, mock(OutboxPort.class), mock(CheckerPort.class), mode);
+        PreNotifyProcessor preNotify = new PreNotifyProcessor(port, webSocketPort, mode);
+        PostNotifyProcessor postNotify = new PostNotifyProcessor(port, webSocketPort);
+
+        long rows = 0;
+        long bytes = 0;
+        try (CamelContext camelContext = new DefaultCamelContext()) {
+            for (int i = 0; i < SAGAS; i++) {
+                String orderId = UUID.randomUUID().toString();
+                UUID txId = UUID.fromString(sagaService.confirmOrder(request(orderId)).txId());
+                for (ServiceName service : SERVICES) {
+                    Exchange exchange = new DefaultExchange(camelContext);
+                    exchange.setProperty("txId", txId);
+                    exchange.setProperty("orderId", UUID.fromString(orderId));
+                    exchange.setProperty("currentService", service);
+                    exchange.setProperty("payload", Map.of());
+                    exchange.setProperty("successfulServices", new ArrayList<ServiceName>());
+                    preNotify.process(exchange);
+                    exchange.getMessage().setBody(NotifyResponse.success(txId, "ok", "ref"));
+                    postNotify.process(exchange);
+                }
+
+                List<TransactionLog> logged = store.findByTxId(txId);
+                rows += logged.size();
+                for (TransactionLog entry : logged) {
+                    bytes += LogRecordCodec.encode(entry).length;
+                }
+            }
+        } finally {
+            store.close();
+        }
+        return new Report(mode, (double) rows / SAGAS, (double) bytes / SAGAS, (double) writes.get() / SAGAS);
+    }
+
+    private static TransactionLogPort counting(TransactionLogPort delegate, AtomicLong writes) {
+        return (TransactionLogPort) Proxy.newProxyInstance(
+                TransactionLogPort.class.getClassLoader(),
+                new Class<?>[]{TransactionLogPort.class},
+                (proxy, method, args) -> {
+                    if (WRITE_METHODS.contains(method.getName())) {
+                        writes.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(delegate, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static OrderConfirmRequest request(String orderId) {
+        return new OrderConfirmRequest(
+                orderId,
+                "user-123",
+                List.of(new OrderConfirmRequest.OrderItemDto("SKU-001", 1, new BigDecimal("29.99"))),
+                new BigDecimal("29.99"),
+                "4111111111111111"
+        );
+    }
+
+    private record Report(SagaLogMode mode, double rowsPerSaga, double bytesPerSaga, double fsyncsPerSaga) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.order.adapter.out.segment;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.out.archive.LogSegmentArchive;
+import com.ecommerce.order.adapter.out.persistence.KnownIdFilter;
+import com.ecommerce.order.adapter.out.persistence.SagaStateProjector;
+import com.ecommerce.order.adapter.out.persistence.SagaStatisticsTracker;
+import com.ecommerce.order.adapter.out.persistence.SagaTransactionCompactor;
+import com.ecommerce.order.adapter.out.persistence.TransactionLogJdbcRepository;
+import com.ecommerce.order.adapter.out.persistence.TransactionLogPartitioner;
+import com.ecommerce.order.adapter.out.persistence.TransactionLogPersistenceAdapter;
+import com.ecommerce.order.adapter.out.persistence.TransactionStateCache;
+import com.ecommerce.order.application.port.out.TransactionLogPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Appends/sec and point-lookup latency of the segment store against the JPA adapter.
+ * Each JPA append commits its own transaction, like the saga route does. Durable
+ * (group fsync) appends are measured separately with concurrent writers.
+ * <p>
+ * Run with {@code ./gradlew :order-service:benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import({TransactionLogPersistenceAdapter.class, SagaStateProjector.class, TransactionLogJdbcRepository.class,
+        TransactionLogPartitioner.class, SagaTransactionCompactor.class, LogSegmentArchive.class,
+        SagaStatisticsTracker.class, TransactionStateCache.class, KnownIdFilter.class})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Segment Store Benchmark")
+class SegmentStoreBenchmark {
+
+    private static final int SAGAS = Integer.getInteger("benchmark.segment.sagas", 5_000);
+    private static final int LOOKUPS = 20_000;
+
+    @Autowired
+    private TransactionLogPersistenceAdapter jpaAdapter;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("segment store appends and looks up faster than JPA")
+    void compareWithJpa() throws Exception {
+        Result jpa = run("jpa", jpaAdapter);
+
+        // In-memory H2 never fsyncs, so compare against the store without durable appends
+        SegmentTransactionLogAdapter asyncStore =
+                new SegmentTransactionLogAdapter(directory.resolve("async"), DataSize.ofMegabytes(64), 2, false);
+        Result segment;
+        try {
+            segment = run("segment", asyncStore);
+        } finally {
+            asyncStore.close();
+        }
+
+        // Durable appends from concurrent writers share one fsync per interval
+        SegmentTransactionLogAdapter durableStore =
+                new SegmentTransactionLogAdapter(directory.resolve("durable"), DataSize.ofMegabytes(64), 2, true);
+        try {
+            int writers = 32;
+            int perWriter = 500;
+            ExecutorService pool = Executors.newFixedThreadPool(writers);
+            long start = System.nanoTime();
+            for (int w = 0; w < writers; w++) {
+                pool.submit(() -> {
+                    UUID txId = UUID.randomUUID();
+                    for (int i = 0; i < perWriter; i++) {
+                        durableStore.recordStatus(txId, txId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+                    }
+                });
+            }
+            pool.shutdown();
+            assertThat(pool.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-8s appends=%,.0f/s with %d writers and group fsync%n",
+                    "durable", writers * perWriter / seconds, writers);
+        } finally {
+            durableStore.close();
+        }
+
+        assertThat(segment.appendsPerSecond()).isGreaterThan(jpa.appendsPerSecond());
+        assertThat(segment.lookupP99Micros()).isLessThan(jpa.lookupP99Micros());
+    }
+
+    private Result run(String name, TransactionLogPort port) {
+        UUID[] txIds = new UUID[SAGAS];
+        for (int i = 0; i < SAGAS; i++) {
+            txIds[i] = UUID.randomUUID();
+        }
+
+        // Appends: the happy path of a saga, 6 records
+        long start = System.nanoTime();
+        for (UUID txId : txIds) {
+            UUID orderId = UUID.randomUUID();
+            for (ServiceName service : new ServiceName[]{ServiceName.CREDIT_CARD, ServiceName.INVENTORY,
+                    ServiceName.LOGISTICS}) {
+                port.recordStatus(txId, orderId, service, TransactionStatus.U);
+                port.recordStatus(txId, orderId, service, TransactionStatus.S);
+            }
+        }
+        long appendNanos = System.nanoTime() - start;
+        double appendsPerSecond = SAGAS * 6 / (appendNanos / 1e9);
+
+        // Point lookups of the latest state
+        long[] latencies = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String txId = txIds[(int) ((i * 2654435761L) % SAGAS)].toString();
+            long t = System.nanoTime();
+            int found = port.findLatestByTxId(txId).size();
+            latencies[i] = System.nanoTime() - t;
+            assertThat(found).isEqualTo(3);
+        }
+        Arrays.sort(latencies);
+        double p50 = latencies[LOOKUPS / 2] / 1_000.0;
+        double p99 = latencies[(int) (LOOKUPS * 0.99)] / 1_000.0;
+
+        System.out.printf("%-8s appends=%,.0f/s lookup p50=%.1f us p99=%.1f us%n", name, appendsPerSecond, p50, p99);
+        return new Result(appendsPerSecond, p99);
+    }
+
+    private record Result(double appendsPerSecond, double lookupP99Micros) {
+    }
+}
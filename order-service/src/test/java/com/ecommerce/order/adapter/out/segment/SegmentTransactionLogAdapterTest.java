@@ -0,0 +1,373 @@
+package com.ecommerce.order.adapter.out.segment;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.application.port.out.TransactionLogPort.TransactionOutcome;
+import com.ecommerce.order.application.port.out.TransactionLogPort.TransactionSnapshot;
+import com.ecommerce.order.application.port.out.TransactionLogPort.UnfinishedTransaction;
+import com.ecommerce.order.domain.model.PageCursor;
+import com.ecommerce.order.domain.model.SagaOverallStatus;
+import com.ecommerce.order.domain.model.SagaStatistics;
+import com.ecommerce.order.domain.model.TransactionLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SegmentTransactionLogAdapter Tests")
+class SegmentTransactionLogAdapterTest {
+
+    @TempDir
+    Path directory;
+
+    private SegmentTransactionLogAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        adapter.close();
+    }
+
+    private SegmentTransactionLogAdapter open() {
+        // Small segments so rolling and compaction are exercised
+        return new SegmentTransactionLogAdapter(directory, DataSize.ofKilobytes(4), 1, true);
+    }
+
+    @Nested
+    @DisplayName("Appends and Lookups")
+    class AppendsAndLookups {
+
+        @Test
+        @DisplayName("should record statuses and return latest per service")
+        void shouldRecordAndReturnLatest() {
+            // Given
+            UUID txId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+
+            // When
+            adapter.recordStatus(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+            TransactionLog success = adapter.recordStatus(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+            adapter.recordStatus(txId, orderId, ServiceName.INVENTORY, TransactionStatus.U);
+
+            // Then
+            assertThat(success.getId()).isNotNull();
+            assertThat(adapter.findByTxId(txId)).hasSize(3);
+            assertThat(adapter.findLatestByTxId(txId.toString())).hasSize(2);
+            assertThat(adapter.getLatestStatuses(txId)).isEqualTo(Map.of(
+                    ServiceName.CREDIT_CARD, TransactionStatus.S,
+                    ServiceName.INVENTORY, TransactionStatus.U));
+            assertThat(adapter.findSuccessfulServices(txId)).containsExactly(ServiceName.CREDIT_CARD);
+            assertThat(adapter.getLatestForService(txId, ServiceName.CREDIT_CARD).orElseThrow().getId())
+                    .isEqualTo(success.getId());
+            assertThat(adapter.findLatestByTxId("not-a-uuid")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should keep long error messages intact across continuation records")
+        void shouldKeepLongErrorMessages() {
+            // Given
+            UUID txId = UUID.randomUUID();
+            String errorMessage = "庫存不足 - ".repeat(40);
+
+            // When
+            adapter.recordStatusWithRetry(txId, UUID.randomUUID(), ServiceName.INVENTORY,
+                    TransactionStatus.RF, errorMessage, 3);
+
+            // Then
+            TransactionLog stored = adapter.getLatestForService(txId, ServiceName.INVENTORY).orElseThrow();
+            assertThat(stored.getErrorMessage()).isEqualTo(errorMessage);
+            assertThat(stored.getRetryCount()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should keep the step deadline of pending entries")
+        void shouldKeepStepDeadline() {
+            // Given
+            UUID txId = UUID.randomUUID();
+            LocalDateTime deadline = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+            // When
+            adapter.save(TransactionLog.createPending(txId, UUID.randomUUID(), ServiceName.CREDIT_CARD, deadline));
+
+            // Then
+            assertThat(adapter.getLatestForService(txId, ServiceName.CREDIT_CARD).orElseThrow().getDeadlineAt())
+                    .isEqualTo(deadline);
+        }
+
+        @Test
+        @DisplayName("should find transactions by order, most recent first")
+        void shouldFindByOrder() {
+            // Given
+            UUID orderId = UUID.randomUUID();
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            adapter.saveAll(List.of(
+                    TransactionLog.create(first, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U),
+                    TransactionLog.create(first, orderId, ServiceName.INVENTORY, TransactionStatus.U)));
+            adapter.recordStatus(second, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+
+            // When / Then
+            assertThat(adapter.findDistinctTxIdsByOrderId(orderId)).containsExactly(second, first);
+            assertThat(adapter.findByOrderId(orderId)).hasSize(3);
+        }
+
+        @Test
+        @DisplayName("should snapshot the latest entries of every transaction of an order")
+        void shouldFindLatestByOrder() {
+            // Given
+            UUID orderId = UUID.randomUUID();
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            adapter.recordStatus(first, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+            adapter.recordStatus(first, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+            adapter.recordStatus(second, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+
+            // When
+            List<TransactionSnapshot> snapshots = adapter.findLatestByOrderId(orderId);
+
+            // Then
+            assertThat(snapshots).extracting(TransactionSnapshot::txId).containsExactly(second, first);
+            assertThat(snapshots.get(1).latest()).extracting(TransactionLog::getStatus)
+                    .containsExactly(TransactionStatus.S);
+            assertThat(snapshots.get(1).startedAt())
+                    .isEqualTo(adapter.findByTxId(first).get(0).getCreatedAt());
+            assertThat(adapter.findLatestByOrderId(UUID.randomUUID())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should snapshot a set of transactions and leave out unknown ones")
+        void shouldFindLatestByTxIds() {
+            // Given
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            UUID secondOrder = UUID.randomUUID();
+            adapter.recordStatus(first, UUID.randomUUID(), ServiceName.CREDIT_CARD, TransactionStatus.S);
+            adapter.recordStatus(second, secondOrder, ServiceName.INVENTORY, TransactionStatus.F);
+
+            // When
+            List<TransactionSnapshot> snapshots =
+                    adapter.findLatestByTxIds(List.of(second, UUID.randomUUID(), first));
+
+            // Then
+            assertThat(snapshots).extracting(TransactionSnapshot::txId).containsExactly(second, first);
+            assertThat(snapshots.get(0).orderId()).isEqualTo(secondOrder);
+            assertThat(snapshots.get(0).latest()).extracting(TransactionLog::getStatus)
+                    .containsExactly(TransactionStatus.F);
+        }
+
+        @Test
+        @DisplayName("should move a transaction's version on every append and wake waiters")
+        void shouldBumpVersionOnAppend() throws Exception {
+            // Given
+            UUID txId = UUID.randomUUID();
+            adapter.recordStatus(txId, UUID.randomUUID(), ServiceName.CREDIT_CARD, TransactionStatus.U);
+            long before = adapter.currentVersion(txId);
+            CompletableFuture<Long> change = adapter.awaitChange(txId, before);
+
+            // When
+            adapter.recordStatus(txId, UUID.randomUUID(), ServiceName.CREDIT_CARD, TransactionStatus.S);
+
+            // Then
+            assertThat(change.get(5, TimeUnit.SECONDS)).isEqualTo(adapter.currentVersion(txId)).isGreaterThan(before);
+        }
+
+        @Test
+        @DisplayName("should page by order and search by status with keyset cursors")
+        void shouldPageAndSearchWithCursors() {
+            // Given
+            UUID orderId = UUID.randomUUID();
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            adapter.recordStatus(first, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+            adapter.recordStatus(second, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+            adapter.recordStatus(second, orderId, ServiceName.INVENTORY, TransactionStatus.S);
+
+            // When
+            List<TransactionSnapshot> firstPage = new ArrayList<>();
+            adapter.streamLatestByOrderId(orderId, null, 1, firstPage::add);
+            TransactionSnapshot newest = firstPage.get(0);
+            List<TransactionSnapshot> secondPage = new ArrayList<>();
+            adapter.streamLatestByOrderId(orderId, PageCursor.of(newest.startedAt(), newest.txId()), 1,
+                    secondPage::add);
+
+            List<TransactionLog> pending = new ArrayList<>();
+            adapter.streamLatestByStatus(TransactionStatus.U, LocalDateTime.now().plusSeconds(1), null, 10, pending::add);
+            TransactionLog oldest = pending.get(0);
+            List<TransactionLog> afterOldest = new ArrayList<>();
+            adapter.streamLatestByStatus(TransactionStatus.U, LocalDateTime.now().plusSeconds(1),
+                    new PageCursor(oldest.getCreatedAt(), oldest.getTxId(), oldest.getServiceName()), 10,
+                    afterOldest::add);
+
+            // Then
+            assertThat(newest.txId()).isEqualTo(second);
+            assertThat(secondPage).extracting(TransactionSnapshot::txId).containsExactly(first);
+            assertThat(pending).extracting(TransactionLog::getTxId).containsExactlyInAnyOrder(first, second);
+            assertThat(afterOldest).extracting(TransactionLog::getTxId).doesNotContain(oldest.getTxId()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("should stream outcomes of transactions started in a range, in start order")
+        void shouldStreamOutcomes() {
+            // Given
+            LocalDateTime from = LocalDateTime.now().minusSeconds(1);
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            adapter.recordStatus(first, UUID.randomUUID(), ServiceName.CREDIT_CARD, TransactionStatus.S);
+            adapter.recordStatus(second, UUID.randomUUID(), ServiceName.CREDIT_CARD, TransactionStatus.U);
+            adapter.recordStatus(first, UUID.randomUUID(), ServiceName.INVENTORY, TransactionStatus.F);
+
+            // When
+            List<TransactionOutcome> outcomes = new ArrayList<>();
+            adapter.streamOutcomes(from, LocalDateTime.now().plusSeconds(1), outcomes::add);
+            List<TransactionOutcome> none = new ArrayList<>();
+            adapter.streamOutcomes(from.minusDays(1), from, none::add);
+
+            // Then
+            assertThat(outcomes).extracting(TransactionOutcome::txId).containsExactly(first, second);
+            assertThat(outcomes.get(0).overallStatus()).isEqualTo(SagaOverallStatus.FAILED);
+            assertThat(outcomes.get(0).latest()).hasSize(2);
+            assertThat(outcomes.get(1).overallStatus()).isEqualTo(SagaOverallStatus.PROCESSING);
+            assertThat(none).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should report timed out and unfinished transactions")
+        void shouldReportTimedOutAndUnfinished() {
+            // Given
+            UUID pending = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+            UUID completed = UUID.randomUUID();
+            adapter.recordStatus(pending, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+            adapter.recordStatus(completed, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+
+            // When / Then
+            assertThat(adapter.findTimedOutTransactions(LocalDateTime.now().plusSeconds(1))).containsExactly(pending);
+            assertThat(adapter.findTimedOutTransactions(LocalDateTime.now().minusMinutes(1))).isEmpty();
+            assertThat(adapter.findUnfinishedTransactions())
+                    .containsExactly(new UnfinishedTransaction(pending, orderId));
+        }
+    }
+
+    @Nested
+    @DisplayName("Durability")
+    class Durability {
+
+        @Test
+        @DisplayName("should rebuild the index from segments after restart")
+        void shouldRebuildAfterRestart() {
+            // Given - enough records to roll over several 4 KB segments
+            UUID txId = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+            TransactionLog pending = null;
+            for (int i = 0; i < 100; i++) {
+                pending = adapter.recordStatus(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+            }
+            LocalDateTime notifiedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+            adapter.recordNotifiedAt(txId, pending.getId(), notifiedAt);
+            TransactionLog last = adapter.recordStatus(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+
+            // When
+            adapter.close();
+            adapter = open();
+
+            // Then
+            assertThat(segmentFiles()).hasSizeGreaterThan(1);
+            assertThat(adapter.findByTxId(txId)).hasSize(101);
+            assertThat(adapter.findByTxId(txId).get(99).getNotifiedAt()).isEqualTo(notifiedAt);
+            assertThat(adapter.getLatestStatuses(txId)).containsEntry(ServiceName.CREDIT_CARD, TransactionStatus.S);
+            TransactionLog next = adapter.recordStatus(UUID.randomUUID(), orderId, ServiceName.CREDIT_CARD,
+                    TransactionStatus.U);
+            assertThat(next.getId()).isGreaterThan(last.getId());
+        }
+
+        @Test
+        @DisplayName("should count saga statistics on append and rebuild them after restart")
+        void shouldRebuildStatisticsAfterRestart() {
+            // Given - one completed saga and one still processing
+            UUID completed = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+            adapter.recordStatus(completed, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+            adapter.recordStatus(completed, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+            adapter.recordStatus(UUID.randomUUID(), orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+
+            // When
+            SagaStatistics.Snapshot live = adapter.statistics();
+            adapter.close();
+            adapter = open();
+            SagaStatistics.Snapshot rebuilt = adapter.statistics();
+
+            // Then
+            for (SagaStatistics.Snapshot snapshot : List.of(live, rebuilt)) {
+                assertThat(snapshot.current())
+                        .containsEntry(SagaOverallStatus.COMPLETED, 1L)
+                        .containsEntry(SagaOverallStatus.PROCESSING, 1L);
+                SagaStatistics.Window lastMinute = snapshot.windows().get(0);
+                assertThat(lastMinute.started()).isEqualTo(2);
+                assertThat(lastMinute.ended()).containsExactly(Map.entry(SagaOverallStatus.COMPLETED, 1L));
+                assertThat(lastMinute.services().get(ServiceName.CREDIT_CARD))
+                        .containsEntry(TransactionStatus.U, 2L)
+                        .containsEntry(TransactionStatus.S, 1L);
+            }
+        }
+
+        @Test
+        @DisplayName("should compact sealed segments of terminal transactions")
+        void shouldCompactTerminalSegments() {
+            // Given - a completed transaction filling the first 4 KB segment (32 records),
+            // then an open one that rolls the log to a second segment
+            UUID completed = UUID.randomUUID();
+            UUID orderId = UUID.randomUUID();
+            for (int i = 0; i < 31; i++) {
+                adapter.recordStatus(completed, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+            }
+            adapter.recordStatus(completed, orderId, ServiceName.CREDIT_CARD, TransactionStatus.S);
+            UUID open = UUID.randomUUID();
+            adapter.recordStatus(open, orderId, ServiceName.CREDIT_CARD, TransactionStatus.U);
+
+            // When
+            int compacted = adapter.archivePartitionsBefore(LocalDate.now().plusDays(1));
+
+            // Then - only the terminal record of the completed transaction remains
+            assertThat(compacted).isEqualTo(1);
+            assertThat(adapter.findByTxId(completed)).extracting(TransactionLog::getStatus)
+                    .containsExactly(TransactionStatus.S);
+            assertThat(adapter.findByTxId(open)).hasSize(1);
+
+            // And the compacted layout survives a restart
+            adapter.close();
+            adapter = open();
+            assertThat(adapter.findByTxId(completed)).hasSize(1);
+            assertThat(adapter.getLatestStatuses(completed))
+                    .containsEntry(ServiceName.CREDIT_CARD, TransactionStatus.S);
+        }
+    }
+
+    private List<Path> segmentFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
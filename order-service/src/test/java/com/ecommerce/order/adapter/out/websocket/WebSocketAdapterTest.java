@@ -2,6 +2,7 @@ package com.ecommerce.order.adapter.out.websocket;
 
 import com.ecommerce.common.domain.ServiceName;
 import com.ecommerce.common.domain.TransactionStatus;
+import com.ecommerce.order.adapter.in.sse.TransactionEventBroadcaster;
 import com.ecommerce.order.adapter.in.websocket.OrderWebSocketHandler;
 import com.ecommerce.order.adapter.in.websocket.WebSocketMessage;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,11 +28,14 @@ class WebSocketAdapterTest {
     @Mock
     private OrderWebSocketHandler webSocketHandler;
 
+    @Mock
+    private TransactionEventBroadcaster eventBroadcaster;
+
     private WebSocketAdapter webSocketAdapter;
 
     @BeforeEach
     void setUp() {
-        webSocketAdapter = new WebSocketAdapter(webSocketHandler);
+        webSocketAdapter = new WebSocketAdapter(webSocketHandler, eventBroadcaster);
     }
 
     @Nested
@@ -50,6 +54,7 @@ class WebSocketAdapterTest {
 
             // Then
             verify(webSocketHandler).sendNotification(eq(txId), eq(message));
+            verify(eventBroadcaster).publish(eq(txId), eq(message));
         }
 
         @Test
@@ -116,6 +121,7 @@ class WebSocketAdapterTest {
             assertThat(capturedMessage.serviceName()).isEqualTo("CREDIT_CARD");
             assertThat(capturedMessage.status()).isEqualTo("S"); // TransactionStatus.SUCCESS.name() returns "S"
             assertThat(capturedMessage.message()).isEqualTo(message);
+            verify(eventBroadcaster).publish(eq(txId.toString()), eq(capturedMessage));
         }
 
         @Test
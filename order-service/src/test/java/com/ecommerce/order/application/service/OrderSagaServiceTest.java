@@ -5,10 +5,15 @@ import com.ecommerce.common.domain.TransactionStatus;
 import com.ecommerce.order.adapter.in.web.dto.OrderConfirmRequest;
 import com.ecommerce.order.adapter.in.web.dto.OrderConfirmResponse;
 import com.ecommerce.order.adapter.in.web.dto.OrderTransactionHistoryResponse;
+import com.ecommerce.order.adapter.in.web.dto.TransactionSearchResponse;
+import com.ecommerce.order.adapter.in.web.dto.TransactionStatusBatchResponse;
 import com.ecommerce.order.adapter.in.web.dto.TransactionStatusResponse;
 import com.ecommerce.order.application.port.out.CheckerPort;
 import com.ecommerce.order.application.port.out.OutboxPort;
 import com.ecommerce.order.application.port.out.TransactionLogPort;
+import com.ecommerce.order.application.port.out.TransactionLogPort.TransactionSnapshot;
+import com.ecommerce.order.domain.model.PageCursor;
+import com.ecommerce.order.domain.model.SagaLogMode;
 import com.ecommerce.order.domain.model.TransactionLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,14 +25,22 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,7 +63,7 @@ class OrderSagaServiceTest {
 
     @BeforeEach
     void setUp() {
-        orderSagaService = new OrderSagaService(transactionLogPort, outboxPort, checkerPort);
+        orderSagaService = new OrderSagaService(transactionLogPort, outboxPort, checkerPort, SagaLogMode.FULL);
     }
 
     @Nested
@@ -81,10 +94,12 @@ class OrderSagaServiceTest {
             orderSagaService.confirmOrder(request);
 
             // Then
-            ArgumentCaptor<TransactionLog> captor = ArgumentCaptor.forClass(TransactionLog.class);
-            verify(transactionLogPort, times(3)).save(captor.capture());
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<TransactionLog>> captor = ArgumentCaptor.forClass(List.class);
+            verify(transactionLogPort).saveAll(captor.capture());
+            verify(transactionLogPort, never()).save(any());
 
-            List<TransactionLog> logs = captor.getAllValues();
+            List<TransactionLog> logs = captor.getValue();
             assertThat(logs).hasSize(3);
             assertThat(logs).extracting(TransactionLog::getServiceName)
                     .containsExactly(ServiceName.CREDIT_CARD, ServiceName.INVENTORY, ServiceName.LOGISTICS);
@@ -92,6 +107,31 @@ class OrderSagaServiceTest {
                     .containsOnly(TransactionStatus.UNKNOWN);
         }
 
+        @Test
+        @DisplayName("should give initial entries cumulative step deadlines in lean log mode")
+        void shouldCreateInitialEntriesWithDeadlinesInLeanMode() {
+            // Given
+            orderSagaService = new OrderSagaService(transactionLogPort, outboxPort, checkerPort, SagaLogMode.LEAN);
+            OrderConfirmRequest request = createValidRequest();
+            LocalDateTime before = LocalDateTime.now();
+
+            // When
+            orderSagaService.confirmOrder(request);
+
+            // Then - credit card 30s, inventory 30+60s, logistics 30+60+120s
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<TransactionLog>> captor = ArgumentCaptor.forClass(List.class);
+            verify(transactionLogPort).saveAll(captor.capture());
+
+            List<TransactionLog> logs = captor.getValue();
+            assertThat(logs).extracting(TransactionLog::getStatus).containsOnly(TransactionStatus.UNKNOWN);
+            assertThat(logs.get(0).getDeadlineAt()).isBetween(before.plusSeconds(30), LocalDateTime.now().plusSeconds(30));
+            assertThat(Duration.between(logs.get(0).getDeadlineAt(), logs.get(1).getDeadlineAt()))
+                    .isEqualTo(Duration.ofSeconds(60));
+            assertThat(Duration.between(logs.get(1).getDeadlineAt(), logs.get(2).getDeadlineAt()))
+                    .isEqualTo(Duration.ofSeconds(120));
+        }
+
         @Test
         @DisplayName("should create outbox event with order payload")
         void shouldCreateOutboxEvent() {
@@ -119,10 +159,11 @@ class OrderSagaServiceTest {
             OrderConfirmResponse response = orderSagaService.confirmOrder(request);
 
             // Then
-            ArgumentCaptor<TransactionLog> logCaptor = ArgumentCaptor.forClass(TransactionLog.class);
-            verify(transactionLogPort, times(3)).save(logCaptor.capture());
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<TransactionLog>> logCaptor = ArgumentCaptor.forClass(List.class);
+            verify(transactionLogPort).saveAll(logCaptor.capture());
 
-            logCaptor.getAllValues().forEach(log ->
+            logCaptor.getValue().forEach(log ->
                     assertThat(log.getTxId().toString()).isEqualTo(response.txId())
             );
         }
@@ -242,7 +283,7 @@ class OrderSagaServiceTest {
         @DisplayName("should return empty when no transactions found for order")
         void shouldReturnEmptyWhenNoTransactionsFound() {
             // Given
-            when(transactionLogPort.findDistinctTxIdsByOrderId(any(UUID.class))).thenReturn(List.of());
+            when(transactionLogPort.findLatestByOrderId(any(UUID.class))).thenReturn(List.of());
 
             // When
             Optional<OrderTransactionHistoryResponse> result = orderSagaService.getOrderTransactionHistory(TEST_ORDER_ID);
@@ -268,15 +309,15 @@ class OrderSagaServiceTest {
             UUID orderUuid = UUID.fromString(TEST_ORDER_ID);
             UUID txUuid = UUID.fromString(TEST_TX_ID);
 
-            when(transactionLogPort.findDistinctTxIdsByOrderId(orderUuid))
-                    .thenReturn(List.of(txUuid));
+            LocalDateTime startedAt = LocalDateTime.of(2024, 1, 15, 10, 30);
 
             List<TransactionLog> logs = List.of(
                     TransactionLog.create(TEST_TX_ID, TEST_ORDER_ID, ServiceName.CREDIT_CARD, TransactionStatus.SUCCESS),
                     TransactionLog.create(TEST_TX_ID, TEST_ORDER_ID, ServiceName.INVENTORY, TransactionStatus.SUCCESS),
                     TransactionLog.create(TEST_TX_ID, TEST_ORDER_ID, ServiceName.LOGISTICS, TransactionStatus.SUCCESS)
             );
-            when(transactionLogPort.findLatestByTxId(TEST_TX_ID)).thenReturn(logs);
+            when(transactionLogPort.findLatestByOrderId(orderUuid))
+                    .thenReturn(List.of(new TransactionSnapshot(txUuid, orderUuid, startedAt, logs)));
 
             // When
             Optional<OrderTransactionHistoryResponse> result = orderSagaService.getOrderTransactionHistory(TEST_ORDER_ID);
@@ -288,6 +329,9 @@ class OrderSagaServiceTest {
             assertThat(result.get().transactions()).hasSize(1);
             assertThat(result.get().transactions().get(0).txId()).isEqualTo(TEST_TX_ID);
             assertThat(result.get().transactions().get(0).overallStatus()).isEqualTo("COMPLETED");
+            assertThat(result.get().transactions().get(0).startedAt())
+                    .isEqualTo(startedAt.atZone(ZoneId.systemDefault()).toInstant().toString());
+            verify(transactionLogPort, never()).findLatestByTxId(anyString());
         }
 
         @Test
@@ -298,15 +342,11 @@ class OrderSagaServiceTest {
             UUID txUuid1 = UUID.fromString(TEST_TX_ID);
             UUID txUuid2 = UUID.fromString(TEST_TX_ID_2);
 
-            when(transactionLogPort.findDistinctTxIdsByOrderId(orderUuid))
-                    .thenReturn(List.of(txUuid1, txUuid2));
-
             // First transaction - rolled back
             List<TransactionLog> logs1 = List.of(
                     TransactionLog.create(TEST_TX_ID, TEST_ORDER_ID, ServiceName.CREDIT_CARD, TransactionStatus.ROLLBACK),
                     TransactionLog.create(TEST_TX_ID, TEST_ORDER_ID, ServiceName.INVENTORY, TransactionStatus.FAILED)
             );
-            when(transactionLogPort.findLatestByTxId(TEST_TX_ID)).thenReturn(logs1);
 
             // Second transaction - completed
             List<TransactionLog> logs2 = List.of(
@@ -314,7 +354,11 @@ class OrderSagaServiceTest {
                     TransactionLog.create(TEST_TX_ID_2, TEST_ORDER_ID, ServiceName.INVENTORY, TransactionStatus.SUCCESS),
                     TransactionLog.create(TEST_TX_ID_2, TEST_ORDER_ID, ServiceName.LOGISTICS, TransactionStatus.SUCCESS)
             );
-            when(transactionLogPort.findLatestByTxId(TEST_TX_ID_2)).thenReturn(logs2);
+
+            when(transactionLogPort.findLatestByOrderId(orderUuid)).thenReturn(List.of(
+                    new TransactionSnapshot(txUuid1, orderUuid, LocalDateTime.now().minusMinutes(5), logs1),
+                    new TransactionSnapshot(txUuid2, orderUuid, LocalDateTime.now(), logs2)
+            ));
 
             // When
             Optional<OrderTransactionHistoryResponse> result = orderSagaService.getOrderTransactionHistory(TEST_ORDER_ID);
@@ -338,14 +382,12 @@ class OrderSagaServiceTest {
             UUID orderUuid = UUID.fromString(TEST_ORDER_ID);
             UUID txUuid = UUID.fromString(TEST_TX_ID);
 
-            when(transactionLogPort.findDistinctTxIdsByOrderId(orderUuid))
-                    .thenReturn(List.of(txUuid));
-
             List<TransactionLog> logs = List.of(
                     TransactionLog.create(TEST_TX_ID, TEST_ORDER_ID, ServiceName.CREDIT_CARD, TransactionStatus.SUCCESS),
                     TransactionLog.create(TEST_TX_ID, TEST_ORDER_ID, ServiceName.INVENTORY, TransactionStatus.UNKNOWN)
             );
-            when(transactionLogPort.findLatestByTxId(TEST_TX_ID)).thenReturn(logs);
+            when(transactionLogPort.findLatestByOrderId(orderUuid))
+                    .thenReturn(List.of(new TransactionSnapshot(txUuid, orderUuid, null, logs)));
 
             // When
             Optional<OrderTransactionHistoryResponse> result = orderSagaService.getOrderTransactionHistory(TEST_ORDER_ID);
@@ -359,5 +401,187 @@ class OrderSagaServiceTest {
             assertThat(services).extracting(TransactionStatusResponse.ServiceStatusDto::status)
                     .containsExactly("S", "U");
         }
+
+        @Test
+        @DisplayName("should skip transactions that have no entries")
+        void shouldSkipTransactionsWithoutEntries() {
+            // Given
+            UUID orderUuid = UUID.fromString(TEST_ORDER_ID);
+            List<TransactionLog> logs = List.of(
+                    TransactionLog.create(TEST_TX_ID, TEST_ORDER_ID, ServiceName.CREDIT_CARD, TransactionStatus.FAILED)
+            );
+            when(transactionLogPort.findLatestByOrderId(orderUuid)).thenReturn(List.of(
+                    new TransactionSnapshot(UUID.fromString(TEST_TX_ID_2), orderUuid, null, List.of()),
+                    new TransactionSnapshot(UUID.fromString(TEST_TX_ID), orderUuid, null, logs)
+            ));
+
+            // When
+            Optional<OrderTransactionHistoryResponse> result = orderSagaService.getOrderTransactionHistory(TEST_ORDER_ID);
+
+            // Then
+            assertThat(result).isPresent();
+            assertThat(result.get().totalTransactions()).isEqualTo(1);
+            assertThat(result.get().transactions().get(0).txId()).isEqualTo(TEST_TX_ID);
+            assertThat(result.get().transactions().get(0).overallStatus()).isEqualTo("FAILED");
+        }
+    }
+
+    @Nested
+    @DisplayName("Status versions")
+    class StatusVersions {
+
+        @Test
+        @DisplayName("should answer the version from the port without reading the status")
+        void shouldReturnVersionWithoutRead() {
+            // Given
+            UUID txId = UUID.randomUUID();
+            when(transactionLogPort.currentVersion(txId)).thenReturn(42L);
+
+            // When/Then
+            assertThat(orderSagaService.getTransactionVersion(txId.toString())).hasValue(42L);
+            assertThat(orderSagaService.getTransactionVersion("not-a-uuid")).isEmpty();
+            verify(transactionLogPort, never()).findLatestByTxId(anyString());
+        }
+
+        @Test
+        @DisplayName("should reject a long-poll on a malformed transaction id")
+        void shouldRejectMalformedTxIdForWait() {
+            assertThatThrownBy(() -> orderSagaService.awaitTransactionChange("not-a-uuid", 1L))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch status lookup")
+    class BatchStatus {
+
+        @Test
+        @DisplayName("should resolve every id in one read and answer in request order")
+        void shouldResolveInOneReadInRequestOrder() {
+            // Given
+            UUID orderUuid = UUID.fromString(TEST_ORDER_ID);
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            UUID missing = UUID.randomUUID();
+            when(transactionLogPort.findLatestByTxIds(List.of(first, missing, second))).thenReturn(List.of(
+                    new TransactionSnapshot(second, orderUuid, null, List.of(
+                            TransactionLog.create(second, orderUuid, ServiceName.CREDIT_CARD, TransactionStatus.FAILED))),
+                    new TransactionSnapshot(first, orderUuid, null, List.of(
+                            TransactionLog.create(first, orderUuid, ServiceName.CREDIT_CARD, TransactionStatus.SUCCESS)))));
+
+            // When
+            List<TransactionStatusBatchResponse.Result> results = orderSagaService.getTransactionStatuses(List.of(
+                    first.toString(), "not-a-uuid", missing.toString(), first.toString(), second.toString()));
+
+            // Then
+            assertThat(results).extracting(TransactionStatusBatchResponse.Result::txId).containsExactly(
+                    first.toString(), "not-a-uuid", missing.toString(), second.toString());
+            assertThat(results).extracting(TransactionStatusBatchResponse.Result::found)
+                    .containsExactly(true, false, false, true);
+            assertThat(results.get(0).transaction().orderId()).isEqualTo(TEST_ORDER_ID);
+            assertThat(results.get(3).transaction().services()).hasSize(1);
+            verify(transactionLogPort, never()).findLatestByTxId(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("paged history and search")
+    class PagedHistoryAndSearch {
+
+        private final UUID orderUuid = UUID.fromString(TEST_ORDER_ID);
+
+        private void streamSnapshots(PageCursor after, int limit, TransactionSnapshot... snapshots) {
+            doAnswer(invocation -> {
+                Consumer<TransactionSnapshot> sink = invocation.getArgument(3);
+                for (TransactionSnapshot snapshot : snapshots) {
+                    sink.accept(snapshot);
+                }
+                return null;
+            }).when(transactionLogPort).streamLatestByOrderId(eq(orderUuid), eq(after), eq(limit), any());
+        }
+
+        private TransactionSnapshot snapshot(UUID txId, LocalDateTime startedAt) {
+            return new TransactionSnapshot(txId, orderUuid, startedAt, List.of(
+                    TransactionLog.create(txId, orderUuid, ServiceName.CREDIT_CARD, TransactionStatus.SUCCESS)));
+        }
+
+        @Test
+        @DisplayName("should return a cursor at the last transaction when the page is full")
+        void shouldReturnCursorWhenPageIsFull() {
+            // Given
+            UUID newer = UUID.randomUUID();
+            UUID older = UUID.randomUUID();
+            LocalDateTime olderStart = LocalDateTime.of(2026, 1, 4, 10, 0);
+            streamSnapshots(null, 2, snapshot(newer, olderStart.plusMinutes(5)), snapshot(older, olderStart));
+
+            // When
+            Optional<OrderTransactionHistoryResponse> result =
+                    orderSagaService.getOrderTransactionHistory(TEST_ORDER_ID, null, 2);
+
+            // Then
+            assertThat(result).isPresent();
+            assertThat(result.get().transactions()).extracting(OrderTransactionHistoryResponse.TransactionSummary::txId)
+                    .containsExactly(newer.toString(), older.toString());
+            assertThat(PageCursor.decode(result.get().nextCursor())).isEqualTo(PageCursor.of(olderStart, older));
+        }
+
+        @Test
+        @DisplayName("should resume after the cursor and end without a next cursor")
+        void shouldResumeAfterCursor() {
+            // Given
+            PageCursor cursor = PageCursor.of(LocalDateTime.of(2026, 1, 4, 10, 0), UUID.randomUUID());
+            UUID last = UUID.randomUUID();
+            streamSnapshots(cursor, 2, snapshot(last, LocalDateTime.of(2026, 1, 4, 9, 0)));
+
+            // When
+            List<OrderTransactionHistoryResponse.TransactionSummary> streamed = new ArrayList<>();
+            String nextCursor = orderSagaService.streamOrderTransactionHistory(
+                    TEST_ORDER_ID, cursor.encode(), 2, streamed::add);
+
+            // Then
+            assertThat(streamed).extracting(OrderTransactionHistoryResponse.TransactionSummary::txId)
+                    .containsExactly(last.toString());
+            assertThat(nextCursor).isNull();
+        }
+
+        @Test
+        @DisplayName("should reject an invalid cursor or limit")
+        void shouldRejectInvalidPaging() {
+            assertThatThrownBy(() -> orderSagaService.getOrderTransactionHistory(TEST_ORDER_ID, "garbage", 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> orderSagaService.getOrderTransactionHistory(TEST_ORDER_ID, null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(transactionLogPort);
+        }
+
+        @Test
+        @DisplayName("should search services stuck in a status past the age cutoff")
+        void shouldSearchStuckServices() {
+            // Given
+            TransactionLog stuck = TransactionLog.create(UUID.fromString(TEST_TX_ID), orderUuid,
+                    ServiceName.INVENTORY, TransactionStatus.UNKNOWN);
+            LocalDateTime latestCutoff = LocalDateTime.now().minusMinutes(5);
+            doAnswer(invocation -> {
+                Consumer<TransactionLog> sink = invocation.getArgument(4);
+                sink.accept(stuck);
+                return null;
+            }).when(transactionLogPort).streamLatestByStatus(eq(TransactionStatus.U), any(), isNull(), eq(1), any());
+
+            // When
+            List<TransactionSearchResponse.Match> matches = new ArrayList<>();
+            String nextCursor = orderSagaService.searchTransactions(
+                    TransactionStatus.U, Duration.ofMinutes(5), null, 1, matches::add);
+
+            // Then
+            assertThat(matches).singleElement().satisfies(match -> {
+                assertThat(match.txId()).isEqualTo(TEST_TX_ID);
+                assertThat(match.serviceName()).isEqualTo("INVENTORY");
+                assertThat(match.status()).isEqualTo("U");
+            });
+            assertThat(PageCursor.decode(nextCursor))
+                    .isEqualTo(new PageCursor(stuck.getCreatedAt(), stuck.getTxId(), ServiceName.INVENTORY));
+            verify(transactionLogPort).streamLatestByStatus(eq(TransactionStatus.U),
+                    argThat(cutoff -> !cutoff.isAfter(latestCutoff.plusSeconds(1))), isNull(), eq(1), any());
+        }
     }
 }
@@ -5,10 +5,16 @@ import com.ecommerce.common.domain.TransactionStatus;
 import com.ecommerce.common.dto.RollbackRequest;
 import com.ecommerce.common.dto.RollbackResponse;
 import com.ecommerce.order.application.port.out.NotificationPort;
+import com.ecommerce.order.application.port.out.RetryBudgetPort;
+import com.ecommerce.order.application.port.out.RollbackAttemptPort;
+import com.ecommerce.order.application.port.out.RollbackAttemptPort.RollbackAttempt;
+import com.ecommerce.order.application.port.out.SagaConfigPort;
 import com.ecommerce.order.application.port.out.ServiceClientPort;
 import com.ecommerce.order.application.port.out.TransactionLogPort;
 import com.ecommerce.order.application.port.out.WebSocketPort;
+import com.ecommerce.order.domain.model.ServiceConfig;
 import com.ecommerce.order.domain.model.TransactionLog;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,8 +24,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -45,11 +57,26 @@ class RollbackServiceTest {
     @Mock
     private NotificationPort notificationPort;
 
+    @Mock
+    private SagaConfigPort sagaConfigPort;
+
+    @Mock
+    private RollbackAttemptPort rollbackAttemptPort;
+
+    @Mock
+    private RetryBudgetPort retryBudgetPort;
+
     private RollbackService rollbackService;
 
     @BeforeEach
     void setUp() {
-        rollbackService = new RollbackService(transactionLogPort, serviceClientPort, webSocketPort, notificationPort);
+        rollbackService = new RollbackService(transactionLogPort, serviceClientPort, webSocketPort, notificationPort,
+                sagaConfigPort, rollbackAttemptPort, retryBudgetPort, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollbackService.close();
     }
 
     @Nested
@@ -216,6 +243,47 @@ class RollbackServiceTest {
             verify(webSocketPort).sendRollbackFailed(eq(txId), eq(orderId), anyString());
         }
 
+        @Test
+        @DisplayName("should compensate parallel-capable services concurrently and dependent ones after them")
+        void shouldCompensateParallelServicesConcurrently() {
+            // Given - LOGISTICS and INVENTORY are independent, CREDIT_CARD is not
+            UUID txId = UUID.fromString(TEST_TX_ID);
+            UUID orderId = UUID.fromString(TEST_ORDER_ID);
+
+            when(sagaConfigPort.findActiveConfigs()).thenReturn(List.of(
+                    ServiceConfig.of(ServiceName.CREDIT_CARD, 1, 30, true, false),
+                    ServiceConfig.of(ServiceName.INVENTORY, 2, 60, true, true),
+                    ServiceConfig.of(ServiceName.LOGISTICS, 3, 120, true, true)
+            ));
+
+            // Each parallel compensation only succeeds once the other one is in flight too
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            List<ServiceName> completed = Collections.synchronizedList(new ArrayList<>());
+            when(serviceClientPort.rollback(any(ServiceName.class), any(RollbackRequest.class))).thenAnswer(invocation -> {
+                ServiceName serviceName = invocation.getArgument(0);
+                if (serviceName != ServiceName.CREDIT_CARD) {
+                    bothStarted.countDown();
+                    if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                        return RollbackResponse.failure(txId, "Not run in parallel");
+                    }
+                }
+                completed.add(serviceName);
+                return RollbackResponse.success(txId, "Rolled back");
+            });
+
+            // When
+            rollbackService.executeRollback(txId, orderId,
+                    List.of(ServiceName.CREDIT_CARD, ServiceName.INVENTORY, ServiceName.LOGISTICS));
+
+            // Then
+            assertThat(completed).hasSize(3);
+            assertThat(completed.get(2)).isEqualTo(ServiceName.CREDIT_CARD);
+            verify(transactionLogPort).recordStatus(txId, orderId, ServiceName.LOGISTICS, TransactionStatus.R);
+            verify(transactionLogPort).recordStatus(txId, orderId, ServiceName.INVENTORY, TransactionStatus.R);
+            verify(transactionLogPort).recordStatus(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.R);
+            verify(webSocketPort).sendRolledBack(txId, orderId);
+        }
+
         @Test
         @DisplayName("should handle empty successful services list")
         void shouldHandleEmptySuccessfulServicesList() {
@@ -235,6 +303,180 @@ class RollbackServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("executeRollbackWithRetry")
+    class ExecuteRollbackWithRetry {
+
+        @Test
+        @DisplayName("should persist the reversed services as stages without calling any service")
+        void shouldScheduleStagesWithoutCallingServices() {
+            // Given
+            UUID txId = UUID.fromString(TEST_TX_ID);
+            UUID orderId = UUID.fromString(TEST_ORDER_ID);
+
+            // When
+            rollbackService.executeRollbackWithRetry(txId, orderId,
+                    List.of(ServiceName.CREDIT_CARD, ServiceName.INVENTORY), 5);
+
+            // Then
+            verify(rollbackAttemptPort).schedule(eq(txId), eq(orderId),
+                    eq(List.of(List.of(ServiceName.INVENTORY), List.of(ServiceName.CREDIT_CARD))),
+                    eq(5), any(LocalDateTime.class));
+            verifyNoInteractions(serviceClientPort);
+        }
+    }
+
+    @Nested
+    @DisplayName("attemptRollback")
+    class AttemptRollback {
+
+        @Test
+        @DisplayName("should settle as R and send completed notification once the last attempt settles")
+        void shouldSettleSuccessfulAttempt() {
+            // Given
+            UUID txId = UUID.fromString(TEST_TX_ID);
+            UUID orderId = UUID.fromString(TEST_ORDER_ID);
+
+            when(serviceClientPort.rollbackOnce(any(ServiceName.class), any(RollbackRequest.class)))
+                    .thenReturn(RollbackResponse.success(txId, "Rolled back"));
+            when(retryBudgetPort.tryAcquireRetry(ServiceName.CREDIT_CARD)).thenReturn(true);
+            when(rollbackAttemptPort.finish(txId)).thenReturn(Optional.of(List.of()));
+
+            // When
+            rollbackService.attemptRollback(new RollbackAttempt(7L, txId, orderId, ServiceName.CREDIT_CARD, 2, 5));
+
+            // Then
+            verify(transactionLogPort).recordStatus(txId, orderId, ServiceName.CREDIT_CARD, TransactionStatus.R);
+            verify(rollbackAttemptPort).settle(7L, TransactionStatus.R, null);
+            verify(webSocketPort).sendRolledBack(txId, orderId);
+        }
+
+        @Test
+        @DisplayName("should reschedule a failed attempt with backoff instead of waiting")
+        void shouldRescheduleFailedAttempt() {
+            // Given
+            UUID txId = UUID.fromString(TEST_TX_ID);
+            UUID orderId = UUID.fromString(TEST_ORDER_ID);
+
+            when(serviceClientPort.rollbackOnce(any(ServiceName.class), any(RollbackRequest.class)))
+                    .thenReturn(RollbackResponse.failure(txId, "Rollback failed"));
+            when(retryBudgetPort.tryAcquireRetry(ServiceName.CREDIT_CARD)).thenReturn(true);
+
+            // When
+            LocalDateTime before = LocalDateTime.now();
+            rollbackService.attemptRollback(new RollbackAttempt(7L, txId, orderId, ServiceName.CREDIT_CARD, 2, 5));
+
+            // Then - third attempt failed, the fourth is due 2^3 * 100 ms later
+            ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(rollbackAttemptPort).reschedule(eq(7L), eq(3), nextAttemptAt.capture(), eq("Rollback failed"));
+            assertThat(nextAttemptAt.getValue()).isAfterOrEqualTo(before.plusNanos(800_000_000));
+            verify(rollbackAttemptPort, never()).settle(anyLong(), any(), any());
+            verifyNoInteractions(notificationPort);
+        }
+
+        @Test
+        @DisplayName("should defer a retry the retry budget cannot pay for without calling the service")
+        void shouldDeferRetryWhenBudgetExhausted() {
+            // Given
+            UUID txId = UUID.fromString(TEST_TX_ID);
+            UUID orderId = UUID.fromString(TEST_ORDER_ID);
+
+            when(retryBudgetPort.tryAcquireRetry(ServiceName.CREDIT_CARD)).thenReturn(false);
+
+            // When
+            rollbackService.attemptRollback(new RollbackAttempt(7L, txId, orderId, ServiceName.CREDIT_CARD, 2, 5));
+
+            // Then - the attempt count is kept, the service is not called
+            verify(rollbackAttemptPort).reschedule(eq(7L), eq(2), any(LocalDateTime.class),
+                    eq("Retry budget exhausted"));
+            verifyNoInteractions(serviceClientPort);
+        }
+
+        @Test
+        @DisplayName("should stamp notified_at on the RollbackFail entry after alerting admin")
+        void shouldRecordNotifiedAtOnRollbackFailEntry() {
+            // Given
+            UUID txId = UUID.fromString(TEST_TX_ID);
+            UUID orderId = UUID.fromString(TEST_ORDER_ID);
+            TransactionLog rollbackFailed = TransactionLog.restore(42L, txId, orderId, ServiceName.CREDIT_CARD,
+                    TransactionStatus.RF, "Rollback failed", 0, LocalDateTime.now(), null);
+
+            when(serviceClientPort.rollbackOnce(any(ServiceName.class), any(RollbackRequest.class)))
+                    .thenReturn(RollbackResponse.failure(txId, "Rollback failed"));
+            when(transactionLogPort.recordStatusWithError(txId, orderId, ServiceName.CREDIT_CARD,
+                    TransactionStatus.RF, "Rollback failed"))
+                    .thenReturn(rollbackFailed);
+            when(rollbackAttemptPort.finish(txId)).thenReturn(Optional.of(List.of(ServiceName.CREDIT_CARD)));
+
+            // When
+            rollbackService.attemptRollback(new RollbackAttempt(7L, txId, orderId, ServiceName.CREDIT_CARD, 0, 1));
+
+            // Then - a first attempt counts as a call, not a retry
+            verify(retryBudgetPort).recordCall(ServiceName.CREDIT_CARD);
+            var inOrder = inOrder(notificationPort, transactionLogPort, rollbackAttemptPort);
+            inOrder.verify(notificationPort).sendRollbackFailureAlert(
+                    txId, orderId, ServiceName.CREDIT_CARD, "Rollback failed", 1);
+            inOrder.verify(transactionLogPort).recordNotifiedAt(eq(txId), eq(42L), any(LocalDateTime.class));
+            inOrder.verify(rollbackAttemptPort).settle(7L, TransactionStatus.RF, "Rollback failed");
+            verify(webSocketPort).sendRollbackFailed(txId, orderId, "CREDIT_CARD: Max retries exceeded");
+        }
+    }
+
+    @Nested
+    @DisplayName("attemptRollbacks")
+    class AttemptRollbacks {
+
+        @Test
+        @DisplayName("should coalesce attempts for one service into a single batch call")
+        void shouldCoalesceAttemptsIntoBatch() {
+            // Given
+            UUID firstTxId = UUID.randomUUID();
+            UUID secondTxId = UUID.randomUUID();
+            UUID orderId = UUID.fromString(TEST_ORDER_ID);
+
+            when(serviceClientPort.rollbackBatch(eq(ServiceName.INVENTORY), anyList()))
+                    .thenReturn(List.of(
+                            RollbackResponse.success(firstTxId, "Rolled back"),
+                            RollbackResponse.failure(secondTxId, "Rollback failed")));
+
+            // When
+            rollbackService.attemptRollbacks(List.of(
+                    new RollbackAttempt(1L, firstTxId, orderId, ServiceName.INVENTORY, 0, 5),
+                    new RollbackAttempt(2L, secondTxId, orderId, ServiceName.INVENTORY, 0, 5)));
+
+            // Then - one call to the service, each attempt settled on its own
+            verify(serviceClientPort).rollbackBatch(eq(ServiceName.INVENTORY), anyList());
+            verify(serviceClientPort, never()).rollbackOnce(any(ServiceName.class), any(RollbackRequest.class));
+            verify(retryBudgetPort, times(1)).recordCall(ServiceName.INVENTORY);
+            verify(rollbackAttemptPort).settle(1L, TransactionStatus.R, null);
+            verify(rollbackAttemptPort).reschedule(eq(2L), eq(1), any(LocalDateTime.class), eq("Rollback failed"));
+        }
+
+        @Test
+        @DisplayName("should defer the retries of a batch the retry budget cannot pay for")
+        void shouldDeferRetriesOfBatchWhenBudgetExhausted() {
+            // Given
+            UUID firstTxId = UUID.randomUUID();
+            UUID retryTxId = UUID.randomUUID();
+            UUID orderId = UUID.fromString(TEST_ORDER_ID);
+
+            when(retryBudgetPort.tryAcquireRetry(ServiceName.INVENTORY)).thenReturn(false);
+            when(serviceClientPort.rollbackOnce(eq(ServiceName.INVENTORY), any(RollbackRequest.class)))
+                    .thenReturn(RollbackResponse.success(firstTxId, "Rolled back"));
+
+            // When
+            rollbackService.attemptRollbacks(List.of(
+                    new RollbackAttempt(1L, firstTxId, orderId, ServiceName.INVENTORY, 0, 5),
+                    new RollbackAttempt(2L, retryTxId, orderId, ServiceName.INVENTORY, 2, 5)));
+
+            // Then - the first attempt still goes out, the retry keeps its count
+            verify(rollbackAttemptPort).reschedule(eq(2L), eq(2), any(LocalDateTime.class),
+                    eq("Retry budget exhausted"));
+            verify(rollbackAttemptPort).settle(1L, TransactionStatus.R, null);
+            verify(serviceClientPort, never()).rollbackBatch(any(ServiceName.class), anyList());
+        }
+    }
+
     @Nested
     @DisplayName("getSuccessfulServices")
     class GetSuccessfulServices {
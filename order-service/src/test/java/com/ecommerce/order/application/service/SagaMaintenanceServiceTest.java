@@ -0,0 +1,92 @@
+package com.ecommerce.order.application.service;
+
+import com.ecommerce.order.application.port.out.TransactionLogPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SagaMaintenanceService Tests")
+class SagaMaintenanceServiceTest {
+
+    @Mock
+    private TransactionLogPort transactionLogPort;
+
+    private SagaMaintenanceService maintenanceService;
+
+    @BeforeEach
+    void setUp() {
+        maintenanceService = new SagaMaintenanceService(transactionLogPort, 7, Duration.ofHours(1), 500);
+    }
+
+    @Nested
+    @DisplayName("rebuildProjection")
+    class RebuildProjection {
+
+        @Test
+        @DisplayName("should delegate to the transaction log and return projected count")
+        void shouldDelegateRebuild() {
+            // Given
+            when(transactionLogPort.rebuildProjection()).thenReturn(42L);
+
+            // When
+            long projected = maintenanceService.rebuildProjection();
+
+            // Then
+            assertThat(projected).isEqualTo(42L);
+            verify(transactionLogPort).rebuildProjection();
+        }
+    }
+
+    @Nested
+    @DisplayName("archiveColdPartitions")
+    class ArchiveColdPartitions {
+
+        @Test
+        @DisplayName("should archive partitions older than the hot window")
+        void shouldArchiveBeforeHotWindow() {
+            // Given
+            LocalDate expectedCutoff = LocalDate.now().minusDays(7);
+            when(transactionLogPort.archivePartitionsBefore(expectedCutoff)).thenReturn(3);
+
+            // When
+            int sealed = maintenanceService.archiveColdPartitions();
+
+            // Then
+            assertThat(sealed).isEqualTo(3);
+            verify(transactionLogPort).archivePartitionsBefore(expectedCutoff);
+        }
+    }
+
+    @Nested
+    @DisplayName("compactTerminalTransactions")
+    class CompactTerminalTransactions {
+
+        @Test
+        @DisplayName("should compact sagas terminal for longer than the minimum age in one batch")
+        void shouldCompactPastMinimumAge() {
+            // Given
+            LocalDateTime latestCutoff = LocalDateTime.now().minusHours(1);
+            when(transactionLogPort.compactTerminalTransactions(any(LocalDateTime.class), eq(500))).thenReturn(12);
+
+            // When
+            int compacted = maintenanceService.compactTerminalTransactions();
+
+            // Then
+            assertThat(compacted).isEqualTo(12);
+            verify(transactionLogPort).compactTerminalTransactions(
+                    argThat(terminalBefore -> !terminalBefore.isBefore(latestCutoff)), eq(500));
+        }
+    }
+}
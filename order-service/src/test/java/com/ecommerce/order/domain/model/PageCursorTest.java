@@ -0,0 +1,53 @@
+package com.ecommerce.order.domain.model;
+
+import com.ecommerce.common.domain.ServiceName;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PageCursor encoding.
+ */
+class PageCursorTest {
+
+    @Test
+    @DisplayName("should round-trip a cursor through its token")
+    void shouldRoundTripThroughToken() {
+        // Given
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2026, 1, 4, 10, 30, 0, 123_456_000),
+                UUID.randomUUID(), ServiceName.INVENTORY);
+
+        // When
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(cursor, decoded);
+        assertFalse(cursor.encode().contains("|"));
+    }
+
+    @Test
+    @DisplayName("should round-trip a cursor without a service")
+    void shouldRoundTripWithoutService() {
+        PageCursor cursor = PageCursor.of(LocalDateTime.of(2026, 1, 4, 10, 30), UUID.randomUUID());
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    @DisplayName("should treat a missing token as the first page")
+    void shouldTreatMissingTokenAsFirstPage() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(" "));
+    }
+
+    @Test
+    @DisplayName("should reject a malformed token")
+    void shouldRejectMalformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("bm90LWEtZGF0ZXx4"));
+    }
+}
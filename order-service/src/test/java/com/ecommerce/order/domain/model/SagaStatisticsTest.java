@@ -0,0 +1,115 @@
+package com.ecommerce.order.domain.model;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.common.domain.TransactionStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the incrementally maintained saga statistics.
+ */
+class SagaStatisticsTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-04T10:30:00Z");
+
+    private final SagaStatistics statistics = new SagaStatistics();
+
+    @Test
+    @DisplayName("should move a saga between overall status counts as it progresses")
+    void shouldTrackCurrentCounts() {
+        // Given - one saga started, one still processing
+        statistics.record(null, SagaOverallStatus.PROCESSING, false, ServiceName.CREDIT_CARD, TransactionStatus.U, NOW);
+        statistics.record(null, SagaOverallStatus.PROCESSING, false, ServiceName.CREDIT_CARD, TransactionStatus.U, NOW);
+
+        // When
+        statistics.record(SagaOverallStatus.PROCESSING, SagaOverallStatus.FAILED, false,
+                ServiceName.CREDIT_CARD, TransactionStatus.F, NOW);
+
+        // Then
+        Map<SagaOverallStatus, Long> current = statistics.snapshot(NOW).current();
+        assertEquals(1L, current.get(SagaOverallStatus.PROCESSING));
+        assertEquals(1L, current.get(SagaOverallStatus.FAILED));
+        assertEquals(0L, current.get(SagaOverallStatus.COMPLETED));
+    }
+
+    @Test
+    @DisplayName("should count starts, outcomes and service statuses per window")
+    void shouldCountPerWindow() {
+        // Given - a saga started and completed 2 minutes ago, another failed 10 seconds ago
+        Instant earlier = NOW.minusSeconds(120);
+        statistics.record(null, SagaOverallStatus.PROCESSING, false, ServiceName.CREDIT_CARD, TransactionStatus.U, earlier);
+        statistics.record(SagaOverallStatus.PROCESSING, SagaOverallStatus.COMPLETED, true,
+                ServiceName.CREDIT_CARD, TransactionStatus.S, earlier);
+        Instant recent = NOW.minusSeconds(10);
+        statistics.record(null, SagaOverallStatus.PROCESSING, false, ServiceName.INVENTORY, TransactionStatus.U, recent);
+        statistics.record(SagaOverallStatus.PROCESSING, SagaOverallStatus.FAILED, true,
+                ServiceName.INVENTORY, TransactionStatus.F, recent);
+
+        // When
+        SagaStatistics.Snapshot snapshot = statistics.snapshot(NOW);
+
+        // Then
+        SagaStatistics.Window lastMinute = snapshot.windows().get(0);
+        assertEquals(1, lastMinute.started());
+        assertEquals(Map.of(SagaOverallStatus.FAILED, 1L), lastMinute.ended());
+        assertEquals(0.0, lastMinute.successRate());
+        assertEquals(Map.of(ServiceName.INVENTORY, Map.of(TransactionStatus.U, 1L, TransactionStatus.F, 1L)),
+                lastMinute.services());
+
+        SagaStatistics.Window lastFiveMinutes = snapshot.windows().get(1);
+        assertEquals(2, lastFiveMinutes.started());
+        assertEquals(0.5, lastFiveMinutes.successRate());
+    }
+
+    @Test
+    @DisplayName("should drop counts that fell out of every window")
+    void shouldForgetOldCounts() {
+        // Given
+        statistics.record(null, SagaOverallStatus.COMPLETED, true, ServiceName.LOGISTICS, TransactionStatus.S,
+                NOW.minusSeconds(15 * 60));
+
+        // When
+        SagaStatistics.Snapshot snapshot = statistics.snapshot(NOW);
+
+        // Then - the current count stays, the rolling counts are gone
+        assertEquals(1L, snapshot.current().get(SagaOverallStatus.COMPLETED));
+        for (SagaStatistics.Window window : snapshot.windows()) {
+            assertEquals(0, window.started());
+            assertTrue(window.ended().isEmpty());
+            assertNull(window.successRate());
+        }
+    }
+
+    @Test
+    @DisplayName("should reuse a bucket once its second has passed out of the horizon")
+    void shouldReuseBuckets() {
+        // Given - two seconds exactly one horizon apart share a bucket
+        statistics.recordStarted(NOW.minusSeconds(15 * 60));
+        statistics.recordStarted(NOW);
+
+        // When - a late count for the older second arrives
+        statistics.recordStarted(NOW.minusSeconds(15 * 60));
+
+        // Then
+        assertEquals(1, statistics.snapshot(NOW).windows().get(0).started());
+    }
+
+    @Test
+    @DisplayName("should replace current counts when restored and forget everything when cleared")
+    void shouldRestoreAndClear() {
+        statistics.record(null, SagaOverallStatus.PROCESSING, false, ServiceName.CREDIT_CARD, TransactionStatus.U, NOW);
+
+        statistics.restoreCurrent(Map.of(SagaOverallStatus.COMPLETED, 42L));
+        assertEquals(42L, statistics.snapshot(NOW).current().get(SagaOverallStatus.COMPLETED));
+        assertEquals(0L, statistics.snapshot(NOW).current().get(SagaOverallStatus.PROCESSING));
+
+        statistics.clear();
+        assertEquals(0L, statistics.snapshot(NOW).current().get(SagaOverallStatus.COMPLETED));
+        assertEquals(0, statistics.snapshot(NOW).windows().get(0).started());
+    }
+}
@@ -91,5 +91,17 @@ class ServiceConfigTest {
         assertEquals(ServiceName.LOGISTICS, config.name());
         assertEquals(90, config.timeoutSeconds());
         assertFalse(config.active());
+        assertFalse(config.parallelCompensation()); // Sequential unless declared
+    }
+
+    @Test
+    @DisplayName("should declare parallel compensation with of() overload")
+    void shouldDeclareParallelCompensation() {
+        // When
+        ServiceConfig config = ServiceConfig.of(ServiceName.INVENTORY, 2, 60, true, true);
+
+        // Then
+        assertTrue(config.parallelCompensation());
+        assertEquals(ServiceName.INVENTORY.getDefaultRollbackUrl(), config.rollbackUrl());
     }
 }
@@ -0,0 +1,93 @@
+package com.ecommerce.order.infrastructure.checker;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Footprint and GC churn benchmark for the in-flight registry at 1M entries.
+ * Compares against the previous {@code ConcurrentHashMap<UUID, V>} layout.
+ * <p>
+ * Run with {@code ./gradlew :order-service:benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("InFlightSagaRegistry Benchmark")
+class InFlightSagaRegistryBenchmark {
+
+    private static final int ENTRIES = Integer.getInteger("benchmark.registry.entries", 1_000_000);
+    private static final Object VALUE = new Object();
+
+    @Test
+    @DisplayName("registry stays under 48 bytes per entry and churns without GC")
+    void footprintAndChurn() {
+        long[] msbs = new long[ENTRIES];
+        long[] lsbs = new long[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            UUID txId = UUID.randomUUID();
+            msbs[i] = txId.getMostSignificantBits();
+            lsbs[i] = txId.getLeastSignificantBits();
+        }
+
+        // Footprint: registry vs ConcurrentHashMap<UUID, Object>
+        long before = usedHeap();
+        InFlightSagaRegistry<Object> registry = new InFlightSagaRegistry<>(64, ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            registry.computeIfAbsent(msbs[i], lsbs[i], () -> VALUE);
+        }
+        double registryBytesPerEntry = (usedHeap() - before) / (double) ENTRIES;
+
+        before = usedHeap();
+        ConcurrentHashMap<UUID, Object> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            map.put(new UUID(msbs[i], lsbs[i]), VALUE);
+        }
+        double mapBytesPerEntry = (usedHeap() - before) / (double) ENTRIES;
+        map = null;
+
+        // Churn: remove and re-insert every entry, visit all, count collections
+        long gcBefore = gcCount();
+        long start = System.nanoTime();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < ENTRIES; i++) {
+                registry.remove(msbs[i], lsbs[i]);
+                registry.computeIfAbsent(msbs[i], lsbs[i], () -> VALUE);
+            }
+            long[] checksum = new long[1];
+            registry.forEach((msb, lsb, value) -> checksum[0] += lsb);
+        }
+        long churnNanos = System.nanoTime() - start;
+        long collections = gcCount() - gcBefore;
+
+        System.out.printf("entries=%d registry=%.1f B/entry concurrentHashMap=%.1f B/entry%n",
+                ENTRIES, registryBytesPerEntry, mapBytesPerEntry);
+        System.out.printf("churn: %d remove+insert ops in %d ms, gc collections=%d%n",
+                ENTRIES * 3L * 2, churnNanos / 1_000_000, collections);
+
+        assertThat(registry.size()).isEqualTo(ENTRIES);
+        assertThat(registryBytesPerEntry).isLessThan(48.0);
+        assertThat(collections).isZero();
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,183 @@
+package com.ecommerce.order.infrastructure.checker;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InFlightSagaRegistry Tests")
+class InFlightSagaRegistryTest {
+
+    private InFlightSagaRegistry<String> registry;
+
+    @BeforeEach
+    void setUp() {
+        // Small stripes so probing, wrap-around and resizing are exercised
+        registry = new InFlightSagaRegistry<>(2, 0);
+    }
+
+    @Nested
+    @DisplayName("Basic Operations")
+    class BasicOperations {
+
+        @Test
+        @DisplayName("should insert once and return existing value afterwards")
+        void shouldInsertOnce() {
+            // Given
+            UUID txId = UUID.randomUUID();
+            AtomicInteger factoryCalls = new AtomicInteger();
+
+            // When
+            String first = registry.computeIfAbsent(txId, () -> "v" + factoryCalls.incrementAndGet());
+            String second = registry.computeIfAbsent(txId, () -> "v" + factoryCalls.incrementAndGet());
+
+            // Then
+            assertThat(first).isEqualTo("v1");
+            assertThat(second).isEqualTo("v1");
+            assertThat(factoryCalls.get()).isEqualTo(1);
+            assertThat(registry.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should remove entries and report absence")
+        void shouldRemoveEntries() {
+            // Given
+            UUID txId = UUID.randomUUID();
+            registry.computeIfAbsent(txId, () -> "value");
+
+            // When
+            String removed = registry.remove(txId);
+
+            // Then
+            assertThat(removed).isEqualTo("value");
+            assertThat(registry.contains(txId)).isFalse();
+            assertThat(registry.get(txId)).isNull();
+            assertThat(registry.remove(txId)).isNull();
+            assertThat(registry.isEmpty()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should insert nothing when the factory returns null")
+        void shouldSkipNullValues() {
+            // Given
+            UUID txId = UUID.randomUUID();
+
+            // When
+            String value = registry.computeIfAbsent(txId, () -> null);
+
+            // Then
+            assertThat(value).isNull();
+            assertThat(registry.contains(txId)).isFalse();
+            assertThat(registry.isEmpty()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Probing and Resizing")
+    class ProbingAndResizing {
+
+        @Test
+        @DisplayName("should keep all entries reachable across resizes and random removals")
+        void shouldKeepEntriesReachable() {
+            // Given
+            Map<UUID, String> expected = new HashMap<>();
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                UUID txId = UUID.randomUUID();
+                ids.add(txId);
+                expected.put(txId, "v" + i);
+                registry.computeIfAbsent(txId, () -> expected.get(txId));
+            }
+
+            // When - remove every third entry (exercises backward-shift deletion)
+            for (int i = 0; i < ids.size(); i += 3) {
+                registry.remove(ids.get(i));
+                expected.remove(ids.get(i));
+            }
+
+            // Then
+            assertThat(registry.size()).isEqualTo(expected.size());
+            for (UUID txId : ids) {
+                assertThat(registry.get(txId)).isEqualTo(expected.get(txId));
+            }
+        }
+
+        @Test
+        @DisplayName("should iterate every entry without copying")
+        void shouldIterateEveryEntry() {
+            // Given
+            Set<UUID> inserted = new HashSet<>();
+            for (int i = 0; i < 1_000; i++) {
+                UUID txId = UUID.randomUUID();
+                inserted.add(txId);
+                registry.computeIfAbsent(txId, txId::toString);
+            }
+
+            // When
+            Set<UUID> visited = new HashSet<>();
+            registry.forEach((msb, lsb, value) -> {
+                UUID txId = new UUID(msb, lsb);
+                assertThat(value).isEqualTo(txId.toString());
+                visited.add(txId);
+            });
+
+            // Then
+            assertThat(visited).isEqualTo(inserted);
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency")
+    class Concurrency {
+
+        @Test
+        @DisplayName("should create exactly one value per key under contention")
+        void shouldCreateOneValuePerKey() throws Exception {
+            // Given
+            InFlightSagaRegistry<Object> shared = new InFlightSagaRegistry<>();
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                ids.add(UUID.randomUUID());
+            }
+            AtomicInteger created = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            CountDownLatch start = new CountDownLatch(1);
+
+            // When
+            for (int t = 0; t < 8; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (UUID txId : ids) {
+                        shared.computeIfAbsent(txId, () -> {
+                            created.incrementAndGet();
+                            return new Object();
+                        });
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+            // Then
+            assertThat(created.get()).isEqualTo(ids.size());
+            assertThat(shared.size()).isEqualTo(ids.size());
+        }
+    }
+}
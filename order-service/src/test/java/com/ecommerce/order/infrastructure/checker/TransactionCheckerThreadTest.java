@@ -125,6 +125,39 @@ class TransactionCheckerThreadTest {
             // Then - Rollback should not have been triggered
             verify(rollbackExecutorPort, never()).executeRollback(any(), any(), any());
         }
+
+        @Test
+        @DisplayName("should detect timeout from the step deadline of a lean-mode entry")
+        void shouldDetectTimeoutFromStepDeadline() throws Exception {
+            // Given - Entry was just written but its deadline has already passed
+            TransactionLog pending = TransactionLog.createPending(
+                    txId, orderId, ServiceName.INVENTORY, LocalDateTime.now().minusSeconds(1)
+            );
+
+            when(transactionLogPort.findLatestByTxId(txId.toString()))
+                    .thenReturn(List.of(pending));
+
+            CountDownLatch rollbackCalled = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                rollbackCalled.countDown();
+                return null;
+            }).when(rollbackExecutorPort).executeRollback(any(), any(), any());
+
+            TransactionCheckerThread checker = new TransactionCheckerThread(
+                    txId, orderId, timeouts, 100,
+                    transactionLogPort, rollbackExecutorPort, checkerThreadManager
+            );
+
+            // When
+            Thread thread = new Thread(checker);
+            thread.start();
+
+            // Then
+            assertThat(rollbackCalled.await(2, TimeUnit.SECONDS)).isTrue();
+
+            checker.stop();
+            thread.join(1000);
+        }
     }
 
     @Nested
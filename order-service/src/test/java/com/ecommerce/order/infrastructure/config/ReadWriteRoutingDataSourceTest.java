@@ -0,0 +1,82 @@
+package com.ecommerce.order.infrastructure.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ReadWriteRoutingDataSource Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource writeDataSource;
+
+    @Mock
+    private DataSource readDataSource;
+
+    @Mock
+    private Connection writeConnection;
+
+    @Mock
+    private Connection readConnection;
+
+    private LazyConnectionDataSourceProxy dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(writeDataSource.getConnection()).thenReturn(writeConnection);
+        when(readDataSource.getConnection()).thenReturn(readConnection);
+        dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(writeDataSource, readDataSource));
+        // Known defaults keep the proxy from probing a connection up front
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("should route statements of a read-only transaction to the read pool")
+    void shouldRouteReadOnlyTransactionToReadPool() throws Exception {
+        // Given - the connection handle is taken before the transaction is marked read-only
+        try (Connection connection = dataSource.getConnection()) {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+            // When
+            connection.prepareStatement("SELECT 1");
+
+            // Then
+            verify(readConnection).prepareStatement("SELECT 1");
+            verify(writeDataSource, never()).getConnection();
+        }
+    }
+
+    @Test
+    @DisplayName("should route everything else to the write pool")
+    void shouldRouteOtherAccessToWritePool() throws Exception {
+        // When
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("INSERT INTO t VALUES (1)");
+        }
+
+        // Then
+        verify(writeConnection).prepareStatement("INSERT INTO t VALUES (1)");
+        verify(readDataSource, never()).getConnection();
+    }
+}
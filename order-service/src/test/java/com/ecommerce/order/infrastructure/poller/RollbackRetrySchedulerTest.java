@@ -0,0 +1,102 @@
+package com.ecommerce.order.infrastructure.poller;
+
+import com.ecommerce.common.domain.ServiceName;
+import com.ecommerce.order.application.port.out.RollbackAttemptPort;
+import com.ecommerce.order.application.port.out.RollbackAttemptPort.RollbackAttempt;
+import com.ecommerce.order.application.port.out.RollbackExecutorPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RollbackRetryScheduler Unit Tests")
+class RollbackRetrySchedulerTest {
+
+    @Mock
+    private RollbackAttemptPort rollbackAttemptPort;
+
+    @Mock
+    private RollbackExecutorPort rollbackExecutorPort;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private RollbackRetryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        // One worker, so a single batch fills it
+        scheduler = new RollbackRetryScheduler(rollbackAttemptPort, rollbackExecutorPort, 1, 50, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        scheduler.close();
+    }
+
+    @Test
+    @DisplayName("should start no more batches than free workers and release the rest of the claim")
+    @SuppressWarnings("unchecked")
+    void shouldReleaseBatchesBeyondFreeWorkers() throws InterruptedException {
+        // Given - due attempts for all three services, the oldest for inventory
+        RollbackAttempt inventory = attempt(1L, ServiceName.INVENTORY);
+        RollbackAttempt creditCard = attempt(2L, ServiceName.CREDIT_CARD);
+        RollbackAttempt logistics = attempt(3L, ServiceName.LOGISTICS);
+        when(rollbackAttemptPort.claimDue(any(), any(), anyInt()))
+                .thenReturn(List.of(inventory, creditCard, logistics));
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(rollbackExecutorPort).attemptRollbacks(any());
+
+        // When
+        scheduler.poll();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        scheduler.poll();
+
+        // Then - only the oldest batch runs; the others are due again instead of queued under lease
+        verify(rollbackExecutorPort).attemptRollbacks(List.of(inventory));
+        ArgumentCaptor<List<RollbackAttempt>> released = ArgumentCaptor.forClass(List.class);
+        verify(rollbackAttemptPort).release(released.capture(), any(LocalDateTime.class));
+        assertThat(released.getValue()).containsExactlyInAnyOrder(creditCard, logistics);
+        // The busy worker leaves no capacity for the second poll
+        verify(rollbackAttemptPort, times(1)).claimDue(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("should batch attempts per service with the oldest batch first")
+    void shouldBatchPerServiceOldestFirst() {
+        // Given
+        RollbackAttempt logistics = attempt(1L, ServiceName.LOGISTICS);
+        RollbackAttempt creditCard = attempt(2L, ServiceName.CREDIT_CARD);
+        RollbackAttempt logisticsAgain = attempt(3L, ServiceName.LOGISTICS);
+
+        // When
+        List<List<RollbackAttempt>> batches = scheduler.batches(List.of(logistics, creditCard, logisticsAgain));
+
+        // Then
+        assertThat(batches).containsExactly(List.of(logistics, logisticsAgain), List.of(creditCard));
+    }
+
+    private static RollbackAttempt attempt(long id, ServiceName serviceName) {
+        return new RollbackAttempt(id, UUID.randomUUID(), UUID.randomUUID(), serviceName, 0, 5);
+    }
+}
@@ -17,10 +17,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -56,17 +58,27 @@ class EscalationIntegrationTest {
         }
     }
 
+    /**
+     * Retries run on the rollback scheduler; the outcome is sent once every attempt has settled.
+     */
+    private void awaitRollbackFinished() {
+        await().atMost(Duration.ofSeconds(30)).until(() -> mockingDetails(webSocketPort).getInvocations().stream()
+                .map(invocation -> invocation.getMethod().getName())
+                .anyMatch(name -> name.equals("sendRolledBack") || name.equals("sendRollbackFailed")));
+    }
+
     @Test
     @DisplayName("should send admin notification after max rollback retries exceeded")
     void shouldSendAdminNotificationAfterMaxRetriesExceeded() {
         // Given - All rollback attempts fail
-        when(serviceClientPort.rollback(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class)))
+        when(serviceClientPort.rollbackOnce(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class)))
                 .thenReturn(RollbackResponse.failure(TX_ID, "Connection refused"));
 
         List<ServiceName> successfulServices = List.of(ServiceName.CREDIT_CARD);
 
         // When - Execute rollback with retries
         rollbackService.executeRollbackWithRetry(TX_ID, ORDER_ID, successfulServices, 5);
+        awaitRollbackFinished();
 
         // Then - Notification should be sent after 5 failures
         if (notificationPort instanceof MockEmailNotificationAdapter mock) {
@@ -81,7 +93,7 @@ class EscalationIntegrationTest {
     @DisplayName("should not send notification if rollback succeeds within retries")
     void shouldNotSendNotificationIfRollbackSucceeds() {
         // Given - Rollback fails twice then succeeds
-        when(serviceClientPort.rollback(eq(ServiceName.INVENTORY), any(RollbackRequest.class)))
+        when(serviceClientPort.rollbackOnce(eq(ServiceName.INVENTORY), any(RollbackRequest.class)))
                 .thenReturn(RollbackResponse.failure(TX_ID, "Temporary error"))
                 .thenReturn(RollbackResponse.failure(TX_ID, "Temporary error"))
                 .thenReturn(RollbackResponse.success(TX_ID, "Rolled back"));
@@ -90,6 +102,7 @@ class EscalationIntegrationTest {
 
         // When
         rollbackService.executeRollbackWithRetry(TX_ID, ORDER_ID, successfulServices, 5);
+        awaitRollbackFinished();
 
         // Then - No notification since rollback eventually succeeded
         if (notificationPort instanceof MockEmailNotificationAdapter mock) {
@@ -101,15 +114,16 @@ class EscalationIntegrationTest {
     @DisplayName("should send separate notifications for each service that exhausts retries")
     void shouldSendSeparateNotificationsForEachFailedService() {
         // Given - Both services fail all retries
-        when(serviceClientPort.rollback(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class)))
+        when(serviceClientPort.rollbackOnce(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class)))
                 .thenReturn(RollbackResponse.failure(TX_ID, "Payment gateway unavailable"));
-        when(serviceClientPort.rollback(eq(ServiceName.INVENTORY), any(RollbackRequest.class)))
+        when(serviceClientPort.rollbackOnce(eq(ServiceName.INVENTORY), any(RollbackRequest.class)))
                 .thenReturn(RollbackResponse.failure(TX_ID, "Inventory system down"));
 
         List<ServiceName> successfulServices = List.of(ServiceName.CREDIT_CARD, ServiceName.INVENTORY);
 
         // When
         rollbackService.executeRollbackWithRetry(TX_ID, ORDER_ID, successfulServices, 5);
+        awaitRollbackFinished();
 
         // Then - Two notifications, one per failed service
         if (notificationPort instanceof MockEmailNotificationAdapter mock) {
@@ -122,13 +136,14 @@ class EscalationIntegrationTest {
     void shouldIncludeErrorDetailsInNotification() {
         // Given
         String errorMessage = "Credit card network unreachable after 30 seconds";
-        when(serviceClientPort.rollback(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class)))
+        when(serviceClientPort.rollbackOnce(eq(ServiceName.CREDIT_CARD), any(RollbackRequest.class)))
                 .thenReturn(RollbackResponse.failure(TX_ID, errorMessage));
 
         List<ServiceName> successfulServices = List.of(ServiceName.CREDIT_CARD);
 
         // When
         rollbackService.executeRollbackWithRetry(TX_ID, ORDER_ID, successfulServices, 5);
+        awaitRollbackFinished();
 
         // Then
         if (notificationPort instanceof MockEmailNotificationAdapter mock) {
@@ -1,16 +1,23 @@
+-- Transaction Log id sequence - allocated in blocks of 50 (pooled-lo) so inserts can be JDBC-batched
+CREATE SEQUENCE IF NOT EXISTS transaction_log_seq START WITH 1 INCREMENT BY 50;
+
 -- Transaction Log - Immutable event sourcing table (append-only, no UPDATE)
+-- tx_id/order_id are native UUIDs; service_name/status are TINYINT codes (see PersistenceCodes)
 CREATE TABLE IF NOT EXISTS transaction_log (
-    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
-    tx_id           VARCHAR(36) NOT NULL,
-    order_id        VARCHAR(36) NOT NULL,
-    service_name    VARCHAR(50) NOT NULL,
-    status          VARCHAR(2) NOT NULL,
+    id              BIGINT PRIMARY KEY,
+    tx_id           UUID NOT NULL,
+    order_id        UUID NOT NULL,
+    service_name    TINYINT NOT NULL,
+    status          TINYINT NOT NULL,
     error_message   VARCHAR(500),
     retry_count     INT DEFAULT 0,
     created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     notified_at     TIMESTAMP,
+    -- Step-started (U) rows written in lean log mode: time by which the step must have finished
+    deadline_at     TIMESTAMP,
 
-    CONSTRAINT chk_status CHECK (status IN ('U', 'S', 'F', 'R', 'D', 'RF'))
+    -- U=1, S=2, F=3, R=4, D=5, RF=6
+    CONSTRAINT chk_status CHECK (status BETWEEN 1 AND 6)
 );
 
 -- Performance indexes
@@ -18,11 +25,61 @@ CREATE INDEX IF NOT EXISTS idx_tx_service_status ON transaction_log (tx_id, serv
 CREATE INDEX IF NOT EXISTS idx_status_created ON transaction_log (status, created_at);
 CREATE INDEX IF NOT EXISTS idx_order_id ON transaction_log (order_id);
 
+-- Saga State - Latest-state projection of transaction_log, one row per (tx_id, service_name)
+-- Upserted in the same DB transaction as each log append; rebuildable from the log
+CREATE TABLE IF NOT EXISTS saga_state (
+    tx_id           UUID NOT NULL,
+    service_name    TINYINT NOT NULL,
+    order_id        UUID NOT NULL,
+    status          TINYINT NOT NULL,
+    error_message   VARCHAR(500),
+    retry_count     INT DEFAULT 0,
+    last_log_id     BIGINT NOT NULL,
+    updated_at      TIMESTAMP NOT NULL,
+    deadline_at     TIMESTAMP,
+
+    PRIMARY KEY (tx_id, service_name)
+);
+
+CREATE INDEX IF NOT EXISTS idx_state_status_updated ON saga_state (status, updated_at);
+
+-- Saga Summary - Per-transaction projection holding the overall status
+CREATE TABLE IF NOT EXISTS saga_summary (
+    tx_id           UUID PRIMARY KEY,
+    order_id        UUID NOT NULL,
+    overall_status  VARCHAR(20) NOT NULL,
+    started_at      TIMESTAMP NOT NULL,
+    updated_at      TIMESTAMP NOT NULL,
+    terminal        BOOLEAN NOT NULL DEFAULT FALSE,
+    -- Set once the transaction's log rows have moved to the archive segment for that day
+    archived_on     DATE,
+    -- Segment holding the archived rows; NULL means the segment named after archived_on
+    archive_segment VARCHAR(64),
+    -- Set when the transaction was compacted; service_summary then holds its final per-service state (JSON)
+    compacted_at    TIMESTAMP,
+    service_summary VARCHAR(4000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_summary_order_started ON saga_summary (order_id, started_at);
+CREATE INDEX IF NOT EXISTS idx_summary_archived_started ON saga_summary (archived_on, started_at);
+CREATE INDEX IF NOT EXISTS idx_summary_terminal_updated ON saga_summary (terminal, archived_on, updated_at);
+CREATE INDEX IF NOT EXISTS idx_summary_started ON saga_summary (started_at, tx_id);
+
+-- Transaction Log Partition - Sealed daily partitions of transaction_log (by saga start day)
+-- Rows of a sealed day live in an NDJSON.gz segment with a sparse txId index, not in the hot table
+CREATE TABLE IF NOT EXISTS transaction_log_partition (
+    partition_day   DATE PRIMARY KEY,
+    segment_file    VARCHAR(255) NOT NULL,
+    tx_count        INT NOT NULL,
+    row_count       BIGINT NOT NULL,
+    sealed_at       TIMESTAMP NOT NULL
+);
+
 -- Outbox Event - For transactional outbox pattern
 CREATE TABLE IF NOT EXISTS outbox_event (
     id              BIGINT AUTO_INCREMENT PRIMARY KEY,
-    tx_id           VARCHAR(36) NOT NULL,
-    order_id        VARCHAR(36) NOT NULL,
+    tx_id           UUID NOT NULL,
+    order_id        UUID NOT NULL,
     event_type      VARCHAR(100) NOT NULL,
     payload         CLOB NOT NULL,
     created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
@@ -32,6 +89,26 @@ CREATE TABLE IF NOT EXISTS outbox_event (
 
 CREATE INDEX IF NOT EXISTS idx_outbox_processed ON outbox_event (processed, created_at);
 
+-- Rollback Attempt - Persisted compensation retries, one row per service to roll back
+-- A row is due at next_attempt_at once no row of an earlier stage of its tx is pending (outcome NULL);
+-- claiming pushes next_attempt_at out by a lease, so a crashed attempt is picked up again
+CREATE TABLE IF NOT EXISTS rollback_attempt (
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tx_id           UUID NOT NULL,
+    order_id        UUID NOT NULL,
+    service_name    TINYINT NOT NULL,
+    stage           INT NOT NULL,
+    attempts        INT NOT NULL DEFAULT 0,
+    max_attempts    INT NOT NULL,
+    next_attempt_at TIMESTAMP,
+    outcome         TINYINT,
+    last_error      VARCHAR(500),
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_rollback_attempt_due ON rollback_attempt (next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_rollback_attempt_tx ON rollback_attempt (tx_id, stage);
+
 -- Saga Configuration - Runtime configuration for service order and timeouts
 CREATE TABLE IF NOT EXISTS saga_config (
     id              BIGINT AUTO_INCREMENT PRIMARY KEY,